@@ -0,0 +1,106 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Aadhaar validation, one batch of inputs per invocation.
+ *
+ * legacyStringRegex is the check the services used before IdentityNumberValidator
+ * (Long -> String, String.matches, per-call Verhoeff tables and digit array) and is kept
+ * here as the baseline. Run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AadhaarValidationBenchmark {
+
+    @Param({ "1024", "100000" })
+    private int batch;
+
+    private long[] aadhaarValues;
+    private String[] aadhaarNumbers;
+    private List<Long> aadhaarRecords;
+    private IdentityNumberValidator validator;
+
+    @Setup
+    public void setUp() {
+        aadhaarValues = BenchmarkData.aadhaarValues(batch);
+        aadhaarNumbers = BenchmarkData.aadhaarNumbers(batch);
+        aadhaarRecords = new ArrayList<>(batch);
+        for (long value : aadhaarValues) {
+            aadhaarRecords.add(value);
+        }
+        validator = new IdentityNumberValidator();
+    }
+
+    @Benchmark
+    public void legacyStringRegex(Blackhole bh) {
+        for (long aadhaar : aadhaarValues) {
+            String text = String.valueOf(aadhaar);
+            bh.consume(text.matches("^[0-9]{12}$") && legacyIsValidAadhaar(text));
+        }
+    }
+
+    @Benchmark
+    public void validatorLong(Blackhole bh) {
+        for (long aadhaar : aadhaarValues) {
+            bh.consume(validator.hasTwelveDigits(aadhaar) && validator.isValidAadhaar(aadhaar));
+        }
+    }
+
+    @Benchmark
+    public void validatorText(Blackhole bh) {
+        for (String aadhaar : aadhaarNumbers) {
+            bh.consume(validator.isValidAadhaar(aadhaar));
+        }
+    }
+
+    @Benchmark
+    public void validatorBatch(Blackhole bh) {
+        bh.consume(validator.validateBatch(aadhaarRecords,
+                aadhaar -> validator.firstIdentityError(aadhaar, null, null, null, null)));
+    }
+
+    private static boolean legacyIsValidAadhaar(String aadhaar) {
+        if (aadhaar == null || !aadhaar.matches("\\d{12}")) {
+            return false;
+        }
+        if (aadhaar.charAt(0) == '0' || aadhaar.charAt(0) == '1') {
+            return false;
+        }
+        final int[][] d = {
+                {0,1,2,3,4,5,6,7,8,9},{1,2,3,4,0,6,7,8,9,5},{2,3,4,0,1,7,8,9,5,6},{3,4,0,1,2,8,9,5,6,7},
+                {4,0,1,2,3,9,5,6,7,8},{5,9,8,7,6,0,4,3,2,1},{6,5,9,8,7,1,0,4,3,2},{7,6,5,9,8,2,1,0,4,3},
+                {8,7,6,5,9,3,2,1,0,4},{9,8,7,6,5,4,3,2,1,0}};
+        final int[][] p = {
+                {0,1,2,3,4,5,6,7,8,9},{1,5,7,6,2,8,3,0,9,4},{5,8,0,3,7,9,6,1,4,2},{8,9,1,6,0,4,3,5,2,7},
+                {9,4,5,3,1,2,6,8,7,0},{4,2,8,6,5,7,3,9,0,1},{2,7,9,3,8,0,6,4,1,5},{7,0,4,6,9,1,3,2,5,8}};
+        int c = 0;
+        int[] arr = new int[aadhaar.length()];
+        for (int i = 0; i < aadhaar.length(); i++) {
+            arr[i] = Character.getNumericValue(aadhaar.charAt(aadhaar.length() - 1 - i));
+        }
+        for (int i = 0; i < arr.length; i++) {
+            c = d[c][p[i % 8][arr[i]]];
+        }
+        return c == 0;
+    }
+}
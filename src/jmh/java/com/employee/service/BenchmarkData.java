@@ -0,0 +1,142 @@
+package com.employee.service;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.employee.entity.Department;
+import com.employee.entity.Designation;
+import com.employee.entity.Employee;
+import com.employee.entity.EmpDetails;
+import com.employee.entity.Gender;
+
+/**
+ * Deterministic fixtures for the JMH benchmarks. Every generator uses a fixed seed
+ * so runs on different commits measure the same inputs.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20240601L;
+
+    private static final int[][] D = {
+            {0,1,2,3,4,5,6,7,8,9},{1,2,3,4,0,6,7,8,9,5},{2,3,4,0,1,7,8,9,5,6},{3,4,0,1,2,8,9,5,6,7},
+            {4,0,1,2,3,9,5,6,7,8},{5,9,8,7,6,0,4,3,2,1},{6,5,9,8,7,1,0,4,3,2},{7,6,5,9,8,2,1,0,4,3},
+            {8,7,6,5,9,3,2,1,0,4},{9,8,7,6,5,4,3,2,1,0}};
+    private static final int[][] P = {
+            {0,1,2,3,4,5,6,7,8,9},{1,5,7,6,2,8,3,0,9,4},{5,8,0,3,7,9,6,1,4,2},{8,9,1,6,0,4,3,5,2,7},
+            {9,4,5,3,1,2,6,8,7,0},{4,2,8,6,5,7,3,9,0,1},{2,7,9,3,8,0,6,4,1,5},{7,0,4,6,9,1,3,2,5,8}};
+    private static final int[] INV = {0,4,3,2,1,5,6,7,8,9};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Aadhaar-shaped strings; roughly half carry a valid Verhoeff check digit.
+     */
+    static String[] aadhaarNumbers(int count) {
+        Random random = new Random(SEED);
+        String[] result = new String[count];
+        for (int n = 0; n < count; n++) {
+            StringBuilder sb = new StringBuilder(12);
+            sb.append((char) ('2' + random.nextInt(8)));
+            for (int i = 1; i < 11; i++) {
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            int check = verhoeffCheckDigit(sb);
+            if (random.nextBoolean()) {
+                check = (check + 1 + random.nextInt(9)) % 10;
+            }
+            result[n] = sb.append((char) ('0' + check)).toString();
+        }
+        return result;
+    }
+
+    /**
+     * The same numbers as aadhaarNumbers(count), as stored in the DTOs (Long).
+     */
+    static long[] aadhaarValues(int count) {
+        String[] numbers = aadhaarNumbers(count);
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = Long.parseLong(numbers[i]);
+        }
+        return result;
+    }
+
+    private static int verhoeffCheckDigit(CharSequence digits) {
+        int c = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(digits.length() - 1 - i) - '0';
+            c = D[c][P[(i + 1) % 8][digit]];
+        }
+        return INV[c];
+    }
+
+    static List<Employee> employees(int count) {
+        Random random = new Random(SEED);
+        Department department = new Department();
+        department.setDepartment_id(1);
+        department.setDepartment_name("Academics");
+        Designation designation = new Designation();
+        designation.setDesignation_id(1);
+        designation.setDesignation_name("Senior Lecturer");
+        Gender gender = new Gender();
+        gender.setGender_id(1);
+        gender.setGenderName("Female");
+
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee e = new Employee();
+            e.setEmp_id(100_000 + i);
+            e.setFirst_name("First" + i);
+            e.setLast_name("Last" + random.nextInt(10_000));
+            e.setEmail("employee" + i + "@example.com");
+            e.setPrimary_mobile_no(9_000_000_000L + random.nextInt(999_999_999));
+            e.setTempPayrollId("TEMP" + (1000 + random.nextInt(9000)) + String.format("%04d", i));
+            e.setIs_active(1);
+            e.setDepartment(department);
+            e.setDesignation(designation);
+            e.setGender(gender);
+            employees.add(e);
+        }
+        return employees;
+    }
+
+    static List<EmpDetails> details(List<Employee> employees) {
+        Random random = new Random(SEED);
+        List<EmpDetails> details = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            EmpDetails d = new EmpDetails();
+            d.setEmployee_id(e);
+            d.setDate_of_birth(Date.valueOf(LocalDate.of(1965 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28))));
+            details.add(d);
+        }
+        return details;
+    }
+
+    /**
+     * Repository stub whose findByIsActive(..) returns the given rows; no mocking framework
+     * on the measured path.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T findByIsActiveStub(Class<T> repositoryType, List<?> rows) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByIsActive":
+                            return rows;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return repositoryType.getSimpleName() + "Stub";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,97 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.employee.dto.EmployeeFullDetailsDTO;
+import com.employee.dto.GenericDropdownDTO;
+import com.employee.entity.Category;
+import com.employee.entity.EmpDetails;
+import com.employee.entity.Employee;
+import com.employee.repository.CategoryRepository;
+import com.employee.repository.EmployeeRepository;
+
+/**
+ * Entity -> DTO mapping on the list endpoints, measured per list of {@code size} rows.
+ * Repositories are replaced by stubs, so only the mapping is timed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({ "100", "3000" })
+    public int size;
+
+    private List<Employee> employees;
+    private List<EmpDetails> details;
+    private List<String> subjects;
+
+    private EmployeeSearchService employeeSearchService;
+    private CampusFlowService campusFlowService;
+    private DropDownService dropDownService;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.employees(size);
+        details = BenchmarkData.details(employees);
+        subjects = List.of("Physics", "Mathematics");
+
+        List<Category> categories = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Category category = new Category();
+            category.setCategory_id(i);
+            category.setCategory_name("Category " + i);
+            category.setIsActive(1);
+            categories.add(category);
+        }
+
+        employeeSearchService = new EmployeeSearchService();
+        campusFlowService = new CampusFlowService();
+        dropDownService = new DropDownService();
+        dropDownService.employeeRepository = BenchmarkData.findByIsActiveStub(EmployeeRepository.class, employees);
+        dropDownService.categoryRepository = BenchmarkData.findByIsActiveStub(CategoryRepository.class, categories);
+    }
+
+    @Benchmark
+    public void employeeSearchMapToResponseDTO(Blackhole bh) {
+        for (Employee employee : employees) {
+            bh.consume(employeeSearchService.mapToResponseDTO(employee));
+        }
+    }
+
+    @Benchmark
+    public void campusFlowConvertToFullDetailsDTO(Blackhole bh) {
+        for (int i = 0; i < employees.size(); i++) {
+            EmployeeFullDetailsDTO dto = campusFlowService.convertToFullDetailsDTO(employees.get(i), details.get(i), subjects);
+            bh.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public List<GenericDropdownDTO> dropDownActiveEmployees() {
+        return dropDownService.getActiveEmployees();
+    }
+
+    @Benchmark
+    public List<GenericDropdownDTO> dropDownActiveCategories() {
+        return dropDownService.getActiveCategories();
+    }
+}
@@ -0,0 +1,77 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.employee.dto.EmployeeFullDetailsDTO;
+import com.employee.dto.EmployeeSearchResponseDTO;
+import com.employee.dto.GenericDropdownDTO;
+import com.employee.entity.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of the large list responses (campus roster, search, dropdowns).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({ "100", "3000" })
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<EmployeeFullDetailsDTO> roster;
+    private List<EmployeeSearchResponseDTO> searchResults;
+    private List<GenericDropdownDTO> dropdown;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = BenchmarkData.employees(size);
+        roster = new ArrayList<>(size);
+        searchResults = new ArrayList<>(size);
+        dropdown = new ArrayList<>(size);
+        for (Employee e : employees) {
+            String name = e.getFirst_name() + " " + e.getLast_name();
+            roster.add(new EmployeeFullDetailsDTO(e.getEmp_id(), name, e.getPrimary_mobile_no(), e.getEmail(),
+                    e.getDesignation().getDesignation_name(), e.getGender().getGenderName(), 38,
+                    List.of("Physics", "Mathematics"), false));
+            searchResults.add(new EmployeeSearchResponseDTO(e.getEmp_id(), name,
+                    e.getDepartment().getDepartment_name(), e.getTempPayrollId()));
+            dropdown.add(new GenericDropdownDTO(e.getEmp_id(), name));
+        }
+    }
+
+    @Benchmark
+    public byte[] campusRoster() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public byte[] employeeSearch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(searchResults);
+    }
+
+    @Benchmark
+    public byte[] genericDropdown() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dropdown);
+    }
+}
@@ -0,0 +1,136 @@
+package com.employee.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Platform vs virtual request threads for a JDBC-bound request, at equal pool sizes.
+ *
+ * Each of the 64 JMH threads is a client submitting requests to the "server" executor and waiting
+ * for the response. A request runs QUERIES blocking queries, each taking a connection from a
+ * pool of CONNECTIONS connections and parking for queryMicros while holding it. The platform executor
+ * has poolSize threads; the virtual executor starts a virtual thread per request and admits at most
+ * poolSize of them (as spring.threads.virtual.enabled with a concurrency limit does).
+ * driverLock=synchronized blocks while holding a monitor, which pins the virtual thread on Java 21-23.
+ *
+ * SampleTime reports the latency distribution (p99/p99.9 tails), Throughput the requests/s.
+ * The virtual executor needs Java 21+: mvn -Pbenchmarks -DskipTests verify -Djmh.args="ThreadingModel"
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class ThreadingModelBenchmark {
+
+    private static final int QUERIES = 3;
+    private static final int CONNECTIONS = 10;
+
+    @Param({ "platform", "virtual" })
+    private String executor;
+
+    @Param({ "16", "200" })
+    private int poolSize;
+
+    @Param({ "500" })
+    private long queryMicros;
+
+    @Param({ "none", "synchronized" })
+    private String driverLock;
+
+    private ExecutorService server;
+    private Semaphore admission;
+    private BlockingQueue<Object> connections;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connections = new ArrayBlockingQueue<>(CONNECTIONS, true);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            connections.add(new Object());
+        }
+        if ("virtual".equals(executor)) {
+            server = newVirtualThreadPerTaskExecutor();
+            admission = new Semaphore(poolSize);
+        } else {
+            server = Executors.newFixedThreadPool(poolSize);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        server.shutdownNow();
+        server.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public int request() throws InterruptedException, ExecutionException {
+        Future<Integer> response = server.submit(this::handle);
+        return response.get();
+    }
+
+    private int handle() throws InterruptedException {
+        if (admission != null) {
+            admission.acquire();
+        }
+        try {
+            int rows = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                rows += query();
+            }
+            return rows;
+        } finally {
+            if (admission != null) {
+                admission.release();
+            }
+        }
+    }
+
+    private int query() throws InterruptedException {
+        Object connection = connections.take();
+        try {
+            if ("synchronized".equals(driverLock)) {
+                // socket read inside the connection's monitor, as in older JDBC drivers
+                synchronized (connection) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(queryMicros));
+                }
+            } else {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(queryMicros));
+            }
+            return 1;
+        } finally {
+            connections.put(connection);
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Virtual threads need Java 21+, running on " + Runtime.version(), ex);
+        }
+    }
+}
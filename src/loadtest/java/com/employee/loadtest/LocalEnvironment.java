@@ -0,0 +1,78 @@
+package com.employee.loadtest;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.employee.EmployeeModuleApplication;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The application started in-process against an embedded PostgreSQL server (real postgres
+ * binaries, started in a temp directory). The schema is created from the entity mappings and
+ * seeded by ReferenceDataSeeder; Redis is replaced by the in-memory cache.
+ */
+final class LocalEnvironment implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private LocalEnvironment(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static LocalEnvironment start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+            properties.put("spring.datasource.username", "postgres");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.datasource.hikari.maximum-pool-size", "20");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create");
+            properties.put("spring.jpa.properties.hibernate.hbm2ddl.create_namespaces", "true");
+            properties.put("spring.jpa.show-sql", "false");
+            properties.put("spring.cache.type", "simple");
+            properties.put("management.health.redis.enabled", "false");
+            properties.put("server.port", "0");
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeModuleApplication.class)
+                    .properties(properties)
+                    .run();
+            int tables = new ReferenceDataSeeder(context.getBean(EntityManagerFactory.class)).seed();
+            System.out.printf("Embedded database ready: %d tables seeded%n", tables);
+            return new LocalEnvironment(postgres, context);
+        } catch (RuntimeException ex) {
+            postgres.close();
+            throw ex;
+        }
+    }
+
+    String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    DataSource dataSource() {
+        return context.getBean(DataSource.class);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
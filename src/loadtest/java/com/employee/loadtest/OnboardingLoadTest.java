@@ -0,0 +1,158 @@
+package com.employee.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Replays the onboarding workflow (see OnboardingWorkflow) with N concurrent virtual users and
+ * reports throughput, latency percentiles and error rate per step.
+ *
+ * By default the application is started in-process on an embedded PostgreSQL with seeded
+ * reference data (LocalEnvironment). Set loadtest.baseUrl to drive an already running instance
+ * instead; manager mapping then needs loadtest.jdbcUrl/jdbcUser/jdbcPassword to read the
+ * permanent payroll ID, and the payload templates must reference IDs that exist in that database.
+ *
+ * System properties (defaults in brackets):
+ *  loadtest.concurrency [8], loadtest.onboardings [200], loadtest.warmup [10], loadtest.seed [1],
+ *  loadtest.hrEmployeeId [1], loadtest.campusId [1], loadtest.payloads [classpath templates],
+ *  loadtest.report [target/loadtest/onboarding-report.csv], loadtest.maxErrorRate [1.0 = never fail]
+ */
+public final class OnboardingLoadTest {
+
+    private OnboardingLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+        int onboardings = Integer.getInteger("loadtest.onboardings", 200);
+        int warmup = Integer.getInteger("loadtest.warmup", 10);
+        long seed = Long.getLong("loadtest.seed", 1L);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "1.0"));
+        String payloads = System.getProperty("loadtest.payloads");
+        Path report = Paths.get(System.getProperty("loadtest.report", "target/loadtest/onboarding-report.csv"));
+
+        Map<String, String> fixedValues = new LinkedHashMap<>();
+        fixedValues.put("hrEmployeeId", System.getProperty("loadtest.hrEmployeeId", "1"));
+        fixedValues.put("campusId", System.getProperty("loadtest.campusId", "1"));
+
+        String externalBaseUrl = System.getProperty("loadtest.baseUrl");
+        LocalEnvironment environment = externalBaseUrl == null ? LocalEnvironment.start() : null;
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(concurrency);
+        try {
+            String baseUrl = environment != null ? environment.baseUrl() : externalBaseUrl;
+            DataSource dataSource = environment != null ? environment.dataSource() : externalDataSource();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(httpExecutor)
+                    .build();
+            OnboardingWorkflow workflow = new OnboardingWorkflow(httpClient, baseUrl, seed, fixedValues,
+                    dataSource, payloads != null ? Paths.get(payloads) : null);
+
+            System.out.printf("Onboarding load test against %s: %d onboardings, %d virtual users, seed %d%n",
+                    baseUrl, onboardings, concurrency, seed);
+
+            // Warmup uses its own sequence range so measured onboardings stay identical across runs
+            for (int i = 0; i < warmup; i++) {
+                workflow.run(-1 - i, null);
+            }
+
+            Map<String, StepStats> stats = new LinkedHashMap<>();
+            for (OnboardingWorkflow.Step step : OnboardingWorkflow.STEPS) {
+                stats.put(step.name, new StepStats(step.name));
+            }
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger completed = new AtomicInteger();
+            ExecutorService users = Executors.newFixedThreadPool(concurrency);
+            long start = System.nanoTime();
+            for (int u = 0; u < concurrency; u++) {
+                users.execute(() -> {
+                    int sequence;
+                    while ((sequence = next.getAndIncrement()) < onboardings) {
+                        if (workflow.run(sequence, stats)) {
+                            completed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            users.shutdown();
+            users.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double errorRate = printReport(stats, onboardings, completed.get(), seconds);
+            writeCsv(report, stats, seconds);
+            System.out.printf("Report written to %s%n", report.toAbsolutePath());
+            if (errorRate > maxErrorRate) {
+                throw new IllegalStateException(String.format(Locale.ROOT,
+                        "Error rate %.2f%% exceeds loadtest.maxErrorRate %.2f%%", errorRate * 100, maxErrorRate * 100));
+            }
+        } finally {
+            httpExecutor.shutdownNow();
+            if (environment != null) {
+                environment.close();
+            }
+        }
+    }
+
+    private static DataSource externalDataSource() {
+        String jdbcUrl = System.getProperty("loadtest.jdbcUrl");
+        if (jdbcUrl == null) {
+            System.out.println("loadtest.jdbcUrl not set - manager-mapping step is skipped");
+            return null;
+        }
+        return new DriverManagerDataSource(jdbcUrl,
+                System.getProperty("loadtest.jdbcUser", ""), System.getProperty("loadtest.jdbcPassword", ""));
+    }
+
+    /**
+     * @return overall request error rate
+     */
+    private static double printReport(Map<String, StepStats> stats, int onboardings, int completed, double seconds) {
+        System.out.printf(Locale.ROOT, "%n%-28s %8s %8s %8s %10s %9s %9s %9s %9s%n",
+                "step", "requests", "errors", "error%", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        int requests = 0;
+        int errors = 0;
+        for (StepStats step : stats.values()) {
+            StepStats.Snapshot s = step.snapshot();
+            requests += s.count;
+            errors += s.errors;
+            System.out.printf(Locale.ROOT, "%-28s %8d %8d %7.2f%% %10.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    s.step, s.count, s.errors, s.errorRate() * 100, s.count / seconds,
+                    s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99), s.maxMillis());
+        }
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        System.out.printf(Locale.ROOT, "%nOnboardings: %d started, %d completed (%.2f/s) in %.1f s; request error rate %.2f%%%n",
+                onboardings, completed, completed / seconds, seconds, errorRate * 100);
+        return errorRate;
+    }
+
+    private static void writeCsv(Path report, Map<String, StepStats> stats, double seconds) throws IOException {
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report))) {
+            out.println("step,requests,errors,error_rate,throughput_per_s,p50_ms,p95_ms,p99_ms,max_ms");
+            for (StepStats step : stats.values()) {
+                StepStats.Snapshot s = step.snapshot();
+                out.printf(Locale.ROOT, "%s,%d,%d,%.4f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                        s.step, s.count, s.errors, s.errorRate(), s.count / seconds,
+                        s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99), s.maxMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.employee.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One onboarding, end to end, as the DO / CO / HR screens drive it:
+ * temp payroll ID, the 9 tab saves, forward to central office, CO checklist
+ * (which issues the permanent payroll ID) and manager mapping.
+ *
+ * Request bodies are JSON templates (loadtest/payloads/*.json, or loadtest.payloads
+ * to use a different directory) with ${...} placeholders. Per-onboarding values are
+ * derived from the run seed and the onboarding number, so a run can be replayed exactly.
+ */
+final class OnboardingWorkflow {
+
+    static final List<Step> STEPS = List.of(
+            new Step("generate-temp-payroll-id", "/api/employee/onboarding/generate-temp-payroll-id/${hrEmployeeId}", "generate-temp-payroll-id.json"),
+            new Step("basic-info", "/api/employee/tab/basic-info", "basic-info.json"),
+            new Step("address-info", "/api/employee/tab/address-info?tempPayrollId=${tempPayrollId}", "address-info.json"),
+            new Step("family-info", "/api/employee/tab/family-info?tempPayrollId=${tempPayrollId}", "family-info.json"),
+            new Step("previous-employer", "/api/employee/tab/previous-employer?tempPayrollId=${tempPayrollId}", "previous-employer.json"),
+            new Step("qualification", "/api/employee/tab/qualification?tempPayrollId=${tempPayrollId}", "qualification.json"),
+            new Step("documents", "/api/employee/tab/documents?tempPayrollId=${tempPayrollId}", "documents.json"),
+            new Step("category-info", "/api/employee/tab/category-info?tempPayrollId=${tempPayrollId}", "category-info.json"),
+            new Step("bank-info", "/api/employee/tab/bank-info?tempPayrollId=${tempPayrollId}", "bank-info.json"),
+            new Step("agreement-info", "/api/employee/tab/agreement-info?tempPayrollId=${tempPayrollId}", "agreement-info.json"),
+            new Step("forward-to-central-office", "/api/employee/tab/forward-to-central-office", "forward-to-central-office.json"),
+            new Step("co-update-checklist", "/api/employee/central-office/update-checklist", "co-update-checklist.json"),
+            new Step("manager-mapping", "/api/manager-mapping/map-employees", "manager-mapping.json"));
+
+    private static final String PAYROLL_ID_QUERY =
+            "SELECT payroll_id FROM sce_employee.sce_emp WHERE temp_payroll_id = ?";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final long seed;
+    private final Map<String, String> fixedValues;
+    private final DataSource dataSource;
+    private final Map<String, String> templates = new HashMap<>();
+
+    /**
+     * @param fixedValues placeholders shared by every onboarding (hrEmployeeId, campusId, ...)
+     * @param dataSource  used to read the permanent payroll ID for manager mapping; null skips that step
+     */
+    OnboardingWorkflow(HttpClient httpClient, String baseUrl, long seed, Map<String, String> fixedValues,
+            DataSource dataSource, Path payloadDir) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.fixedValues = fixedValues;
+        this.dataSource = dataSource;
+        for (Step step : STEPS) {
+            templates.put(step.name, loadTemplate(payloadDir, step.template));
+        }
+    }
+
+    /**
+     * Runs onboarding number {@code sequence}. Stops at the first failed step; later steps are not attempted.
+     *
+     * @param stats per-step stats, or null for warmup iterations
+     * @return true if every step succeeded
+     */
+    boolean run(int sequence, Map<String, StepStats> stats) {
+        Map<String, String> values = valuesFor(sequence);
+        for (Step step : STEPS) {
+            if ("manager-mapping".equals(step.name)) {
+                if (dataSource == null) {
+                    return true;
+                }
+                String payrollId = lookupPayrollId(values.get("tempPayrollId"));
+                if (payrollId == null) {
+                    record(stats, step, 0, false);
+                    return false;
+                }
+                values.put("payrollId", payrollId);
+            }
+            String body = substitute(templates.get(step.name), values);
+            String path = substitute(step.path, values);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            long start = System.nanoTime();
+            boolean success;
+            String responseBody = null;
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                success = response.statusCode() / 100 == 2;
+                responseBody = response.body();
+            } catch (IOException ex) {
+                success = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            record(stats, step, System.nanoTime() - start, success);
+            if (!success) {
+                return false;
+            }
+            if ("generate-temp-payroll-id".equals(step.name)) {
+                String tempPayrollId = readTempPayrollId(responseBody);
+                if (tempPayrollId == null) {
+                    return false;
+                }
+                values.put("tempPayrollId", tempPayrollId);
+            }
+        }
+        return true;
+    }
+
+    private Map<String, String> valuesFor(int sequence) {
+        Random random = new Random(seed * 1_000_003L + sequence);
+        LocalDate today = LocalDate.now();
+        Map<String, String> values = new LinkedHashMap<>(fixedValues);
+        values.put("seq", String.valueOf(sequence));
+        values.put("firstName", "Load" + sequence);
+        values.put("lastName", "Test" + Long.toString(seed, 36));
+        values.put("email", "load" + sequence + "." + seed + "@example.com");
+        values.put("mobile", String.valueOf(6_000_000_000L + random.nextInt(999_999_999)));
+        values.put("emergencyMobile", String.valueOf(7_000_000_000L + random.nextInt(999_999_999)));
+        values.put("aadhaar", Aadhaar.random(random));
+        values.put("fatherAadhaar", Aadhaar.random(random));
+        values.put("motherAadhaar", Aadhaar.random(random));
+        values.put("pan", "LTPAN" + String.format("%04d", random.nextInt(10_000)) + "L");
+        values.put("accountNo", String.valueOf(100_000_000_000L + random.nextInt(999_999_999)));
+        values.put("today", today.toString());
+        values.put("dateOfBirth", today.minusYears(22 + random.nextInt(30)).minusDays(random.nextInt(365)).toString());
+        values.put("previousFrom", today.minusYears(5).toString());
+        values.put("previousTo", today.minusMonths(1).toString());
+        return values;
+    }
+
+    private String readTempPayrollId(String responseBody) {
+        try {
+            JsonNode id = objectMapper.readTree(responseBody).get("tempPayrollId");
+            return id != null && !id.isNull() ? id.asText() : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private String lookupPayrollId(String tempPayrollId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PAYROLL_ID_QUERY)) {
+            statement.setString(1, tempPayrollId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    private static void record(Map<String, StepStats> stats, Step step, long latencyNanos, boolean success) {
+        if (stats != null) {
+            stats.get(step.name).record(latencyNanos, success);
+        }
+    }
+
+    static String substitute(String template, Map<String, String> values) {
+        StringBuilder result = new StringBuilder(template.length() + 64);
+        int from = 0;
+        int start;
+        while ((start = template.indexOf("${", from)) >= 0) {
+            int end = template.indexOf('}', start);
+            String key = template.substring(start + 2, end);
+            String value = values.get(key);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for placeholder ${" + key + "}");
+            }
+            result.append(template, from, start).append(value);
+            from = end + 1;
+        }
+        return result.append(template, from, template.length()).toString();
+    }
+
+    private static String loadTemplate(Path payloadDir, String name) {
+        try {
+            if (payloadDir != null) {
+                return Files.readString(payloadDir.resolve(name));
+            }
+            try (InputStream in = OnboardingWorkflow.class.getResourceAsStream("/loadtest/payloads/" + name)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing payload template: " + name);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static final class Step {
+
+        final String name;
+        final String path;
+        final String template;
+
+        Step(String name, String path, String template) {
+            this.name = name;
+            this.path = path;
+            this.template = template;
+        }
+    }
+
+    /**
+     * Aadhaar numbers with a valid Verhoeff check digit (validated by the basic-info and family tabs).
+     */
+    static final class Aadhaar {
+
+        private static final int[][] D = {
+                {0,1,2,3,4,5,6,7,8,9},{1,2,3,4,0,6,7,8,9,5},{2,3,4,0,1,7,8,9,5,6},{3,4,0,1,2,8,9,5,6,7},
+                {4,0,1,2,3,9,5,6,7,8},{5,9,8,7,6,0,4,3,2,1},{6,5,9,8,7,1,0,4,3,2},{7,6,5,9,8,2,1,0,4,3},
+                {8,7,6,5,9,3,2,1,0,4},{9,8,7,6,5,4,3,2,1,0}};
+        private static final int[][] P = {
+                {0,1,2,3,4,5,6,7,8,9},{1,5,7,6,2,8,3,0,9,4},{5,8,0,3,7,9,6,1,4,2},{8,9,1,6,0,4,3,5,2,7},
+                {9,4,5,3,1,2,6,8,7,0},{4,2,8,6,5,7,3,9,0,1},{2,7,9,3,8,0,6,4,1,5},{7,0,4,6,9,1,3,2,5,8}};
+        private static final int[] INV = {0,4,3,2,1,5,6,7,8,9};
+
+        private Aadhaar() {
+        }
+
+        static String random(Random random) {
+            StringBuilder sb = new StringBuilder(12);
+            sb.append((char) ('2' + random.nextInt(8)));
+            for (int i = 1; i < 11; i++) {
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            int c = 0;
+            for (int i = 0; i < sb.length(); i++) {
+                c = D[c][P[(i + 1) % 8][sb.charAt(sb.length() - 1 - i) - '0']];
+            }
+            return sb.append((char) ('0' + INV[c])).toString();
+        }
+    }
+}
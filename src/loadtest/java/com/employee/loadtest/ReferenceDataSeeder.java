@@ -0,0 +1,154 @@
+package com.employee.loadtest;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+
+/**
+ * Inserts one row into every mapped table of a freshly created schema, so that ID 1 of every
+ * lookup (campus, gender, designation, bank, checklist, ...) exists and employee 1 can act as
+ * the recruiter, manager and reporting manager. The payload templates rely on this.
+ *
+ * Rows are built from the JPA metamodel rather than a SQL script, so the seed follows the
+ * entity mappings: required associations are seeded first, basic columns get a type-appropriate
+ * value (strings fit the column length, flags are 1).
+ */
+final class ReferenceDataSeeder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Class<?>, Object> seeded = new HashMap<>();
+    private int stringCounter;
+
+    ReferenceDataSeeder(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @return number of seeded tables
+     */
+    int seed() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Metamodel metamodel = entityManager.getMetamodel();
+            for (EntityType<?> type : metamodel.getEntities()) {
+                seed(entityManager, metamodel, type.getJavaType(), new ArrayDeque<>());
+            }
+            entityManager.getTransaction().commit();
+            return seeded.size();
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.close();
+        }
+    }
+
+    private Object seed(EntityManager entityManager, Metamodel metamodel, Class<?> type, Deque<Class<?>> path) {
+        if (seeded.containsKey(type)) {
+            return seeded.get(type);
+        }
+        if (path.contains(type)) {
+            return null; // self / cyclic reference - left empty on the first row
+        }
+        path.push(type);
+        try {
+            Object instance = type.getDeclaredConstructor().newInstance();
+            for (Attribute<?, ?> attribute : metamodel.entity(type).getAttributes()) {
+                Member member = attribute.getJavaMember();
+                if (!(member instanceof Field field) || field.isAnnotationPresent(GeneratedValue.class)) {
+                    continue;
+                }
+                field.setAccessible(true);
+                switch (attribute.getPersistentAttributeType()) {
+                    case BASIC:
+                        field.set(instance, sampleValue(field));
+                        break;
+                    case MANY_TO_ONE:
+                        field.set(instance, seed(entityManager, metamodel, field.getType(), path));
+                        break;
+                    case ONE_TO_ONE:
+                        OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+                        if (oneToOne == null || oneToOne.mappedBy().isEmpty()) {
+                            field.set(instance, seed(entityManager, metamodel, field.getType(), path));
+                        }
+                        break;
+                    default:
+                        break; // collections stay empty
+                }
+            }
+            entityManager.persist(instance);
+            seeded.put(type, instance);
+            return instance;
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot seed " + type.getName(), ex);
+        } finally {
+            path.pop();
+        }
+    }
+
+    private Object sampleValue(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            Column column = field.getAnnotation(Column.class);
+            String value = "LT" + (++stringCounter);
+            int length = column != null ? column.length() : 255;
+            return value.length() <= length ? value : value.substring(0, length);
+        }
+        if (type == Integer.class || type == int.class) {
+            return 1;
+        }
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Short.class || type == short.class) {
+            return (short) 1;
+        }
+        if (type == Double.class || type == double.class) {
+            return 1.0d;
+        }
+        if (type == Float.class || type == float.class) {
+            return 1.0f;
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (type == java.sql.Date.class) {
+            return java.sql.Date.valueOf(LocalDate.now());
+        }
+        if (type == java.sql.Timestamp.class) {
+            return java.sql.Timestamp.valueOf(LocalDateTime.now());
+        }
+        if (type == java.util.Date.class) {
+            return new java.util.Date();
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        return null;
+    }
+}
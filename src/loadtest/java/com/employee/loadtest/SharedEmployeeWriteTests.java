@@ -0,0 +1,175 @@
+package com.employee.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.employee.dto.BulkManagerMappingDTO;
+import com.employee.dto.BulkUnmappingDTO;
+import com.employee.dto.CampusMappingDTO;
+import com.employee.service.ManagerMappingService;
+
+/**
+ * Shared-employee writes of ManagerMappingService (the upsert CTE, the advisory locks, the
+ * per-employee savepoints and the deactivation on unmapping) against the embedded PostgreSQL of
+ * LocalEnvironment. On top of the seeded rows, campus 2 is a copy of campus 1 and employees
+ * 1001-1008 are copies of employee 1, all in campus 1.
+ *
+ * Run: mvn -Ploadtest test -Dtest=SharedEmployeeWriteTests
+ */
+class SharedEmployeeWriteTests {
+
+    private static final int CITY = 1;
+    private static final int HOME_CAMPUS = 1;
+    private static final int SECOND_CAMPUS = 2;
+    private static final String REMARK = "shared employee write test";
+
+    private static LocalEnvironment environment;
+    private static ManagerMappingService managerMappingService;
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void startEnvironment() throws IOException {
+        environment = LocalEnvironment.start();
+        managerMappingService = environment.bean(ManagerMappingService.class);
+        jdbc = new JdbcTemplate(environment.dataSource());
+        copyRow("sce_campus.sce_cmps", "cmps_id", 1, SECOND_CAMPUS, "");
+        for (int empId = 1001; empId <= 1008; empId++) {
+            copyRow("sce_employee.sce_emp", "emp_id", 1, empId,
+                    ", temp_payroll_id = '" + payrollId(empId) + "', payroll_id = NULL, remarks = NULL");
+        }
+    }
+
+    @AfterAll
+    static void stopEnvironment() throws IOException {
+        if (environment != null) {
+            environment.close();
+        }
+    }
+
+    @Test
+    void mappingAgainUpdatesTheRecordsInsteadOfAddingRows() {
+        managerMappingService.mapMultipleEmployeesAndUpdateWorkDate(mapping(1001, 1002));
+        managerMappingService.mapMultipleEmployeesAndUpdateWorkDate(mapping(1001, 1002));
+
+        for (int empId : new int[] { 1001, 1002 }) {
+            assertEquals(List.of(HOME_CAMPUS, SECOND_CAMPUS), activeCampuses(empId));
+            assertEquals(2, recordCount(empId));
+        }
+    }
+
+    @Test
+    void unmappingDeactivatesAndMappingReactivatesTheSameRecords() {
+        managerMappingService.mapMultipleEmployeesAndUpdateWorkDate(mapping(1003));
+        List<Integer> recordIds = recordIds(1003);
+
+        managerMappingService.unmapMultipleEmployees(unmapping(1003));
+        assertEquals(List.of(), activeCampuses(1003));
+
+        managerMappingService.mapMultipleEmployeesAndUpdateWorkDate(mapping(1003));
+        assertEquals(List.of(HOME_CAMPUS, SECOND_CAMPUS), activeCampuses(1003));
+        assertEquals(recordIds, recordIds(1003));
+    }
+
+    @Test
+    void anAssignmentTheDatabaseRejectsFailsOnlyItsEmployee() {
+        jdbc.execute("ALTER TABLE sce_employee.sce_shared_employee ADD CONSTRAINT test_rejects_1005 CHECK (emp_id <> 1005)");
+        try {
+            managerMappingService.mapMultipleEmployeesAndUpdateWorkDate(mapping(1004, 1005));
+        } finally {
+            jdbc.execute("ALTER TABLE sce_employee.sce_shared_employee DROP CONSTRAINT test_rejects_1005");
+        }
+
+        assertEquals(List.of(HOME_CAMPUS, SECOND_CAMPUS), activeCampuses(1004));
+        assertEquals(REMARK, remarks(1004));
+        assertEquals(0, recordCount(1005));
+        assertNull(remarks(1005));
+    }
+
+    @Test
+    void concurrentMappingsOfTheSameEmployeesLeaveOneRecordPerCampus() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> mappings = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                // overlapping requests, listed in different orders
+                BulkManagerMappingDTO request = i % 2 == 0 ? mapping(1006, 1007, 1008) : mapping(1008, 1007, 1006);
+                mappings.add(executor.submit(() -> managerMappingService.mapMultipleEmployeesAndUpdateWorkDate(request)));
+            }
+            for (Future<?> mapping : mappings) {
+                mapping.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int empId = 1006; empId <= 1008; empId++) {
+            assertEquals(List.of(HOME_CAMPUS, SECOND_CAMPUS), activeCampuses(empId));
+            assertEquals(2, recordCount(empId));
+        }
+    }
+
+    private static BulkManagerMappingDTO mapping(int... empIds) {
+        List<CampusMappingDTO> campuses = List.of(
+                new CampusMappingDTO(HOME_CAMPUS, 1, null, 1),
+                new CampusMappingDTO(SECOND_CAMPUS, 1, null, 1));
+        return new BulkManagerMappingDTO(CITY, campuses, payrollIds(empIds), null, null,
+                Date.valueOf(LocalDate.now()), REMARK, 1);
+    }
+
+    private static BulkUnmappingDTO unmapping(int... empIds) {
+        return new BulkUnmappingDTO(CITY, List.of(HOME_CAMPUS, SECOND_CAMPUS), payrollIds(empIds), null, null,
+                Date.valueOf(LocalDate.now()), REMARK, 1);
+    }
+
+    private static List<String> payrollIds(int... empIds) {
+        List<String> payrollIds = new ArrayList<>();
+        for (int empId : empIds) {
+            payrollIds.add(payrollId(empId));
+        }
+        return payrollIds;
+    }
+
+    private static String payrollId(int empId) {
+        return "TEMPSE" + empId;
+    }
+
+    private static List<Integer> activeCampuses(int empId) {
+        return jdbc.queryForList("SELECT cmps_id FROM sce_employee.sce_shared_employee"
+                + " WHERE emp_id = ? AND is_active = 1 ORDER BY cmps_id", Integer.class, empId);
+    }
+
+    private static List<Integer> recordIds(int empId) {
+        return jdbc.queryForList("SELECT shared_employee_id FROM sce_employee.sce_shared_employee"
+                + " WHERE emp_id = ? ORDER BY shared_employee_id", Integer.class, empId);
+    }
+
+    private static int recordCount(int empId) {
+        return recordIds(empId).size();
+    }
+
+    private static String remarks(int empId) {
+        return jdbc.queryForObject("SELECT remarks FROM sce_employee.sce_emp WHERE emp_id = ?", String.class, empId);
+    }
+
+    // One statement, so the temp table lives on the connection that uses it
+    private static void copyRow(String table, String idColumn, int fromId, int toId, String moreAssignments) {
+        jdbc.execute("CREATE TEMP TABLE seed_copy AS SELECT * FROM " + table + " WHERE " + idColumn + " = " + fromId + "; "
+                + "UPDATE seed_copy SET " + idColumn + " = " + toId + moreAssignments + "; "
+                + "INSERT INTO " + table + " SELECT * FROM seed_copy; "
+                + "DROP TABLE seed_copy");
+    }
+}
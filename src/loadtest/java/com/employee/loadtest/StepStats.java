@@ -0,0 +1,75 @@
+package com.employee.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency and error counts of one workflow step, shared by all virtual users.
+ */
+final class StepStats {
+
+    private final String step;
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private int errors;
+
+    StepStats(String step) {
+        this.step = step;
+    }
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    String getStep() {
+        return step;
+    }
+
+    synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        return new Snapshot(step, count, errors, sorted);
+    }
+
+    /**
+     * Immutable view of a step at the end of the run.
+     */
+    static final class Snapshot {
+
+        final String step;
+        final int count;
+        final int errors;
+        private final long[] sortedNanos;
+
+        private Snapshot(String step, int count, int errors, long[] sortedNanos) {
+            this.step = step;
+            this.count = count;
+            this.errors = errors;
+            this.sortedNanos = sortedNanos;
+        }
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        /**
+         * Nearest-rank percentile in milliseconds.
+         */
+        double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sortedNanos[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000_000.0;
+        }
+
+        double maxMillis() {
+            return count == 0 ? 0 : sortedNanos[count - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -2,12 +2,16 @@ package com.employee;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class EmployeeModuleApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(EmployeeModuleApplication.class, args);
+		SpringApplication application = new SpringApplication(EmployeeModuleApplication.class);
+		// Records startup steps (bean creation, context refresh) for /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
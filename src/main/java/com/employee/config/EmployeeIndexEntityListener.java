@@ -0,0 +1,34 @@
+package com.employee.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+import com.employee.entity.Employee;
+import com.employee.service.ChecklistService;
+import com.employee.service.OrgGraphService;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Reports every saved Employee (new hires, mapping changes, campus moves, deactivations) to the
+ * in-memory employee indexes, whatever service saved it. Created through Spring's bean container
+ * like IdentityIndexEntityListener, hence the lazy injection.
+ */
+public class EmployeeIndexEntityListener {
+
+    @Autowired
+    @Lazy
+    private OrgGraphService orgGraphService;
+
+    @Autowired
+    @Lazy
+    private ChecklistService checklistService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Employee employee) {
+        orgGraphService.onEmployeeMappingChanged(employee);
+        checklistService.onEmployeeSaved(employee);
+    }
+}
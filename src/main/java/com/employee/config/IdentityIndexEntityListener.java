@@ -0,0 +1,39 @@
+package com.employee.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+import com.employee.entity.EmpDetails;
+import com.employee.entity.Employee;
+import com.employee.entity.SkillTestDetails;
+import com.employee.service.IdentityIndexService;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Feeds identity keys of every saved SkillTestDetails, Employee and EmpDetails row into
+ * IdentityIndexService, whatever service saved it. Instantiated by Hibernate through Spring's
+ * bean container, so the service can be injected (lazily - entity listeners are created while
+ * the EntityManagerFactory is built).
+ */
+public class IdentityIndexEntityListener {
+
+    @Autowired
+    @Lazy
+    private IdentityIndexService identityIndexService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        if (entity instanceof SkillTestDetails skillTest) {
+            if (skillTest.getIsActive() != null && skillTest.getIsActive() == 1) {
+                identityIndexService.onIdentityKeysSaved(skillTest.getAadhaar_no(), skillTest.getContact_number(), null, null);
+            }
+        } else if (entity instanceof Employee employee) {
+            identityIndexService.onIdentityKeysSaved(null, employee.getPrimary_mobile_no(), null, null);
+        } else if (entity instanceof EmpDetails details) {
+            identityIndexService.onIdentityKeysSaved(details.getAdhaar_no(), null, details.getPancard_no(), details.getPersonal_email());
+        }
+    }
+}
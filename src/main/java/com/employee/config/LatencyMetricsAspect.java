@@ -0,0 +1,128 @@
+package com.employee.config;
+
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.employee.exception.LeaseConflictException;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Latency timers for the service and repository layers.
+ *
+ * Controllers are already covered by Spring MVC's http.server.requests timer (uri/method/status/outcome tags).
+ * This aspect adds:
+ *  - employee.service     tags: class, method, endpoint, outcome, exception
+ *  - employee.repository  tags: repository, method, endpoint, outcome, exception
+ *
+ * "endpoint" is the route template of the controller method serving the request (e.g.
+ * /api/employee/tab/basic-info/{id}, never the raw URI), so a slow endpoint can be broken down into
+ * validation, lookups and save; "none" outside a controller request. "exception" is the simple name of
+ * the nearest of TAGGED_EXCEPTIONS the exception extends, "Other" for anything else. Both tags therefore
+ * take values from a fixed set and cannot grow the registry with request data. Percentiles/histograms
+ * are configured per meter name in application.properties.
+ */
+@Aspect
+@Component
+public class LatencyMetricsAspect {
+
+    static final String SERVICE_TIMER = "employee.service";
+    static final String REPOSITORY_TIMER = "employee.repository";
+
+    private static final String NO_ENDPOINT = "none";
+    private static final String NO_EXCEPTION = "none";
+    private static final String OTHER_EXCEPTION = "Other";
+
+    // Exception tag values; an exception is tagged with the first of these found up its class hierarchy
+    private static final List<Class<? extends Throwable>> TAGGED_EXCEPTIONS = List.of(
+            ResourceNotFoundException.class,
+            LeaseConflictException.class,
+            TooManyRequestsException.class,
+            DataIntegrityViolationException.class,
+            DataAccessException.class,
+            TransactionException.class,
+            IllegalArgumentException.class,
+            IllegalStateException.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public LatencyMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.employee.service..*) && @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint pjp) throws Throwable {
+        return time(pjp, SERVICE_TIMER, "class", pjp.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint pjp) throws Throwable {
+        // Inherited methods (save, findById, ...) are declared on Spring Data types - tag with our interface instead
+        Class<?>[] interfaces = pjp.getTarget().getClass().getInterfaces();
+        String repository = pjp.getSignature().getDeclaringType().getSimpleName();
+        for (Class<?> type : interfaces) {
+            if (type.getName().startsWith("com.employee.repository.")) {
+                repository = type.getSimpleName();
+                break;
+            }
+        }
+        return time(pjp, REPOSITORY_TIMER, "repository", repository);
+    }
+
+    private Object time(ProceedingJoinPoint pjp, String name, String ownerTag, String owner) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String exception = NO_EXCEPTION;
+        try {
+            return pjp.proceed();
+        } catch (Throwable ex) {
+            outcome = "ERROR";
+            exception = exceptionTag(ex);
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag(ownerTag, owner)
+                    .tag("method", pjp.getSignature().getName())
+                    .tag("endpoint", currentEndpoint())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String exceptionTag(Throwable ex) {
+        for (Class<?> type = ex.getClass(); type != null; type = type.getSuperclass()) {
+            if (TAGGED_EXCEPTIONS.contains(type)) {
+                return type.getSimpleName();
+            }
+        }
+        return OTHER_EXCEPTION;
+    }
+
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NO_ENDPOINT;
+        }
+        // Only controller mappings: resource handlers and error pages match catch-all patterns
+        Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return handler instanceof HandlerMethod && pattern != null ? pattern.toString() : NO_ENDPOINT;
+    }
+}
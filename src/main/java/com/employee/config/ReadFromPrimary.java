@@ -0,0 +1,21 @@
+package com.employee.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the reads of the annotated method (or of every method of the annotated class) to the
+ * primary database even inside a read-only transaction.
+ *
+ * For read-your-writes flows, e.g. reading back an onboarding tab right after it was saved,
+ * where replica lag would return the previous state. Clients can request the same per call
+ * with the X-Read-Consistency: primary header. Has no effect when no replica is configured.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromPrimary {
+}
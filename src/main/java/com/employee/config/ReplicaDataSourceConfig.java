@@ -0,0 +1,65 @@
+package com.employee.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read/write splitting, enabled with employee.datasource.replica.enabled=true.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy: the physical connection is only
+ * taken on the first statement, after the transaction manager has marked it read-only, so
+ * @Transactional(readOnly = true) work goes to ReplicaFallbackDataSource and everything else to
+ * the primary pool. Each pool is a separate Hikari pool with its own hikaricp.* metrics
+ * (tag pool = pool name). Without the property Spring Boot's single pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("employee.datasource.replica.hikari")
+    public HikariConfig replicaHikariConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setReadOnly(true);
+        return config;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaFallbackDataSource replicaFallbackDataSource(HikariDataSource primaryDataSource,
+            HikariConfig replicaHikariConfig, MeterRegistry meterRegistry,
+            @Value("${employee.datasource.replica.max-lag-seconds:10}") double maxLagSeconds,
+            @Value("${employee.datasource.replica.lag-check-interval-seconds:5}") long lagCheckIntervalSeconds) {
+        replicaHikariConfig.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReplicaFallbackDataSource(primaryDataSource, new HikariDataSource(replicaHikariConfig), maxLagSeconds, lagCheckIntervalSeconds,
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaFallbackDataSource replicaFallbackDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaFallbackDataSource);
+        return proxy;
+    }
+}
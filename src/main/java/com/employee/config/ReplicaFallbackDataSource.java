@@ -0,0 +1,142 @@
+package com.employee.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Connections for read-only transactions: the replica pool while it is reachable and within
+ * max-lag-seconds of the primary, otherwise the primary.
+ *
+ * Replication lag is polled every lag-check-interval-seconds; a replica that has replayed all
+ * WAL it received counts as 0 lag (an idle primary would otherwise look "behind"). A failed
+ * check or a failed connection attempt also falls back to the primary until the next good check.
+ * Reads are forced to the primary for ReplicaRouting.isPrimaryForced() (read-your-writes).
+ *
+ * Gauges: employee.datasource.replica.lag (seconds), employee.datasource.replica.available (1/0).
+ */
+public class ReplicaFallbackDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaFallbackDataSource.class);
+
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final HikariDataSource replica;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService lagChecker;
+
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaFallbackDataSource(DataSource primary, HikariDataSource replica, double maxLagSeconds,
+            long lagCheckIntervalSeconds, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Gauge.builder("employee.datasource.replica.lag", this, ds -> ds.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("employee.datasource.replica.available", this, ds -> ds.available ? 1 : 0)
+                .register(meterRegistry);
+
+        lagChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, lagCheckIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    /**
+     * Passed on to the pool the read is routed to, which decides whether it supports per-call
+     * credentials.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(ds -> ds.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (!available || ReplicaRouting.isPrimaryForced()) {
+            return source.from(primary);
+        }
+        try {
+            return source.from(replica);
+        } catch (SQLFeatureNotSupportedException ex) {
+            throw ex;
+        } catch (SQLException ex) {
+            markUnavailable("connection failed: " + ex.getMessage());
+            return source.from(primary);
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return available;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    void checkLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            lagSeconds = rs.getDouble(1);
+            if (lagSeconds > maxLagSeconds) {
+                markUnavailable(String.format("lag %.1f s exceeds %.1f s", lagSeconds, maxLagSeconds));
+            } else if (!available) {
+                available = true;
+                logger.info("Read replica available (lag {} s), routing read-only transactions to it", lagSeconds);
+            }
+        } catch (Exception ex) {
+            lagSeconds = Double.NaN;
+            markUnavailable("lag check failed: " + ex.getMessage());
+        }
+    }
+
+    private void markUnavailable(String reason) {
+        if (available) {
+            logger.warn("Read replica unavailable ({}), routing read-only transactions to the primary", reason);
+        }
+        available = false;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection from(DataSource dataSource) throws SQLException;
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        replica.close();
+    }
+}
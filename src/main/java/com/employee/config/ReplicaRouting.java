@@ -0,0 +1,81 @@
+package com.employee.config;
+
+import java.io.IOException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-thread opt-out from replica reads (see ReadFromPrimary).
+ *
+ * Applied by the aspect for @ReadFromPrimary and by the filter for requests carrying
+ * X-Read-Consistency: primary; ReplicaFallbackDataSource consults isPrimaryForced()
+ * when a read-only transaction opens its connection.
+ */
+public final class ReplicaRouting {
+
+    static final String READ_CONSISTENCY_HEADER = "X-Read-Consistency";
+
+    // Nesting depth, so an inner @ReadFromPrimary does not clear an outer one
+    private static final ThreadLocal<int[]> PRIMARY_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_DEPTH.get()[0] > 0;
+    }
+
+    static void enterPrimary() {
+        PRIMARY_DEPTH.get()[0]++;
+    }
+
+    static void exitPrimary() {
+        int[] depth = PRIMARY_DEPTH.get();
+        if (--depth[0] <= 0) {
+            PRIMARY_DEPTH.remove();
+        }
+    }
+
+    @Aspect
+    @Component
+    static class ReadFromPrimaryAspect {
+
+        @Around("@within(com.employee.config.ReadFromPrimary) || @annotation(com.employee.config.ReadFromPrimary)")
+        public Object readFromPrimary(ProceedingJoinPoint pjp) throws Throwable {
+            enterPrimary();
+            try {
+                return pjp.proceed();
+            } finally {
+                exitPrimary();
+            }
+        }
+    }
+
+    @Component
+    static class ReadConsistencyFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            if (!"primary".equalsIgnoreCase(request.getHeader(READ_CONSISTENCY_HEADER))) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            enterPrimary();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                exitPrimary();
+            }
+        }
+    }
+}
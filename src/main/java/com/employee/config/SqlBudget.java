@@ -0,0 +1,23 @@
+package com.employee.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller endpoint may issue per request.
+ *
+ * Enforced by SqlBudgetFilter: exceeding the budget is logged and counted
+ * (employee.sql.budget.exceeded), and fails the request when
+ * employee.sql-budget.fail-on-exceed=true (integration tests).
+ * On a controller class it applies to every handler method without its own budget.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    int maxStatements();
+}
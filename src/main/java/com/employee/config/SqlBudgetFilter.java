@@ -0,0 +1,158 @@
+package com.employee.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.employee.config.SqlStatementInspector.RequestStats;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request SQL statement budget and N+1 detector.
+ *
+ * Opens the SqlStatementInspector stats for the request and, once the request is done, records:
+ *  - employee.sql.statements       (distribution summary) tags: endpoint
+ *  - employee.sql.n_plus_one       (counter) tags: endpoint - statement shapes repeated >= n-plus-one-threshold times
+ *  - employee.sql.budget.exceeded  (counter) tags: endpoint
+ *
+ * The budget is taken from @SqlBudget on the handler (see SqlBudgetWebConfig), falling back to
+ * employee.sql-budget.default-max-statements (0 = no budget). With employee.sql-budget.fail-on-exceed=true
+ * an exceeded budget fails the request, so integration tests fail instead of only logging a warning: the
+ * budget is checked before the response body is written (SqlBudgetWebConfig), so the client gets a 500,
+ * and again once the request is done. A request that only goes over budget after its response was
+ * committed (statements issued while streaming or serializing the body) cannot be failed any more; it is
+ * logged as an error and counted like every exceeded budget.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    static final String STATEMENTS_SUMMARY = "employee.sql.statements";
+    static final String N_PLUS_ONE_COUNTER = "employee.sql.n_plus_one";
+    static final String BUDGET_EXCEEDED_COUNTER = "employee.sql.budget.exceeded";
+
+    private static final String NO_ENDPOINT = "none";
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${employee.sql-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.sql-budget.default-max-statements:0}")
+    private int defaultMaxStatements;
+
+    @Value("${employee.sql-budget.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Value("${employee.sql-budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestStats stats = SqlStatementInspector.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementInspector.end();
+        }
+        check(endpointOf(request), stats, response);
+    }
+
+    int getNPlusOneThreshold() {
+        return nPlusOneThreshold;
+    }
+
+    boolean isFailOnExceed() {
+        return failOnExceed;
+    }
+
+    /**
+     * With fail-on-exceed, fails a request that is already over its budget while the response can
+     * still carry the error. Called before the body is written; fails a request only once, so the
+     * error response itself is written.
+     */
+    void failIfOverBudget(HttpServletRequest request, RequestStats stats) {
+        if (!failOnExceed || stats.isOverBudgetFailed()) {
+            return;
+        }
+        int budget = budgetOf(stats);
+        int total = stats.getTotal();
+        if (budget > 0 && total > budget) {
+            stats.setOverBudgetFailed(true);
+            throw new IllegalStateException(exceededMessage(endpointOf(request), total, budget));
+        }
+    }
+
+    private void check(String endpoint, RequestStats stats, HttpServletResponse response) {
+        int total = stats.getTotal();
+        DistributionSummary.builder(STATEMENTS_SUMMARY)
+                .baseUnit("statements")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(total);
+
+        for (Map.Entry<String, Integer> entry : stats.getCountsByShape().entrySet()) {
+            if (entry.getValue() >= nPlusOneThreshold) {
+                meterRegistry.counter(N_PLUS_ONE_COUNTER, "endpoint", endpoint).increment();
+                logger.warn("Possible N+1 on {}: same statement issued {} times: {}",
+                        endpoint, entry.getValue(), abbreviate(entry.getKey()));
+            }
+        }
+
+        int budget = budgetOf(stats);
+        if (budget > 0 && total > budget) {
+            meterRegistry.counter(BUDGET_EXCEEDED_COUNTER, "endpoint", endpoint).increment();
+            String message = exceededMessage(endpoint, total, budget);
+            if (!failOnExceed) {
+                logger.warn(message);
+            } else if (stats.isOverBudgetFailed()) {
+                logger.warn("{} (request failed)", message);
+            } else if (!response.isCommitted()) {
+                stats.setOverBudgetFailed(true);
+                throw new IllegalStateException(message);
+            } else {
+                logger.error("{} after the response was committed; the request could not be failed", message);
+            }
+        }
+    }
+
+    private int budgetOf(RequestStats stats) {
+        return stats.getBudget() != null ? stats.getBudget().maxStatements() : defaultMaxStatements;
+    }
+
+    private static String exceededMessage(String endpoint, int total, int budget) {
+        return String.format("SQL budget exceeded on %s: %d statements (budget %d)", endpoint, total, budget);
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : NO_ENDPOINT;
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
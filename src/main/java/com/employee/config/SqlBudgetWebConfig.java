@@ -0,0 +1,92 @@
+package com.employee.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.employee.config.SqlStatementInspector.RequestStats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * MVC side of the SQL budget: resolves @SqlBudget for the matched handler, fails a request that is
+ * over budget before its body is written (employee.sql-budget.fail-on-exceed=true) and, when
+ * employee.sql-budget.response-headers=true (off in prod), reports the statement count
+ * of the request in the X-SQL-Statement-Count / X-SQL-Repeated-Statements headers.
+ *
+ * The headers are written just before the body, so statements issued while serializing
+ * lazily loaded entities are only reflected in the employee.sql.statements metric.
+ */
+@Configuration
+public class SqlBudgetWebConfig implements WebMvcConfigurer {
+
+    static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    static final String REPEATED_STATEMENTS_HEADER = "X-SQL-Repeated-Statements";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlBudgetInterceptor());
+    }
+
+    static class SqlBudgetInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            RequestStats stats = SqlStatementInspector.current();
+            if (stats != null && handler instanceof HandlerMethod handlerMethod) {
+                SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+                if (budget == null) {
+                    budget = handlerMethod.getBeanType().getAnnotation(SqlBudget.class);
+                }
+                stats.setBudget(budget);
+            }
+            return true;
+        }
+    }
+
+    @ControllerAdvice
+    static class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+        private final SqlBudgetFilter sqlBudgetFilter;
+
+        @Value("${employee.sql-budget.response-headers:true}")
+        private boolean responseHeaders;
+
+        SqlStatementHeaderAdvice(SqlBudgetFilter sqlBudgetFilter) {
+            this.sqlBudgetFilter = sqlBudgetFilter;
+        }
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return responseHeaders || sqlBudgetFilter.isFailOnExceed();
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                ServerHttpRequest request, ServerHttpResponse response) {
+            RequestStats stats = SqlStatementInspector.current();
+            if (stats != null && request instanceof ServletServerHttpRequest servletRequest) {
+                sqlBudgetFilter.failIfOverBudget(servletRequest.getServletRequest(), stats);
+            }
+            if (stats != null && responseHeaders) {
+                response.getHeaders().set(STATEMENT_COUNT_HEADER, String.valueOf(stats.getTotal()));
+                response.getHeaders().set(REPEATED_STATEMENTS_HEADER,
+                        String.valueOf(stats.repeatedShapes(sqlBudgetFilter.getNPlusOneThreshold())));
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.employee.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered through hibernate.session_factory.statement_inspector, so Hibernate (not Spring)
+ * instantiates it. SqlBudgetFilter opens a RequestStats per HTTP request; statements issued
+ * outside a request (schedulers, startup) are not recorded. Statements are grouped by shape
+ * (literals and IN-lists collapsed), so the same query repeated once per row - an N+1 - shows
+ * up as one shape with a high count.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Override
+    public String inspect(String sql) {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(normalize(sql));
+        }
+        return sql;
+    }
+
+    static RequestStats begin() {
+        RequestStats stats = new RequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Counts statements of the current thread into the stats of another thread's request
+     * (fan-out workers, see ThreadingConfig). Pass null to detach.
+     */
+    static void attach(RequestStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Statement counts of one request; shared with fan-out workers of that request.
+     */
+    static class RequestStats {
+
+        private int total;
+        private final Map<String, Integer> countsByShape = new HashMap<>();
+        private volatile SqlBudget budget;
+        // set once the request has been failed for exceeding its budget
+        private volatile boolean overBudgetFailed;
+
+        synchronized void record(String shape) {
+            total++;
+            countsByShape.merge(shape, 1, Integer::sum);
+        }
+
+        synchronized int getTotal() {
+            return total;
+        }
+
+        synchronized Map<String, Integer> getCountsByShape() {
+            return new HashMap<>(countsByShape);
+        }
+
+        /**
+         * Number of shapes issued at least threshold times.
+         */
+        synchronized int repeatedShapes(int threshold) {
+            int repeated = 0;
+            for (int count : countsByShape.values()) {
+                if (count >= threshold) {
+                    repeated++;
+                }
+            }
+            return repeated;
+        }
+
+        SqlBudget getBudget() {
+            return budget;
+        }
+
+        void setBudget(SqlBudget budget) {
+            this.budget = budget;
+        }
+
+        boolean isOverBudgetFailed() {
+            return overBudgetFailed;
+        }
+
+        void setOverBudgetFailed(boolean overBudgetFailed) {
+            this.overBudgetFailed = overBudgetFailed;
+        }
+    }
+}
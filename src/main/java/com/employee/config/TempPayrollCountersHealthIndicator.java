@@ -0,0 +1,38 @@
+package com.employee.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.employee.service.SkillTestDetailsService;
+import com.employee.service.SkillTestDetailsService.CounterWarmupState;
+
+/**
+ * Progress of the temp payroll counter warmup (/actuator/health/tempPayrollCounters).
+ *
+ * Always UP: counters of campuses the warmup has not reached yet are loaded on first use,
+ * so requests never depend on the warmup. That is why the readiness group
+ * (application.properties) only waits for readinessState and db; the state, number of loaded
+ * campuses and warmup duration are reported as details.
+ */
+@Component
+public class TempPayrollCountersHealthIndicator implements HealthIndicator {
+
+    private final SkillTestDetailsService skillTestDetailsService;
+
+    public TempPayrollCountersHealthIndicator(SkillTestDetailsService skillTestDetailsService) {
+        this.skillTestDetailsService = skillTestDetailsService;
+    }
+
+    @Override
+    public Health health() {
+        CounterWarmupState state = skillTestDetailsService.getCounterWarmupState();
+        Health.Builder builder = Health.up()
+                .withDetail("state", state)
+                .withDetail("loadedCampuses", skillTestDetailsService.getLoadedCampusCounterCount());
+        if (state == CounterWarmupState.READY || state == CounterWarmupState.FAILED) {
+            builder.withDetail("warmupMillis", skillTestDetailsService.getCounterWarmupMillis());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.employee.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.employee.config.SqlStatementInspector.RequestStats;
+
+/**
+ * Executor for composite endpoints that fan out independent service calls.
+ *
+ * With spring.threads.virtual.enabled=true on Java 21+ (application-virtual-threads.properties),
+ * Tomcat serves requests on virtual threads and fan-out tasks run on virtual threads too, at most
+ * employee.fan-out.max-concurrency at a time. Otherwise tasks run on a platform pool of the same size.
+ * Tasks see the request attributes (endpoint tag of LatencyMetricsAspect) and count their statements
+ * into the request's SQL budget.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    public AsyncTaskExecutor fanOutExecutor(Environment environment,
+            @Value("${employee.fan-out.max-concurrency:16}") int maxConcurrency) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("fan-out-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency);
+            executor.setTaskDecorator(requestContextPropagation());
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("fan-out-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setTaskDecorator(requestContextPropagation());
+        executor.initialize();
+        return executor;
+    }
+
+    private static TaskDecorator requestContextPropagation() {
+        return task -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            RequestStats stats = SqlStatementInspector.current();
+            return () -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                SqlStatementInspector.attach(stats);
+                try {
+                    task.run();
+                } finally {
+                    SqlStatementInspector.attach(null);
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        };
+    }
+}
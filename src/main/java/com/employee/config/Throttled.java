@@ -0,0 +1,26 @@
+package com.employee.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller endpoint behind the bulkhead and rate limiter of an endpoint class
+ * (ThrottlingAspect). Endpoints sharing a name share the limits.
+ *
+ * Limits are configured per profile:
+ *  employee.throttle.bulkhead.{name}.max-concurrent-calls / max-wait-millis / retry-after-seconds
+ *  resilience4j.ratelimiter.instances.{name}.limit-for-period / limit-refresh-period / timeout-duration
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Throttled {
+
+    /**
+     * Endpoint class, e.g. "bulk-mapping".
+     */
+    String value();
+}
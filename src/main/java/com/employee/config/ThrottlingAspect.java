@@ -0,0 +1,162 @@
+package com.employee.config;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.env.Environment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.employee.exception.TooManyRequestsException;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulkhead + rate limiter for @Throttled endpoints, so bulk and roster endpoints cannot take
+ * every DB connection and starve single-employee tab saves.
+ *
+ * The rate limiter is a Resilience4j RateLimiter from the auto-configured registry
+ * (resilience4j.ratelimiter.instances.{name}, resilience4j.ratelimiter.* metrics). The bulkhead
+ * is a semaphore per endpoint class (employee.throttle.bulkhead.{name}, falling back to
+ * employee.throttle.bulkhead.default). Saturation is rejected immediately (or after
+ * max-wait-millis / timeout-duration) with TooManyRequestsException -> 429 + Retry-After. The
+ * bulkhead is checked first, so only calls that get a slot consume a rate limiter permit.
+ *
+ * Metrics: employee.throttle.calls tags: name, limiter (ratelimiter|bulkhead), outcome (permitted|rejected)
+ *          employee.throttle.bulkhead.available tags: name
+ * A streamed body (StreamingResponseBody) keeps its bulkhead permit until it has been written, or
+ * until its async request completes without writing it (timeout, error, client gone, executor
+ * rejection), whichever comes first; the permit is given back once.
+ */
+@Aspect
+@Component
+public class ThrottlingAspect {
+
+    private static final String BULKHEAD_PREFIX = "employee.throttle.bulkhead.";
+    private static final String DEFAULT_INSTANCE = "default";
+
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public ThrottlingAspect(RateLimiterRegistry rateLimiterRegistry, MeterRegistry meterRegistry, Environment environment) {
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+    }
+
+    @Around("@annotation(throttled)")
+    public Object throttle(ProceedingJoinPoint pjp, Throttled throttled) throws Throwable {
+        String name = throttled.value();
+
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(name, this::createBulkhead);
+        if (!bulkhead.semaphore.tryAcquire(bulkhead.maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            count(name, "bulkhead", "rejected");
+            throw new TooManyRequestsException(name + " is busy (" + bulkhead.maxConcurrentCalls
+                    + " concurrent calls), please retry later", bulkhead.retryAfterSeconds);
+        }
+        count(name, "bulkhead", "permitted");
+
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(name);
+        if (!rateLimiter.acquirePermission()) {
+            bulkhead.semaphore.release();
+            count(name, "ratelimiter", "rejected");
+            long refreshSeconds = rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod().toSeconds();
+            throw new TooManyRequestsException("Too many requests for " + name + ", please retry later",
+                    Math.max(1, refreshSeconds));
+        }
+        count(name, "ratelimiter", "permitted");
+
+        boolean handedOff = false;
+        try {
+            Object result = pjp.proceed();
+            if (result instanceof ResponseEntity<?> entity && entity.getBody() instanceof StreamingResponseBody body) {
+                AtomicBoolean released = new AtomicBoolean();
+                Runnable release = () -> {
+                    if (released.compareAndSet(false, true)) {
+                        bulkhead.semaphore.release();
+                    }
+                };
+                StreamingResponseBody guarded = out -> {
+                    try {
+                        body.writeTo(out);
+                    } finally {
+                        release.run();
+                    }
+                };
+                releaseOnAsyncCompletion(name, release);
+                handedOff = true;
+                return new ResponseEntity<>(guarded, entity.getHeaders(), entity.getStatusCode());
+            }
+            return result;
+        } finally {
+            if (!handedOff) {
+                bulkhead.semaphore.release();
+            }
+        }
+    }
+
+    // The body runs on the async request; afterCompletion follows every outcome, including the body never running
+    private static void releaseOnAsyncCompletion(String name, Runnable release) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(
+                    ThrottlingAspect.class.getName() + "." + name, new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                            release.run();
+                        }
+                    });
+        }
+    }
+
+    private Bulkhead createBulkhead(String name) {
+        int maxConcurrentCalls = property(name, "max-concurrent-calls", 5);
+        Bulkhead bulkhead = new Bulkhead(maxConcurrentCalls,
+                property(name, "max-wait-millis", 0), property(name, "retry-after-seconds", 1));
+        Gauge.builder("employee.throttle.bulkhead.available", bulkhead.semaphore, Semaphore::availablePermits)
+                .tag("name", name)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private int property(String name, String key, int defaultValue) {
+        Integer fallback = environment.getProperty(BULKHEAD_PREFIX + DEFAULT_INSTANCE + "." + key, Integer.class, defaultValue);
+        return environment.getProperty(BULKHEAD_PREFIX + name + "." + key, Integer.class, fallback);
+    }
+
+    private void count(String name, String limiter, String outcome) {
+        meterRegistry.counter("employee.throttle.calls", "name", name, "limiter", limiter, "outcome", outcome).increment();
+    }
+
+    private static final class Bulkhead {
+
+        final Semaphore semaphore;
+        final int maxConcurrentCalls;
+        final long maxWaitMillis;
+        final long retryAfterSeconds;
+
+        Bulkhead(int maxConcurrentCalls, long maxWaitMillis, long retryAfterSeconds) {
+            this.semaphore = new Semaphore(maxConcurrentCalls);
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.maxWaitMillis = maxWaitMillis;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.employee.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads pinned to their carrier (JFR jdk.VirtualThreadPinned), which on
+ * Java 21-23 happens when a virtual thread blocks inside a synchronized block - e.g. a JDBC
+ * driver or pool path that waits on I/O while holding a monitor. A pinned thread holds its
+ * carrier, so a few of them can stall all request handling.
+ *
+ * Every pin longer than employee.virtual-threads.pinned-threshold-millis is logged with the
+ * first application frame and counted as employee.virtual_threads.pinned
+ * tags: site (first com.employee frame), jdbc (true if a JDBC driver/pool/Hibernate JDBC frame is on the stack).
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "employee.virtual-threads.pinning-detection", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String[] JDBC_PACKAGES = { "org.postgresql.", "com.zaxxer.hikari.", "org.hibernate.resource.jdbc.", "java.sql." };
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdMillis;
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${employee.virtual-threads.pinned-threshold-millis:20}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        logger.info("Virtual thread pinning detection enabled (threshold {} ms)", thresholdMillis);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = "unknown";
+        boolean jdbc = false;
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (!jdbc && isJdbc(type)) {
+                    jdbc = true;
+                }
+                if ("unknown".equals(site) && type.startsWith("com.employee.")) {
+                    site = type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+                }
+            }
+        }
+        meterRegistry.counter("employee.virtual_threads.pinned", "site", site, "jdbc", String.valueOf(jdbc)).increment();
+        logger.warn("Virtual thread pinned for {} ms at {} (jdbc={})", event.getDuration().toMillis(), site, jdbc);
+    }
+
+    private static boolean isJdbc(String type) {
+        for (String prefix : JDBC_PACKAGES) {
+            if (type.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -4,15 +4,21 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.employee.config.SqlBudget;
+import com.employee.config.Throttled;
 import com.employee.dto.EmployeeDropdownDTO;
 import com.employee.dto.EmployeeFullDetailsDTO;
 import com.employee.dto.GenericDropdownDTO;
+import com.employee.dto.SharedAssignmentDTO;
 import com.employee.entity.BusinessType;
 import com.employee.entity.CampusProfileView;
 import com.employee.service.CampusFlowService;
@@ -65,12 +71,19 @@ public class CampusFlowController {
         return new ResponseEntity<>(campusDetails, HttpStatus.OK);
     }
 	
+	/**
+	 * Campus roster. includeShared=true adds staff of other campuses assigned here through
+	 * sce_shared_employee (flagged shared, with their designation and subject at this campus).
+	 */
+	@SqlBudget(maxStatements = 3)
+	@Throttled("campus-roster")
 	@GetMapping("/byCampus/{campusId}")
     public ResponseEntity<List<EmployeeFullDetailsDTO>> getEmployeeFullDetailsByCampusId(
-            @PathVariable int campusId) {
+            @PathVariable int campusId,
+            @RequestParam(defaultValue = "false") boolean includeShared) {
         
         List<EmployeeFullDetailsDTO> details = 
-                campusFlowService.getEmployeeFullDetailsByCampusId(campusId);
+                campusFlowService.getEmployeeFullDetailsByCampusId(campusId, includeShared);
         
         if (details.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT); 
@@ -79,6 +92,56 @@ public class CampusFlowController {
         return new ResponseEntity<>(details, HttpStatus.OK);
     }
 	
+	/**
+	 * Active shared-staff assignments at a campus, served from the in-memory index.
+	 */
+	@GetMapping("/shared/campus/{campusId}")
+    public ResponseEntity<List<SharedAssignmentDTO>> getSharedStaffByCampusId(@PathVariable int campusId) {
+        
+        List<SharedAssignmentDTO> sharedStaff = campusFlowService.getSharedStaffByCampusId(campusId);
+        
+        if (sharedStaff.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        
+        return new ResponseEntity<>(sharedStaff, HttpStatus.OK);
+    }
+	
+	/**
+	 * Campuses an employee is assigned to through sce_shared_employee, served from the in-memory index.
+	 */
+	@GetMapping("/shared/employee/{empId}")
+    public ResponseEntity<List<SharedAssignmentDTO>> getSharedCampusesByEmpId(@PathVariable int empId) {
+        
+        List<SharedAssignmentDTO> campuses = campusFlowService.getSharedCampusesByEmpId(empId);
+        
+        if (campuses.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        
+        return new ResponseEntity<>(campuses, HttpStatus.OK);
+    }
+	
+	/**
+	 * Streaming roster for large campuses. Same payload as /byCampus/{campusId}, written
+	 * incrementally from a database cursor so memory and time-to-first-byte do not grow
+	 * with the roster size. format=ndjson returns one employee per line instead of an array.
+	 */
+	@Throttled("campus-roster")
+	@GetMapping("/byCampus/{campusId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployeeFullDetailsByCampusId(
+            @PathVariable int campusId,
+            @RequestParam(defaultValue = "json") String format) {
+        
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> 
+                campusFlowService.streamEmployeeFullDetailsByCampusId(campusId, out, ndjson);
+        
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+	
 	@GetMapping("getallbusineestype")
     public ResponseEntity<List<BusinessType>> getAllBusinessTypes() {
         
@@ -70,21 +70,34 @@
 
 package com.employee.controller;
  
+import java.sql.Timestamp;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
  
 import com.employee.dto.CentralOfficeChecklistDTO;
+import com.employee.dto.ChecklistMissingDTO;
 import com.employee.dto.RejectBackToDODTO;
+import com.employee.dto.ReviewQueueItemDTO;
+import com.employee.dto.ReviewQueuePageDTO;
 import com.employee.exception.ResourceNotFoundException;
 import com.employee.service.CentralOfficeLevelService;
+import com.employee.service.ChecklistService;
+import com.employee.service.ReviewQueueService;
+import com.employee.service.ReviewQueueService.ReviewLevel;
  
 /**
  * Controller for Central Office Level operations
@@ -99,6 +112,12 @@ public class CentralOfficeController {
  
     @Autowired
     private CentralOfficeLevelService centralOfficeLevelService;
+
+    @Autowired
+    private ChecklistService checklistService;
+
+    @Autowired
+    private ReviewQueueService reviewQueueService;
  
     /**
      * Updates the employee checklist, sets notice period, and generates
@@ -146,7 +165,8 @@ public class CentralOfficeController {
      * 3. Updates status to "Back to DO"
      * 4. Updates remarks (if remarks already exist, they are updated; if not, new remarks are set)
      *
-     * @param rejectDTO Contains tempPayrollId (required) and remarks (required, max 250 characters)
+     * @param rejectDTO Contains tempPayrollId (required), remarks (required, max 250 characters) and
+     *                  optional reviewerId (409 if another reviewer holds the queue lease)
      * @return ResponseEntity with the updated RejectBackToDODTO
      */
     @PostMapping("/reject-back-to-do")
@@ -154,4 +174,73 @@ public class CentralOfficeController {
         RejectBackToDODTO result = centralOfficeLevelService.rejectBackToDO(rejectDTO);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * GET endpoint for the active employees of a campus whose checklist does not include an item,
+     * answered from the in-memory checklist index.
+     *
+     * @param campusId The campus ID
+     * @param checklistId The emp_app_check_list_detl_id of the checklist item
+     * @return emp_ids missing the item, with the number of active employees on the campus
+     */
+    @GetMapping("/checklist/{campusId}/missing/{checklistId}")
+    public ResponseEntity<ChecklistMissingDTO> getEmployeesMissingChecklistItem(@PathVariable int campusId,
+            @PathVariable int checklistId) {
+        return new ResponseEntity<>(checklistService.findMissing(campusId, checklistId), HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for one page of the CO review queue, oldest first (keyset pagination).
+     * Employees leased by a reviewer carry leasedBy / leaseExpiresAt.
+     *
+     * @param campusId Optional campus filter
+     * @param zoneId Optional zone filter
+     * @param cursor nextCursor of the previous page; omit for the first page
+     * @param size Page size (default and maximum from employee.review-queue.*)
+     * @return Queue page with the cursor of the next page
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<ReviewQueuePageDTO> getReviewQueue(
+            @RequestParam(required = false) Integer campusId,
+            @RequestParam(required = false) Integer zoneId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return new ResponseEntity<>(reviewQueueService.getQueue(ReviewLevel.CO, null, campusId, zoneId, cursor, size),
+                HttpStatus.OK);
+    }
+
+    /**
+     * POST endpoint to lease the oldest unleased employee of the CO review queue to a reviewer.
+     *
+     * @param reviewerId emp_id of the reviewer
+     * @param campusId Optional campus filter
+     * @param zoneId Optional zone filter
+     * @return The claimed employee with the lease expiry (404 when nothing is left to claim)
+     */
+    @PostMapping("/queue/claim-next")
+    public ResponseEntity<ReviewQueueItemDTO> claimNext(@RequestParam int reviewerId,
+            @RequestParam(required = false) Integer campusId,
+            @RequestParam(required = false) Integer zoneId) {
+        return new ResponseEntity<>(reviewQueueService.claimNext(ReviewLevel.CO, null, campusId, zoneId, reviewerId),
+                HttpStatus.OK);
+    }
+
+    /**
+     * PUT endpoint to take or extend a reviewer's lease on an employee (409 if another reviewer holds it).
+     *
+     * @return The new lease expiry
+     */
+    @PutMapping("/queue/lease/{empId}")
+    public ResponseEntity<Timestamp> renewLease(@PathVariable int empId, @RequestParam int reviewerId) {
+        return new ResponseEntity<>(reviewQueueService.renewLease(empId, reviewerId), HttpStatus.OK);
+    }
+
+    /**
+     * DELETE endpoint to give up a reviewer's lease on an employee.
+     */
+    @DeleteMapping("/queue/lease/{empId}")
+    public ResponseEntity<Void> releaseLease(@PathVariable int empId, @RequestParam int reviewerId) {
+        reviewQueueService.releaseLease(empId, reviewerId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
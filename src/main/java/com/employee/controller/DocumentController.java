@@ -0,0 +1,116 @@
+package com.employee.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.employee.dto.StoredDocumentDTO;
+import com.employee.service.DocumentRenditionService;
+import com.employee.service.DocumentRenditionService.Rendition;
+import com.employee.service.DocumentStoreService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/employee/documents")
+public class DocumentController {
+
+	// Tomcat request attributes for handing the response body to sendfile(2)
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	@Autowired
+	private DocumentStoreService documentStoreService;
+
+	@Autowired
+	private DocumentRenditionService documentRenditionService;
+
+	/**
+	 * POST endpoint to upload a document file (multipart, field "file") into the document store.
+	 *
+	 * Save the returned docPath as the document's docPath in the documents tab (or as the family
+	 * group photo path); identical files are stored once.
+	 *
+	 * @return docPath, SHA-256, size, detected content type and whether the file was already stored
+	 */
+	@PostMapping("/upload")
+	public ResponseEntity<StoredDocumentDTO> upload(@RequestParam("file") MultipartFile file) throws IOException {
+		return new ResponseEntity<>(documentStoreService.store(file.getInputStream()), HttpStatus.CREATED);
+	}
+
+	/**
+	 * GET endpoint to download the file of an sce_emp_doc row held by the document store.
+	 *
+	 * Supports a single byte range (Range: bytes=first-last, 206 Partial Content). The ETag is the
+	 * file's SHA-256, so unchanged documents answer If-None-Match with 304. On Tomcat the body is
+	 * sent with sendfile, otherwise with FileChannel.transferTo.
+	 *
+	 * rendition=PREVIEW / THUMBNAIL serves a downscaled JPEG of an image; until it has been generated
+	 * the original is served (with the original's ETag and no-cache, so clients pick up the rendition
+	 * once it exists), and PDFs are always served as they are.
+	 */
+	@GetMapping("/{empDocId}/content")
+	public void download(@PathVariable int empDocId,
+			@RequestParam(required = false, defaultValue = "ORIGINAL") Rendition rendition,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		Path stored = documentStoreService.openDocument(empDocId);
+		Path blob = documentRenditionService.resolve(stored, documentStoreService.contentType(stored), rendition);
+		long size = Files.size(blob);
+		String etag = "\"" + DocumentStoreService.sha256Of(blob)
+				+ (blob.equals(stored) ? "" : "-" + rendition.name().toLowerCase(Locale.ROOT)) + "\"";
+		// The original stands in for a rendition that is not generated yet
+		boolean fallback = rendition != Rendition.ORIGINAL && blob.equals(stored);
+
+		response.setHeader(HttpHeaders.ETAG, etag);
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		// content-addressed: the bytes behind this ETag never change, but a fallback is revalidated
+		// (a cheap 304) until the rendition replaces it
+		response.setHeader(HttpHeaders.CACHE_CONTROL, fallback ? "private, no-cache" : "private, max-age=31536000, immutable");
+		if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+			response.setStatus(HttpStatus.NOT_MODIFIED.value());
+			return;
+		}
+
+		long[] range = DocumentStoreService.byteRange(request.getHeader(HttpHeaders.RANGE), size);
+		if (range == null) {
+			response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+			return;
+		}
+		long length = range[1] - range[0] + 1;
+		if (length < size) {
+			response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range[0] + "-" + range[1] + "/" + size);
+		}
+		response.setContentType(documentStoreService.contentType(blob));
+		response.setContentLengthLong(length);
+		if ("HEAD".equals(request.getMethod())) {
+			return;
+		}
+
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			// Tomcat writes the file straight from the page cache after this method returns
+			request.setAttribute(SENDFILE_FILENAME, blob.toString());
+			request.setAttribute(SENDFILE_START, range[0]);
+			request.setAttribute(SENDFILE_END, range[1] + 1);
+			return;
+		}
+		documentStoreService.transfer(blob, range[0], length, response.getOutputStream());
+	}
+}
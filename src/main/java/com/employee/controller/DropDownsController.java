@@ -1,6 +1,7 @@
 package com.employee.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -10,11 +11,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.employee.config.Throttled;
 import com.employee.dto.CampusContactDTO;
 import com.employee.dto.CampusDto;
 import com.employee.dto.GenericDropdownDTO;
 import com.employee.dto.OrganizationDTO;
 import com.employee.entity.CampusContact;
+import com.employee.service.BasicInfoFormService;
 import com.employee.service.DropDownService;
 
 @RestController
@@ -22,6 +25,7 @@ import com.employee.service.DropDownService;
 public class DropDownsController {
 	
 	@Autowired DropDownService empDropdownService;
+	@Autowired BasicInfoFormService basicInfoFormService;
 	
 	
 	 @GetMapping("/marital-status")
@@ -373,6 +377,7 @@ public class DropDownsController {
 			return ResponseEntity.ok(organizations);
 		}
 		
+		@Throttled("all-employees")
 		@GetMapping("/all_employees")
 		public ResponseEntity<?> getAllEmployees() {
 			List<GenericDropdownDTO> employees = empDropdownService.getAllEmployees();
@@ -385,6 +390,11 @@ public class DropDownsController {
 			return ResponseEntity.ok(employees);
 		}
 		
+		@GetMapping("/basic-info-form")
+		public ResponseEntity<Map<String, List<GenericDropdownDTO>>> getBasicInfoFormDropdowns() {
+			return ResponseEntity.ok(basicInfoFormService.getBasicInfoDropdowns());
+		}
+		
 		@GetMapping("/categories/active")
 		public ResponseEntity<?> getActiveCategories() {
 			List<GenericDropdownDTO> categories = empDropdownService.getActiveCategories();
@@ -1,18 +1,32 @@
 package com.employee.controller;
 
+import java.sql.Timestamp;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.employee.dto.BackToCampusDTO;
+import com.employee.dto.OnboardingCompletenessDTO;
+import com.employee.dto.ReviewQueueItemDTO;
+import com.employee.dto.ReviewQueuePageDTO;
 import com.employee.dto.SalaryInfoDTO;
 import com.employee.service.EmpSalaryInfoService;
+import com.employee.service.OnboardingCompletenessService;
+import com.employee.service.OnboardingCompletenessService.Section;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+import com.employee.service.ReviewQueueService;
+import com.employee.service.ReviewQueueService.ReviewLevel;
 
 @RestController
 @RequestMapping("/api/employee/Do Controller")
@@ -21,6 +35,12 @@ public class EmpSalaryInfoController {
 	@Autowired
 	private EmpSalaryInfoService empSalaryInfoService;
 
+	@Autowired
+	private ReviewQueueService reviewQueueService;
+
+	@Autowired
+	private OnboardingCompletenessService onboardingCompletenessService;
+
 	/**
 	 * GET endpoint to retrieve salary info by temp_payroll_id
 	 * Returns only DTO, not the full entity
@@ -44,7 +64,8 @@ public class EmpSalaryInfoController {
 	 * 5. Updates employee status to "Pending at CO" (when forwarding to Central Office)
 	 * 6. Clears any previous remarks
 	 * 
-	 * @param salaryInfoDTO Contains tempPayrollId, salary info, checklist IDs, etc.
+	 * @param salaryInfoDTO Contains tempPayrollId, salary info, checklist IDs, optional reviewerId
+	 *                      (409 if another reviewer holds the queue lease), etc.
 	 * @return ResponseEntity with the updated SalaryInfoDTO
 	 */
 	@PostMapping("/forward-to-central-office")
@@ -58,7 +79,8 @@ public class EmpSalaryInfoController {
 	 * This endpoint is called when clicking "Back to Campus" button after entering remarks
 	 * Sets emp_app_status_id to 1 and saves the remarks
 	 * 
-	 * @param backToCampusDTO Contains tempPayrollId, remarks (required), and optional checkListIds
+	 * @param backToCampusDTO Contains tempPayrollId, remarks (required), optional checkListIds and
+	 *                        optional reviewerId (409 if another reviewer holds the queue lease)
 	 * @return ResponseEntity with the updated BackToCampusDTO
 	 */
 	@PostMapping("/back-to-campus")
@@ -66,4 +88,85 @@ public class EmpSalaryInfoController {
 		BackToCampusDTO result = empSalaryInfoService.backToCampus(backToCampusDTO);
 		return new ResponseEntity<>(result, HttpStatus.OK);
 	}
+
+	/**
+	 * GET endpoint for one page of the DO review queue, oldest first (keyset pagination).
+	 * Employees leased by a reviewer carry leasedBy / leaseExpiresAt.
+	 *
+	 * @param status PENDING_AT_DO (default) or another status of the DO level
+	 * @param campusId Optional campus filter
+	 * @param zoneId Optional zone filter
+	 * @param cursor nextCursor of the previous page; omit for the first page
+	 * @param size Page size (default and maximum from employee.review-queue.*)
+	 * @return Queue page with the cursor of the next page
+	 */
+	@GetMapping("/queue")
+	public ResponseEntity<ReviewQueuePageDTO> getReviewQueue(
+			@RequestParam(required = false) OnboardingStatus status,
+			@RequestParam(required = false) Integer campusId,
+			@RequestParam(required = false) Integer zoneId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		return new ResponseEntity<>(reviewQueueService.getQueue(ReviewLevel.DO, status, campusId, zoneId, cursor, size),
+				HttpStatus.OK);
+	}
+
+	/**
+	 * POST endpoint to lease the oldest unleased employee of the DO review queue to a reviewer.
+	 *
+	 * @param reviewerId emp_id of the reviewer
+	 * @param status PENDING_AT_DO (default) or another status of the DO level
+	 * @param campusId Optional campus filter
+	 * @param zoneId Optional zone filter
+	 * @return The claimed employee with the lease expiry (404 when nothing is left to claim)
+	 */
+	@PostMapping("/queue/claim-next")
+	public ResponseEntity<ReviewQueueItemDTO> claimNext(@RequestParam int reviewerId,
+			@RequestParam(required = false) OnboardingStatus status,
+			@RequestParam(required = false) Integer campusId,
+			@RequestParam(required = false) Integer zoneId) {
+		return new ResponseEntity<>(reviewQueueService.claimNext(ReviewLevel.DO, status, campusId, zoneId, reviewerId),
+				HttpStatus.OK);
+	}
+
+	/**
+	 * PUT endpoint to take or extend a reviewer's lease on an employee (409 if another reviewer holds it).
+	 *
+	 * @return The new lease expiry
+	 */
+	@PutMapping("/queue/lease/{empId}")
+	public ResponseEntity<Timestamp> renewLease(@PathVariable int empId, @RequestParam int reviewerId) {
+		return new ResponseEntity<>(reviewQueueService.renewLease(empId, reviewerId), HttpStatus.OK);
+	}
+
+	/**
+	 * DELETE endpoint to give up a reviewer's lease on an employee.
+	 */
+	@DeleteMapping("/queue/lease/{empId}")
+	public ResponseEntity<Void> releaseLease(@PathVariable int empId, @RequestParam int reviewerId) {
+		reviewQueueService.releaseLease(empId, reviewerId);
+		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+	}
+
+	/**
+	 * GET endpoint for the onboarding tabs an employee has filled, and whether the employee can be
+	 * forwarded to Central Office.
+	 */
+	@GetMapping("/completeness")
+	public ResponseEntity<OnboardingCompletenessDTO> getCompleteness(@RequestParam String tempPayrollId) {
+		return new ResponseEntity<>(onboardingCompletenessService.getCompleteness(tempPayrollId), HttpStatus.OK);
+	}
+
+	/**
+	 * GET endpoint for candidates (active, not confirmed) with an onboarding tab still empty.
+	 *
+	 * @param section Tab to look for; omit for any tab required before forwarding to Central Office
+	 * @param campusId Optional campus filter
+	 */
+	@GetMapping("/completeness/incomplete")
+	public ResponseEntity<List<OnboardingCompletenessDTO>> getIncompleteCandidates(
+			@RequestParam(required = false) Section section,
+			@RequestParam(required = false) Integer campusId) {
+		return new ResponseEntity<>(onboardingCompletenessService.findIncomplete(campusId, section), HttpStatus.OK);
+	}
 }
@@ -1,17 +1,30 @@
 package com.employee.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.employee.config.Throttled;
 import com.employee.dto.BasicInfoDTO;
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.dto.IdentityCheckRequestDTO;
+import com.employee.dto.IdentityCheckResponseDTO;
+import com.employee.dto.OnboardingPipelineDTO;
 import com.employee.dto.TempPayrollIdResponseDTO;
+import com.employee.service.BulkEmployeeImportService;
 import com.employee.service.EmployeeOnboardingService;
+import com.employee.service.IdentityIndexService;
+import com.employee.service.OnboardingPipelineService;
 
 @RestController
 @RequestMapping("/api/employee/onboarding")
@@ -20,6 +33,15 @@ public class EmployeeOnboardingController {
 	@Autowired
 	private EmployeeOnboardingService employeeOnboardingService;
 
+	@Autowired
+	private IdentityIndexService identityIndexService;
+
+	@Autowired
+	private BulkEmployeeImportService bulkEmployeeImportService;
+
+	@Autowired
+	private OnboardingPipelineService onboardingPipelineService;
+
 	/**
 	 * POST endpoint to create NEW employee and generate/validate temp_payroll_id
 	 * 
@@ -56,5 +78,71 @@ public class EmployeeOnboardingController {
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
 
-}
+	/**
+	 * POST endpoint to pre-check a candidate before the onboarding form is filled
+	 * 
+	 * Reports malformed Aadhaar / mobile / PAN values and every existing skill test candidate
+	 * or employee that already uses the Aadhaar, mobile, PAN or personal email.
+	 * Sent as a body so the identity numbers stay out of URLs and access logs.
+	 * 
+	 * @param request candidate keys (aadhaarNo, mobileNo, panNo, email); omitted keys are not checked
+	 * @return ResponseEntity with duplicate flag, first format error and the matches
+	 */
+	@PostMapping("/identity-check")
+	public ResponseEntity<IdentityCheckResponseDTO> checkIdentity(@RequestBody IdentityCheckRequestDTO request) {
+		return new ResponseEntity<>(identityIndexService.check(request), HttpStatus.OK);
+	}
+
+	/**
+	 * POST endpoint to onboard many new employees from a spreadsheet (multipart, field "file")
+	 * 
+	 * Accepts .csv or .xlsx with a header row; one employee per row with the basic info, personal
+	 * details, current_/permanent_ address and family1_.. familyN_ columns. Rows are validated and
+	 * committed in chunks, each valid row gets a temp_payroll_id of the HR employee's campus, and
+	 * rejected rows are listed with their row number and reason.
+	 * 
+	 * If the result says completed=false, a chunk failed to commit: fix the cause and upload the same
+	 * file with resumeFromRow = lastCommittedRow. Rows that were already imported are reported as
+	 * duplicates, so re-uploading the whole file is safe as well.
+	 * 
+	 * @param hrEmployeeId HR Employee ID (emp_id) running the import (used for created_by and campus)
+	 * @param file the .csv or .xlsx sheet
+	 * @param resumeFromRow skip rows up to and including this row number (header = row 1)
+	 * @param dryRun validate only, write nothing
+	 * @return ResponseEntity with counts, the resume point and the rejected rows
+	 */
+	@Throttled("bulk-import")
+	@PostMapping("/bulk-import/{hrEmployeeId}")
+	public ResponseEntity<BulkImportResultDTO> bulkImport(
+			@PathVariable Integer hrEmployeeId,
+			@RequestParam("file") MultipartFile file,
+			@RequestParam(defaultValue = "0") int resumeFromRow,
+			@RequestParam(defaultValue = "false") boolean dryRun) {
+
+		BulkImportResultDTO result = bulkEmployeeImportService.importEmployees(hrEmployeeId, file, resumeFromRow, dryRun);
+		return new ResponseEntity<>(result, HttpStatus.OK);
+	}
 
+	/**
+	 * GET endpoint for the onboarding pipeline of every campus (DO / CO dashboards), answered from
+	 * in-memory counters.
+	 *
+	 * @return Active employees per app status and this week's entries per status, one entry per
+	 *         campus plus a total with campusId null
+	 */
+	@GetMapping("/pipeline")
+	public ResponseEntity<List<OnboardingPipelineDTO>> getPipelines() {
+		return new ResponseEntity<>(onboardingPipelineService.getPipelines(), HttpStatus.OK);
+	}
+
+	/**
+	 * GET endpoint for the onboarding pipeline of one campus.
+	 *
+	 * @param campusId The campus ID
+	 * @return Active employees per app status and this week's entries per status
+	 */
+	@GetMapping("/pipeline/{campusId}")
+	public ResponseEntity<OnboardingPipelineDTO> getPipeline(@PathVariable int campusId) {
+		return new ResponseEntity<>(onboardingPipelineService.getPipeline(campusId), HttpStatus.OK);
+	}
+}
@@ -2,19 +2,28 @@
 package com.employee.controller;
 
 
+import java.sql.Date;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.employee.config.SqlBudget;
+import com.employee.config.Throttled;
 import com.employee.dto.AddressResponseDTO;
 import com.employee.dto.EducationalDocumentStatusDTO;
 import com.employee.dto.EmpExperienceDetailsDTO;
@@ -27,6 +36,8 @@ import com.employee.dto.EmployeeRelationDTO;
 import com.employee.dto.FamilyMemberInOrgDTO;
 import com.employee.entity.EmployeeBasicInfoView;
 //import com.employee.service.EmpDocTypeService;
+import com.employee.service.EmployeeExportService;
+import com.employee.service.EmployeeExportService.ExportColumn;
 import com.employee.service.HREmpDetlService;
 
 @RestController
@@ -34,12 +45,45 @@ import com.employee.service.HREmpDetlService;
 public class HREmpDetailsController {
 	
 	@Autowired HREmpDetlService hrEmpDetlService;
+	@Autowired EmployeeExportService employeeExportService;
 	
 //	@Autowired
 //	private EmpDocTypeService empDocTypeService;
 
 	
 	
+	/**
+	 * Full employee extract as gzip-compressed CSV (employees.csv.gz), streamed from a database
+	 * cursor so memory does not grow with the number of employees. Includes campus, department,
+	 * designation, salary structure and the salary bank account.
+	 *
+	 * Optional filters: campusId, status (sce_emp.status, e.g. ACTIVE), joinedFrom / joinedTo
+	 * (yyyy-MM-dd, inclusive). columns selects and orders the CSV columns (comma-separated
+	 * headers, e.g. emp_id,first_name,monthly_ctc); all columns by default.
+	 */
+	@Throttled("employee-export")
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportEmployees(
+			@RequestParam(required = false) Integer campusId,
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo,
+			@RequestParam(required = false) String columns) {
+
+		// Resolved before streaming starts, so an unknown column is still a normal error response
+		List<ExportColumn> exportColumns = employeeExportService.resolveColumns(columns);
+		Date from = joinedFrom != null ? Date.valueOf(joinedFrom) : null;
+		Date to = joinedTo != null ? Date.valueOf(joinedTo) : null;
+		StreamingResponseBody body = out ->
+				employeeExportService.exportEmployeesCsv(campusId, status, from, to, exportColumns, out);
+
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType("application/gzip"))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						ContentDisposition.attachment().filename("employees.csv.gz").build().toString())
+				.body(body);
+	}
+
 	@GetMapping("/FamilyDetails/by-payroll/{payrollId}")
     public List<EmpFamilyDetailsDTO> getFamilyMembers(@PathVariable String payrollId) {
         return hrEmpDetlService.getFamilyMembersByPayrollId(payrollId);
@@ -52,6 +96,7 @@ public class HREmpDetailsController {
         return ResponseEntity.ok(response);
     }
     
+    @SqlBudget(maxStatements = 2)
     @GetMapping("/family-members-in-org/{payrollId}")
     public ResponseEntity<List<FamilyMemberInOrgDTO>> getFamilyMembersInOrg(@PathVariable String payrollId) {
         List<FamilyMemberInOrgDTO> response = hrEmpDetlService.getFamilyMembersInOrganization(payrollId);
@@ -1,20 +1,29 @@
 package com.employee.controller;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.employee.config.Throttled;
 import com.employee.dto.ManagerMappingDTO;
 import com.employee.dto.BulkManagerMappingDTO;
 import com.employee.dto.UnmappingDTO;
 import com.employee.dto.BulkUnmappingDTO;
+import com.employee.dto.OrgReportsDTO;
+import com.employee.dto.SpanOfControlDTO;
 import com.employee.service.ManagerMappingService;
+import com.employee.service.OrgGraphService;
 
 /**
  * Controller for Manager Mapping functionality.
@@ -30,6 +39,9 @@ public class ManagerMappingController {
     @Autowired
     private ManagerMappingService managerMappingService;
     
+    @Autowired
+    private OrgGraphService orgGraphService;
+    
     /**
      * POST endpoint to map employee and update their details.
      * 
@@ -84,6 +96,7 @@ public class ManagerMappingController {
      *                       workStartingDate, remark (optional), and updatedBy
      * @return The same BulkManagerMappingDTO that was passed in
      */
+    @Throttled("bulk-mapping")
     @PostMapping("/map-multiple-employees")
     public ResponseEntity<BulkManagerMappingDTO> mapMultipleEmployeesAndUpdateWorkDate(@RequestBody BulkManagerMappingDTO bulkMappingDTO) {
         logger.info("Received bulk manager mapping request for {} payrollIds", 
@@ -158,6 +171,7 @@ public class ManagerMappingController {
      *                          lastDate (required), remark (optional), and updatedBy
      * @return The same BulkUnmappingDTO that was passed in
      */
+    @Throttled("bulk-mapping")
     @PostMapping("/unmap-multiple-employees")
     public ResponseEntity<BulkUnmappingDTO> unmapMultipleEmployees(@RequestBody BulkUnmappingDTO bulkUnmappingDTO) {
         logger.info("Received bulk unmapping request for {} payrollIds", 
@@ -170,5 +184,56 @@ public class ManagerMappingController {
                    response.getPayrollIds() != null ? response.getPayrollIds().size() : 0);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+    
+    /**
+     * GET endpoint for all direct and indirect reports of an employee, answered from the in-memory org graph.
+     * 
+     * @param empId The manager's employee ID
+     * @param relation MANAGER (manager_id, default) or REPORTING (reporting_manager_id)
+     * @return Direct and indirect report emp_ids
+     */
+    @GetMapping("/org-graph/reports/{empId}")
+    public ResponseEntity<OrgReportsDTO> getReports(@PathVariable int empId,
+            @RequestParam(defaultValue = "MANAGER") OrgGraphService.Relation relation) {
+        return new ResponseEntity<>(orgGraphService.getReports(empId, relation), HttpStatus.OK);
+    }
+    
+    /**
+     * GET endpoint for the chain of command above an employee (nearest first).
+     * 
+     * @param empId The employee ID
+     * @param relation MANAGER (default) or REPORTING
+     * @return emp_ids from the immediate manager up to the top of the hierarchy
+     */
+    @GetMapping("/org-graph/chain/{empId}")
+    public ResponseEntity<List<Integer>> getChainOfCommand(@PathVariable int empId,
+            @RequestParam(defaultValue = "MANAGER") OrgGraphService.Relation relation) {
+        return new ResponseEntity<>(orgGraphService.getChainOfCommand(empId, relation), HttpStatus.OK);
+    }
+    
+    /**
+     * GET endpoint for the span of control of every manager in a campus.
+     * 
+     * @param campusId The campus ID
+     * @param relation MANAGER (default) or REPORTING
+     * @return One entry per manager with direct and total report counts
+     */
+    @GetMapping("/org-graph/span-of-control/{campusId}")
+    public ResponseEntity<List<SpanOfControlDTO>> getSpanOfControl(@PathVariable int campusId,
+            @RequestParam(defaultValue = "MANAGER") OrgGraphService.Relation relation) {
+        List<SpanOfControlDTO> spans = orgGraphService.getSpanOfControlByCampus(campusId, relation);
+        if (spans.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(spans, HttpStatus.OK);
+    }
+    
+    /**
+     * POST endpoint to rebuild the org graph from the database (e.g. after direct data fixes).
+     */
+    @PostMapping("/org-graph/reload")
+    public ResponseEntity<Void> reloadOrgGraph() {
+        orgGraphService.reload();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
-
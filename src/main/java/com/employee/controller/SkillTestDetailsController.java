@@ -1,7 +1,10 @@
 package com.employee.controller;
 
+import java.io.InputStream;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,9 +13,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.employee.config.Throttled;
 import com.employee.dto.SkillTestDetailsDto;
+import com.employee.dto.SkillTestResultImportDTO;
 import com.employee.entity.SkillTestDetails;
 import com.employee.service.SkillTestDetailsService;
+import com.employee.service.SkillTestResultImportService;
 
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +34,9 @@ public class SkillTestDetailsController {
     @Autowired
     private SkillTestDetailsService skillTestDetailsService;
 
+    @Autowired
+    private SkillTestResultImportService skillTestResultImportService;
+
     @PostMapping("/save/{emp_id}")
     public ResponseEntity<SkillTestDetails> saveSkillTestDetails(@Valid
             @RequestBody SkillTestDetailsDto dto,
@@ -41,4 +50,19 @@ public class SkillTestDetailsController {
         // Return the saved entity object (JSON) with a "201 Created" HTTP status
         return new ResponseEntity<>(savedDetails, HttpStatus.CREATED);
     }
-}
\ No newline at end of file
+
+    /**
+     * Imports the results of an exam session: a JSON array of results, or one result per line
+     * (application/x-ndjson), matched to candidates by tempPayrollId. The body is read as it
+     * arrives and written in chunks; invalid results are reported, not imported.
+     *
+     * @return counts and the rejected results (position in the batch, reason)
+     */
+    @Throttled("skill-test-import")
+    @PostMapping(value = "/results/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<SkillTestResultImportDTO> importSkillTestResults(InputStream body) {
+        SkillTestResultImportDTO result = skillTestResultImportService.importResults(body);
+        log.info("Imported {} of {} skill test results", result.getImported(), result.getRowsRead());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
@@ -33,6 +33,9 @@ public class AllDocumentsDTO {
         private String docPath; // Document path
         private Integer isVerified; // Verification status (0 or 1)
         private Integer isActive; // Active status (0 or 1)
+        private String originalUrl; // Download URL of the stored file (document store only, else null)
+        private String previewUrl; // Downscaled JPEG for review screens (document store only, else null)
+        private String thumbnailUrl; // Small JPEG for lists (document store only, else null)
     }
 }
  
\ No newline at end of file
@@ -15,6 +15,7 @@ import lombok.NoArgsConstructor;
  * Optional Fields:
  * - checkListIds: Optional (comma-separated string like "1,2,3,4,5,6,7")
  *   This captures the same details as forward to central office for tracking
+ * - reviewerId: Optional - reviewer acting; rejected if another reviewer holds the employee's queue lease
  */
 @Data
 @NoArgsConstructor
@@ -27,4 +28,6 @@ public class BackToCampusDTO {
 	
 	// Optional - Capture checklist details similar to forward to central office
 	private String checkListIds; // Optional - Comma-separated checklist IDs
+	
+	private Integer reviewerId; // Optional - emp_id of the DO reviewer; must hold the review queue lease if one is taken
 }
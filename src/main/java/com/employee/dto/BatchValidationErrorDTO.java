@@ -0,0 +1,16 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A record rejected by a batch validation, identified by its position in the batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchValidationErrorDTO {
+    private int index; // 0-based position in the submitted list
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk employee import.
+ *
+ * Rows are committed in chunks; lastCommittedRow is the last row of the last committed chunk.
+ * If completed is false the import stopped on a failed chunk and can be resumed by uploading
+ * the same file again with resumeFromRow = lastCommittedRow.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+	private String fileName;
+	private boolean dryRun;        // validated only, nothing written
+	private boolean completed;     // false if a chunk failed and the rest of the file was not processed
+	private int rowsRead;          // data rows after resumeFromRow
+	private int imported;          // rows written (or that would be written on a dry run)
+	private int failed;            // rows rejected by validation or in a failed chunk
+	private int lastCommittedRow;  // resume point; resumeFromRow of the request if nothing was committed
+	private long elapsedMillis;
+	private List<BulkImportRowErrorDTO> errors; // first employee.bulk-import.max-reported-errors rejected rows
+}
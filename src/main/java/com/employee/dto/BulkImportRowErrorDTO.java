@@ -0,0 +1,16 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bulk import row that was not imported, and why.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportRowErrorDTO {
+	private int rowNumber; // 1-based row of the uploaded sheet (header = row 1), or position in a JSON batch
+	private String message;
+}
@@ -0,0 +1,27 @@
+package com.employee.dto;
+
+import java.sql.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the streamed campus roster cursor: an employee joined with
+ * date of birth and (at most) one subject. Employees teaching several
+ * subjects come back as consecutive rows ordered by empId.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CampusRosterRowDTO {
+    private int empId;
+    private String firstName;
+    private String lastName;
+    private long mobileNo;
+    private String email;
+    private String designationName;
+    private String genderName;
+    private Date dateOfBirth;
+    private String subjectName;
+}
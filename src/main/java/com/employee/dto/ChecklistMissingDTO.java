@@ -0,0 +1,22 @@
+package com.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Active employees of a campus whose CO checklist does not include one item, answered from the
+ * in-memory checklist index.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChecklistMissingDTO {
+    private int campusId;
+    private int checklistId;
+    private String checklistName;
+    private int activeEmployees;
+    private List<Integer> missingEmpIds;
+}
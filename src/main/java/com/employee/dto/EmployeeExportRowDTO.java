@@ -0,0 +1,41 @@
+package com.employee.dto;
+
+import java.sql.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the HR employee export cursor: an employee with campus, department,
+ * designation, active salary structure and salary bank account. Employees with several
+ * active salary or bank rows come back as consecutive rows ordered by empId.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeExportRowDTO {
+    private int empId;
+    private String tempPayrollId;
+    private String payrollId;
+    private String firstName;
+    private String lastName;
+    private String status;
+    private String appStatus;
+    private Date dateOfJoin;
+    private long primaryMobileNo;
+    private String email;
+    private String campusName;
+    private Integer campusCode;
+    private String departmentName;
+    private String designationName;
+    private String structureName;
+    private String gradeName;
+    private Double monthlyCtc;
+    private Double yearlyCtc;
+    private String bankName;
+    private String bankBranch;
+    private String bankHolderName;
+    private Long bankAccountNo;
+    private String ifscCode;
+}
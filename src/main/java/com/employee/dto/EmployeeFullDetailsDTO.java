@@ -21,4 +21,7 @@ public class EmployeeFullDetailsDTO {
     // Calculated/Secondary details
     private Integer age; // Calculated from EmpDetails
     private List<String> subjectsTaught; // From EmpSubject -> Subject
+    
+    // Shared staff (home campus elsewhere): designation and subject are those of the campus assignment
+    private boolean shared;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Candidate identity to pre-check before the onboarding form is filled; any field may be omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdentityCheckRequestDTO {
+	private Long aadhaarNo;
+	private Long mobileNo;
+	private String panNo;
+	private String email; // personal email
+}
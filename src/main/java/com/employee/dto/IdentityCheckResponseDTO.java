@@ -0,0 +1,19 @@
+package com.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of an identity pre-check: format problems and existing people with the same keys.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdentityCheckResponseDTO {
+	private boolean duplicate;
+	private String formatError; // first invalid key format, null if all given keys are well-formed
+	private List<IdentityMatchDTO> matches;
+}
@@ -0,0 +1,20 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An existing person sharing one identity key with a candidate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdentityMatchDTO {
+	private String key;           // AADHAAR, MOBILE, PAN or EMAIL
+	private String source;        // SKILL_TEST (sce_skill_test_detl), EMPLOYEE (sce_emp) or EMP_DETAILS (sce_emp_detl)
+	private Integer empId;        // null for skill test candidates not yet onboarded
+	private String tempPayrollId;
+	private Long aadhaarNo;
+	private Long mobileNo;
+}
@@ -0,0 +1,26 @@
+package com.employee.dto;
+
+import java.util.List;
+
+import com.employee.service.OnboardingCompletenessService.Section;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Onboarding tabs of one candidate that hold data, answered from the in-memory completeness
+ * bitmask (bit = Section ordinal).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OnboardingCompletenessDTO {
+    private int empId;
+    private String tempPayrollId;
+    private Integer campusId;
+    private int mask;
+    private List<Section> completed;
+    private List<Section> missing;
+    private boolean eligibleForCentralOffice;
+}
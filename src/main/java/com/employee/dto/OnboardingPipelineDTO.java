@@ -0,0 +1,26 @@
+package com.employee.dto;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Map;
+
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Onboarding pipeline counts of one campus (campusId null for the total over all campuses),
+ * answered from in-memory counters.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OnboardingPipelineDTO {
+    private Integer campusId;
+    private Map<OnboardingStatus, Long> byStatus; // active employees currently in each status
+    private Map<OnboardingStatus, Long> enteredThisWeek; // transitions into each status since weekStart
+    private Date weekStart; // Monday of the current week
+    private Timestamp reconciledAt; // last reconcile against sce_emp; null before the first
+}
@@ -0,0 +1,20 @@
+package com.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Direct and indirect reports of one employee, as emp_ids, answered from the in-memory org graph.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrgReportsDTO {
+    private int empId;
+    private String relation; // MANAGER or REPORTING
+    private List<Integer> directReports;
+    private List<Integer> indirectReports;
+}
@@ -12,6 +12,9 @@ import lombok.NoArgsConstructor;
  * - tempPayrollId: Must be a valid temp_payroll_id from Employee table
  * - remarks: Reason for rejecting and sending back to DO (required, max 250 characters)
  *   If remarks already exist, they will be updated (not replaced)
+ *
+ * Optional Fields:
+ * - reviewerId: reviewer acting; rejected if another reviewer holds the employee's queue lease
  */
 @Data
 @NoArgsConstructor
@@ -21,4 +24,6 @@ public class RejectBackToDODTO {
 	private String tempPayrollId; // REQUIRED - To find employee by temp_payroll_id
 	
 	private String remarks; // REQUIRED - Reason for rejecting and sending back to DO (varchar(250))
+	
+	private Integer reviewerId; // Optional - emp_id of the CO reviewer; must hold the review queue lease if one is taken
 }
@@ -0,0 +1,40 @@
+package com.employee.dto;
+
+import java.sql.Timestamp;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One employee waiting in a DO / CO review queue (compact projection of sce_emp), with the
+ * reviewer currently holding it, if any.
+ */
+@Data
+@NoArgsConstructor
+public class ReviewQueueItemDTO {
+    private int empId;
+    private String tempPayrollId;
+    private String firstName;
+    private String lastName;
+    private Integer campusId;
+    private String campusName;
+    private Timestamp createdDate;
+    private Timestamp updatedDate;
+    private String remarks;
+    private Integer leasedBy; // reviewer emp_id; null when unclaimed
+    private Timestamp leaseExpiresAt;
+
+    // JPQL constructor projection (EmployeeRepository.findReviewQueuePage)
+    public ReviewQueueItemDTO(int empId, String tempPayrollId, String firstName, String lastName, Integer campusId,
+                              String campusName, Timestamp createdDate, Timestamp updatedDate, String remarks) {
+        this.empId = empId;
+        this.tempPayrollId = tempPayrollId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.campusId = campusId;
+        this.campusName = campusName;
+        this.createdDate = createdDate;
+        this.updatedDate = updatedDate;
+        this.remarks = remarks;
+    }
+}
@@ -0,0 +1,20 @@
+package com.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of a review queue; pass nextCursor back to get the following page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewQueuePageDTO {
+    private String level; // DO or CO
+    private String status;
+    private List<ReviewQueueItemDTO> items;
+    private String nextCursor; // null on the last page
+}
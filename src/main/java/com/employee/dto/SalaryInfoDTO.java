@@ -53,4 +53,6 @@ public class SalaryInfoDTO {
 	
 	// Checklist IDs - comma-separated string like "1,2,3,4,5,6,7"
 	private String checkListIds; // Optional - Comma-separated checklist IDs
+	
+	private Integer reviewerId; // Optional - emp_id of the DO reviewer; must hold the review queue lease if one is taken
 }
@@ -0,0 +1,22 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one active sce_shared_employee assignment: an employee working at a campus with a
+ * campus-specific designation and (optionally) subject.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SharedAssignmentDTO {
+
+    private Integer empId;
+    private Integer campusId;
+    private Integer designationId;
+    private String designationName;
+    private Integer subjectId; // null when no subject is assigned at this campus
+    private String subjectName;
+}
@@ -0,0 +1,27 @@
+package com.employee.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a skill test result batch import.
+ *
+ * Results are committed in chunks; if completed is false the import stopped on a failed chunk or
+ * malformed input, and results before it stay imported. Re-sending the batch is safe: results
+ * already stored for the same candidate and exam date are rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillTestResultImportDTO {
+	private boolean completed;              // false if a chunk failed or the body could not be read to the end
+	private int rowsRead;                   // results in the request body
+	private int imported;                   // results written
+	private int failed;                     // results rejected by validation or in a failed chunk
+	private boolean approvalViewRefreshed;  // sce_skill_test_approval refreshed after the batch
+	private long elapsedMillis;
+	private List<BulkImportRowErrorDTO> errors; // first employee.skill-test-import.max-reported-errors rejected results
+}
@@ -0,0 +1,27 @@
+package com.employee.dto;
+
+import java.sql.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One skill test result of a batch import (one element of the request's JSON array / NDJSON line).
+ * Counts are boxed so missing values can be reported instead of read as 0.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkillTestResultRowDTO {
+
+    private String tempPayrollId;       // sce_skill_test_detl.temp_payroll_id of the candidate
+    private Date examDate;
+    private Integer noOfQuestion;
+    private Integer noOfQuesAttempt;
+    private Integer noOfQuesUnattempt;
+    private Integer noOfQuesCorrect;
+    private Integer noOfQuesWrong;
+    private Integer totalMarks;
+    private String result;              // e.g. PASS / FAIL, max 30 characters
+}
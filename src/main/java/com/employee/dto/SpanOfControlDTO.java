@@ -0,0 +1,17 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Span of control of one manager within a campus.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SpanOfControlDTO {
+    private int managerId;
+    private int directReports;
+    private int totalReports; // direct + indirect
+}
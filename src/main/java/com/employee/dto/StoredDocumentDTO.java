@@ -0,0 +1,20 @@
+package com.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An uploaded file in the content-addressed document store. docPath is the value to save as
+ * sce_emp_doc.doc_path (documents tab, family group photo).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoredDocumentDTO {
+    private String docPath;
+    private String sha256;
+    private long size;
+    private String contentType;
+    private boolean deduplicated;
+}
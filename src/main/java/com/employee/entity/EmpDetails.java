@@ -3,8 +3,11 @@ package com.employee.entity;
 import java.sql.Date;
 import java.sql.Timestamp;
 
+import com.employee.config.IdentityIndexEntityListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -23,6 +26,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(IdentityIndexEntityListener.class)
 @Table(name="sce_emp_detl",schema="sce_employee")
 public class EmpDetails {
 	
@@ -5,27 +5,63 @@ import java.sql.Timestamp;
 
 import org.hibernate.validator.constraints.Range;
 
+import com.employee.config.EmployeeIndexEntityListener;
+import com.employee.config.IdentityIndexEntityListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Fetch plans per use case. Every association on Employee is LAZY, so a plain
+ * lookup loads only the sce_emp row; repository methods pick one of these graphs
+ * to join exactly the associations their endpoint reads.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners({ IdentityIndexEntityListener.class, EmployeeIndexEntityListener.class })
 @Table(name = "sce_emp", schema = "sce_employee")
+@NamedEntityGraphs({
+	// Only the sce_emp row - key lookups and dropdowns that need ids/names and nothing else
+	@NamedEntityGraph(name = Employee.GRAPH_KEY_LOOKUP),
+	// Campus / working-info card
+	@NamedEntityGraph(name = Employee.GRAPH_WORKING_INFO, attributeNodes = {
+			@NamedAttributeNode("campus_id"),
+			@NamedAttributeNode("designation"),
+			@NamedAttributeNode("workingMode_id"),
+			@NamedAttributeNode("join_type_id"),
+			@NamedAttributeNode("employee_replaceby_id") }),
+	// Manager / reporting manager / reference / hired-by cards (one hop, with designation)
+	@NamedEntityGraph(name = Employee.GRAPH_PROFILE_CARD, attributeNodes = {
+			@NamedAttributeNode(value = "employee_manager_id", subgraph = "relatedEmployee"),
+			@NamedAttributeNode(value = "employee_reporting_id", subgraph = "relatedEmployee"),
+			@NamedAttributeNode(value = "employee_reference", subgraph = "relatedEmployee"),
+			@NamedAttributeNode("employee_hired") },
+			subgraphs = @NamedSubgraph(name = "relatedEmployee", attributeNodes = @NamedAttributeNode("designation")))
+})
 public class Employee {
 
+	public static final String GRAPH_KEY_LOOKUP = "Employee.keyLookup";
+	public static final String GRAPH_WORKING_INFO = "Employee.workingInfo";
+	public static final String GRAPH_PROFILE_CARD = "Employee.profileCard";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private int emp_id;
@@ -89,11 +125,11 @@ public class Employee {
 	@JoinColumn(name = "manager_id")
 	private Employee employee_manager_id;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "category_id")
 	private Category category;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "reporting_manager_id")
 	private Employee employee_reporting_id;
 
@@ -105,7 +141,7 @@ public class Employee {
 	@JoinColumn(name = "highest_qualification_id")
 	private Qualification qualification_id;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "emp_work_mode_id")
 	private WoringMode workingMode_id;
 
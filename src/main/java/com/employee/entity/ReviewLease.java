@@ -0,0 +1,34 @@
+package com.employee.entity;
+
+import java.sql.Timestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A reviewer's claim on an employee in a DO / CO review queue, shared by every instance.
+ * Rows are written by ReviewQueueService with plain SQL (conditional upsert on emp_id) and
+ * deleted when the employee leaves the queue status; an expired row is free to be taken over.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "sce_emp_review_lease", schema = "sce_employee")
+public class ReviewLease {
+
+	@Id
+	@Column(name = "emp_id")
+	private Integer empId;
+
+	@Column(name = "reviewer_id", nullable = false)
+	private Integer reviewerId;
+
+	@Column(name = "expires_at", nullable = false)
+	private Timestamp expiresAt;
+}
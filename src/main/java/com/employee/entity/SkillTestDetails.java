@@ -3,8 +3,11 @@ package com.employee.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime; // Import this!
 
+import com.employee.config.IdentityIndexEntityListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -20,6 +23,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(IdentityIndexEntityListener.class)
 @Table(name ="sce_skill_test_detl", schema="sce_employee")
 public class SkillTestDetails {
     
@@ -6,6 +6,7 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -26,6 +27,28 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
 	}
 	
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<Map<String, Object>> handleTooManyRequestsException(TooManyRequestsException ex) {
+		logger.warn("Request rejected: {}", ex.getMessage());
+		Map<String, Object> response = new HashMap<>();
+		response.put("message", ex.getMessage());
+		response.put("timestamp", LocalDateTime.now());
+		response.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(response);
+	}
+	
+	@ExceptionHandler(LeaseConflictException.class)
+	public ResponseEntity<Map<String, Object>> handleLeaseConflictException(LeaseConflictException ex) {
+		logger.warn("Lease conflict: {}", ex.getMessage());
+		Map<String, Object> response = new HashMap<>();
+		response.put("message", ex.getMessage());
+		response.put("timestamp", LocalDateTime.now());
+		response.put("status", HttpStatus.CONFLICT.value());
+		return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+	}
+	
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
 		// Log the full exception with stack trace to console
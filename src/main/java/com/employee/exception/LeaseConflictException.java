@@ -0,0 +1,13 @@
+package com.employee.exception;
+
+/**
+ * A review queue record is leased by another reviewer; mapped to 409.
+ */
+public class LeaseConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public LeaseConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,20 @@
+package com.employee.exception;
+
+/**
+ * Request rejected because a bulkhead or rate limiter is saturated; mapped to 429 with Retry-After.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public TooManyRequestsException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -16,10 +16,22 @@ public interface EmpDetailsRepository extends JpaRepository<EmpDetails, Integer>
 	@Query("SELECT ed FROM EmpDetails ed WHERE ed.personal_email = :personalEmail")
 	Optional<EmpDetails> findByPersonal_email(@Param("personalEmail") String personalEmail);
 	
+	// EAGER lookups are fetched here; otherwise each distinct value costs its own SELECT
 	@Query("SELECT ed FROM EmpDetails ed "
+	         + "LEFT JOIN FETCH ed.bloodGroup_id "
+	         + "LEFT JOIN FETCH ed.caste_id "
+	         + "LEFT JOIN FETCH ed.religion_id "
+	         + "LEFT JOIN FETCH ed.marital_status_id "
+	         + "LEFT JOIN FETCH ed.relation_id "
 	         + "WHERE ed.employee_id IN :employeeIds AND ed.is_active = 1") // <--- ADDED isActive = 1 CHECK
 	    List<EmpDetails> findByEmployee_idIn(List<Employee> employeeIds);
 
+	/**
+	 * Identity keys of all employee details rows: [adhaar_no, pancard_no, personal_email] (IdentityIndexService).
+	 */
+	@Query("SELECT ed.adhaar_no, ed.pancard_no, ed.personal_email FROM EmpDetails ed")
+	List<Object[]> findIdentityKeys();
+
 	@Query("SELECT ed FROM EmpDetails ed WHERE ed.adhaar_no = :adhaarNo")
 	Optional<EmpDetails> findByAdhaar_no(@Param("adhaarNo") Long aadharNum);
 	
@@ -1,6 +1,7 @@
 package com.employee.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -23,5 +24,9 @@ public interface EmpDocumentsRepository extends JpaRepository<EmpDocuments, Inte
     @Query("SELECT ed FROM EmpDocuments ed WHERE ed.emp_id.emp_id = :empId AND ed.emp_doc_type_id.doc_type_id IN :docTypeIds AND ed.is_active = 1")
     List<EmpDocuments> findByEmpIdAndDocTypeIds(@Param("empId") Integer empId, @Param("docTypeIds") List<Integer> docTypeIds);
 
+    // doc_path of an active document, without loading the employee and document type
+    @Query("SELECT ed.doc_path FROM EmpDocuments ed WHERE ed.emp_doc_id = :empDocId AND ed.is_active = 1")
+    Optional<String> findActiveDocPath(@Param("empDocId") Integer empDocId);
+
 }
 
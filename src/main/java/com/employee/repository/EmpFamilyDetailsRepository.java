@@ -188,6 +188,20 @@ public interface EmpFamilyDetailsRepository extends JpaRepository<EmpFamilyDetai
 
     @Query("SELECT fd FROM EmpFamilyDetails fd WHERE fd.emp_id.emp_id = :empId")
     List<EmpFamilyDetails> findByEmp_id_EmpId(@Param("empId") int empId);
+
+    /**
+     * Family members who are themselves employees, with the employee record and its
+     * designation fetched in the same statement (one query instead of one per member).
+     */
+    @Query("SELECT fd FROM EmpFamilyDetails fd "
+            + "JOIN FETCH fd.parent_emp_id p "
+            + "LEFT JOIN FETCH p.designation "
+            + "JOIN FETCH fd.emp_id "
+            + "JOIN FETCH fd.gender_id "
+            + "JOIN FETCH fd.blood_group_id "
+            + "JOIN FETCH fd.relation_id "
+            + "WHERE fd.emp_id.emp_id = :empId AND fd.is_sri_chaitanya_emp = 1")
+    List<EmpFamilyDetails> findInOrganizationByEmpId(@Param("empId") int empId);
     
     @Query("SELECT f FROM EmpFamilyDetails f WHERE f.emp_id = :employee")
     List<EmpFamilyDetails> findByEmployeeEntity(@Param("employee") Employee employee);
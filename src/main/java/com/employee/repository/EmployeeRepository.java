@@ -1,15 +1,27 @@
 package com.employee.repository;
  
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
  
+import com.employee.dto.CampusRosterRowDTO;
+import com.employee.dto.EmployeeExportRowDTO;
+import com.employee.dto.ReviewQueueItemDTO;
 import com.employee.entity.EmpQualification;
 import com.employee.entity.Employee;
+
+import jakarta.persistence.QueryHint;
  
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
@@ -17,18 +29,37 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
     @Query("SELECT e FROM Employee e WHERE e.emp_id = :id AND e.is_active = :is_active")
     Optional<Employee> findByIdAndIs_active(@Param("id") Integer id, @Param("is_active") int is_active);
     
+    @EntityGraph(Employee.GRAPH_KEY_LOOKUP)
     Optional<Employee> findByTempPayrollId(String tempPayrollId);
     
     /**
      * Finds an employee by the 'payRollId' field.
      * Note: This method name relies on Spring Data naming conventions.
      * If your field is 'payRollId', this works automatically.
+     * Loads only the sce_emp row (key lookup fetch plan).
      */
+    @EntityGraph(Employee.GRAPH_KEY_LOOKUP)
     Optional<Employee> findByPayRollId(String payrollId);
 
+    /**
+     * Same lookup as findByPayRollId, joining manager, reporting manager, reference
+     * (each with designation) and hired-by in one statement for the HR profile cards.
+     */
+    @EntityGraph(Employee.GRAPH_PROFILE_CARD)
+    Optional<Employee> findProfileCardByPayRollId(String payrollId);
+
+    /**
+     * Same lookup as findByPayRollId, joining campus, designation, work mode,
+     * joining type and replacement employee for the campus / working info card.
+     */
+    @EntityGraph(Employee.GRAPH_WORKING_INFO)
+    Optional<Employee> findWorkingInfoByPayRollId(String payrollId);
+
     /**
      * Finds all employees by their active status.
+     * Key lookup fetch plan - no associations are loaded.
      */
+    @EntityGraph(Employee.GRAPH_KEY_LOOKUP)
     @Query("SELECT e FROM Employee e WHERE e.is_active = :status")
     List<Employee> findByIsActive(@Param("status") int status);
  
@@ -71,18 +102,215 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
                + "WHERE e.campus_id.campusId = :campusId AND e.is_active = 1")
           List<Employee> findActiveEmployeesByCampusId(@Param("campusId") int campusId);
 
+       /**
+        * findActiveEmployeesByCampusId plus the given employees of other campuses (shared staff
+        * from SharedEmployeeIndexService), in one statement.
+        */
+       @Query("SELECT e FROM Employee e "
+               + "JOIN FETCH e.designation d "
+               + "JOIN FETCH e.gender g "
+               + "WHERE (e.campus_id.campusId = :campusId OR e.emp_id IN :empIds) AND e.is_active = 1")
+          List<Employee> findActiveEmployeesByCampusIdOrEmpIdIn(@Param("campusId") int campusId,
+                  @Param("empIds") Collection<Integer> empIds);
+
+       /**
+        * Cursor-backed variant of findActiveEmployeesByCampusId for the streamed roster.
+        * One statement joins designation, gender, date of birth and subjects; rows are
+        * projected (no managed entities) and ordered by emp_id so consecutive rows of
+        * the same employee can be folded while reading. Must be consumed inside a
+        * transaction so the PostgreSQL driver honours the fetch size.
+        */
+       @QueryHints({
+               @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+               @QueryHint(name = "org.hibernate.readOnly", value = "true")
+       })
+       @Query("SELECT NEW com.employee.dto.CampusRosterRowDTO("
+               + "e.emp_id, e.first_name, e.last_name, e.primary_mobile_no, e.email, "
+               + "d.designation_name, g.genderName, ed.date_of_birth, s.subject_name) "
+               + "FROM Employee e "
+               + "JOIN e.designation d "
+               + "JOIN e.gender g "
+               + "LEFT JOIN EmpDetails ed ON ed.employee_id = e AND ed.is_active = 1 "
+               + "LEFT JOIN EmpSubject es ON es.emp_id = e AND es.is_active = 1 "
+               + "LEFT JOIN es.subject_id s "
+               + "WHERE e.campus_id.campusId = :campusId AND e.is_active = 1 "
+               + "ORDER BY e.emp_id")
+          Stream<CampusRosterRowDTO> streamActiveRosterByCampusId(@Param("campusId") int campusId);
+
+       /**
+        * Cursor for the HR export (EmployeeExportService): projected rows, no managed entities.
+        * Null filters are not applied; the join date range is inclusive. Only the SALARY bank
+        * account is joined. Must be consumed inside a transaction so the fetch size is honoured.
+        */
+       @QueryHints({
+               @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+               @QueryHint(name = "org.hibernate.readOnly", value = "true")
+       })
+       @Query("SELECT NEW com.employee.dto.EmployeeExportRowDTO("
+               + "e.emp_id, e.tempPayrollId, e.payRollId, e.first_name, e.last_name, e.status, st.check_app_status_name, "
+               + "e.date_of_join, e.primary_mobile_no, e.email, c.campusName, c.code, dep.department_name, "
+               + "des.designation_name, ss.structreName, g.gradeName, si.monthlyCtc, si.yearlyCtc, "
+               + "b.bankName, b.bankBranch, b.bankHolderName, b.accNo, b.ifscCode) "
+               + "FROM Employee e "
+               + "LEFT JOIN e.campus_id c "
+               + "LEFT JOIN e.department dep "
+               + "LEFT JOIN e.designation des "
+               + "LEFT JOIN e.emp_check_list_status_id st "
+               + "LEFT JOIN EmpSalaryInfo si ON si.empId = e AND si.isActive = 1 "
+               + "LEFT JOIN si.empStructure ss "
+               + "LEFT JOIN si.grade g "
+               + "LEFT JOIN BankDetails b ON b.empId = e AND b.isActive = 1 AND UPPER(b.accType) LIKE 'SALARY%' "
+               + "WHERE (:campusId IS NULL OR c.campusId = :campusId) "
+               + "AND (:status IS NULL OR e.status = :status) "
+               + "AND (:joinedFrom IS NULL OR e.date_of_join >= :joinedFrom) "
+               + "AND (:joinedTo IS NULL OR e.date_of_join <= :joinedTo) "
+               + "ORDER BY e.emp_id")
+          Stream<EmployeeExportRowDTO> streamEmployeeExportRows(@Param("campusId") Integer campusId,
+                                                                @Param("status") String status,
+                                                                @Param("joinedFrom") Date joinedFrom,
+                                                                @Param("joinedTo") Date joinedTo);
+
+       /**
+        * Edge list for the in-memory org graph: [emp_id, manager_id, reporting_manager_id, cmps_id]
+        * of every active employee. Nullable columns come back as null.
+        */
+       @Query("SELECT e.emp_id, m.emp_id, r.emp_id, c.campusId FROM Employee e "
+               + "LEFT JOIN e.employee_manager_id m "
+               + "LEFT JOIN e.employee_reporting_id r "
+               + "LEFT JOIN e.campus_id c "
+               + "WHERE e.is_active = 1")
+       List<Object[]> findActiveOrgGraphEdges();
+
+       /**
+        * [emp_id, cmps_id, emp_app_check_list_detl_id] of every active employee, for the in-memory
+        * checklist index (ChecklistService).
+        */
+       @Query("SELECT e.emp_id, c.campusId, e.emp_app_check_list_detl_id FROM Employee e "
+               + "LEFT JOIN e.campus_id c "
+               + "WHERE e.is_active = 1")
+       List<Object[]> findActiveChecklistSelections();
+
+       /**
+        * [cmps_id, emp_app_status_id, count] of active employees, for reconciling the onboarding
+        * pipeline counters. cmps_id is null for employees without a campus.
+        */
+       @Query("SELECT c.campusId, s.emp_app_status_id, COUNT(e) FROM Employee e "
+               + "LEFT JOIN e.campus_id c "
+               + "JOIN e.emp_check_list_status_id s "
+               + "WHERE e.is_active = 1 "
+               + "GROUP BY c.campusId, s.emp_app_status_id")
+       List<Object[]> countActiveByCampusAndAppStatus();
+
+       /**
+        * One keyset page of a review queue: active employees in an app status, oldest first, after
+        * the (created_date, emp_id) cursor. Null campus / zone are not filtered. Meant to be served
+        * by an index on sce_emp (emp_app_status_id, created_date, emp_id) WHERE is_active = 1, so
+        * the cost does not grow with the backlog; pass PageRequest.of(0, n) to limit.
+        */
+       @Query("SELECT new com.employee.dto.ReviewQueueItemDTO(e.emp_id, e.tempPayrollId, e.first_name, e.last_name, "
+               + "c.campusId, c.campusName, e.created_date, e.updated_date, e.remarks) "
+               + "FROM Employee e "
+               + "LEFT JOIN e.campus_id c "
+               + "LEFT JOIN c.zone z "
+               + "WHERE e.emp_check_list_status_id.emp_app_status_id = :statusId AND e.is_active = 1 "
+               + "AND (:campusId IS NULL OR c.campusId = :campusId) "
+               + "AND (:zoneId IS NULL OR z.zoneId = :zoneId) "
+               + "AND (e.created_date > :afterDate OR (e.created_date = :afterDate AND e.emp_id > :afterEmpId)) "
+               + "ORDER BY e.created_date, e.emp_id")
+       List<ReviewQueueItemDTO> findReviewQueuePage(@Param("statusId") int statusId,
+                                                    @Param("campusId") Integer campusId,
+                                                    @Param("zoneId") Integer zoneId,
+                                                    @Param("afterDate") Timestamp afterDate,
+                                                    @Param("afterEmpId") int afterEmpId,
+                                                    Pageable page);
+
+       /**
+        * Columns of the completeness queries: emp_id, temp_payroll_id, cmps_id, then one 0/1 flag per
+        * OnboardingCompletenessService.Section, in declaration order.
+        */
+       String COMPLETENESS_COLUMNS = "SELECT e.emp_id, e.tempPayrollId, c.campusId, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM EmpDetails d WHERE d.employee_id = e AND d.is_active = 1) THEN 1 ELSE 0 END, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM EmpaddressInfo a WHERE a.emp_id = e AND a.is_active = 1) THEN 1 ELSE 0 END, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM EmpFamilyDetails f WHERE f.emp_id = e AND f.is_active = 1) THEN 1 ELSE 0 END, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM EmpExperienceDetails x WHERE x.employee_id = e AND x.is_active = 1) THEN 1 ELSE 0 END, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM EmpQualification q WHERE q.emp_id = e AND q.is_active = 1) THEN 1 ELSE 0 END, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM EmpDocuments doc WHERE doc.emp_id = e AND doc.is_active = 1) THEN 1 ELSE 0 END, "
+               + "CASE WHEN e.employee_type_id IS NOT NULL AND e.department IS NOT NULL AND e.designation IS NOT NULL THEN 1 ELSE 0 END, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM BankDetails b WHERE b.empId = e AND b.isActive = 1) THEN 1 ELSE 0 END, "
+               + "CASE WHEN e.agreement_type IS NOT NULL THEN 1 ELSE 0 END, "
+               + "CASE WHEN EXISTS (SELECT 1 FROM EmpSalaryInfo si WHERE si.empId = e AND si.isActive = 1) THEN 1 ELSE 0 END "
+               + "FROM Employee e "
+               + "LEFT JOIN e.campus_id c "
+               + "LEFT JOIN e.emp_check_list_status_id s ";
+
+       /**
+        * Completeness flags of every active candidate (not yet confirmed), for loading the in-memory
+        * completeness index (OnboardingCompletenessService).
+        */
+       @Query(COMPLETENESS_COLUMNS
+               + "WHERE e.is_active = 1 AND (s IS NULL OR s.emp_app_status_id <> :confirmStatusId)")
+       List<Object[]> findCandidateCompleteness(@Param("confirmStatusId") int confirmStatusId);
+
+       /**
+        * Completeness flags of the given active employees, whatever their status.
+        */
+       @Query(COMPLETENESS_COLUMNS + "WHERE e.is_active = 1 AND e.emp_id IN :empIds")
+       List<Object[]> findCompletenessByEmpIds(@Param("empIds") Collection<Integer> empIds);
+
        @Query("SELECT e FROM Employee e WHERE e.primary_mobile_no = :mobileNo AND e.emp_id != :empId")
        Optional<Employee> findByPrimary_mobile_noExcludingEmpId(@Param("mobileNo") Long mobileNo, @Param("empId") Integer empId);
        
        @Query("SELECT MAX(e.tempPayrollId) FROM Employee e WHERE e.tempPayrollId LIKE :keyPrefix")
        String findMaxTempPayrollIdByKey(@Param("keyPrefix") String keyPrefix);
+
+       /**
+        * Highest temp payroll ID per ID prefix, the ID without its four-digit serial ("TEMP" + campus
+        * code): [prefix, max temp payroll ID]. One grouped pass over the IDs, no join to sce_campus.
+        */
+       @Query("SELECT LEFT(e.tempPayrollId, LENGTH(e.tempPayrollId) - 4), MAX(e.tempPayrollId) FROM Employee e "
+               + "WHERE e.tempPayrollId LIKE 'TEMP%' "
+               + "GROUP BY LEFT(e.tempPayrollId, LENGTH(e.tempPayrollId) - 4)")
+       List<Object[]> findMaxTempPayrollIdPerPrefix();
+
+       /**
+        * Which of the given temp payroll IDs are already used by an employee (bulk import).
+        */
+       @Query("SELECT e.tempPayrollId FROM Employee e WHERE e.tempPayrollId IN :tempPayrollIds")
+       List<String> findTempPayrollIdsIn(@Param("tempPayrollIds") Collection<String> tempPayrollIds);
        
        @Query("SELECT e FROM Employee e WHERE e.primary_mobile_no = :mobileNo")
        Optional<Employee> findByPrimary_mobile_no(@Param("mobileNo") Long mobileNo);
+
+       @Query("SELECT e.primary_mobile_no FROM Employee e WHERE e.primary_mobile_no <> 0")
+       List<Long> findAllPrimaryMobileNos();
+
+       /**
+        * Everyone sharing an identity key with a candidate, in one statement:
+        * [source, emp_id, temp_payroll_id, aadhaar, mobile, pancard_no, personal_email].
+        * Pass -1 / '' for keys that need no lookup. Each branch is an equality (or OR of equalities)
+        * on the key columns, so it is served by their indexes.
+        */
+       @Query(value = "SELECT 'SKILL_TEST', CAST(NULL AS INTEGER), s.temp_payroll_id, s.aadhaar_no, s.contact_no, "
+               + "CAST(NULL AS VARCHAR), CAST(NULL AS VARCHAR) "
+               + "FROM sce_employee.sce_skill_test_detl s "
+               + "WHERE s.is_active = 1 AND (s.aadhaar_no = :aadhaar OR s.contact_no = :mobile) "
+               + "UNION ALL "
+               + "SELECT 'EMPLOYEE', e.emp_id, e.temp_payroll_id, CAST(NULL AS BIGINT), e.primary_mobile_no, "
+               + "CAST(NULL AS VARCHAR), CAST(NULL AS VARCHAR) "
+               + "FROM sce_employee.sce_emp e WHERE e.primary_mobile_no = :mobile "
+               + "UNION ALL "
+               + "SELECT 'EMP_DETAILS', d.emp_id, e.temp_payroll_id, d.adhaar_no, e.primary_mobile_no, d.pancard_no, d.personal_email "
+               + "FROM sce_employee.sce_emp_detl d LEFT JOIN sce_employee.sce_emp e ON e.emp_id = d.emp_id "
+               + "WHERE d.adhaar_no = :aadhaar OR (d.pancard_no = :pan AND :pan <> '') "
+               + "OR (d.personal_email = :email AND :email <> '')",
+               nativeQuery = true)
+       List<Object[]> findIdentityMatches(@Param("aadhaar") long aadhaar, @Param("mobile") long mobile,
+               @Param("pan") String pan, @Param("email") String email);
        
        // --- THE FIX IS HERE ---
        // 1. Changed 'e.payroll_id' (DB Column) to 'e.payRollId' (Java Variable)
        // 2. Ensure this matches your Employee.java field exactly.
+       @EntityGraph(Employee.GRAPH_KEY_LOOKUP)
        @Query("SELECT e FROM Employee e WHERE e.payRollId = :payrollId")
        Optional<Employee> findByPayrollId(@Param("payrollId") String payrollId);
 
@@ -31,6 +31,15 @@ public interface SharedEmployeeRepository extends JpaRepository<SharedEmployee,
 	@Query("SELECT se FROM SharedEmployee se WHERE se.empId.emp_id = :empId AND se.cmpsId.campusId = :campusId")
 	List<SharedEmployee> findAllByEmpIdAndCampusId(@Param("empId") Integer empId, @Param("campusId") Integer campusId);
 
+	/**
+	 * All active assignments as (emp_id, campus_id, designation_id, designation_name, subject_id,
+	 * subject_name) rows, for SharedEmployeeIndexService
+	 */
+	@Query("SELECT e.emp_id, c.campusId, d.designation_id, d.designation_name, s.subject_id, s.subject_name "
+			+ "FROM SharedEmployee se JOIN se.empId e JOIN se.cmpsId c JOIN se.designationId d LEFT JOIN se.subjectId s "
+			+ "WHERE se.isActive = 1")
+	List<Object[]> findActiveAssignments();
+
 	/**
 	 * Deactivate all shared employee records for a given employee and campus
 	 */
@@ -1,5 +1,7 @@
 package com.employee.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,6 +17,15 @@ public interface SkillTestDetailsRepository extends JpaRepository<SkillTestDetai
     @Query("SELECT MAX(s.tempPayrollId) FROM SkillTestDetails s WHERE s.tempPayrollId LIKE :keyPrefix")
     String findMaxTempPayrollIdByKey(@Param("keyPrefix") String keyPrefix);
 
+    /**
+     * Highest temp payroll ID per ID prefix, the ID without its four-digit serial ("TEMP" + campus
+     * code): [prefix, max temp payroll ID]. One grouped pass over the IDs, no join to sce_campus.
+     */
+    @Query("SELECT LEFT(s.tempPayrollId, LENGTH(s.tempPayrollId) - 4), MAX(s.tempPayrollId) FROM SkillTestDetails s "
+            + "WHERE s.tempPayrollId LIKE 'TEMP%' "
+            + "GROUP BY LEFT(s.tempPayrollId, LENGTH(s.tempPayrollId) - 4)")
+    List<Object[]> findMaxTempPayrollIdPerPrefix();
+
     @Query("SELECT std FROM SkillTestDetails std WHERE std.tempPayrollId = :tempPayrollId")
     Optional<SkillTestDetails> findByTempPayrollId(@Param("tempPayrollId") String tempPayrollId);
 
@@ -36,9 +47,29 @@ public interface SkillTestDetailsRepository extends JpaRepository<SkillTestDetai
     @Query("SELECT std FROM SkillTestDetails std WHERE std.aadhaar_no = :aadhaarNo AND std.isActive = 1")
     Optional<SkillTestDetails> findActiveByAadhaarNo(@Param("aadhaarNo") Long aadhaarNo);
 
+    /**
+     * Identity keys of active skill test candidates: [aadhaar_no, contact_no] (IdentityIndexService).
+     */
+    @Query("SELECT std.aadhaar_no, std.contact_number FROM SkillTestDetails std WHERE std.isActive = 1")
+    List<Object[]> findActiveIdentityKeys();
+
     @Query("SELECT std FROM SkillTestDetails std WHERE std.contact_number = :contactNumber AND std.isActive = 1")
     Optional<SkillTestDetails> findActiveByContactNumber(@Param("contactNumber") Long contactNumber);
 
     @Query("SELECT std FROM SkillTestDetails std WHERE std.tempPayrollId = :tempPayrollId AND std.isActive = 1")
     Optional<SkillTestDetails> findActiveByTempPayrollId(@Param("tempPayrollId") String tempPayrollId);
-}
\ No newline at end of file
+
+    /**
+     * Which of the given temp payroll IDs belong to active skill test candidates (bulk import).
+     */
+    @Query("SELECT std.tempPayrollId FROM SkillTestDetails std WHERE std.tempPayrollId IN :tempPayrollIds AND std.isActive = 1")
+    List<String> findActiveTempPayrollIdsIn(@Param("tempPayrollIds") Collection<String> tempPayrollIds);
+
+    /**
+     * Active skill test candidates among the given temp payroll IDs: [temp_payroll_id,
+     * skill_test_detl_id, first_name, last_name] (skill test result import).
+     */
+    @Query("SELECT std.tempPayrollId, std.skillTestDetlId, std.firstName, std.lastName "
+            + "FROM SkillTestDetails std WHERE std.tempPayrollId IN :tempPayrollIds AND std.isActive = 1")
+    List<Object[]> findActiveCandidatesIn(@Param("tempPayrollIds") Collection<String> tempPayrollIds);
+}
@@ -0,0 +1,56 @@
+package com.employee.service;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * PostgreSQL advisory locks taken by this application.
+ *
+ * All locks are transaction-scoped, pg_advisory_xact_lock(int, int), and released when the
+ * transaction commits or rolls back. The first key says what kind of record is locked and is
+ * always one of the constants below; they are reserved in the range 4_000-4_099, so locks other
+ * applications take on the same database (with their own first keys) never block ours. The
+ * second key is the record's id. Ids are locked in ascending order, so two transactions locking
+ * overlapping sets wait for each other instead of deadlocking.
+ */
+final class AdvisoryLocks {
+
+    /** Manager / reporting manager mappings being validated and written; second key OrgGraphService.Relation ordinal. */
+    static final int ORG_MAPPING = 4_028;
+
+    /** Campus temp payroll counters being allocated from; second key hashCode() of "TEMP" + campus code. */
+    static final int TEMP_PAYROLL_CAMPUS = 4_039;
+
+    /** Employees whose sce_shared_employee records are being written; second key emp_id. */
+    static final int SHARED_EMPLOYEE = 4_049;
+
+    /** Skill test candidates whose results are being imported; second key skill_test_detl_id. */
+    static final int SKILL_TEST_CANDIDATE = 4_050;
+
+    private AdvisoryLocks() {
+    }
+
+    /**
+     * Locks the given ids (any order, repeats allowed) of one kind until the current transaction
+     * ends, waiting for transactions that hold any of them.
+     */
+    static void lock(JdbcTemplate jdbcTemplate, int kind, Collection<Integer> ids) {
+        List<Integer> keys = ids.stream().distinct().sorted().toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        // VALUES rows are locked in the order given
+        String sql = "SELECT pg_advisory_xact_lock(" + kind + ", k) FROM (VALUES "
+                + "(?), ".repeat(keys.size() - 1) + "(?)) AS v (k)";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            for (int i = 0; i < keys.size(); i++) {
+                ps.setInt(i + 1, keys.get(i));
+            }
+            return ps;
+        }, rs -> { });
+    }
+}
@@ -0,0 +1,74 @@
+package com.employee.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.employee.dto.GenericDropdownDTO;
+
+/**
+ * All dropdowns of the basic-info tab in one call.
+ *
+ * The lookups are independent, so they are fetched in parallel on the fan-out executor
+ * (virtual threads when the virtual-threads profile is active), each in its own read-only
+ * transaction through the DropDownService proxy. When one lookup fails the others are cancelled
+ * (the executor's futures interrupt their threads) and the failure is rethrown.
+ */
+@Service
+public class BasicInfoFormService {
+
+	@Autowired
+	private DropDownService dropDownService;
+
+	@Autowired
+	@Qualifier("fanOutExecutor")
+	private AsyncTaskExecutor fanOutExecutor;
+
+	public Map<String, List<GenericDropdownDTO>> getBasicInfoDropdowns() {
+		Map<String, Future<List<GenericDropdownDTO>>> lookups = new LinkedHashMap<>();
+		lookups.put("maritalStatus", fetch(dropDownService::getMaritalStatusTypes));
+		lookups.put("qualifications", fetch(dropDownService::getQualificationTypes));
+		lookups.put("workMode", fetch(dropDownService::getWorkModeTypes));
+		lookups.put("joiningAs", fetch(dropDownService::getJoinAsTypes));
+		lookups.put("modeOfHiring", fetch(dropDownService::getModeOfHiringTypes));
+		lookups.put("employeeTypes", fetch(dropDownService::getEmployeeTypes));
+		lookups.put("categories", fetch(dropDownService::getActiveCategories));
+
+		Map<String, List<GenericDropdownDTO>> dropdowns = new LinkedHashMap<>();
+		try {
+			for (Map.Entry<String, Future<List<GenericDropdownDTO>>> lookup : lookups.entrySet()) {
+				dropdowns.put(lookup.getKey(), lookup.getValue().get());
+			}
+		} catch (ExecutionException ex) {
+			cancelAll(lookups);
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Basic-info dropdown lookup failed", ex.getCause());
+		} catch (InterruptedException ex) {
+			cancelAll(lookups);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading the basic-info dropdowns", ex);
+		}
+		return dropdowns;
+	}
+
+	private Future<List<GenericDropdownDTO>> fetch(Callable<List<GenericDropdownDTO>> lookup) {
+		return fanOutExecutor.submit(lookup);
+	}
+
+	private static void cancelAll(Map<String, Future<List<GenericDropdownDTO>>> lookups) {
+		lookups.values().forEach(future -> future.cancel(true));
+	}
+}
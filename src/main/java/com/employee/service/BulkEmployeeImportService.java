@@ -0,0 +1,927 @@
+package com.employee.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.employee.dto.BatchValidationErrorDTO;
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.dto.BulkImportRowErrorDTO;
+import com.employee.dto.IdentityMatchDTO;
+import com.employee.entity.Campus;
+import com.employee.entity.Employee;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.SkillTestDetailsRepository;
+import com.employee.service.BulkImportReferenceData.Lookup;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+
+/**
+ * Bulk onboarding of new employees from a CSV or XLSX sheet (one employee per row).
+ *
+ * The file is streamed and processed in chunks of employee.bulk-import.chunk-size rows:
+ *  1. rows are parsed and checked in parallel against a reference data snapshot taken once per import
+ *     (the same active / existence rules as the onboarding form);
+ *  2. duplicates are rejected - within the file, and against existing candidates and employees
+ *     through the identity index (Aadhaar, mobile, PAN, personal email);
+ *  3. temp payroll IDs are taken from the campus counter (SkillTestDetailsService.nextTempPayrollIds);
+ *  4. sce_emp, sce_emp_detl, sce_emp_addrs and sce_emp_family_detl rows are written with one
+ *     multi-row INSERT per table, in one transaction per chunk.
+ *
+ * A failed chunk stops the import; earlier chunks stay committed and the result reports the row to
+ * resume after. Re-running the same file is safe: rows already imported are rejected as duplicates.
+ */
+@Service
+public class BulkEmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkEmployeeImportService.class);
+
+    private static final String[] REQUIRED_COLUMNS = {
+            "first_name", "last_name", "date_of_join", "primary_mobile_no", "gender_id",
+            "emergency_ph_no", "blood_group_id", "caste_id", "religion_id", "marital_status_id",
+            "father_name", "uan_no" };
+
+    private static final String[] ADDRESS_TYPES = { "CURR", "PERM" };
+    private static final String[] ADDRESS_PREFIXES = { "current_", "permanent_" };
+
+    private static final Pattern FAMILY_COLUMN = Pattern.compile("family(\\d+)_full_name");
+
+    // PostgreSQL accepts at most 65535 bind parameters per statement
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    // Day 0 of Excel's 1900 date system, as used for date cells
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    private static final DateTimeFormatter[] DATE_FORMATS = {
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy") };
+
+    private static final String[] EMPLOYEE_COLUMNS = {
+            "first_name", "last_name", "date_of_join", "primary_mobile_no", "is_active", "status",
+            "temp_payroll_id", "cmps_id", "building_id", "gender_id", "category_id", "emp_type_id",
+            "highest_qualification_id", "emp_work_mode_id", "join_type_id", "mode_of_hiring_id",
+            "emp_app_status_id", "total_experience", "age", "ssc_no", "created_by", "created_date" };
+    private static final int[] EMPLOYEE_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.BIGINT, Types.INTEGER, Types.VARCHAR,
+            Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.DOUBLE, Types.INTEGER, Types.BIGINT, Types.INTEGER, Types.TIMESTAMP };
+
+    private static final String[] DETAILS_COLUMNS = {
+            "emp_id", "adhaar_name", "date_of_birth", "personal_email", "emergency_ph_no", "relation_id",
+            "adhaar_no", "pancard_no", "adhaar_enrolment_no", "blood_group_id", "caste_id", "religion_id",
+            "marital_status_id", "father_name", "uan_no", "is_active", "status", "created_by", "created_date" };
+    private static final int[] DETAILS_TYPES = {
+            Types.INTEGER, Types.VARCHAR, Types.DATE, Types.VARCHAR, Types.VARCHAR, Types.INTEGER,
+            Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.VARCHAR, Types.BIGINT, Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.TIMESTAMP };
+
+    private static final String[] ADDRESS_COLUMNS = {
+            "emp_id", "addrs_type", "house_no", "landmark", "postal_code", "country_id", "state_id", "city_id",
+            "is_active", "created_by", "created_date" };
+    private static final int[] ADDRESS_TYPES_SQL = {
+            Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.TIMESTAMP };
+
+    private static final String[] FAMILY_COLUMNS = {
+            "emp_id", "full_name", "relation_id", "gender_id", "blood_group_id", "occupation", "nationality",
+            "date_of_birth", "contact_no", "is_late", "is_sri_chaitanya_emp", "is_active", "created_by", "created_date" };
+    private static final int[] FAMILY_TYPES = {
+            Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+            Types.DATE, Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.TIMESTAMP };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SkillTestDetailsRepository skillTestDetailsRepository;
+
+    @Autowired
+    private SkillTestDetailsService skillTestDetailsService;
+
+    @Autowired
+    private IdentityNumberValidator identityNumberValidator;
+
+    @Autowired
+    private IdentityIndexService identityIndexService;
+
+    @Autowired
+    private OnboardingWorkflowService onboardingWorkflowService;
+
+    @Autowired
+    private OnboardingPipelineService onboardingPipelineService;
+
+    @Autowired
+    private OnboardingCompletenessService onboardingCompletenessService;
+
+    @Autowired
+    private ChecklistService checklistService;
+
+    @Value("${employee.bulk-import.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${employee.bulk-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Imports the employees of a .csv or .xlsx file for the campus of the HR employee.
+     *
+     * @param hrEmployeeId HR employee running the import (created_by, campus)
+     * @param resumeFromRow rows up to and including this row number are skipped (0 = whole file)
+     * @param dryRun validate only, write nothing and reserve no temp payroll IDs
+     */
+    public BulkImportResultDTO importEmployees(Integer hrEmployeeId, MultipartFile file, int resumeFromRow, boolean dryRun) {
+        long start = System.nanoTime();
+        if (file == null || file.isEmpty()) {
+            throw new ResourceNotFoundException("Import file is required");
+        }
+        Employee hrEmployee = employeeRepository.findById(hrEmployeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("HR Employee not found with emp_id: " + hrEmployeeId));
+        Campus campus = hrEmployee.getCampus_id();
+        if (campus == null || campus.getIsActive() == null || campus.getIsActive() != 1 || campus.getCode() == 0) {
+            throw new ResourceNotFoundException(
+                    "HR Employee (emp_id: " + hrEmployeeId + ") has no active campus with a campus code. Cannot import employees.");
+        }
+
+        ImportRun run = new ImportRun(hrEmployeeId, campus.getCampusId(), "TEMP" + campus.getCode(),
+                BulkImportReferenceData.load(jdbcTemplate), dryRun, resumeFromRow);
+        int rowsPerChunk = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+
+        Path workbook = null;
+        try {
+            BulkImportRowReader reader;
+            String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+            if (name.endsWith(".xlsx")) {
+                // Zip entries need random access, so the workbook goes to a temp file first
+                workbook = Files.createTempFile("employee-import-", ".xlsx");
+                file.transferTo(workbook);
+                reader = new XlsxRowReader(workbook);
+            } else if (name.endsWith(".csv")) {
+                reader = new CsvRowReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
+            } else {
+                throw new ResourceNotFoundException("Unsupported import file '" + file.getOriginalFilename() + "', expected .csv or .xlsx");
+            }
+
+            try (reader) {
+                String[] headerCells = reader.next();
+                if (headerCells == null) {
+                    throw new ResourceNotFoundException("Import file is empty");
+                }
+                Header header = new Header(headerCells);
+                List<ImportRow> chunk = new ArrayList<>(rowsPerChunk);
+                String[] cells;
+                while ((cells = reader.next()) != null) {
+                    if (reader.rowNumber() <= resumeFromRow || isBlank(cells)) {
+                        continue;
+                    }
+                    run.rowsRead++;
+                    chunk.add(parseRow(header, cells, reader.rowNumber()));
+                    if (chunk.size() == rowsPerChunk) {
+                        if (!processChunk(chunk, run)) {
+                            break;
+                        }
+                        chunk = new ArrayList<>(rowsPerChunk);
+                    }
+                }
+                if (run.completed && !chunk.isEmpty()) {
+                    processChunk(chunk, run);
+                }
+            }
+        } catch (IOException e) {
+            throw new ResourceNotFoundException("Could not read import file '" + file.getOriginalFilename() + "': " + e.getMessage());
+        } finally {
+            deleteQuietly(workbook);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Bulk import of '{}' by HR employee {}: {} rows read, {} imported, {} failed, last committed row {}, {} ms{}",
+                file.getOriginalFilename(), hrEmployeeId, run.rowsRead, run.imported, run.failed,
+                run.lastCommittedRow, elapsedMillis, dryRun ? " (dry run)" : "");
+        return new BulkImportResultDTO(file.getOriginalFilename(), dryRun, run.completed, run.rowsRead, run.imported,
+                run.failed, run.lastCommittedRow, elapsedMillis, run.errors);
+    }
+
+    // ======================================
+    // Chunk pipeline
+    // ======================================
+
+    /**
+     * Validates, de-duplicates and (unless dry run) writes one chunk. False if the chunk failed to commit.
+     */
+    private boolean processChunk(List<ImportRow> chunk, ImportRun run) {
+        BulkImportReferenceData reference = run.reference;
+        List<BatchValidationErrorDTO> invalid = identityNumberValidator.validateBatch(chunk,
+                row -> row.error != null ? row.error : validateRow(row, reference));
+        for (BatchValidationErrorDTO error : invalid) {
+            chunk.get(error.getIndex()).error = error.getMessage();
+        }
+
+        rejectDuplicates(chunk, run);
+
+        List<ImportRow> accepted = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                run.reject(row.rowNumber, row.error);
+            } else {
+                accepted.add(row);
+            }
+        }
+        int lastRow = chunk.get(chunk.size() - 1).rowNumber;
+        if (run.dryRun) {
+            run.imported += accepted.size();
+            return true;
+        }
+        if (accepted.isEmpty()) {
+            run.lastCommittedRow = lastRow;
+            return true;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                reserveTempPayrollIds(accepted, run);
+                insertChunk(accepted, run);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Bulk import chunk (rows {}-{}) rolled back: {}", chunk.get(0).rowNumber, lastRow, e.getMessage());
+            String message = "Not imported: rows " + chunk.get(0).rowNumber + "-" + lastRow
+                    + " were rolled back (" + rootMessage(e) + ")";
+            for (ImportRow row : accepted) {
+                run.reject(row.rowNumber, message);
+            }
+            run.completed = false;
+            return false;
+        }
+        run.imported += accepted.size();
+        run.lastCommittedRow = lastRow;
+        return true;
+    }
+
+    /**
+     * Same key twice in the file, or already used by a skill test candidate or an employee.
+     * Rows carrying a temp_payroll_id are skill test candidates being onboarded: their own
+     * skill test record is the one match they are allowed to have.
+     */
+    private void rejectDuplicates(List<ImportRow> chunk, ImportRun run) {
+        Set<String> givenIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.error == null && row.tempPayrollId != null) {
+                givenIds.add(row.tempPayrollId);
+            }
+        }
+        Set<String> skillTestIds = givenIds.isEmpty() ? Set.of()
+                : new HashSet<>(skillTestDetailsRepository.findActiveTempPayrollIdsIn(givenIds));
+        Set<String> employeeIds = givenIds.isEmpty() ? Set.of()
+                : new HashSet<>(employeeRepository.findTempPayrollIdsIn(givenIds));
+
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                continue;
+            }
+            if (row.tempPayrollId != null) {
+                if (employeeIds.contains(row.tempPayrollId)) {
+                    row.error = "temp_payroll_id: " + row.tempPayrollId + " is already onboarded as an employee";
+                    continue;
+                }
+                if (!skillTestIds.contains(row.tempPayrollId)) {
+                    row.error = "temp_payroll_id: " + row.tempPayrollId + " is not an active skill test candidate";
+                    continue;
+                }
+            } else if (row.aadhaar == null) {
+                row.error = "adhaar_no: required when temp_payroll_id is not given";
+                continue;
+            }
+            row.error = firstFileDuplicate(row, run);
+            if (row.error != null) {
+                continue;
+            }
+            List<IdentityMatchDTO> matches = identityIndexService.findMatchesInDatabase(row.aadhaar, row.mobile, row.pan, row.email);
+            for (IdentityMatchDTO match : matches) {
+                boolean ownSkillTest = "SKILL_TEST".equals(match.getSource())
+                        && row.tempPayrollId != null && row.tempPayrollId.equals(match.getTempPayrollId());
+                if (!ownSkillTest) {
+                    row.error = describeMatch(match);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static String firstFileDuplicate(ImportRow row, ImportRun run) {
+        Integer previous = row.tempPayrollId != null ? run.seenTempPayrollIds.putIfAbsent(row.tempPayrollId, row.rowNumber) : null;
+        if (previous != null) {
+            return "temp_payroll_id: " + row.tempPayrollId + " is also used in row " + previous;
+        }
+        previous = row.aadhaar != null ? run.seenAadhaar.putIfAbsent(row.aadhaar, row.rowNumber) : null;
+        if (previous != null) {
+            return "adhaar_no: same Aadhaar as row " + previous;
+        }
+        previous = run.seenMobile.putIfAbsent(row.mobile, row.rowNumber);
+        if (previous != null) {
+            return "primary_mobile_no: same mobile number as row " + previous;
+        }
+        previous = row.pan != null ? run.seenPan.putIfAbsent(row.pan, row.rowNumber) : null;
+        if (previous != null) {
+            return "pancard_no: same PAN as row " + previous;
+        }
+        previous = row.email != null ? run.seenEmail.putIfAbsent(row.email, row.rowNumber) : null;
+        if (previous != null) {
+            return "personal_email: same email as row " + previous;
+        }
+        return null;
+    }
+
+    private static String describeMatch(IdentityMatchDTO match) {
+        String owner;
+        if ("SKILL_TEST".equals(match.getSource())) {
+            owner = "skill test candidate " + match.getTempPayrollId() + " (give their temp_payroll_id to onboard them)";
+        } else {
+            owner = "employee " + match.getEmpId() + (match.getTempPayrollId() != null ? " (" + match.getTempPayrollId() + ")" : "");
+        }
+        return match.getKey() + ": already used by " + owner;
+    }
+
+    /**
+     * Temp payroll IDs from the same campus counter as the onboarding form, one allocation per chunk
+     * instead of a MAX() query per employee. Runs inside the chunk transaction, which keeps the campus
+     * locked until the rows are committed.
+     */
+    private void reserveTempPayrollIds(List<ImportRow> accepted, ImportRun run) {
+        List<ImportRow> unnumbered = new ArrayList<>();
+        for (ImportRow row : accepted) {
+            if (row.tempPayrollId == null) {
+                unnumbered.add(row);
+            }
+        }
+        if (unnumbered.isEmpty()) {
+            return;
+        }
+        List<String> ids = skillTestDetailsService.nextTempPayrollIds(run.baseKey, unnumbered.size());
+        for (int i = 0; i < unnumbered.size(); i++) {
+            unnumbered.get(i).tempPayrollId = ids.get(i);
+        }
+    }
+
+    // Runs inside the chunk transaction
+    private void insertChunk(List<ImportRow> rows, ImportRun run) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Integer createdBy = run.hrEmployeeId;
+        // rows start "Incompleted", as a new candidate from the onboarding form does; only basic info,
+        // address and family are imported, and the candidate is submitted to DO once the remaining tabs are done
+        int incompleted = onboardingWorkflowService.statusId(OnboardingStatus.INCOMPLETED);
+
+        List<Object[]> employees = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            employees.add(new Object[] {
+                    row.firstName, row.lastName, row.dateOfJoin, row.mobile, 1, "ACTIVE",
+                    row.tempPayrollId, run.campusId, row.buildingId, row.genderId, row.categoryId, row.empTypeId,
+                    row.qualificationId, row.workModeId, row.joinTypeId, row.modeOfHiringId,
+                    incompleted, row.totalExperience, row.age, row.sscNo, createdBy, now });
+        }
+        // emp_id is an IDENTITY column, so it is read back and matched on the (unique) temp payroll ID
+        Map<String, Integer> empIds = new HashMap<>();
+        insertRows("sce_employee.sce_emp", EMPLOYEE_COLUMNS, EMPLOYEE_TYPES, employees,
+                "emp_id, temp_payroll_id", rs -> empIds.put(rs.getString(2), rs.getInt(1)));
+
+        List<Object[]> details = new ArrayList<>(rows.size());
+        List<Object[]> addresses = new ArrayList<>();
+        List<Object[]> family = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Integer empId = empIds.get(row.tempPayrollId);
+            details.add(new Object[] {
+                    empId, row.adhaarName, row.dateOfBirth, row.email, row.emergencyPhNo, row.emergencyRelationId,
+                    row.aadhaar, row.pan, row.aadhaarEnrolmentNo, row.bloodGroupId, row.casteId, row.religionId,
+                    row.maritalStatusId, row.fatherName, row.uan, 1, "ACTIVE", createdBy, now });
+            for (int i = 0; i < ADDRESS_TYPES.length; i++) {
+                AddressRow address = row.addresses[i];
+                if (address != null) {
+                    addresses.add(new Object[] {
+                            empId, ADDRESS_TYPES[i], address.houseNo, address.landmark, address.postalCode,
+                            address.countryId, address.stateId, address.cityId, 1, createdBy, now });
+                }
+            }
+            for (FamilyRow member : row.family) {
+                family.add(new Object[] {
+                        empId, member.fullName, member.relationId, member.genderId, member.bloodGroupId,
+                        member.occupation, member.nationality, member.dateOfBirth, member.contactNo, "N", 0, 1,
+                        createdBy, now });
+            }
+        }
+        insertRows("sce_employee.sce_emp_detl", DETAILS_COLUMNS, DETAILS_TYPES, details, null, null);
+        insertRows("sce_employee.sce_emp_addrs", ADDRESS_COLUMNS, ADDRESS_TYPES_SQL, addresses, null, null);
+        insertRows("sce_employee.sce_emp_family_detl", FAMILY_COLUMNS, FAMILY_TYPES, family, null, null);
+
+        // JDBC writes bypass the entity listeners, so the identity index is told directly (applied after commit)
+        for (ImportRow row : rows) {
+            identityIndexService.onIdentityKeysSaved(row.aadhaar, row.mobile, row.pan, row.email);
+        }
+        onboardingPipelineService.onEmployeesInserted(run.campusId, OnboardingStatus.INCOMPLETED, rows.size());
+        onboardingCompletenessService.onEmployeesImported(empIds.values());
+        checklistService.onEmployeesImported(run.campusId, empIds.values());
+    }
+
+    /**
+     * One INSERT ... VALUES (..), (..), .. statement for all rows, optionally with RETURNING.
+     */
+    private void insertRows(String table, String[] columns, int[] types, List<Object[]> rows,
+                            String returning, RowCallbackHandler returned) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (")
+                .append(String.join(", ", columns)).append(") VALUES ");
+        String placeholders = "(" + "?, ".repeat(columns.length - 1) + "?)";
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(placeholders);
+        }
+        if (returning != null) {
+            sql.append(" RETURNING ").append(returning);
+        }
+        PreparedStatementCreator statement = connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString());
+            int index = 1;
+            for (Object[] values : rows) {
+                for (int c = 0; c < columns.length; c++) {
+                    StatementCreatorUtils.setParameterValue(ps, index++, types[c], values[c]);
+                }
+            }
+            return ps;
+        };
+        if (returned != null) {
+            jdbcTemplate.query(statement, returned);
+        } else {
+            jdbcTemplate.update(statement);
+        }
+    }
+
+    // ======================================
+    // Row parsing and validation
+    // ======================================
+
+    private ImportRow parseRow(Header header, String[] cells, int rowNumber) {
+        ImportRow row = new ImportRow(rowNumber);
+        Cells in = new Cells(header, cells);
+        try {
+            row.firstName = in.requiredText("first_name");
+            row.lastName = in.requiredText("last_name");
+            row.dateOfJoin = in.requiredDate("date_of_join");
+            row.mobile = in.requiredLong("primary_mobile_no");
+            row.genderId = in.requiredInt("gender_id");
+            row.categoryId = in.integer("category_id");
+            row.empTypeId = in.integer("emp_type_id");
+            row.qualificationId = in.integer("qualification_id");
+            row.workModeId = in.integer("emp_work_mode_id");
+            row.joinTypeId = in.integer("join_type_id");
+            row.modeOfHiringId = in.integer("mode_of_hiring_id");
+            row.buildingId = in.integer("building_id");
+            row.totalExperience = in.decimal("total_experience");
+            row.age = in.integer("age");
+            row.sscNo = in.longValue("ssc_no");
+            row.tempPayrollId = in.text("temp_payroll_id");
+
+            row.adhaarName = in.text("adhaar_name");
+            row.dateOfBirth = in.date("date_of_birth");
+            row.email = in.text("personal_email");
+            row.aadhaar = in.digits("adhaar_no");
+            row.pan = in.text("pancard_no");
+            row.aadhaarEnrolmentNo = in.text("adhaar_enrolment_no");
+            row.emergencyPhNo = in.requiredText("emergency_ph_no");
+            row.emergencyRelationId = in.integer("emergency_relation_id");
+            row.bloodGroupId = in.requiredInt("blood_group_id");
+            row.casteId = in.requiredInt("caste_id");
+            row.religionId = in.requiredInt("religion_id");
+            row.maritalStatusId = in.requiredInt("marital_status_id");
+            row.fatherName = in.requiredText("father_name");
+            row.uan = in.requiredLong("uan_no");
+
+            for (int i = 0; i < ADDRESS_PREFIXES.length; i++) {
+                row.addresses[i] = parseAddress(in, ADDRESS_PREFIXES[i]);
+            }
+            for (int member : header.familyMembers) {
+                String prefix = "family" + member + "_";
+                String fullName = in.text(prefix + "full_name");
+                if (fullName == null) {
+                    continue;
+                }
+                FamilyRow family = new FamilyRow();
+                family.fullName = fullName;
+                family.relationId = in.requiredInt(prefix + "relation_id");
+                family.genderId = in.requiredInt(prefix + "gender_id");
+                family.bloodGroupId = in.requiredInt(prefix + "blood_group_id");
+                family.occupation = in.requiredText(prefix + "occupation");
+                family.nationality = in.requiredText(prefix + "nationality");
+                family.dateOfBirth = in.date(prefix + "date_of_birth");
+                family.contactNo = in.longValue(prefix + "contact_no");
+                row.family.add(family);
+            }
+        } catch (CellFormatException e) {
+            row.error = e.getMessage();
+        }
+        return row;
+    }
+
+    private static AddressRow parseAddress(Cells in, String prefix) {
+        String houseNo = in.text(prefix + "house_no");
+        String landmark = in.text(prefix + "landmark");
+        String postalCode = in.text(prefix + "postal_code");
+        Integer countryId = in.integer(prefix + "country_id");
+        Integer stateId = in.integer(prefix + "state_id");
+        Integer cityId = in.integer(prefix + "city_id");
+        if (houseNo == null && landmark == null && postalCode == null && countryId == null && stateId == null && cityId == null) {
+            return null;
+        }
+        AddressRow address = new AddressRow();
+        address.houseNo = houseNo;
+        address.landmark = landmark;
+        address.postalCode = postalCode;
+        // NOT NULL columns of sce_emp_addrs
+        address.countryId = in.requiredInt(prefix + "country_id");
+        address.stateId = in.requiredInt(prefix + "state_id");
+        address.cityId = in.requiredInt(prefix + "city_id");
+        return address;
+    }
+
+    /**
+     * Checks of a parsed row that need no database access; null if the row is valid.
+     * Pure function of the row and the snapshot, so it runs in parallel.
+     */
+    private String validateRow(ImportRow row, BulkImportReferenceData reference) {
+        String identityError = identityNumberValidator.firstIdentityError(row.aadhaar, row.pan, null, row.mobile, row.uan);
+        if (identityError != null) {
+            return identityError;
+        }
+        if (row.age != null && (row.age < 18 || row.age > 58)) {
+            return "age: must be between 18 and 58";
+        }
+        String error = firstMissing(reference,
+                Lookup.GENDER, "gender_id", row.genderId,
+                Lookup.CATEGORY, "category_id", row.categoryId,
+                Lookup.EMP_TYPE, "emp_type_id", row.empTypeId,
+                Lookup.QUALIFICATION, "qualification_id", row.qualificationId,
+                Lookup.WORK_MODE, "emp_work_mode_id", row.workModeId,
+                Lookup.JOIN_TYPE, "join_type_id", row.joinTypeId,
+                Lookup.MODE_OF_HIRING, "mode_of_hiring_id", row.modeOfHiringId,
+                Lookup.BUILDING, "building_id", row.buildingId,
+                Lookup.BLOOD_GROUP, "blood_group_id", row.bloodGroupId,
+                Lookup.CASTE, "caste_id", row.casteId,
+                Lookup.RELIGION, "religion_id", row.religionId,
+                Lookup.MARITAL_STATUS, "marital_status_id", row.maritalStatusId,
+                Lookup.RELATION, "emergency_relation_id", row.emergencyRelationId);
+        if (error != null) {
+            return error;
+        }
+        for (int i = 0; i < ADDRESS_PREFIXES.length; i++) {
+            AddressRow address = row.addresses[i];
+            if (address != null) {
+                String prefix = ADDRESS_PREFIXES[i];
+                error = firstMissing(reference,
+                        Lookup.COUNTRY, prefix + "country_id", address.countryId,
+                        Lookup.STATE, prefix + "state_id", address.stateId,
+                        Lookup.CITY, prefix + "city_id", address.cityId);
+                if (error != null) {
+                    return error;
+                }
+            }
+        }
+        for (int i = 0; i < row.family.size(); i++) {
+            FamilyRow member = row.family.get(i);
+            String prefix = "family member " + (i + 1) + " ";
+            error = firstMissing(reference,
+                    Lookup.RELATION, prefix + "relation_id", member.relationId,
+                    Lookup.GENDER, prefix + "gender_id", member.genderId,
+                    Lookup.BLOOD_GROUP, prefix + "blood_group_id", member.bloodGroupId);
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    // Arguments in triples: lookup, column, id (null = not given)
+    private static String firstMissing(BulkImportReferenceData reference, Object... checks) {
+        for (int i = 0; i < checks.length; i += 3) {
+            Lookup lookup = (Lookup) checks[i];
+            Integer id = (Integer) checks[i + 2];
+            if (id != null && !reference.contains(lookup, id)) {
+                return checks[i + 1] + ": " + id + (lookup.activeOnly ? " not found or not active" : " not found");
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String[] cells) {
+        for (String cell : cells) {
+            if (!cell.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import temp file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // ======================================
+    // Import state
+    // ======================================
+
+    private final class ImportRun {
+        final Integer hrEmployeeId;
+        final int campusId;
+        final String baseKey;
+        final BulkImportReferenceData reference;
+        final boolean dryRun;
+
+        // First row of every key seen in this file (across chunks)
+        final Map<String, Integer> seenTempPayrollIds = new HashMap<>();
+        final Map<Long, Integer> seenAadhaar = new HashMap<>();
+        final Map<Long, Integer> seenMobile = new HashMap<>();
+        final Map<String, Integer> seenPan = new HashMap<>();
+        final Map<String, Integer> seenEmail = new HashMap<>();
+
+        final List<BulkImportRowErrorDTO> errors = new ArrayList<>();
+        int rowsRead;
+        int imported;
+        int failed;
+        int lastCommittedRow;
+        boolean completed = true;
+
+        ImportRun(Integer hrEmployeeId, int campusId, String baseKey, BulkImportReferenceData reference,
+                  boolean dryRun, int resumeFromRow) {
+            this.hrEmployeeId = hrEmployeeId;
+            this.campusId = campusId;
+            this.baseKey = baseKey;
+            this.reference = reference;
+            this.dryRun = dryRun;
+            this.lastCommittedRow = resumeFromRow;
+        }
+
+        void reject(int rowNumber, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkImportRowErrorDTO(rowNumber, message));
+            }
+        }
+    }
+
+    private static final class ImportRow {
+        final int rowNumber;
+        String error;
+
+        String firstName;
+        String lastName;
+        Date dateOfJoin;
+        Long mobile;
+        Integer genderId;
+        Integer categoryId;
+        Integer empTypeId;
+        Integer qualificationId;
+        Integer workModeId;
+        Integer joinTypeId;
+        Integer modeOfHiringId;
+        Integer buildingId;
+        Double totalExperience;
+        Integer age;
+        Long sscNo;
+        String tempPayrollId;
+
+        String adhaarName;
+        Date dateOfBirth;
+        String email;
+        Long aadhaar;
+        String pan;
+        String aadhaarEnrolmentNo;
+        String emergencyPhNo;
+        Integer emergencyRelationId;
+        Integer bloodGroupId;
+        Integer casteId;
+        Integer religionId;
+        Integer maritalStatusId;
+        String fatherName;
+        Long uan;
+
+        final AddressRow[] addresses = new AddressRow[ADDRESS_TYPES.length];
+        final List<FamilyRow> family = new ArrayList<>(2);
+
+        ImportRow(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+    }
+
+    private static final class AddressRow {
+        String houseNo;
+        String landmark;
+        String postalCode;
+        Integer countryId;
+        Integer stateId;
+        Integer cityId;
+    }
+
+    private static final class FamilyRow {
+        String fullName;
+        Integer relationId;
+        Integer genderId;
+        Integer bloodGroupId;
+        String occupation;
+        String nationality;
+        Date dateOfBirth;
+        Long contactNo;
+    }
+
+    /**
+     * Column positions by normalized header name ("Date of Join" -> date_of_join).
+     */
+    private static final class Header {
+        final Map<String, Integer> columns = new HashMap<>();
+        final List<Integer> familyMembers = new ArrayList<>();
+
+        Header(String[] cells) {
+            TreeMap<Integer, Boolean> members = new TreeMap<>();
+            for (int i = 0; i < cells.length; i++) {
+                String name = cells[i].trim().toLowerCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+                if (!name.isEmpty()) {
+                    columns.putIfAbsent(name, i);
+                    Matcher family = FAMILY_COLUMN.matcher(name);
+                    if (family.matches()) {
+                        members.put(Integer.parseInt(family.group(1)), Boolean.TRUE);
+                    }
+                }
+            }
+            familyMembers.addAll(members.keySet());
+            List<String> missing = new ArrayList<>();
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(required)) {
+                    missing.add(required);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException("Import file is missing required columns: " + String.join(", ", missing));
+            }
+        }
+    }
+
+    /**
+     * Typed access to the cells of one row; a malformed value fails the row with the column name.
+     */
+    private static final class Cells {
+        private final Header header;
+        private final String[] cells;
+
+        Cells(Header header, String[] cells) {
+            this.header = header;
+            this.cells = cells;
+        }
+
+        String text(String column) {
+            Integer index = header.columns.get(column);
+            if (index == null || index >= cells.length) {
+                return null;
+            }
+            String value = cells[index].trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        String requiredText(String column) {
+            String value = text(column);
+            if (value == null) {
+                throw new CellFormatException(column, "required");
+            }
+            return value;
+        }
+
+        Integer integer(String column) {
+            String value = text(column);
+            try {
+                return value != null ? Integer.valueOf(value) : null;
+            } catch (NumberFormatException e) {
+                throw new CellFormatException(column, "'" + value + "' is not a whole number");
+            }
+        }
+
+        Integer requiredInt(String column) {
+            requiredText(column);
+            return integer(column);
+        }
+
+        Long longValue(String column) {
+            String value = text(column);
+            try {
+                return value != null ? Long.valueOf(value) : null;
+            } catch (NumberFormatException e) {
+                throw new CellFormatException(column, "'" + value + "' is not a number");
+            }
+        }
+
+        Long requiredLong(String column) {
+            requiredText(column);
+            return longValue(column);
+        }
+
+        // Identity numbers are often typed in groups ("2345 6789 0123")
+        Long digits(String column) {
+            String value = text(column);
+            if (value == null) {
+                return null;
+            }
+            String compact = value.replace(" ", "").replace("-", "");
+            try {
+                return Long.valueOf(compact);
+            } catch (NumberFormatException e) {
+                throw new CellFormatException(column, "'" + value + "' is not a number");
+            }
+        }
+
+        Double decimal(String column) {
+            String value = text(column);
+            try {
+                return value != null ? Double.valueOf(value) : null;
+            } catch (NumberFormatException e) {
+                throw new CellFormatException(column, "'" + value + "' is not a number");
+            }
+        }
+
+        Date date(String column) {
+            String value = text(column);
+            if (value == null) {
+                return null;
+            }
+            if (value.length() <= 6 && value.chars().allMatch(Character::isDigit)) {
+                return Date.valueOf(EXCEL_EPOCH.plusDays(Long.parseLong(value)));
+            }
+            for (DateTimeFormatter format : DATE_FORMATS) {
+                try {
+                    return Date.valueOf(LocalDate.parse(value, format));
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+            throw new CellFormatException(column, "'" + value + "' is not a date (yyyy-MM-dd, dd-MM-yyyy or dd/MM/yyyy)");
+        }
+
+        Date requiredDate(String column) {
+            requiredText(column);
+            return date(column);
+        }
+    }
+
+    private static final class CellFormatException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CellFormatException(String column, String message) {
+            super(column + ": " + message, null, false, false);
+        }
+    }
+}
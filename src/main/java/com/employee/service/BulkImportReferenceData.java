@@ -0,0 +1,81 @@
+package com.employee.service;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Snapshot of the lookup ids a bulk import row may reference, loaded with one statement per import.
+ *
+ * The active / any rules are those of EmployeeEntityPreparationService (e.g. gender must be active,
+ * qualification and caste only have to exist), so an imported row is accepted exactly when the
+ * onboarding form would accept the same values. Immutable once loaded, so rows are checked against
+ * it in parallel.
+ */
+final class BulkImportReferenceData {
+
+    enum Lookup {
+        GENDER("gender_id", "sce_student.sce_gender", true),
+        CATEGORY("category_id", "sce_employee.sce_emp_category", true),
+        EMP_TYPE("emp_type_id", "sce_employee.sce_emp_type", true),
+        QUALIFICATION("qualification_id", "sce_employee.sce_qualification", false),
+        WORK_MODE("emp_work_mode_id", "sce_employee.sce_emp_work_mode", true),
+        JOIN_TYPE("join_type_id", "sce_employee.sce_join_type", true),
+        MODE_OF_HIRING("mode_of_hiring_id", "sce_employee.sce_mode_of_hiring", true),
+        BUILDING("building_id", "sce_campus.sce_building", true),
+        BLOOD_GROUP("blood_group_id", "sce_student.sce_blood_group", true),
+        CASTE("caste_id", "sce_student.sce_caste", false),
+        RELIGION("religion_id", "sce_student.sce_religion", false),
+        MARITAL_STATUS("marital_status_id", "sce_employee.sce_marital_status", true),
+        RELATION("relation_id", "sce_student.sce_relation", false),
+        COUNTRY("country_id", "sce_locations.sce_country", false),
+        STATE("state_id", "sce_locations.sce_state", false),
+        CITY("city_id", "sce_locations.sce_city", false);
+
+        final String idColumn;
+        final String table;
+        final boolean activeOnly;
+
+        Lookup(String idColumn, String table, boolean activeOnly) {
+            this.idColumn = idColumn;
+            this.table = table;
+            this.activeOnly = activeOnly;
+        }
+    }
+
+    private final Map<Lookup, Set<Integer>> ids;
+
+    private BulkImportReferenceData(Map<Lookup, Set<Integer>> ids) {
+        this.ids = ids;
+    }
+
+    static BulkImportReferenceData load(JdbcTemplate jdbcTemplate) {
+        StringBuilder sql = new StringBuilder();
+        for (Lookup lookup : Lookup.values()) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("SELECT ").append(lookup.ordinal()).append(", ").append(lookup.idColumn)
+               .append(" FROM ").append(lookup.table);
+            if (lookup.activeOnly) {
+                sql.append(" WHERE is_active = 1");
+            }
+        }
+        Map<Lookup, Set<Integer>> ids = new EnumMap<>(Lookup.class);
+        for (Lookup lookup : Lookup.values()) {
+            ids.put(lookup, new HashSet<>());
+        }
+        Lookup[] lookups = Lookup.values();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            ids.get(lookups[rs.getInt(1)]).add(rs.getInt(2));
+        });
+        return new BulkImportReferenceData(ids);
+    }
+
+    boolean contains(Lookup lookup, int id) {
+        return ids.get(lookup).contains(id);
+    }
+}
@@ -0,0 +1,21 @@
+package com.employee.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Forward-only reader over the rows of an uploaded sheet; the first row is the header.
+ * Implementations hold one row in memory at a time, never the whole file.
+ */
+interface BulkImportRowReader extends Closeable {
+
+    /**
+     * Cells of the next row, or null at the end of the file. Empty cells are "".
+     */
+    String[] next() throws IOException;
+
+    /**
+     * 1-based row number (as shown by a spreadsheet) of the row last returned by next().
+     */
+    int rowNumber();
+}
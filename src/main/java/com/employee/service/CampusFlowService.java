@@ -1,17 +1,25 @@
 package com.employee.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.employee.dto.CampusRosterRowDTO;
 import com.employee.dto.EmployeeDropdownDTO;
 import com.employee.dto.EmployeeFullDetailsDTO;
 import com.employee.dto.GenericDropdownDTO;
+import com.employee.dto.SharedAssignmentDTO;
 import com.employee.entity.BusinessType;
 import com.employee.entity.CampusProfileView;
 import com.employee.entity.EmpDetails;
@@ -23,6 +31,11 @@ import com.employee.repository.CampusRepository;
 import com.employee.repository.EmpDetailsRepository;
 import com.employee.repository.EmpSubjectRepository;
 import com.employee.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 @Service
 public class CampusFlowService {
@@ -33,6 +46,11 @@ public class CampusFlowService {
 	@Autowired private EmpDetailsRepository empDetailsRepository;
 	@Autowired private EmpSubjectRepository empSubjectRepository;
 	@Autowired private BusinessTypeRepository businessTypeRepository;
+	@Autowired private SharedEmployeeIndexService sharedEmployeeIndexService;
+	@Autowired private ObjectMapper objectMapper;
+
+	/** Rows written between explicit flushes of the streamed roster. */
+	private static final int ROSTER_FLUSH_EVERY = 100;
 	
 	public List<BusinessType> getAllBusinessTypes() {
         return businessTypeRepository.findAll();
@@ -75,15 +93,38 @@ public class CampusFlowService {
         );
     }
     
+    public List<SharedAssignmentDTO> getSharedStaffByCampusId(int campusId) {
+        return sharedEmployeeIndexService.getByCampus(campusId);
+    }
+
+    public List<SharedAssignmentDTO> getSharedCampusesByEmpId(int empId) {
+        return sharedEmployeeIndexService.getByEmployee(empId);
+    }
+    
     public List<CampusProfileView> getCampusDetailsByCmpsId(int cmpsId) {
         // Calls the repository method created above
         return campusProfileViewRepository.findCampusDetailsByCmpsId(cmpsId);
     }
     
 public List<EmployeeFullDetailsDTO> getEmployeeFullDetailsByCampusId(int campusId) {
+        return getEmployeeFullDetailsByCampusId(campusId, false);
+    }
+
+    /**
+     * Campus roster; with includeShared, also the employees of other campuses assigned here
+     * through sce_shared_employee (from SharedEmployeeIndexService, fetched in the same queries),
+     * shown with their designation and subject at this campus.
+     */
+    public List<EmployeeFullDetailsDTO> getEmployeeFullDetailsByCampusId(int campusId, boolean includeShared) {
         
         // 1. Fetch primary employee data (already filters by e.is_active = 1)
-        List<Employee> employees = employeeRepository.findActiveEmployeesByCampusId(campusId);
+        Map<Integer, SharedAssignmentDTO> sharedStaff = includeShared
+                ? sharedEmployeeIndexService.getByCampus(campusId).stream()
+                        .collect(Collectors.toMap(SharedAssignmentDTO::getEmpId, a -> a))
+                : Map.of();
+        List<Employee> employees = sharedStaff.isEmpty()
+                ? employeeRepository.findActiveEmployeesByCampusId(campusId)
+                : employeeRepository.findActiveEmployeesByCampusIdOrEmpIdIn(campusId, sharedStaff.keySet());
         if (employees.isEmpty()) {
             return List.of();
         }
@@ -108,14 +149,104 @@ public List<EmployeeFullDetailsDTO> getEmployeeFullDetailsByCampusId(int campusI
         
         // 4. Map and Calculate
         return employees.stream()
-                .map(emp -> convertToFullDetailsDTO(
-                        emp, 
-                        detailsMap.get(emp.getEmp_id()), 
-                        subjectsMap.getOrDefault(emp.getEmp_id(), List.of())))
+                .map(emp -> {
+                    EmployeeFullDetailsDTO dto = convertToFullDetailsDTO(
+                            emp, 
+                            detailsMap.get(emp.getEmp_id()), 
+                            subjectsMap.getOrDefault(emp.getEmp_id(), List.of()));
+                    SharedAssignmentDTO assignment = sharedStaff.get(emp.getEmp_id());
+                    // Employees of this campus keep their own designation even if also listed as shared here
+                    if (assignment != null && (emp.getCampus_id() == null || emp.getCampus_id().getCampusId() != campusId)) {
+                        dto.setShared(true);
+                        dto.setDesignationName(assignment.getDesignationName());
+                        if (assignment.getSubjectName() != null) {
+                            dto.setSubjectsTaught(List.of(assignment.getSubjectName()));
+                        }
+                    }
+                    return dto;
+                })
                 .collect(Collectors.toList());
     }
 
-    private EmployeeFullDetailsDTO convertToFullDetailsDTO(
+    /**
+     * Streaming variant of getEmployeeFullDetailsByCampusId.
+     * Reads a single cursor (see EmployeeRepository.streamActiveRosterByCampusId), folds the
+     * consecutive subject rows of each employee, computes age on the fly and writes each
+     * employee as soon as its last row has been read. Only the employee currently being
+     * assembled is held in memory.
+     *
+     * @param campusId campus to export
+     * @param out      response body; not closed by this method
+     * @param ndjson   true for newline-delimited JSON, false for a single JSON array
+     * @return number of employees written
+     */
+    @Transactional(readOnly = true)
+    public int streamEmployeeFullDetailsByCampusId(int campusId, OutputStream out, boolean ndjson) throws IOException {
+        // Flushing is batched below instead of once per employee
+        ObjectWriter writer = objectMapper.writerFor(EmployeeFullDetailsDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        int written = 0;
+        try (Stream<CampusRosterRowDTO> rows = employeeRepository.streamActiveRosterByCampusId(campusId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+
+            Iterator<CampusRosterRowDTO> it = rows.iterator();
+            EmployeeFullDetailsDTO current = null;
+            while (it.hasNext()) {
+                CampusRosterRowDTO row = it.next();
+                if (current == null || current.getEmpId() != row.getEmpId()) {
+                    if (current != null) {
+                        writeRosterEntry(writer, generator, current, ndjson);
+                        if (++written % ROSTER_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    }
+                    current = new EmployeeFullDetailsDTO(
+                            row.getEmpId(),
+                            row.getFirstName() + " " + row.getLastName(),
+                            row.getMobileNo(),
+                            row.getEmail(),
+                            row.getDesignationName(),
+                            row.getGenderName(),
+                            row.getDateOfBirth() != null ? calculateAge(row.getDateOfBirth()) : null,
+                            new ArrayList<>(),
+                            false);
+                } else if (current.getAge() == null && row.getDateOfBirth() != null) {
+                    current.setAge(calculateAge(row.getDateOfBirth()));
+                }
+                // Duplicate EmpDetails rows would repeat each subject - keep the first
+                if (row.getSubjectName() != null && !current.getSubjectsTaught().contains(row.getSubjectName())) {
+                    current.getSubjectsTaught().add(row.getSubjectName());
+                }
+            }
+            if (current != null) {
+                writeRosterEntry(writer, generator, current, ndjson);
+                written++;
+            }
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        }
+        return written;
+    }
+
+    private void writeRosterEntry(ObjectWriter writer, JsonGenerator generator, EmployeeFullDetailsDTO dto,
+            boolean ndjson) throws IOException {
+        writer.writeValue(generator, dto);
+        if (ndjson) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    EmployeeFullDetailsDTO convertToFullDetailsDTO(
             Employee emp, EmpDetails details, List<String> subjects) {
         
         // Calculate Age
@@ -132,7 +263,8 @@ public List<EmployeeFullDetailsDTO> getEmployeeFullDetailsByCampusId(int campusI
             emp.getDesignation().getDesignation_name(),
             emp.getGender().getGenderName(),
             age,
-            subjects
+            subjects,
+            false
         );
     }
 
@@ -14,17 +14,15 @@ import com.employee.dto.RejectBackToDODTO;
 import com.employee.entity.Campus;
 import com.employee.entity.City;
 import com.employee.entity.Employee;
-import com.employee.entity.EmployeeCheckListStatus;
 import com.employee.entity.EmpSalaryInfo;
 import com.employee.entity.Organization;
 import com.employee.exception.ResourceNotFoundException;
 import com.employee.repository.CampusRepository;
 import com.employee.repository.CityRepository;
-import com.employee.repository.EmpAppCheckListDetlRepository;
 import com.employee.repository.EmpSalaryInfoRepository;
-import com.employee.repository.EmployeeCheckListStatusRepository;
 import com.employee.repository.EmployeeRepository;
 import com.employee.repository.OrganizationRepository;
+import com.employee.service.OnboardingWorkflowService.Transition;
  
 /**
  * Service for Central Office Level operations
@@ -40,10 +38,13 @@ public class CentralOfficeLevelService {
     private EmployeeRepository employeeRepository;
    
     @Autowired
-    private EmpAppCheckListDetlRepository empAppCheckListDetlRepository;
+    private ChecklistService checklistService;
    
     @Autowired
-    private EmployeeCheckListStatusRepository employeeCheckListStatusRepository;
+    private OnboardingWorkflowService onboardingWorkflowService;
+
+    @Autowired
+    private ReviewQueueService reviewQueueService;
    
     @Autowired
     private CampusRepository campusrepository;
@@ -82,31 +83,15 @@ public class CentralOfficeLevelService {
         Integer empId = employee.getEmp_id();
         logger.info("Found employee with emp_id: {} for temp_payroll_id: {}", empId, checklistDTO.getTempPayrollId());
  
-        // Step 3: Always update status to "Confirm" (ID: 4) when updating checklist
-        Integer oldStatusId = employee.getEmp_check_list_status_id() != null
-                ? employee.getEmp_check_list_status_id().getEmp_app_status_id()
-                : null;
-        String oldStatusName = employee.getEmp_check_list_status_id() != null
-                ? employee.getEmp_check_list_status_id().getCheck_app_status_name()
-                : "null";
- 
-        EmployeeCheckListStatus confirmStatus = employeeCheckListStatusRepository
-                .findByCheck_app_status_name("Confirm").orElseThrow(() -> new ResourceNotFoundException(
-                        "EmployeeCheckListStatus with name 'Confirm' not found"));
-       
-        employee.setEmp_check_list_status_id(confirmStatus);
-        logger.info("Updated employee (emp_id: {}) status from '{}' (ID: {}) to 'Confirm' (ID: {})",
-                empId, oldStatusName, oldStatusId, confirmStatus.getEmp_app_status_id());
+        // Step 3: Always update status to "Confirm" when updating checklist
+        onboardingWorkflowService.apply(employee, Transition.CONFIRM);
        
         // Clear remarks when confirming
         employee.setRemarks(null);
         logger.info("Cleared remarks for employee (emp_id: {}) when confirming", empId);
  
-        // Step 4: Validate checklist IDs before saving
-        validateCheckListIds(checklistDTO.getCheckListIds());
- 
-        // Step 5: Update emp_app_check_list_detl_id in Employee table
-        employee.setEmp_app_check_list_detl_id(checklistDTO.getCheckListIds());
+        // Step 4-5: Validate checklist IDs against the cached catalog and update emp_app_check_list_detl_id
+        employee.setEmp_app_check_list_detl_id(checklistService.normalize(checklistDTO.getCheckListIds()));
  
         // Step 6: Update notice_period AND Generate Permanent ID (if provided)
         if (checklistDTO.getNoticePeriod() != null && !checklistDTO.getNoticePeriod().trim().isEmpty()) {
@@ -170,42 +155,6 @@ public class CentralOfficeLevelService {
         return checklistDTO;
     }
  
-    /**
-     * Validate checklist IDs
-     */
-    private void validateCheckListIds(String checkListIds) {
-        if (checkListIds == null || checkListIds.trim().isEmpty()) {
-            return;
-        }
- 
-        String[] idArray = checkListIds.split(",");
- 
-        for (String idStr : idArray) {
-            idStr = idStr.trim();
- 
-            if (idStr.isEmpty()) {
-                continue;
-            }
- 
-            try {
-                Integer checklistId = Integer.parseInt(idStr);
- 
-                // Assumes the method in EmpAppCheckListDetlRepository is findByIdAndIsActive
-                empAppCheckListDetlRepository.findByIdAndIsActive(checklistId, 1)
-                .orElseThrow(() -> new ResourceNotFoundException("Checklist ID " + checklistId
-                                + " not found or inactive. Provided IDs: " + checkListIds));
- 
-                logger.debug("Validated checklist ID: {} exists and is active", checklistId);
- 
-            } catch (NumberFormatException e) {
-                throw new ResourceNotFoundException("Invalid checklist ID format: '" + idStr
-                        + "'. Provided IDs: " + checkListIds);
-            }
-        }
- 
-        logger.info("✅ All checklist IDs validated successfully: {}", checkListIds);
-    }
- 
     /**
      * Validate tempPayrollId
      */
@@ -350,30 +299,9 @@ public class CentralOfficeLevelService {
         Integer empId = employee.getEmp_id();
         logger.info("Found employee with emp_id: {} for temp_payroll_id: {}", empId, rejectDTO.getTempPayrollId());
        
-        // Step 3: Validate that current status is "Pending at CO" - this method only works for "Pending at CO" status
-        if (employee.getEmp_check_list_status_id() == null) {
-            throw new ResourceNotFoundException(
-                    "Cannot reject employee: Employee (emp_id: " + empId +
-                    ", temp_payroll_id: '" + rejectDTO.getTempPayrollId() +
-                    "') does not have a status set. This method only works when employee status is 'Pending at CO'.");
-        }
-       
-        String currentStatusName = employee.getEmp_check_list_status_id().getCheck_app_status_name();
-        if (!"Pending at CO".equals(currentStatusName)) {
-            throw new ResourceNotFoundException(
-                    "Cannot reject employee: Current employee status is '" + currentStatusName +
-                    "' (emp_id: " + empId + ", temp_payroll_id: '" + rejectDTO.getTempPayrollId() +
-                    "'). This method only works when employee status is 'Pending at CO'.");
-        }
-       
-        logger.info("Employee (emp_id: {}) current status is 'Pending at CO', proceeding with reject back to DO", empId);
-       
-        // Step 4: Update status to "Back to DO"
-        EmployeeCheckListStatus backToDOStatus = employeeCheckListStatusRepository.findByCheck_app_status_name("Back to DO")
-                .orElseThrow(() -> new ResourceNotFoundException("EmployeeCheckListStatus with name 'Back to DO' not found"));
-        employee.setEmp_check_list_status_id(backToDOStatus);
-        logger.info("Updated employee (emp_id: {}) status from 'Pending at CO' to 'Back to DO' (ID: {})",
-                empId, backToDOStatus.getEmp_app_status_id());
+        // Step 3-4: Only "Pending at CO" can be rejected; status moves to "Back to DO"
+        reviewQueueService.checkLeaseHolder(empId, rejectDTO.getReviewerId());
+        onboardingWorkflowService.apply(employee, Transition.REJECT_TO_DO);
        
         // Step 5: Update remarks (if remarks already exist, update them; if not, set new remarks)
         String existingRemarks = employee.getRemarks();
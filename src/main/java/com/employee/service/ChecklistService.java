@@ -0,0 +1,384 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.employee.dto.ChecklistMissingDTO;
+import com.employee.entity.EmpAppCheckListDetl;
+import com.employee.entity.Employee;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmpAppCheckListDetlRepository;
+import com.employee.repository.EmployeeRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * CO checklist selections (Employee.emp_app_check_list_detl_id) as bitsets over the cached
+ * sce_emp_app_check_list_detl catalog.
+ *
+ * Every catalog row gets a bit, in emp_app_check_list_detl_id order, so a selection validates with
+ * one map lookup per ID and no query. The column keeps its comma-separated form (now canonical:
+ * ascending, no duplicates). On top of that a per-campus index holds, for every checklist item, a
+ * bitset of the active employees that have it; "who on campus X is missing item N" is one
+ * and-not. Like OrgGraphService the index is loaded on first use, every saved Employee (new hires,
+ * checklist saves, campus moves, deactivations) is applied after commit (EmployeeIndexEntityListener),
+ * bulk-imported employees are reported by BulkEmployeeImportService, and changes made outside this
+ * instance are picked up by a reload every employee.checklist.reload-interval-minutes.
+ *
+ * The catalog is re-read on the same interval whether or not the index is in use. A checklist ID
+ * the cached catalog does not know, or has as inactive, is looked up in the table before it is
+ * rejected; if it is active there, the catalog is reloaded on the spot.
+ */
+@Service
+public class ChecklistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChecklistService.class);
+
+    @Autowired
+    private EmpAppCheckListDetlRepository empAppCheckListDetlRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Value("${employee.checklist.reload-interval-minutes:30}")
+    private long reloadIntervalMinutes;
+
+    private volatile Catalog catalog;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, CampusChecklists> campuses = new HashMap<>();
+    private final Map<Integer, Integer> campusByEmpId = new HashMap<>();
+    private final IndexChanges changes = new IndexChanges();
+    private ScheduledExecutorService reloader;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReloads() {
+        if (reloadIntervalMinutes <= 0) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "checklist-index-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reloadQuietly, reloadIntervalMinutes, reloadIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stopReloads() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Re-reads the checklist catalog and rebuilds the index (bit positions may change).
+     */
+    public synchronized void reload() {
+        changes.startLoad();
+        Catalog loaded;
+        try {
+            loaded = loadCatalog();
+            List<Object[]> selections = employeeRepository.findActiveChecklistSelections();
+            lock.writeLock().lock();
+            try {
+                catalog = loaded;
+                campuses.clear();
+                campusByEmpId.clear();
+                for (Object[] selection : selections) {
+                    put((Integer) selection[0], (Integer) selection[1], loaded.decode((String) selection[2]));
+                }
+                changes.finishLoad();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            changes.endLoad();
+        }
+        logger.info("Checklist index loaded: {} checklist items, {} active employees in {} campuses",
+                loaded.ids.length, campusByEmpId.size(), campuses.size());
+    }
+
+    /**
+     * Validates a comma-separated list of checklist IDs against the cached catalog and returns its
+     * column form: IDs ascending, without duplicates; null when no ID is given.
+     *
+     * @throws ResourceNotFoundException for a non-numeric, unknown or inactive ID
+     */
+    public String normalize(String checkListIds) {
+        if (checkListIds == null) {
+            return null;
+        }
+        List<Integer> checklistIds = new ArrayList<>();
+        for (String token : checkListIds.split(",")) {
+            String idStr = token.trim();
+            if (idStr.isEmpty()) {
+                continue;
+            }
+            try {
+                checklistIds.add(Integer.parseInt(idStr));
+            } catch (NumberFormatException e) {
+                throw new ResourceNotFoundException("Invalid checklist ID format: '" + idStr
+                        + "'. Checklist IDs must be numeric. Provided checklist IDs: " + checkListIds);
+            }
+        }
+        Catalog current = catalog();
+        for (int checklistId : checklistIds) {
+            if (current.isActive(checklistId)) {
+                continue;
+            }
+            // added or re-activated since the catalog was loaded?
+            if (empAppCheckListDetlRepository.findByIdAndIsActive(checklistId, 1).isEmpty()) {
+                throw new ResourceNotFoundException("Checklist ID " + checklistId
+                        + " not found or inactive in checklist master table. Provided checklist IDs: " + checkListIds);
+            }
+            current = refreshCatalog();
+            if (!current.isActive(checklistId)) {
+                // changed again between the two reads
+                throw new ResourceNotFoundException("Checklist ID " + checklistId
+                        + " not found or inactive in checklist master table. Provided checklist IDs: " + checkListIds);
+            }
+        }
+        BitSet bits = new BitSet(current.ids.length);
+        for (int checklistId : checklistIds) {
+            bits.set(current.bitById.get(checklistId));
+        }
+        if (bits.isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(current.ids[bit]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Records a saved employee (checklist, campus, active flag) in the index. Inside a transaction
+     * the update is applied after commit, so rolled-back changes never reach the index.
+     */
+    public void onEmployeeSaved(Employee employee) {
+        final int empId = employee.getEmp_id();
+        final Integer campusId = employee.getCampus_id() != null ? employee.getCampus_id().getCampusId() : null;
+        final String checkListIds = employee.getEmp_app_check_list_detl_id();
+        final boolean active = employee.getIs_active() == 1;
+        AfterCommit.run(() -> changes.apply(() -> applySelection(empId, campusId, checkListIds, active)));
+    }
+
+    /**
+     * Records employees inserted without the entity listeners (bulk import): active, on the given
+     * campus, no checklist item yet. Applied after commit like onEmployeeSaved.
+     */
+    public void onEmployeesImported(int campusId, Collection<Integer> empIds) {
+        final List<Integer> imported = List.copyOf(empIds);
+        AfterCommit.run(() -> changes.apply(() -> {
+            for (int empId : imported) {
+                applySelection(empId, campusId, null, true);
+            }
+        }));
+    }
+
+    /**
+     * Active employees of a campus whose checklist does not contain the given item.
+     */
+    public ChecklistMissingDTO findMissing(int campusId, int checklistId) {
+        ensureIndexLoaded();
+        lock.readLock().lock();
+        try {
+            Integer bit = catalog.bitById.get(checklistId);
+            if (bit == null) {
+                throw new ResourceNotFoundException("Checklist ID " + checklistId + " not found in checklist master table");
+            }
+            CampusChecklists campus = campuses.get(campusId);
+            List<Integer> missing = new ArrayList<>();
+            int activeEmployees = 0;
+            if (campus != null) {
+                BitSet slots = (BitSet) campus.occupied.clone();
+                slots.andNot(campus.withItem[bit]);
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    missing.add(campus.empIds[slot]);
+                }
+                missing.sort(null);
+                activeEmployees = campus.slotByEmpId.size();
+            }
+            return new ChecklistMissingDTO(campusId, checklistId, catalog.names[bit], activeEmployees, missing);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applySelection(int empId, Integer campusId, String checkListIds, boolean active) {
+        lock.writeLock().lock();
+        try {
+            remove(empId);
+            if (active) {
+                put(empId, campusId, catalog.decode(checkListIds));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(int empId, Integer campusId, BitSet bits) {
+        int campusKey = campusId != null ? campusId : 0;
+        CampusChecklists campus = campuses.computeIfAbsent(campusKey, k -> new CampusChecklists(catalog.ids.length));
+        int slot = campus.occupied.nextClearBit(0);
+        if (slot == campus.empIds.length) {
+            campus.empIds = Arrays.copyOf(campus.empIds, slot * 2);
+        }
+        campus.empIds[slot] = empId;
+        campus.occupied.set(slot);
+        campus.slotByEmpId.put(empId, slot);
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            campus.withItem[bit].set(slot);
+        }
+        campusByEmpId.put(empId, campusKey);
+    }
+
+    // Caller holds the write lock
+    private void remove(int empId) {
+        Integer campusKey = campusByEmpId.remove(empId);
+        if (campusKey == null) {
+            return;
+        }
+        CampusChecklists campus = campuses.get(campusKey);
+        Integer slot = campus.slotByEmpId.remove(empId);
+        campus.occupied.clear(slot);
+        for (BitSet withItem : campus.withItem) {
+            withItem.clear(slot);
+        }
+    }
+
+    // Scheduled: an index that was never used stays unloaded, but the catalog is still refreshed
+    private void reloadQuietly() {
+        try {
+            refreshCatalog();
+        } catch (Exception e) {
+            logger.error("Checklist catalog / index reload failed, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    // Bit positions may change, so a loaded index is rebuilt together with the catalog
+    private synchronized Catalog refreshCatalog() {
+        if (changes.isLoaded()) {
+            reload();
+        } else {
+            catalog = loadCatalog();
+        }
+        return catalog;
+    }
+
+    // Validation only needs the catalog, not the index
+    private Catalog catalog() {
+        Catalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                if (catalog == null) {
+                    catalog = loadCatalog();
+                }
+                current = catalog;
+            }
+        }
+        return current;
+    }
+
+    private Catalog loadCatalog() {
+        List<EmpAppCheckListDetl> rows = new ArrayList<>(empAppCheckListDetlRepository.findAll());
+        rows.sort((a, b) -> Integer.compare(a.getEmpAppCheckListDetlId(), b.getEmpAppCheckListDetlId()));
+        return new Catalog(rows);
+    }
+
+    private void ensureIndexLoaded() {
+        if (!changes.isLoaded()) {
+            synchronized (this) {
+                if (!changes.isLoaded()) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    /** Immutable snapshot of the checklist catalog. */
+    private static final class Catalog {
+
+        final int[] ids;
+        final String[] names;
+        final BitSet active = new BitSet();
+        final Map<Integer, Integer> bitById = new HashMap<>();
+
+        Catalog(List<EmpAppCheckListDetl> rows) {
+            ids = new int[rows.size()];
+            names = new String[rows.size()];
+            for (int bit = 0; bit < rows.size(); bit++) {
+                EmpAppCheckListDetl row = rows.get(bit);
+                ids[bit] = row.getEmpAppCheckListDetlId();
+                names[bit] = row.getCheckListDetlName();
+                if (row.getIsActive() != null && row.getIsActive() == 1) {
+                    active.set(bit);
+                }
+                bitById.put(ids[bit], bit);
+            }
+        }
+
+        boolean isActive(int checklistId) {
+            Integer bit = bitById.get(checklistId);
+            return bit != null && active.get(bit);
+        }
+
+        // Stored values are not re-validated: IDs that are not (or no longer) in the catalog are skipped
+        BitSet decode(String checkListIds) {
+            BitSet bits = new BitSet(ids.length);
+            if (checkListIds == null) {
+                return bits;
+            }
+            for (String token : checkListIds.split(",")) {
+                try {
+                    Integer bit = bitById.get(Integer.parseInt(token.trim()));
+                    if (bit != null) {
+                        bits.set(bit);
+                    }
+                } catch (NumberFormatException e) {
+                    // legacy free text in the column
+                }
+            }
+            return bits;
+        }
+    }
+
+    /** Active employees of one campus in reusable slots, with one slot bitset per checklist item. */
+    private static final class CampusChecklists {
+
+        final Map<Integer, Integer> slotByEmpId = new HashMap<>();
+        final BitSet occupied = new BitSet();
+        final BitSet[] withItem;
+        int[] empIds = new int[16];
+
+        CampusChecklists(int items) {
+            withItem = new BitSet[items];
+            for (int i = 0; i < items; i++) {
+                withItem[i] = new BitSet();
+            }
+        }
+    }
+}
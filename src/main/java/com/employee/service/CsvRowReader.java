@@ -0,0 +1,142 @@
+package com.employee.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV reader: comma separated, fields optionally quoted with '"', quotes escaped as "",
+ * quoted fields may contain commas and line breaks; CRLF or LF line endings; a leading UTF-8 BOM is skipped.
+ * Blank lines are skipped.
+ */
+final class CsvRowReader implements BulkImportRowReader {
+
+    private static final int BOM = '\uFEFF';
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean first = true;
+    private int rowNumber;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> cells = new ArrayList<>();
+
+    CsvRowReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public String[] next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (first) {
+                first = false;
+                if (c == BOM) {
+                    c = read();
+                    if (c == -1) {
+                        return null;
+                    }
+                }
+            }
+            if (c == '\n') {
+                continue; // blank line
+            }
+            if (c == '\r') {
+                skipLineFeed();
+                continue;
+            }
+            rowNumber++;
+            return readRecord(c);
+        }
+    }
+
+    @Override
+    public int rowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String[] readRecord(int c) throws IOException {
+        cells.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in row " + rowNumber);
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    skipLineFeed();
+                }
+                cells.add(field.toString());
+                return cells.toArray(new String[0]);
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    private void skipLineFeed() throws IOException {
+        if (peek() == '\n') {
+            position++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int count = in.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+}
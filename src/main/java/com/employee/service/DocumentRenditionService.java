@@ -0,0 +1,304 @@
+package com.employee.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Downscaled JPEG renditions (preview, thumbnail) of photos and scans in the document store.
+ *
+ * Every stored PNG / JPEG is queued to a small bounded worker pool when it is uploaded; the
+ * workers decode it with ImageIO, subsampling while decoding so a 12-megapixel phone photo never
+ * needs a full-size raster, then scale the rest of the way with bilinear steps and write the
+ * renditions next to the original (store-dir/ab/cd/<sha256>.preview.jpg). Until a rendition exists
+ * the original is served and the file is queued again, so images stored before this pipeline are
+ * converted on first view. Other formats (PDF) are always served as they are.
+ *
+ * An image that cannot be decoded (corrupt, unsupported encoding, too large) gets an empty
+ * store-dir/ab/cd/<sha256>.norender marker instead, so later views serve the original without
+ * queuing the same decode again. Failures while writing a rendition leave no marker and are retried.
+ */
+@Service
+public class DocumentRenditionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentRenditionService.class);
+
+    // Larger images are not decoded at all (decompression bombs)
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    // Sibling marking an original that cannot be decoded; blobs are immutable, so it never expires
+    static final String NO_RENDITION_SUFFIX = "norender";
+
+    /** Sizes served to review screens; ORIGINAL is the stored file itself. */
+    public enum Rendition {
+        ORIGINAL(0, 0f),
+        PREVIEW(1600, 0.82f),
+        THUMBNAIL(320, 0.75f);
+
+        private final int maxSide;
+        private final float quality;
+
+        Rendition(int maxSide, float quality) {
+            this.maxSide = maxSide;
+            this.quality = quality;
+        }
+
+        String suffix() {
+            return name().toLowerCase(Locale.ROOT) + ".jpg";
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.documents.renditions.workers:2}")
+    private int workers;
+
+    @Value("${employee.documents.renditions.queue-capacity:500}")
+    private int queueCapacity;
+
+    // originals queued or being converted, so a file is not queued twice
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "document-renditions-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onDocumentStored(DocumentStoredEvent event) {
+        if (isImage(event.getContentType())) {
+            submit(event.getBlob());
+        }
+    }
+
+    /**
+     * File to serve for a rendition of a stored file: the rendition if it has been generated, the
+     * original otherwise (queuing the conversion of an image).
+     */
+    public Path resolve(Path blob, String contentType, Rendition rendition) {
+        if (rendition == Rendition.ORIGINAL || !isImage(contentType)) {
+            return blob;
+        }
+        Path file = DocumentStoreService.sibling(blob, rendition.suffix());
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+        if (!Files.exists(DocumentStoreService.sibling(blob, NO_RENDITION_SUFFIX))) {
+            submit(blob);
+        }
+        return blob;
+    }
+
+    /**
+     * Queues the renditions of a stored image; a full queue drops the request (the next view of
+     * the document queues it again).
+     */
+    public void submit(Path blob) {
+        if (!pending.add(blob)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    render(blob);
+                } finally {
+                    pending.remove(blob);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(blob);
+            meterRegistry.counter("employee.documents.renditions", "outcome", "rejected").increment();
+        }
+    }
+
+    /**
+     * Writes the missing renditions of one stored image.
+     */
+    void render(Path blob) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage source = null;
+            for (Rendition rendition : Rendition.values()) {
+                if (rendition == Rendition.ORIGINAL) {
+                    continue;
+                }
+                Path target = DocumentStoreService.sibling(blob, rendition.suffix());
+                if (Files.exists(target)) {
+                    continue;
+                }
+                if (source == null) {
+                    // decoded once, at the size of the largest rendition
+                    source = decodeOrMark(blob);
+                    if (source == null) {
+                        return;
+                    }
+                }
+                writeJpeg(scale(source, rendition.maxSide), rendition.quality, target);
+            }
+            meterRegistry.counter("employee.documents.renditions", "outcome", "generated").increment();
+            logger.debug("Renditions of {} written in {} ms", DocumentStoreService.sha256Of(blob),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            meterRegistry.counter("employee.documents.renditions", "outcome", "failed").increment();
+            logger.warn("Could not render document {}: {}", DocumentStoreService.sha256Of(blob), e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes the original for the renditions; if it cannot be decoded, counts why and leaves the
+     * norender marker so it is not queued again. Returns null in that case.
+     */
+    private BufferedImage decodeOrMark(Path blob) throws IOException {
+        BufferedImage source;
+        String outcome;
+        try {
+            source = decode(blob, Rendition.PREVIEW.maxSide);
+            outcome = "unsupported";
+        } catch (IOException | RuntimeException e) {
+            if (!Files.exists(blob)) {
+                throw e;
+            }
+            logger.warn("Could not decode document {}: {}", DocumentStoreService.sha256Of(blob), e.getMessage());
+            source = null;
+            outcome = "undecodable";
+        }
+        if (source == null) {
+            meterRegistry.counter("employee.documents.renditions", "outcome", outcome).increment();
+            Path marker = DocumentStoreService.sibling(blob, NO_RENDITION_SUFFIX);
+            try {
+                Files.createFile(marker);
+            } catch (FileAlreadyExistsException e) {
+                // marked by a concurrent render of the same original
+            }
+        }
+        return source;
+    }
+
+    /**
+     * Decodes an image with the largest source subsampling that still leaves at least maxSide
+     * pixels on the longer side; null if no ImageIO reader accepts the file or it is too large.
+     */
+    static BufferedImage decode(Path file, int maxSide) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / maxSide);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales down to at most maxSide on the longer side (never up), halving with bilinear
+     * interpolation for quality, onto an opaque RGB canvas (transparent areas become white).
+     */
+    static BufferedImage scale(BufferedImage source, int maxSide) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double factor = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+
+        BufferedImage current = source;
+        do {
+            int nextWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int nextHeight = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, float quality, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static boolean isImage(String contentType) {
+        return "image/jpeg".equals(contentType) || "image/png".equals(contentType);
+    }
+}
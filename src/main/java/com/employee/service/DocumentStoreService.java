@@ -0,0 +1,255 @@
+package com.employee.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.employee.dto.StoredDocumentDTO;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmpDocumentsRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Content-addressed file store for employee documents on local disk.
+ *
+ * A file is stored once under its SHA-256 (store-dir/ab/cd/abcd...), so re-uploading an identical
+ * certificate costs no storage; sce_emp_doc.doc_path keeps the key "sha256:<hex>" and remains the
+ * only metadata. Uploads are hashed while they are copied through one fixed buffer into a temp
+ * file on the same disk, then renamed into place. Downloads are copied with FileChannel.transferTo,
+ * which lets the kernel move the bytes when the target allows it. Other doc_path values (paths of
+ * the external file system) are left as they are.
+ */
+@Service
+public class DocumentStoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentStoreService.class);
+
+    public static final String DOC_PATH_PREFIX = "sha256:";
+    private static final Pattern DOC_PATH = Pattern.compile("sha256:([0-9a-f]{64})");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private EmpDocumentsRepository empDocumentsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${employee.documents.store-dir:document-store}")
+    private String storeDir;
+
+    private Path root;
+    private Path incoming;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(storeDir).toAbsolutePath();
+        incoming = Files.createDirectories(root.resolve("incoming"));
+        logger.info("Document store at {}", root);
+    }
+
+    /**
+     * Stores an uploaded file, or finds the identical file already stored.
+     *
+     * @throws ResourceNotFoundException for an empty file
+     */
+    public StoredDocumentDTO store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            long size = 0;
+            try (InputStream in = content; OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+            if (size == 0) {
+                throw new ResourceNotFoundException("Uploaded document is empty");
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = blobPath(sha256);
+            boolean deduplicated = Files.exists(target);
+            if (!deduplicated) {
+                Files.createDirectories(target.getParent());
+                // same file system, so readers only ever see complete files; a concurrent identical upload
+                // renaming over it writes the same bytes
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            meterRegistry.counter("employee.documents.uploads", "deduplicated", String.valueOf(deduplicated)).increment();
+            if (deduplicated) {
+                meterRegistry.counter("employee.documents.deduplicated.bytes").increment(size);
+            }
+            logger.info("Stored document {} ({} bytes{})", sha256, size, deduplicated ? ", already present" : "");
+            String contentType = contentType(target);
+            eventPublisher.publishEvent(new DocumentStoredEvent(sha256, target, contentType));
+            return new StoredDocumentDTO(DOC_PATH_PREFIX + sha256, sha256, size, contentType, deduplicated);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Fails if docPath names a stored file that does not exist; other paths are not checked.
+     *
+     * @throws ResourceNotFoundException for a "sha256:" path that is malformed or not in the store
+     */
+    public void checkDocPath(String docPath) {
+        if (isStored(docPath)) {
+            resolve(docPath);
+        }
+    }
+
+    /**
+     * The stored file of an active sce_emp_doc row.
+     *
+     * @throws ResourceNotFoundException if the row is missing or inactive, or its file is not in this store
+     */
+    public Path openDocument(int empDocId) {
+        String docPath = empDocumentsRepository.findActiveDocPath(empDocId)
+                .orElseThrow(() -> new ResourceNotFoundException("Active document not found with emp_doc_id: " + empDocId));
+        if (!isStored(docPath)) {
+            throw new ResourceNotFoundException("Document (emp_doc_id: " + empDocId
+                    + ") is not held by the document store; doc_path: '" + docPath + "'");
+        }
+        return resolve(docPath);
+    }
+
+    /**
+     * Whether a doc_path names a file of this store (by its form only; the file is not checked).
+     */
+    public static boolean isStored(String docPath) {
+        return docPath != null && docPath.startsWith(DOC_PATH_PREFIX);
+    }
+
+    /**
+     * Derived file kept next to a stored file (store-dir/ab/cd/<sha256>.<suffix>).
+     */
+    public static Path sibling(Path blob, String suffix) {
+        return blob.resolveSibling(sha256Of(blob) + "." + suffix);
+    }
+
+    /** SHA-256 of a stored file, from its name. */
+    public static String sha256Of(Path blob) {
+        String name = blob.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    /**
+     * Copies count bytes from position of a stored file to out with FileChannel.transferTo.
+     */
+    public void transfer(Path blob, long position, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(blob, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long end = position + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    throw new EOFException("Document " + sha256Of(blob) + " is shorter than " + end + " bytes");
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * Byte range requested by a Range header, as {first, last} (inclusive). Whole file for no
+     * header or a header this store does not serve partially (several ranges, other units);
+     * null if the range cannot be satisfied.
+     */
+    public static long[] byteRange(String rangeHeader, long size) {
+        if (rangeHeader == null) {
+            return new long[] { 0, size - 1 };
+        }
+        Matcher range = RANGE.matcher(rangeHeader.trim());
+        if (!range.matches() || (range.group(1).isEmpty() && range.group(2).isEmpty())) {
+            return new long[] { 0, size - 1 };
+        }
+        try {
+            if (range.group(1).isEmpty()) {
+                // suffix range: the last n bytes
+                long suffix = Long.parseLong(range.group(2));
+                return suffix == 0 ? null : new long[] { Math.max(0, size - suffix), size - 1 };
+            }
+            long first = Long.parseLong(range.group(1));
+            long last = range.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(range.group(2)), size - 1);
+            return first >= size || last < first ? null : new long[] { first, last };
+        } catch (NumberFormatException e) {
+            return new long[] { 0, size - 1 }; // out of long range: ignore the header
+        }
+    }
+
+    /** Content type from the leading bytes (sce_emp_doc has no column for it). */
+    public String contentType(Path blob) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(8);
+        try (FileChannel channel = FileChannel.open(blob, StandardOpenOption.READ)) {
+            channel.read(head, 0);
+        }
+        byte[] b = head.array();
+        if (b[0] == '%' && b[1] == 'P' && b[2] == 'D' && b[3] == 'F') {
+            return "application/pdf";
+        }
+        if ((b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') {
+            return "image/png";
+        }
+        if ((b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        return "application/octet-stream";
+    }
+
+    private Path resolve(String docPath) {
+        Matcher matcher = DOC_PATH.matcher(docPath);
+        if (!matcher.matches()) {
+            throw new ResourceNotFoundException("Invalid document store path: '" + docPath + "'");
+        }
+        Path blob = blobPath(matcher.group(1));
+        if (!Files.isRegularFile(blob)) {
+            throw new ResourceNotFoundException("Document " + matcher.group(1) + " not found in the document store");
+        }
+        return blob;
+    }
+
+    private Path blobPath(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
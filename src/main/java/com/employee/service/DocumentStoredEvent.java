@@ -0,0 +1,32 @@
+package com.employee.service;
+
+import java.nio.file.Path;
+
+/**
+ * Published by DocumentStoreService after an upload is in the store (also when the identical file
+ * was already there).
+ */
+public class DocumentStoredEvent {
+
+    private final String sha256;
+    private final Path blob;
+    private final String contentType;
+
+    public DocumentStoredEvent(String sha256, Path blob, String contentType) {
+        this.sha256 = sha256;
+        this.blob = blob;
+        this.contentType = contentType;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public Path getBlob() {
+        return blob;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
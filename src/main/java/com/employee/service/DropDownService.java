@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.employee.dto.CampusContactDTO;
 import com.employee.dto.CampusDto;
@@ -48,6 +49,7 @@ import com.employee.repository.SubjectRepository;
 import com.employee.repository.WorkingModeRepository;
 
 @Service
+@Transactional(readOnly = true)
 public class DropDownService {
 	
 	@Autowired MaritalStatusRepository  maritalStatusRepo;
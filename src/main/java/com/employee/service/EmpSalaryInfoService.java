@@ -20,18 +20,17 @@ import com.employee.entity.EmpPfDetails;
 import com.employee.entity.EmpSalaryInfo;
 import com.employee.entity.EmpStructure;
 import com.employee.entity.Employee;
-import com.employee.entity.EmployeeCheckListStatus;
 import com.employee.exception.ResourceNotFoundException;
 import com.employee.repository.BankDetailsRepository;
 import com.employee.repository.CostCenterRepository;
 import com.employee.repository.EmpGradeRepository;
 import com.employee.repository.EmpPaymentTypeRepository;
 import com.employee.repository.EmpPfDetailsRepository;
-import com.employee.repository.EmpAppCheckListDetlRepository;
 import com.employee.repository.EmpSalaryInfoRepository;
 import com.employee.repository.EmpStructureRepository;
 import com.employee.repository.EmployeeRepository;
-import com.employee.repository.EmployeeCheckListStatusRepository;
+import com.employee.service.OnboardingCompletenessService.Section;
+import com.employee.service.OnboardingWorkflowService.Transition;
 
 @Service
 @Transactional
@@ -64,10 +63,16 @@ public class EmpSalaryInfoService {
 	private EmpPfDetailsRepository empPfDetailsRepository;
 	
 	@Autowired
-	private EmployeeCheckListStatusRepository employeeCheckListStatusRepository;
+	private OnboardingWorkflowService onboardingWorkflowService;
 	
 	@Autowired
-	private EmpAppCheckListDetlRepository empAppCheckListDetlRepository;
+	private ChecklistService checklistService;
+	
+	@Autowired
+	private OnboardingCompletenessService onboardingCompletenessService;
+	
+	@Autowired
+	private ReviewQueueService reviewQueueService;
 
 	/**
 	 * Create salary info based on temp_payroll_id and forward to Central Office
@@ -128,24 +133,9 @@ public class EmpSalaryInfoService {
 					"' is not active. emp_id: " + empId);
 		}
 		
-		// Validation: Check if current status is "Pending at DO" or "Back to DO" - forward to CO works for both statuses
-		// This allows forwarding again after CO rejection (when status is "Back to DO")
-		if (employee.getEmp_check_list_status_id() == null) {
-			throw new ResourceNotFoundException(
-					"Cannot forward employee to Central Office: Employee (emp_id: " + empId + 
-					", temp_payroll_id: '" + salaryInfoDTO.getTempPayrollId() + 
-					"') does not have a status set. This method only works when employee status is 'Pending at DO' or 'Back to DO'.");
-		}
-		
-		String currentStatusName = employee.getEmp_check_list_status_id().getCheck_app_status_name();
-		if (!"Pending at DO".equals(currentStatusName) && !"Back to DO".equals(currentStatusName)) {
-			throw new ResourceNotFoundException(
-					"Cannot forward employee to Central Office: Current employee status is '" + currentStatusName + 
-					"' (emp_id: " + empId + ", temp_payroll_id: '" + salaryInfoDTO.getTempPayrollId() + 
-					"'). This method only works when employee status is 'Pending at DO' or 'Back to DO'.");
-		}
-		
-		logger.info("Employee (emp_id: {}) current status is '{}', proceeding with forward to Central Office", empId, currentStatusName);
+		// Validation: forward to CO works from "Pending at DO" and from "Back to DO" (after CO rejection)
+		onboardingWorkflowService.check(employee, Transition.FORWARD_TO_CO);
+		reviewQueueService.checkLeaseHolder(empId, salaryInfoDTO.getReviewerId());
 
 		// Step 2: Get emp_payment_type_id from BankDetails table (where emp_id matches)
 		EmpPaymentType empPaymentType = null;
@@ -292,6 +282,7 @@ public class EmpSalaryInfoService {
 		
 		// Flush to ensure data is persisted immediately
 		empSalaryInfoRepository.flush();
+		onboardingCompletenessService.onSectionSaved(employee, Section.SALARY, true);
 		
 		// Log after save to verify relationships are saved
 		logger.info("After save - emp_sal_info_id: {}, emp_id: {}, emp_payment_type_id: {}, grade_id: {}", 
@@ -377,9 +368,8 @@ public class EmpSalaryInfoService {
 		// Step 5: Update checklist in Employee table (emp_app_check_list_detl_id)
 		boolean needsUpdate = false;
 		if (salaryInfoDTO.getCheckListIds() != null && !salaryInfoDTO.getCheckListIds().trim().isEmpty()) {
-			// Validate checklist IDs before saving
-			validateCheckListIds(salaryInfoDTO.getCheckListIds());
-			employee.setEmp_app_check_list_detl_id(salaryInfoDTO.getCheckListIds());
+			// Validated against the cached checklist catalog
+			employee.setEmp_app_check_list_detl_id(checklistService.normalize(salaryInfoDTO.getCheckListIds()));
 			needsUpdate = true;
 			logger.info("Setting checklist IDs for employee (emp_id: {}): {}", empId, salaryInfoDTO.getCheckListIds());
 		}
@@ -392,11 +382,8 @@ public class EmpSalaryInfoService {
 		}
 		
 		// Step 7: Update app status to "Pending at CO" when forwarding to Central Office
-		EmployeeCheckListStatus pendingAtCOStatus = employeeCheckListStatusRepository.findByCheck_app_status_name("Pending at CO")
-				.orElseThrow(() -> new ResourceNotFoundException("EmployeeCheckListStatus with name 'Pending at CO' not found"));
-		employee.setEmp_check_list_status_id(pendingAtCOStatus);
+		onboardingWorkflowService.apply(employee, Transition.FORWARD_TO_CO);
 		needsUpdate = true;
-		logger.info("Updated employee (emp_id: {}) app status to 'Pending at CO' (ID: {}) when forwarding to central office", empId, pendingAtCOStatus.getEmp_app_status_id());
 		
 		// Clear remarks when forwarding to central office (after rectification)
 		employee.setRemarks(null);
@@ -543,29 +530,9 @@ public class EmpSalaryInfoService {
 					"' is not active. emp_id: " + empId);
 		}
 		
-		// Validation: Check if current status is "Pending at DO" - this method only works for "Pending at DO" status
-		if (employee.getEmp_check_list_status_id() == null) {
-			throw new ResourceNotFoundException(
-					"Cannot send employee back to campus: Employee (emp_id: " + empId + 
-					", temp_payroll_id: '" + backToCampusDTO.getTempPayrollId() + 
-					"') does not have a status set. This method only works when employee status is 'Pending at DO'.");
-		}
-		
-		String currentStatusName = employee.getEmp_check_list_status_id().getCheck_app_status_name();
-		if (!"Pending at DO".equals(currentStatusName)) {
-			throw new ResourceNotFoundException(
-					"Cannot send employee back to campus: Current employee status is '" + currentStatusName + 
-					"' (emp_id: " + empId + ", temp_payroll_id: '" + backToCampusDTO.getTempPayrollId() + 
-					"'). This method only works when employee status is 'Pending at DO'.");
-		}
-		
-		logger.info("Employee (emp_id: {}) current status is 'Pending at DO', proceeding with back to campus", empId);
-		
-		// Step 2: Update app status to "Back to Campus"
-		EmployeeCheckListStatus backToCampusStatus = employeeCheckListStatusRepository.findByCheck_app_status_name("Back to Campus")
-				.orElseThrow(() -> new ResourceNotFoundException("EmployeeCheckListStatus with name 'Back to Campus' not found"));
-		employee.setEmp_check_list_status_id(backToCampusStatus);
-		logger.info("Updated employee (emp_id: {}) app status to 'Back to Campus' (ID: {})", empId, backToCampusStatus.getEmp_app_status_id());
+		// Validation + Step 2: only "Pending at DO" can be sent back; app status moves to "Back to Campus"
+		reviewQueueService.checkLeaseHolder(empId, backToCampusDTO.getReviewerId());
+		onboardingWorkflowService.apply(employee, Transition.SEND_BACK_TO_CAMPUS);
 		
 		// Step 3: Save remarks
 		employee.setRemarks(backToCampusDTO.getRemarks().trim());
@@ -574,8 +541,7 @@ public class EmpSalaryInfoService {
 		// Step 4: Optionally update checklist IDs (capture current state similar to forward to central office)
 		if (backToCampusDTO.getCheckListIds() != null && !backToCampusDTO.getCheckListIds().trim().isEmpty()) {
 			// Validate checklist IDs before saving
-			validateCheckListIds(backToCampusDTO.getCheckListIds());
-			employee.setEmp_app_check_list_detl_id(backToCampusDTO.getCheckListIds());
+			employee.setEmp_app_check_list_detl_id(checklistService.normalize(backToCampusDTO.getCheckListIds()));
 			logger.info("Updated checklist IDs for employee (emp_id: {}): {}", empId, backToCampusDTO.getCheckListIds());
 		}
 		
@@ -587,45 +553,4 @@ public class EmpSalaryInfoService {
 		// Return the DTO with saved data
 		return backToCampusDTO;
 	}
-	
-	/**
-	 * Validate checklist IDs - checks if all IDs in comma-separated string exist in EmpAppCheckListDetl table
-	 * @param checkListIds Comma-separated string of checklist IDs (e.g., "1,2,3,4,5,6,7")
-	 * @throws ResourceNotFoundException if any checklist ID is invalid or not found
-	 */
-	private void validateCheckListIds(String checkListIds) {
-		if (checkListIds == null || checkListIds.trim().isEmpty()) {
-			return; // No validation needed if empty
-		}
-		
-		// Split comma-separated string into individual IDs
-		String[] idArray = checkListIds.split(",");
-		
-		for (String idStr : idArray) {
-			idStr = idStr.trim(); // Remove whitespace
-			
-			if (idStr.isEmpty()) {
-				continue; // Skip empty strings
-			}
-			
-			try {
-				Integer checklistId = Integer.parseInt(idStr);
-				
-				// Check if checklist ID exists and is active in EmpAppCheckListDetl table
-				empAppCheckListDetlRepository.findByIdAndIsActive(checklistId, 1)
-					.orElseThrow(() -> new ResourceNotFoundException(
-							"Checklist ID " + checklistId + " not found or inactive in checklist master table. " +
-							"Please provide valid checklist IDs. Provided checklist IDs: " + checkListIds));
-				
-				logger.debug("Validated checklist ID: {} exists and is active", checklistId);
-				
-			} catch (NumberFormatException e) {
-				throw new ResourceNotFoundException(
-						"Invalid checklist ID format: '" + idStr + "'. Checklist IDs must be numeric. " +
-						"Provided checklist IDs: " + checkListIds);
-			}
-		}
-		
-		logger.info("✅ All checklist IDs validated successfully: {}", checkListIds);
-	}
 }
@@ -24,7 +24,6 @@ import com.employee.entity.EmpExperienceDetails;
 import com.employee.entity.EmpFamilyDetails;
 import com.employee.entity.EmpPfDetails;
 import com.employee.entity.Employee;
-import com.employee.entity.EmployeeCheckListStatus;
 import com.employee.exception.ResourceNotFoundException;
 import com.employee.repository.BloodGroupRepository;
 import com.employee.repository.BuildingRepository;
@@ -42,7 +41,6 @@ import com.employee.repository.EmpExperienceDetailsRepository;
 import com.employee.repository.EmpFamilyDetailsRepository;
 import com.employee.repository.EmpPfDetailsRepository;
 import com.employee.repository.EmpaddressInfoRepository;
-import com.employee.repository.EmployeeCheckListStatusRepository;
 import com.employee.repository.EmployeeRepository;
 import com.employee.repository.EmployeeTypeRepository;
 import com.employee.repository.GenderRepository;
@@ -56,6 +54,9 @@ import com.employee.repository.StateRepository;
 import com.employee.repository.WorkingModeRepository;
 import com.employee.repository.OccupationRepository;
 import com.employee.repository.QualificationRepository;
+import com.employee.service.OnboardingCompletenessService.Section;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+import com.employee.service.OnboardingWorkflowService.Transition;
 
 /**
  * Service for handling Basic Info related tabs (4 APIs).
@@ -85,7 +86,7 @@ public class EmployeeBasicInfoTabService {
     private EmpDocumentsRepository empDocumentsRepository;
 
     @Autowired
-    private EmployeeCheckListStatusRepository employeeCheckListStatusRepository;
+    private OnboardingWorkflowService onboardingWorkflowService;
 
     @Autowired
     private EmpaddressInfoRepository empaddressInfoRepository;
@@ -111,6 +112,12 @@ public class EmployeeBasicInfoTabService {
     @Autowired
     private GenderRepository genderRepository;
 
+    @Autowired
+    private IdentityNumberValidator identityNumberValidator;
+
+    @Autowired
+    private IdentityIndexService identityIndexService;
+
     @Autowired
     private BloodGroupRepository bloodGroupRepository;
 
@@ -159,6 +166,12 @@ public class EmployeeBasicInfoTabService {
     @Autowired
     private SkillTestDetailsRepository skillTestDetailsRepository;
 
+    @Autowired
+    private OnboardingCompletenessService onboardingCompletenessService;
+
+    @Autowired
+    private DocumentStoreService documentStoreService;
+
     // ============================================================================
     // API METHODS (4 APIs)
     // ============================================================================
@@ -216,13 +229,10 @@ public class EmployeeBasicInfoTabService {
                 // UPDATE MODE: Update existing employee entity
                 updateEmployeeEntity(employee, basicInfo);
                 // Set updated_by and updated_date ONLY if status is "Confirm"
-                if (employee.getEmp_check_list_status_id() != null) {
-                    String currentStatus = employee.getEmp_check_list_status_id().getCheck_app_status_name();
-                    if ("Confirm".equals(currentStatus)) {
-                        Integer updatedBy = basicInfo.getUpdatedBy() != null ? basicInfo.getUpdatedBy() : 1;
-                        employee.setUpdated_by(updatedBy);
-                        employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
-                    }
+                if (onboardingWorkflowService.isIn(employee, OnboardingStatus.CONFIRM)) {
+                    Integer updatedBy = basicInfo.getUpdatedBy() != null ? basicInfo.getUpdatedBy() : 1;
+                    employee.setUpdated_by(updatedBy);
+                    employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
                 }
             }
 
@@ -249,6 +259,8 @@ public class EmployeeBasicInfoTabService {
                 saveEmpPfDetailsEntity(empPfDetails, employee, isUpdate ? updatedBy : null);
             }
 
+            onboardingCompletenessService.onSectionSaved(employee, Section.BASIC_INFO, true);
+
             basicInfo.setEmpId(employee.getEmp_id());
             logger.info("✅ Basic Info saved successfully for emp_id: {}", employee.getEmp_id());
             return basicInfo;
@@ -290,6 +302,7 @@ public class EmployeeBasicInfoTabService {
             Integer createdBy = addressInfo.getCreatedBy();
             Integer updatedBy = addressInfo.getUpdatedBy();
             int count = saveAddressEntities(employee, addressInfo, createdBy, updatedBy);
+            onboardingCompletenessService.onSectionSaved(employee, Section.ADDRESS, count > 0);
 
             logger.info("✅ Saved {} address records for emp_id: {} (tempPayrollId: {})", 
                     count, employee.getEmp_id(), tempPayrollId);
@@ -328,6 +341,7 @@ public class EmployeeBasicInfoTabService {
             Integer createdBy = familyInfo.getCreatedBy();
             Integer updatedBy = familyInfo.getUpdatedBy();
             int count = saveFamilyEntities(employee, familyInfo, createdBy, updatedBy);
+            onboardingCompletenessService.onSectionSaved(employee, Section.FAMILY, count > 0);
             saveFamilyGroupPhoto(employee, familyInfo);
 
             logger.info("✅ Saved {} family member records for emp_id: {} (tempPayrollId: {})", 
@@ -367,6 +381,7 @@ public class EmployeeBasicInfoTabService {
             Integer createdBy = previousEmployerInfo.getCreatedBy();
             Integer updatedBy = previousEmployerInfo.getUpdatedBy();
             int count = saveExperienceEntities(employee, previousEmployerInfo, createdBy, updatedBy);
+            onboardingCompletenessService.onSectionSaved(employee, Section.PREVIOUS_EMPLOYER, count > 0);
 
             logger.info("✅ Saved {} experience records for emp_id: {} (tempPayrollId: {})", 
                     count, employee.getEmp_id(), tempPayrollId);
@@ -400,8 +415,8 @@ public class EmployeeBasicInfoTabService {
         } else {
             // Check by email
             if (empDetails.getPersonal_email() != null && !empDetails.getPersonal_email().trim().isEmpty()) {
-                Optional<EmpDetails> existingByEmail = empDetailsRepository
-                        .findByPersonal_email(empDetails.getPersonal_email().trim());
+                Optional<EmpDetails> existingByEmail = identityIndexService
+                        .findEmpDetailsByPersonalEmail(empDetails.getPersonal_email().trim());
                 if (existingByEmail.isPresent()) {
                     updateEmpDetailsFieldsExceptEmail(existingByEmail.get(), empDetails);
                     existingByEmail.get().setEmployee_id(employee);
@@ -800,11 +815,7 @@ public class EmployeeBasicInfoTabService {
      * Helper: Set employee status to "Incompleted"
      */
     private void setIncompletedStatus(Employee employee) {
-        EmployeeCheckListStatus incompletedStatus = employeeCheckListStatusRepository
-                .findByCheck_app_status_name("Incompleted")
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "EmployeeCheckListStatus with name 'Incompleted' not found"));
-        employee.setEmp_check_list_status_id(incompletedStatus);
+        onboardingWorkflowService.apply(employee, Transition.CREATE);
     }
 
     /**
@@ -1334,6 +1345,7 @@ public class EmployeeBasicInfoTabService {
     private EmpDocuments createFamilyGroupPhotoDocument(String familyGroupPhotoPath, Employee employee) {
         EmpDocuments doc = new EmpDocuments();
         doc.setEmp_id(employee);
+        documentStoreService.checkDocPath(familyGroupPhotoPath);
         doc.setDoc_path(familyGroupPhotoPath);
         doc.setIs_verified(0);
         doc.setIs_active(1);
@@ -1689,17 +1701,16 @@ public class EmployeeBasicInfoTabService {
         }
 
         // Validate Aadhaar Number format IF provided (optional field)
-        // CHANGED: Validation now supports Long type (removed .trim())
         if (basicInfo.getAdhaarNo() != null && basicInfo.getAdhaarNo() > 0) {
-            String aadhar = String.valueOf(basicInfo.getAdhaarNo());
+            long aadhar = basicInfo.getAdhaarNo();
             
             // Layer 1: Format validation - must be exactly 12 numeric digits
-            if (!aadhar.matches("^[0-9]{12}$")) {
+            if (!identityNumberValidator.hasTwelveDigits(aadhar)) {
                 throw new ResourceNotFoundException("Aadhaar must be exactly 12 numeric digits. Please remove any spaces, dashes, or special characters.");
             }
             
             // Layer 2: Verhoeff algorithm validation - checks mathematical validity
-            if (!isValidAadhaar(aadhar)) {
+            if (!identityNumberValidator.isValidAadhaar(aadhar)) {
                 throw new ResourceNotFoundException("Invalid Aadhaar number format. Please verify the Aadhaar number and try again.");
             }
         }
@@ -1880,61 +1891,4 @@ public class EmployeeBasicInfoTabService {
             }
         }
     }
-
-    /**
-     * Validate Aadhaar number using Verhoeff algorithm
-     * This algorithm checks the mathematical validity of the Aadhaar number structure
-     * * @param aadhaar 12-digit Aadhaar number
-     * @return true if Aadhaar format is valid, false otherwise
-     */
-    private boolean isValidAadhaar(String aadhaar) {
-        // 1. Basic Regex Check: Length 12, cannot start with 0 or 1, numeric only
-        if (aadhaar == null || !aadhaar.matches("^[2-9][0-9]{11}$")) {
-            return false;
-        }
-
-        // Verhoeff multiplication table
-        int[][] multiplicationTable = {
-            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9},
-            {1, 2, 3, 4, 0, 6, 7, 8, 9, 5},
-            {2, 3, 4, 0, 1, 7, 8, 9, 5, 6},
-            {3, 4, 0, 1, 2, 8, 9, 5, 6, 7},
-            {4, 0, 1, 2, 3, 9, 5, 6, 7, 8},
-            {5, 9, 8, 7, 6, 0, 4, 3, 2, 1},
-            {6, 5, 9, 8, 7, 1, 0, 4, 3, 2},
-            {7, 6, 5, 9, 8, 2, 1, 0, 4, 3},
-            {8, 7, 6, 5, 9, 3, 2, 1, 0, 4},
-            {9, 8, 7, 6, 5, 4, 3, 2, 1, 0}
-        };
-
-        // Verhoeff permutation table
-        int[][] permutationTable = {
-            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9},
-            {1, 5, 7, 6, 2, 8, 3, 0, 9, 4},
-            {5, 8, 0, 3, 7, 9, 6, 1, 4, 2},
-            {8, 9, 1, 6, 0, 4, 3, 5, 2, 7},
-            {9, 4, 5, 3, 1, 2, 6, 8, 7, 0},
-            {4, 2, 8, 6, 5, 7, 3, 9, 0, 1},
-            {2, 7, 9, 3, 8, 0, 6, 4, 1, 5},
-            {7, 0, 4, 6, 9, 1, 3, 2, 5, 8}
-        };
-
-        int check = 0;
-        int[] digits = new int[12];
-
-        for (int i = 0; i < 12; i++) {
-            digits[i] = Character.getNumericValue(aadhaar.charAt(i));
-        }
-
-        // Apply Verhoeff algorithm
-        for (int i = 0; i < 12; i++) {
-            // FIX: Changed ((i + 1) % 8) to (i % 8)
-            // When i=0 (last digit), we must use permutation row 0.
-            int c = digits[11 - i];
-            int p = permutationTable[i % 8][c];
-            check = multiplicationTable[check][p];
-        }
-
-        return check == 0;
-    }
 }
\ No newline at end of file
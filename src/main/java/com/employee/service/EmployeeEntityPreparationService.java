@@ -13,7 +13,6 @@ import com.employee.entity.Building;
 import com.employee.entity.EmpDetails;
 import com.employee.entity.EmpPfDetails;
 import com.employee.entity.Employee;
-import com.employee.entity.EmployeeCheckListStatus;
 import com.employee.exception.ResourceNotFoundException;
 import com.employee.repository.BankDetailsRepository;
 import com.employee.repository.BloodGroupRepository;
@@ -33,7 +32,6 @@ import com.employee.repository.EmpFamilyDetailsRepository;
 import com.employee.repository.EmpPaymentTypeRepository;
 import com.employee.repository.EmpQualificationRepository;
 import com.employee.repository.EmpaddressInfoRepository;
-import com.employee.repository.EmployeeCheckListStatusRepository;
 import com.employee.repository.EmployeeRepository;
 import com.employee.repository.EmployeeTypeRepository;
 import com.employee.repository.GenderRepository;
@@ -79,7 +77,6 @@ public class EmployeeEntityPreparationService {
     @Autowired private DepartmentRepository departmentRepository;
     @Autowired private DesignationRepository designationRepository;
     @Autowired private EmployeeTypeRepository employeeTypeRepository;
-    @Autowired private EmployeeCheckListStatusRepository employeeCheckListStatusRepository;
     @Autowired private CasteRepository casteRepository;
     @Autowired private RelegionRepository relegionRepository;
     @Autowired private CategoryRepository categoryRepository;
@@ -199,9 +196,7 @@ public class EmployeeEntityPreparationService {
             employee.setModeOfHiring_id(modeOfHiringRepository.findByIdAndIsActive(basicInfo.getModeOfHiringId(), 1)
                     .orElseThrow(() -> new ResourceNotFoundException("Active ModeOfHiring not found")));
         }
-        EmployeeCheckListStatus pendingAtDOStatus = employeeCheckListStatusRepository.findByCheck_app_status_name("Pending at DO")
-                .orElseThrow(() -> new ResourceNotFoundException("EmployeeCheckListStatus with name 'Pending at DO' not found"));
-        employee.setEmp_check_list_status_id(pendingAtDOStatus);
+        // app status is assigned by the caller through OnboardingWorkflowService (Transition.CREATE)
         if (basicInfo.getReferenceEmpId() != null && basicInfo.getReferenceEmpId() > 0) {
             employee.setEmployee_reference(employeeRepository.findByIdAndIs_active(basicInfo.getReferenceEmpId(), 1)
                     .orElseThrow(() -> new ResourceNotFoundException("Active Reference Employee not found")));
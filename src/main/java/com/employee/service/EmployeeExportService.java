@@ -0,0 +1,229 @@
+package com.employee.service;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.employee.dto.EmployeeExportRowDTO;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeRepository;
+
+/**
+ * Full HR extract of employees as gzip-compressed CSV.
+ *
+ * Rows are read from one server-side cursor (EmployeeRepository.streamEmployeeExportRows) and
+ * written as soon as they are read, so memory does not grow with the number of employees.
+ * The read-only transaction runs on the replica when it is enabled, keeping long exports off
+ * the pool used by onboarding writes.
+ */
+@Service
+public class EmployeeExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeExportService.class);
+
+    /** Rows written between explicit flushes, so the client sees data while the cursor is read. */
+    private static final int FLUSH_EVERY = 1000;
+
+    /**
+     * Exportable columns, in default order; the header is the lower-case name.
+     */
+    public enum ExportColumn {
+        EMP_ID(true, EmployeeExportRowDTO::getEmpId),
+        TEMP_PAYROLL_ID(false, EmployeeExportRowDTO::getTempPayrollId),
+        PAYROLL_ID(false, EmployeeExportRowDTO::getPayrollId),
+        FIRST_NAME(false, EmployeeExportRowDTO::getFirstName),
+        LAST_NAME(false, EmployeeExportRowDTO::getLastName),
+        STATUS(false, EmployeeExportRowDTO::getStatus),
+        APP_STATUS(false, EmployeeExportRowDTO::getAppStatus),
+        DATE_OF_JOIN(true, EmployeeExportRowDTO::getDateOfJoin),
+        PRIMARY_MOBILE_NO(true, EmployeeExportRowDTO::getPrimaryMobileNo),
+        EMAIL(false, EmployeeExportRowDTO::getEmail),
+        CAMPUS_NAME(false, EmployeeExportRowDTO::getCampusName),
+        CAMPUS_CODE(true, EmployeeExportRowDTO::getCampusCode),
+        DEPARTMENT(false, EmployeeExportRowDTO::getDepartmentName),
+        DESIGNATION(false, EmployeeExportRowDTO::getDesignationName),
+        SALARY_STRUCTURE(false, EmployeeExportRowDTO::getStructureName),
+        GRADE(false, EmployeeExportRowDTO::getGradeName),
+        MONTHLY_CTC(true, EmployeeExportRowDTO::getMonthlyCtc),
+        YEARLY_CTC(true, EmployeeExportRowDTO::getYearlyCtc),
+        BANK_NAME(false, EmployeeExportRowDTO::getBankName),
+        BANK_BRANCH(false, EmployeeExportRowDTO::getBankBranch),
+        BANK_HOLDER_NAME(false, EmployeeExportRowDTO::getBankHolderName),
+        BANK_ACCOUNT_NO(true, EmployeeExportRowDTO::getBankAccountNo),
+        IFSC_CODE(false, EmployeeExportRowDTO::getIfscCode);
+
+        private final boolean numeric;
+        private final Function<EmployeeExportRowDTO, Object> value;
+
+        ExportColumn(boolean numeric, Function<EmployeeExportRowDTO, Object> value) {
+            this.numeric = numeric;
+            this.value = value;
+        }
+
+        public String header() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    /**
+     * Columns named in a comma-separated list (headers, any case), or all columns for null / blank.
+     *
+     * @throws ResourceNotFoundException for an unknown column name
+     */
+    public List<ExportColumn> resolveColumns(String columns) {
+        if (columns == null || columns.isBlank()) {
+            return List.of(ExportColumn.values());
+        }
+        List<ExportColumn> resolved = new ArrayList<>();
+        for (String name : columns.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                resolved.add(ExportColumn.valueOf(trimmed.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ResourceNotFoundException("Unknown export column '" + trimmed + "'");
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Writes the matching employees as gzip-compressed UTF-8 CSV with a header row.
+     * Null filters are not applied. Employees with several active salary or salary-account rows
+     * are written once, with the first of them.
+     *
+     * @param out response body; finished (gzip trailer written) but not closed by this method
+     * @return number of employees written
+     */
+    @Transactional(readOnly = true)
+    public int exportEmployeesCsv(Integer campusId, String status, Date joinedFrom, Date joinedTo,
+                                  List<ExportColumn> columns, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        int written = 0;
+        // syncFlush so the periodic flushes below actually push compressed bytes to the client
+        GZIPOutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(out), 8192, true);
+        try (Stream<EmployeeExportRowDTO> rows = employeeRepository.streamEmployeeExportRows(campusId, status, joinedFrom, joinedTo);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), 16 * 1024)) {
+
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns.get(i).header());
+            }
+            writer.write("\r\n");
+
+            int lastEmpId = Integer.MIN_VALUE;
+            Iterator<EmployeeExportRowDTO> it = rows.iterator();
+            while (it.hasNext()) {
+                EmployeeExportRowDTO row = it.next();
+                if (row.getEmpId() == lastEmpId) {
+                    continue; // extra salary / bank row of the employee just written
+                }
+                lastEmpId = row.getEmpId();
+                writeRow(writer, row, columns);
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        logger.info("Employee export: {} employees, campus={}, status={}, joined {}..{}, {} ms",
+                written, campusId, status, joinedFrom, joinedTo, (System.nanoTime() - start) / 1_000_000);
+        return written;
+    }
+
+    private static void writeRow(Writer writer, EmployeeExportRowDTO row, List<ExportColumn> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            ExportColumn column = columns.get(i);
+            Object value = column.value.apply(row);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Double amount) {
+                // Double.toString would switch to exponent notation for large amounts
+                writer.write(BigDecimal.valueOf(amount).stripTrailingZeros().toPlainString());
+            } else if (column.numeric) {
+                writer.write(value.toString());
+            } else {
+                writeText(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting; text starting with a formula character gets a leading apostrophe so
+     * spreadsheet applications do not evaluate it (CSV injection).
+     */
+    static void writeText(Writer writer, String text) throws IOException {
+        boolean formula = !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0;
+        boolean quote = formula;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Closing the CSV writer must finish the gzip stream but leave the response stream to the container.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
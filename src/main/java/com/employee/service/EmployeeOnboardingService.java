@@ -1,6 +1,7 @@
 package com.employee.service;
  
 import java.sql.Timestamp;
+import java.util.List;
 import java.util.Optional;
  
 import org.slf4j.Logger;
@@ -11,18 +12,21 @@ import org.springframework.transaction.annotation.Transactional;
  
 import com.employee.dto.BasicInfoDTO;
 import com.employee.dto.EmployeeOnboardingDTO;
+import com.employee.dto.IdentityMatchDTO;
 import com.employee.dto.TempPayrollIdResponseDTO;
 import com.employee.entity.Campus;
 import com.employee.entity.EmpDetails;
 import com.employee.entity.EmpPfDetails;
 import com.employee.entity.Employee;
-import com.employee.entity.EmployeeCheckListStatus;
 import com.employee.exception.ResourceNotFoundException;
 import com.employee.repository.EmpDetailsRepository;
 import com.employee.repository.EmpPfDetailsRepository;
-import com.employee.repository.EmployeeCheckListStatusRepository;
 import com.employee.repository.EmployeeRepository;
 import com.employee.repository.SkillTestDetailsRepository;
+import com.employee.service.IdentityIndexService.IdentityKey;
+import com.employee.service.OnboardingCompletenessService.Section;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+import com.employee.service.OnboardingWorkflowService.Transition;
  
 @Service
 @Transactional
@@ -43,7 +47,10 @@ public class EmployeeOnboardingService {
     private SkillTestDetailsRepository skillTestDetailsRepository;
  
     @Autowired
-    private EmployeeCheckListStatusRepository employeeCheckListStatusRepository;
+    private SkillTestDetailsService skillTestDetailsService;
+ 
+    @Autowired
+    private OnboardingWorkflowService onboardingWorkflowService;
  
     @Autowired
     private EmployeeValidationService employeeValidationService;
@@ -51,6 +58,12 @@ public class EmployeeOnboardingService {
     @Autowired
     private EmployeeEntityPreparationService entityPreparationService;
  
+    @Autowired
+    private IdentityIndexService identityIndexService;
+ 
+    @Autowired
+    private OnboardingCompletenessService onboardingCompletenessService;
+ 
     @Transactional
     public TempPayrollIdResponseDTO generateOrValidateTempPayrollId(Integer hrEmployeeId, BasicInfoDTO basicInfo) {
  
@@ -159,19 +172,13 @@ public class EmployeeOnboardingService {
         } else {
             logger.info("tempPayrollId NOT provided from frontend. Checking aadhar OR phone in SkillTestDetails, Employee, and EmpDetails tables...");
  
-            Optional<com.employee.entity.SkillTestDetails> existingByAadhaarInSkillTest = skillTestDetailsRepository
-                    .findActiveByAadhaarNo(aadharNum);
- 
-            Optional<EmpDetails> existingByAadhaarInEmployee = empDetailsRepository.findByAdhaar_no(aadharNum);
- 
-            Optional<com.employee.entity.SkillTestDetails> existingByPhoneInSkillTest = skillTestDetailsRepository
-                    .findActiveByContactNumber(phoneNumber);
- 
-            Optional<Employee> existingByPhoneInEmployee = employeeRepository.findByPrimary_mobile_no(phoneNumber);
+            // One indexed query; a filter negative could miss a candidate saved by another instance
+            List<IdentityMatchDTO> matches = identityIndexService.findMatchesInDatabase(aadharNum, phoneNumber, null, null);
  
+            Optional<IdentityMatchDTO> existingByAadhaarInSkillTest = findMatch(matches, IdentityKey.AADHAAR, "SKILL_TEST");
             if (existingByAadhaarInSkillTest.isPresent()) {
                 String existingTempPayrollId = existingByAadhaarInSkillTest.get().getTempPayrollId();
-                Long existingPhone = existingByAadhaarInSkillTest.get().getContact_number();
+                Long existingPhone = existingByAadhaarInSkillTest.get().getMobileNo();
                 throw new ResourceNotFoundException(
                         "Employee with Aadhaar number '" + aadharNum +
                                 "' already exists in SkillTestDetails table (active) with tempPayrollId: '" +
@@ -180,11 +187,11 @@ public class EmployeeOnboardingService {
                                 "'. Cannot generate new tempPayrollId. Please use the existing tempPayrollId from SkillTestDetails.");
             }
  
+            Optional<IdentityMatchDTO> existingByAadhaarInEmployee = findMatch(matches, IdentityKey.AADHAAR, "EMP_DETAILS");
             if (existingByAadhaarInEmployee.isPresent()) {
-                EmpDetails empDetails = existingByAadhaarInEmployee.get();
-                Employee existingEmp = empDetails.getEmployee_id();
-                String existingTempPayrollId = existingEmp != null ? existingEmp.getTempPayrollId() : "N/A";
-                int existingEmpId = existingEmp != null ? existingEmp.getEmp_id() : 0;
+                IdentityMatchDTO existingEmp = existingByAadhaarInEmployee.get();
+                String existingTempPayrollId = existingEmp.getEmpId() != null ? existingEmp.getTempPayrollId() : "N/A";
+                int existingEmpId = existingEmp.getEmpId() != null ? existingEmp.getEmpId() : 0;
                 throw new ResourceNotFoundException(
                         "Employee with Aadhaar number '" + aadharNum +
                                 "' already exists in EmpDetails table (linked to Employee emp_id: " + existingEmpId +
@@ -192,9 +199,10 @@ public class EmployeeOnboardingService {
                                 "'. Cannot generate new tempPayrollId.");
             }
  
+            Optional<IdentityMatchDTO> existingByPhoneInSkillTest = findMatch(matches, IdentityKey.MOBILE, "SKILL_TEST");
             if (existingByPhoneInSkillTest.isPresent()) {
                 String existingTempPayrollId = existingByPhoneInSkillTest.get().getTempPayrollId();
-                Long existingAadhaar = existingByPhoneInSkillTest.get().getAadhaar_no();
+                Long existingAadhaar = existingByPhoneInSkillTest.get().getAadhaarNo();
                 throw new ResourceNotFoundException(
                         "Employee with phone number '" + phoneNumber +
                                 "' already exists in SkillTestDetails table (active) with tempPayrollId: '" +
@@ -203,10 +211,11 @@ public class EmployeeOnboardingService {
                                 "'. Cannot generate new tempPayrollId. Please use the existing tempPayrollId from SkillTestDetails.");
             }
  
+            Optional<IdentityMatchDTO> existingByPhoneInEmployee = findMatch(matches, IdentityKey.MOBILE, "EMPLOYEE");
             if (existingByPhoneInEmployee.isPresent()) {
-                Employee existingEmp = existingByPhoneInEmployee.get();
+                IdentityMatchDTO existingEmp = existingByPhoneInEmployee.get();
                 String existingTempPayrollId = existingEmp.getTempPayrollId();
-                int existingEmpId = existingEmp.getEmp_id();
+                int existingEmpId = existingEmp.getEmpId();
                 throw new ResourceNotFoundException(
                         "Employee with phone number '" + phoneNumber +
                                 "' already exists in Employee table (emp_id: " + existingEmpId +
@@ -216,43 +225,9 @@ public class EmployeeOnboardingService {
  
             logger.info("Employee NOT found in SkillTestDetails, Employee, or EmpDetails tables. Generating new tempPayrollId...");
  
-            String maxInSkillTest = skillTestDetailsRepository.findMaxTempPayrollIdByKey(baseKey + "%");
-            String maxInEmployee = employeeRepository.findMaxTempPayrollIdByKey(baseKey + "%");
- 
-            logger.info("Max tempPayrollId in SkillTestDetails: {}", maxInSkillTest);
-            logger.info("Max tempPayrollId in Employee: {}", maxInEmployee);
- 
-            int maxValue = 0;
- 
-            if (maxInSkillTest != null) {
-                try {
-                    String numberPart = maxInSkillTest.substring(baseKey.length());
-                    int value = Integer.parseInt(numberPart);
-                    if (value > maxValue) {
-                        maxValue = value;
-                    }
-                } catch (NumberFormatException e) {
-                    logger.warn("Could not parse number part from SkillTestDetails: {}", maxInSkillTest);
-                }
-            }
- 
-            if (maxInEmployee != null) {
-                try {
-                    String numberPart = maxInEmployee.substring(baseKey.length());
-                    int value = Integer.parseInt(numberPart);
-                    if (value > maxValue) {
-                        maxValue = value;
-                    }
-                } catch (NumberFormatException e) {
-                    logger.warn("Could not parse number part from Employee: {}", maxInEmployee);
-                }
-            }
- 
-            int nextValue = maxValue + 1;
-            String paddedValue = String.format("%04d", nextValue);
-            finalTempPayrollId = baseKey + paddedValue;
+            finalTempPayrollId = skillTestDetailsService.nextTempPayrollId(baseKey);
  
-            logger.info("Generated new tempPayrollId: {} (next value: {})", finalTempPayrollId, nextValue);
+            logger.info("Generated new tempPayrollId: {}", finalTempPayrollId);
         }
  
         logger.info("✅ All validations passed. Proceeding with entity preparation and database save...");
@@ -265,32 +240,22 @@ public class EmployeeOnboardingService {
  
             entityPreparationService.updateEmployeeEntity(employee, basicInfo);
  
-            if (employee.getEmp_check_list_status_id() != null) {
-                String currentStatus = employee.getEmp_check_list_status_id().getCheck_app_status_name();
-                if ("Confirm".equals(currentStatus)) {
-                    employee.setUpdated_by(hrEmployeeId);
-                    employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
-                }
+            if (onboardingWorkflowService.isIn(employee, OnboardingStatus.CONFIRM)) {
+                employee.setUpdated_by(hrEmployeeId);
+                employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
             }
         } else {
             employee = entityPreparationService.prepareEmployeeEntity(basicInfo);
            
-            EmployeeCheckListStatus incompletedStatus = employeeCheckListStatusRepository
-                    .findByCheck_app_status_name("Incompleted")
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "EmployeeCheckListStatus with name 'Incompleted' not found"));
-            employee.setEmp_check_list_status_id(incompletedStatus);
+            onboardingWorkflowService.apply(employee, Transition.CREATE);
             logger.info("➕ INSERT MODE: Creating new employee with temp_payroll_id: {} (app status set to 'Incompleted')", finalTempPayrollId);
         }
  
         employee.setTempPayrollId(finalTempPayrollId);
  
-        if (isUpdate && employee.getEmp_check_list_status_id() != null) {
-            String currentStatus = employee.getEmp_check_list_status_id().getCheck_app_status_name();
-            if ("Confirm".equals(currentStatus)) {
-                employee.setUpdated_by(hrEmployeeId);
-                employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
-            }
+        if (isUpdate && onboardingWorkflowService.isIn(employee, OnboardingStatus.CONFIRM)) {
+            employee.setUpdated_by(hrEmployeeId);
+            employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
         }
         employee = employeeRepository.save(employee);
  
@@ -310,8 +275,8 @@ public class EmployeeOnboardingService {
                 logger.info("Updated existing EmpDetails for employee (emp_id: {}) - email excluded from update", employeeId);
             } else {
                 if (empDetails.getPersonal_email() != null && !empDetails.getPersonal_email().trim().isEmpty()) {
-                    Optional<EmpDetails> existingByEmail = empDetailsRepository
-                            .findByPersonal_email(empDetails.getPersonal_email().trim());
+                    Optional<EmpDetails> existingByEmail = identityIndexService
+                            .findEmpDetailsByPersonalEmail(empDetails.getPersonal_email().trim());
  
                     if (existingByEmail.isPresent()) {
                         EmpDetails existing = existingByEmail.get();
@@ -333,8 +298,8 @@ public class EmployeeOnboardingService {
             }
         } else {
             if (empDetails.getPersonal_email() != null && !empDetails.getPersonal_email().trim().isEmpty()) {
-                Optional<EmpDetails> existingByEmail = empDetailsRepository
-                        .findByPersonal_email(empDetails.getPersonal_email().trim());
+                Optional<EmpDetails> existingByEmail = identityIndexService
+                        .findEmpDetailsByPersonalEmail(empDetails.getPersonal_email().trim());
  
                 if (existingByEmail.isPresent()) {
                     EmpDetails existing = existingByEmail.get();
@@ -355,6 +320,8 @@ public class EmployeeOnboardingService {
             }
         }
  
+        onboardingCompletenessService.onSectionSaved(employee, Section.BASIC_INFO, true);
+ 
         EmpPfDetails empPfDetails = entityPreparationService.prepareEmpPfDetailsEntity(basicInfo, employee, createdBy);
  
         if (empPfDetails != null) {
@@ -398,4 +365,10 @@ public class EmployeeOnboardingService {
  
         return response;
     }
+
+    private static Optional<IdentityMatchDTO> findMatch(List<IdentityMatchDTO> matches, IdentityKey key, String source) {
+        return matches.stream()
+                .filter(m -> key.name().equals(m.getKey()) && source.equals(m.getSource()))
+                .findFirst();
+    }
 }
\ No newline at end of file
@@ -21,7 +21,6 @@ import com.employee.entity.EmpDocuments;
 import com.employee.entity.EmpPaymentType;
 import com.employee.entity.EmpQualification;
 import com.employee.entity.Employee;
-import com.employee.entity.EmployeeCheckListStatus;
 import com.employee.entity.OrgBank;
 import com.employee.entity.OrgBankBranch;
 import com.employee.exception.ResourceNotFoundException;
@@ -32,7 +31,6 @@ import com.employee.repository.EmpChequeDetailsRepository;
 import com.employee.repository.EmpDocTypeRepository;
 import com.employee.repository.EmpDocumentsRepository;
 import com.employee.repository.EmpQualificationRepository;
-import com.employee.repository.EmployeeCheckListStatusRepository;
 import com.employee.repository.EmployeeRepository;
 import com.employee.repository.EmployeeTypeRepository;
 import com.employee.repository.EmpPaymentTypeRepository;
@@ -41,6 +39,9 @@ import com.employee.repository.OrgBankRepository;
 import com.employee.repository.QualificationDegreeRepository;
 import com.employee.repository.QualificationRepository;
 import com.employee.repository.SubjectRepository;
+import com.employee.service.OnboardingCompletenessService.Section;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+import com.employee.service.OnboardingWorkflowService.Transition;
 
 /**
  * Service for handling remaining employee onboarding tabs (5 APIs). Contains:
@@ -63,7 +64,13 @@ public class EmployeeRemainingTabService {
 	private QualificationRepository qualificationRepository;
 
 	@Autowired
-	private EmployeeCheckListStatusRepository employeeCheckListStatusRepository;
+	private OnboardingWorkflowService onboardingWorkflowService;
+
+	@Autowired
+	private OnboardingCompletenessService onboardingCompletenessService;
+
+	@Autowired
+	private DocumentStoreService documentStoreService;
 
 	@Autowired
 	private EmpQualificationRepository empQualificationRepository;
@@ -141,6 +148,7 @@ public class EmployeeRemainingTabService {
 
 // Step 4: Save to database ONLY after all validations pass
 			updateOrCreateQualificationEntities(qualificationEntities, employee, updatedBy);
+			onboardingCompletenessService.onSectionSaved(employee, Section.QUALIFICATION, !qualificationEntities.isEmpty());
 
 // Note: qualification_id is now set from BasicInfoDTO.qualificationId (not from qualification tab's isHighest)
 // Removed updateHighestQualification call - qualification_id should be set when BasicInfo is saved
@@ -185,6 +193,7 @@ public class EmployeeRemainingTabService {
 
 // Step 4: Save to database ONLY after all validations pass
 			updateOrCreateDocumentEntities(documentEntities, employee, updatedBy);
+			onboardingCompletenessService.onSectionSaved(employee, Section.DOCUMENTS, !documentEntities.isEmpty());
 
 			logger.info("✅ Saved {} document records for emp_id: {} (tempPayrollId: {})", documentEntities.size(),
 					employee.getEmp_id(), tempPayrollId);
@@ -230,6 +239,7 @@ public class EmployeeRemainingTabService {
 
 // Step 5: Save or update EmpSubject if subjectId and agreedPeriodsPerWeek are provided
 			saveOrUpdateEmpSubject(employee, categoryInfo, createdBy, updatedBy);
+			onboardingCompletenessService.onEmployeeSaved(employee);
 
 			logger.info("✅ Updated category info for emp_id: {} (tempPayrollId: {})", employee.getEmp_id(),
 					tempPayrollId);
@@ -271,6 +281,7 @@ public class EmployeeRemainingTabService {
 
 // Step 4: Save to database ONLY after all validations pass
 			updateOrCreateBankEntities(bankEntities, employee, updatedBy);
+			onboardingCompletenessService.onSectionSaved(employee, Section.BANK, !bankEntities.isEmpty());
 
 			logger.info("✅ Saved {} bank account records for emp_id: {} (tempPayrollId: {})", bankEntities.size(),
 					employee.getEmp_id(), tempPayrollId);
@@ -316,6 +327,7 @@ public class EmployeeRemainingTabService {
 // Step 4: Save to database ONLY after all validations pass
 			employeeRepository.save(employee);
 			saveAgreementChequeDetails(agreementInfo, employee, createdBy, updatedBy);
+			onboardingCompletenessService.onEmployeeSaved(employee);
 
 			logger.info(
 					"✅ Saved agreement info and changed status to 'Pending at DO' for emp_id: {} (tempPayrollId: {})",
@@ -350,10 +362,7 @@ public class EmployeeRemainingTabService {
 	 * Helper: Change employee status to "Pending at DO"
 	 */
 	private void changeStatusToPendingAtDO(Employee employee) {
-		EmployeeCheckListStatus pendingAtDOStatus = employeeCheckListStatusRepository
-				.findByCheck_app_status_name("Pending at DO").orElseThrow(() -> new ResourceNotFoundException(
-						"EmployeeCheckListStatus with name 'Pending at DO' not found"));
-		employee.setEmp_check_list_status_id(pendingAtDOStatus);
+		onboardingWorkflowService.apply(employee, Transition.SUBMIT_TO_DO);
 	}
 
 // ============================================================================
@@ -503,6 +512,7 @@ public class EmployeeRemainingTabService {
 			Integer createdBy) {
 		EmpDocuments doc = new EmpDocuments();
 		doc.setEmp_id(employee);
+		documentStoreService.checkDocPath(docDTO.getDocPath());
 		doc.setDoc_path(docDTO.getDocPath());
 		doc.setIs_verified(docDTO.getIsVerified() != null && docDTO.getIsVerified() ? 1 : 0);
 		doc.setIs_active(1);
@@ -605,8 +615,7 @@ public class EmployeeRemainingTabService {
 		}
 
 // Set updated_by and updated_date on Employee table ONLY if status is "Confirm"
-		if (updatedBy != null && updatedBy > 0 && employee.getEmp_check_list_status_id() != null
-				&& "Confirm".equals(employee.getEmp_check_list_status_id().getCheck_app_status_name())) {
+		if (updatedBy != null && updatedBy > 0 && onboardingWorkflowService.isIn(employee, OnboardingStatus.CONFIRM)) {
 			employee.setUpdated_by(updatedBy);
 			employee.setUpdated_date(new java.sql.Timestamp(System.currentTimeMillis()));
 		}
@@ -938,8 +947,7 @@ public class EmployeeRemainingTabService {
 		}
 
 // Set updated_by and updated_date on Employee table ONLY if status is "Confirm"
-		if (updatedBy != null && updatedBy > 0 && employee.getEmp_check_list_status_id() != null
-				&& "Confirm".equals(employee.getEmp_check_list_status_id().getCheck_app_status_name())) {
+		if (updatedBy != null && updatedBy > 0 && onboardingWorkflowService.isIn(employee, OnboardingStatus.CONFIRM)) {
 			employee.setUpdated_by(updatedBy);
 			employee.setUpdated_date(new java.sql.Timestamp(System.currentTimeMillis()));
 		}
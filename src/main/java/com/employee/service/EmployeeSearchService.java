@@ -89,7 +89,7 @@ public class EmployeeSearchService {
     /**
      * Map Employee entity to EmployeeSearchResponseDTO
      */
-    private EmployeeSearchResponseDTO mapToResponseDTO(Employee employee) {
+    EmployeeSearchResponseDTO mapToResponseDTO(Employee employee) {
         EmployeeSearchResponseDTO dto = new EmployeeSearchResponseDTO();
         dto.setEmployeeId(employee.getEmp_id());
         
@@ -108,6 +108,8 @@ public class EmployeeValidationService {
     private OrgBankRepository orgBankRepository;
     @Autowired
     private OrgBankBranchRepository orgBankBranchRepository;
+    @Autowired
+    private IdentityNumberValidator identityNumberValidator;
  
     /**
      * Pre-flight checks: Validate data formats, lengths, and constraints that could cause runtime errors
@@ -303,18 +305,16 @@ public class EmployeeValidationService {
         }
  
         // Validate Aadhaar Number format IF provided (optional field)
-        // CHANGED: Fixed compilation error by handling Long type correctly
         if (basicInfo.getAdhaarNo() != null && basicInfo.getAdhaarNo() > 0) {
-            // Convert Long to String for validation
-            String aadhar = String.valueOf(basicInfo.getAdhaarNo());
+            long aadhar = basicInfo.getAdhaarNo();
            
             // Layer 1: Format validation - must be exactly 12 numeric digits
-            if (!aadhar.matches("^[0-9]{12}$")) {
+            if (!identityNumberValidator.hasTwelveDigits(aadhar)) {
                 throw new ResourceNotFoundException("Aadhaar must be exactly 12 numeric digits.");
             }
            
             // Layer 2: Verhoeff algorithm validation - checks mathematical validity
-            if (!isValidAadhaar(aadhar)) {
+            if (!identityNumberValidator.isValidAadhaar(aadhar)) {
                 throw new ResourceNotFoundException("Invalid Aadhaar number format. Please verify the Aadhaar number and try again.");
             }
         }
@@ -512,63 +512,5 @@ public class EmployeeValidationService {
             // Note: tempPayrollId is valid if found in EITHER SkillTestDetails OR Employee table
         }
     }
- 
- 
-    /**
-     * Validate Aadhaar number using Verhoeff algorithm
-     * This algorithm checks the mathematical validity of the Aadhaar number structure
-     * * @param aadhaar 12-digit Aadhaar number
-     * @return true if Aadhaar format is valid, false otherwise
-     */
-    private boolean isValidAadhaar(String aadhaar) {
- 
-        if (aadhaar == null || !aadhaar.matches("\\d{12}")) {
-            return false;
-        }
- 
-        // Aadhaar cannot start with 0 or 1 (UIDAI rule)
-        if (aadhaar.charAt(0) == '0' || aadhaar.charAt(0) == '1') {
-            return false;
-        }
- 
-        final int[][] d = {
-                {0,1,2,3,4,5,6,7,8,9},
-                {1,2,3,4,0,6,7,8,9,5},
-                {2,3,4,0,1,7,8,9,5,6},
-                {3,4,0,1,2,8,9,5,6,7},
-                {4,0,1,2,3,9,5,6,7,8},
-                {5,9,8,7,6,0,4,3,2,1},
-                {6,5,9,8,7,1,0,4,3,2},
-                {7,6,5,9,8,2,1,0,4,3},
-                {8,7,6,5,9,3,2,1,0,4},
-                {9,8,7,6,5,4,3,2,1,0}
-        };
- 
-        final int[][] p = {
-                {0,1,2,3,4,5,6,7,8,9},
-                {1,5,7,6,2,8,3,0,9,4},
-                {5,8,0,3,7,9,6,1,4,2},
-                {8,9,1,6,0,4,3,5,2,7},
-                {9,4,5,3,1,2,6,8,7,0},
-                {4,2,8,6,5,7,3,9,0,1},
-                {2,7,9,3,8,0,6,4,1,5},
-                {7,0,4,6,9,1,3,2,5,8}
-        };
- 
-        int c = 0;
-        int[] arr = new int[aadhaar.length()];
- 
-        // Reverse digits
-        for (int i = 0; i < aadhaar.length(); i++) {
-            arr[i] = Character.getNumericValue(aadhaar.charAt(aadhaar.length() - 1 - i));
-        }
- 
-        // Apply Verhoeff checksum
-        for (int i = 0; i < arr.length; i++) {
-            c = d[c][p[i % 8][arr[i]]];
-        }
- 
-        return c == 0;
-    }
 }
  
\ No newline at end of file
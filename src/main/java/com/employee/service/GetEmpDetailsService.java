@@ -10,7 +10,9 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.employee.config.ReadFromPrimary;
 import com.employee.dto.AllDocumentsDTO;
 import com.employee.dto.BankInfoGetDTO;
 import com.employee.dto.CategoryInfoDTO1;
@@ -50,7 +52,12 @@ import com.employee.repository.EmployeeRepository;
 import com.employee.repository.SkillTestApprovalRepository;
 import com.employee.repository.SkillTestResultRepository;
 
+/**
+ * Read-only; runs on the read replica when one is configured. Lookups by temp payroll ID serve
+ * the onboarding screens, which read a tab back right after saving it, so those stay on the primary.
+ */
 @Service
+@Transactional(readOnly = true)
 public class GetEmpDetailsService {
 	
 	@Autowired EmpFamilyDetailsRepository empFamilyDetailsRepo;
@@ -112,6 +119,7 @@ public class GetEmpDetailsService {
 	   
 	   
 
+	    @ReadFromPrimary
 	    public List<EmpExperienceDetailsDTO> getExperienceByTempPayrollId(String tempPayrollId) {
 
 	        List<EmpExperienceDetails> experienceList =
@@ -144,10 +152,12 @@ public class GetEmpDetailsService {
 	    }
 	    
 	 // Change the return type from CategoryInfoDTO to CategoryInfoDTO1
+	    @ReadFromPrimary
 	    public List<CategoryInfoDTO1> getCategoryInfo(String TemppayrollId) {
 	        return empSubjectRepository.findCategoryInfoByPayrollId(TemppayrollId);
 	    }
 	    
+	    @ReadFromPrimary
 	    public EmployeeBankDetailsResponseDTO getBankDetailsByTempPayrollId(String tempPayrollId) {
 
 	        // Step 1: Get employee by tempPayrollId
@@ -206,11 +216,13 @@ public class GetEmpDetailsService {
 	    	return profileRepo.findByPayrollId(payrollId);	   
 	    }
 	    //EmployeeOnboardingView
+	    @ReadFromPrimary
 	    public Optional<EmployeeOnboardingView> getEmployeeOnboardingByTempPayrollId(String tempPayrollId) {
 	        return employeeOnboardingRepo.findByTempPayrollId(tempPayrollId);
 	    }
 	    
 	    //MangerDetailsOf the employee
+	    @ReadFromPrimary
 	    public ManagerDTO getManagerDetailsByTempPayrollId(String tempPayrollId) {
 	        return employeeRepo.findByTempPayrollId(tempPayrollId)
 	                .map(emp -> {
@@ -228,6 +240,7 @@ public class GetEmpDetailsService {
 	                })
 	                .orElse(null);
 	    }
+	    @ReadFromPrimary
 	    public ReferenceDTO getReferenceDetailsByTempPayrollId(String tempPayrollId) {
 	        return employeeRepo.findByTempPayrollId(tempPayrollId)
 	                .map(emp -> {
@@ -256,6 +269,7 @@ public class GetEmpDetailsService {
 //	    }
 
 //	    @Transactional(readOnly = true)
+	    @ReadFromPrimary
 	    public EmployeeAgreementDetailsDto getAgreementChequeInfo(String tempPayrollId) {
 	        Optional<Employee> employeeOpt = employeeRepo.findByTempPayrollId(tempPayrollId);
 
@@ -294,6 +308,7 @@ public class GetEmpDetailsService {
 	    }
 
 	    
+	  @ReadFromPrimary
 	  public AllDocumentsDTO getAllDocumentsByTempPayrollId(String tempPayrollId) {
 	       
 	        // Step 1: Find employee by temp_payroll_id
@@ -328,6 +343,13 @@ public class GetEmpDetailsService {
 	            }
 	           
 	            docDetails.setDocPath(empDoc.getDoc_path());
+	            if (DocumentStoreService.isStored(empDoc.getDoc_path())) {
+	                // images are served downscaled by default; the original stays one link away
+	                String contentUrl = "/api/employee/documents/" + empDoc.getEmp_doc_id() + "/content";
+	                docDetails.setOriginalUrl(contentUrl);
+	                docDetails.setPreviewUrl(contentUrl + "?rendition=PREVIEW");
+	                docDetails.setThumbnailUrl(contentUrl + "?rendition=THUMBNAIL");
+	            }
 	            docDetails.setIsVerified(empDoc.getIs_verified());
 	            docDetails.setIsActive(empDoc.getIs_active());
 	           
@@ -341,6 +363,7 @@ public class GetEmpDetailsService {
 	    }
 	  
 	  
+	  @ReadFromPrimary
 	  public WorkingInfoDTO getWorkingInfoByTempPayrollId(String tempPayrollId) {
 	        // 1. Fetch the Employee entity with all required joins
 	        Employee employee = employeeRepo.findWorkingInfoByTempPayrollId(tempPayrollId)
@@ -405,6 +428,7 @@ public class GetEmpDetailsService {
 	        return null; // or "N/A"
 	    }
 	    
+	    @ReadFromPrimary
 	    public QualificationInfoDTO getHighestQualificationDetails(String tempPayrollId) {
 	        
 	        // 1. Fetch the Employee record with the highest qualification type
@@ -451,6 +475,7 @@ public class GetEmpDetailsService {
 	        return dto;
 	    }
 	    
+	    @ReadFromPrimary
 	    public List<FamilyDetailsResponseDTO> getFamilyDetailsWithAddressInfo(String tempPayrollId) {
 	        
 	        // 1. Find the Employee
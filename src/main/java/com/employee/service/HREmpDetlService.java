@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.employee.dto.AddressResponseDTO;
 import com.employee.dto.BankInfoGetDTO;
@@ -62,9 +63,9 @@ import com.employee.repository.EmpaddressInfoRepository;
 import com.employee.repository.EmployeeRepository;
 import com.employee.repository.OrganizationRepository;
 
-import jakarta.transaction.Transactional;
 
 @Service
+@Transactional(readOnly = true)
 public class HREmpDetlService {
 	
 	
@@ -141,8 +142,8 @@ public class HREmpDetlService {
 	        Employee employee = employeeRepository.findByPayRollId(payrollId)
 	                .orElseThrow(() -> new RuntimeException("Employee not found for payrollId: " + payrollId));
 
-	        // Step 2: Get family records
-	        List<EmpFamilyDetails> familyList = empFamilyDetailsRepository.findByEmp_id_EmpId(employee.getEmp_id());
+	        // Step 2: Get family records that are employees (parent employee + designation fetched in one query)
+	        List<EmpFamilyDetails> familyList = empFamilyDetailsRepository.findInOrganizationByEmpId(employee.getEmp_id());
 
 	        // Step 3: Filter and map to DTO
 	        return familyList.stream()
@@ -161,7 +162,7 @@ public class HREmpDetlService {
 	    }
 	// 🔹 Manager Details
 	    public EmployeeRelationDTO getManagerDetails(String payrollId) {
-	        Employee employee = employeeRepository.findByPayRollId(payrollId)
+	        Employee employee = employeeRepository.findProfileCardByPayRollId(payrollId)
 	                .orElseThrow(() -> new RuntimeException("Employee not found"));
 
 	        Employee manager = employee.getEmployee_manager_id();
@@ -170,7 +171,7 @@ public class HREmpDetlService {
 
 	    // 🔹 Reference Details
 	    public EmployeeRelationDTO getReferenceDetails(String payrollId) {
-	        Employee employee = employeeRepository.findByPayRollId(payrollId)
+	        Employee employee = employeeRepository.findProfileCardByPayRollId(payrollId)
 	                .orElseThrow(() -> new RuntimeException("Employee not found"));
 
 	        Employee reference = employee.getEmployee_reference();
@@ -179,7 +180,7 @@ public class HREmpDetlService {
 
 	    // 🔹 Reporting Manager Details
 	    public EmployeeRelationDTO getReportingManagerDetails(String payrollId) {
-	        Employee employee = employeeRepository.findByPayRollId(payrollId)
+	        Employee employee = employeeRepository.findProfileCardByPayRollId(payrollId)
 	                .orElseThrow(() -> new RuntimeException("Employee not found"));
 
 	        Employee reportingManager = employee.getEmployee_reporting_id();
@@ -254,8 +255,8 @@ public class HREmpDetlService {
 	    
 	    public EmployeeCurrentInfoDTO getCurrentInfoByPayrollId(String payrollId) {
 
-	        // ✅ Use your existing Optional<Employee> method
-	        Optional<Employee> optionalEmp = employeeRepository.findByPayRollId(payrollId);
+	        // Profile card plan brings hired-by and reference in the same statement
+	        Optional<Employee> optionalEmp = employeeRepository.findProfileCardByPayRollId(payrollId);
 
 	        if (optionalEmp.isEmpty()) {
 	            throw new RuntimeException("Employee not found for payrollId: " + payrollId);
@@ -449,7 +450,6 @@ public class HREmpDetlService {
 	 // Assuming this is inside a Service class that has @Autowired employeeRepository, 
 	 // empChequeDetailsRepository, AND organizationRepository.
 	    
-	 @Transactional
 	 public EmployeeAgreementDetailsDto getChequeDetailsByPayrollId(String payrollId) {
 	     
 	     // 1. Find employee using correct field name payRollId (capital R)
@@ -502,8 +502,8 @@ public class HREmpDetlService {
 	    
 	    public EmployeeCampusInfoDTO getEmployeeCampusInfo(String payrollId) {
 	        
-	        // 1. Fetch the employee by payrollId
-	        Employee employee = employeeRepository.findByPayRollId(payrollId)
+	        // 1. Fetch the employee by payrollId (working info plan: campus, designation, work mode, joining type, replacement)
+	        Employee employee = employeeRepository.findWorkingInfoByPayRollId(payrollId)
 	                .orElseThrow(() -> new RuntimeException("Employee not found with payrollId: " + payrollId));
 
 	        Campus campus = employee.getCampus_id();
@@ -0,0 +1,362 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.employee.dto.IdentityCheckRequestDTO;
+import com.employee.dto.IdentityCheckResponseDTO;
+import com.employee.dto.IdentityMatchDTO;
+import com.employee.entity.EmpDetails;
+import com.employee.repository.EmpDetailsRepository;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.SkillTestDetailsRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Who already uses an Aadhaar, mobile, PAN or personal email - across sce_skill_test_detl (active),
+ * sce_emp and sce_emp_detl.
+ *
+ * A Bloom filter over all known keys answers "definitely new" in memory; only keys it may contain are
+ * looked up, all of them in one statement (EmployeeRepository.findIdentityMatches). The filter is
+ * built after startup and rebuilt every employee.identity-index.rebuild-interval-minutes; writes of
+ * this instance are added after commit (IdentityIndexEntityListener) and, when a rebuild is running,
+ * replayed on the new filter before it is published (IndexChanges); writes of other instances
+ * become visible at the next rebuild. Until the first build every key counts as "maybe".
+ *
+ * Because of that delay a filter negative is only trusted by the pre-check endpoint (check). Paths
+ * that write an employee (onboarding save, bulk import) use findMatchesInDatabase and
+ * findEmpDetailsByPersonalEmail, which always run the indexed lookup, so keys written by other
+ * instances or directly in the database are still caught.
+ *
+ * Probes are counted as employee.identity_index.probes tags: result (negative, hit, false_positive).
+ */
+@Service
+public class IdentityIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityIndexService.class);
+
+    public enum IdentityKey { AADHAAR, MOBILE, PAN, EMAIL }
+
+    private static final long NO_NUMBER = -1L;
+    private static final String NO_TEXT = "";
+
+    @Autowired
+    private SkillTestDetailsRepository skillTestDetailsRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmpDetailsRepository empDetailsRepository;
+
+    @Autowired
+    private IdentityNumberValidator identityNumberValidator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.identity-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.identity-index.expected-keys:1000000}")
+    private int expectedKeys;
+
+    @Value("${employee.identity-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${employee.identity-index.rebuild-interval-minutes:5}")
+    private long rebuildIntervalMinutes;
+
+    // null until the first build: every key is "maybe"
+    private volatile BloomFilter filter;
+    // Keys committed during a rebuild are replayed on the new filter before it takes over
+    private final IndexChanges changes = new IndexChanges();
+    // Keys loaded by the last rebuild; the next filter is sized for twice as many
+    private volatile int lastKeyCount;
+    private ScheduledExecutorService rebuilder;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuilds() {
+        if (!enabled) {
+            return;
+        }
+        rebuilder = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "identity-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (rebuildIntervalMinutes > 0) {
+            rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, 0, rebuildIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            rebuilder.execute(this::rebuildQuietly);
+        }
+    }
+
+    @PreDestroy
+    public void stopRebuilds() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the three tables.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        BloomFilter next = new BloomFilter((int) Math.min(Integer.MAX_VALUE, Math.max(expectedKeys, lastKeyCount * 2L)), falsePositiveRate);
+        int keys;
+        changes.startLoad();
+        try {
+            List<Object[]> skillTestKeys = skillTestDetailsRepository.findActiveIdentityKeys();
+            List<Long> employeeMobiles = employeeRepository.findAllPrimaryMobileNos();
+            List<Object[]> detailKeys = empDetailsRepository.findIdentityKeys();
+            keys = skillTestKeys.size() * 2 + employeeMobiles.size() + detailKeys.size() * 3;
+            for (Object[] row : skillTestKeys) {
+                addNumber(next, IdentityKey.AADHAAR, (Long) row[0]);
+                addNumber(next, IdentityKey.MOBILE, (Long) row[1]);
+            }
+            for (Long mobile : employeeMobiles) {
+                addNumber(next, IdentityKey.MOBILE, mobile);
+            }
+            for (Object[] row : detailKeys) {
+                addNumber(next, IdentityKey.AADHAAR, (Long) row[0]);
+                addText(next, IdentityKey.PAN, (String) row[1]);
+                addText(next, IdentityKey.EMAIL, (String) row[2]);
+            }
+            filter = next;
+            lastKeyCount = keys;
+            changes.finishLoad();
+        } finally {
+            changes.endLoad();
+        }
+        logger.info("Identity index rebuilt with {} keys ({} bits) in {} ms",
+                keys, next.bitCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Records keys of a saved row. Inside a transaction they are added after commit,
+     * so rolled-back rows never reach the filter.
+     */
+    public void onIdentityKeysSaved(Long aadhaar, Long mobile, String pan, String email) {
+        AfterCommit.run(() -> changes.apply(() -> addKeys(aadhaar, mobile, pan, email)));
+    }
+
+    /**
+     * False if no row uses the key (no database access); true if one may.
+     */
+    public boolean mightExist(IdentityKey key, Object value) {
+        BloomFilter current = filter;
+        if (current == null || !enabled) {
+            return true;
+        }
+        if (value instanceof Long number) {
+            return number > 0 && current.mightContain(hash(key, number));
+        }
+        if (value instanceof String text) {
+            return !text.isEmpty() && current.mightContain(hash(key, text));
+        }
+        return value != null;
+    }
+
+    /**
+     * Everyone sharing at least one of the given keys (null = not checked): one statement at most,
+     * none if the filter rules all keys out. May miss keys of other instances written since the
+     * last rebuild; see findMatchesInDatabase.
+     */
+    public List<IdentityMatchDTO> findMatches(Long aadhaar, Long mobile, String pan, String email) {
+        return findMatches(aadhaar, mobile, pan, email, true);
+    }
+
+    /**
+     * Same as findMatches, always with the (single, indexed) database lookup: for paths that write
+     * an employee and must not take a stale filter negative for "new".
+     */
+    public List<IdentityMatchDTO> findMatchesInDatabase(Long aadhaar, Long mobile, String pan, String email) {
+        return findMatches(aadhaar, mobile, pan, email, false);
+    }
+
+    private List<IdentityMatchDTO> findMatches(Long aadhaar, Long mobile, String pan, String email, boolean useFilter) {
+        String panKey = pan != null ? pan.trim() : null;
+        String emailKey = email != null ? email.trim() : null;
+        boolean probeAadhaar = aadhaar != null && (!useFilter || mightExist(IdentityKey.AADHAAR, aadhaar));
+        boolean probeMobile = mobile != null && (!useFilter || mightExist(IdentityKey.MOBILE, mobile));
+        boolean probePan = panKey != null && !panKey.isEmpty() && (!useFilter || mightExist(IdentityKey.PAN, panKey));
+        boolean probeEmail = emailKey != null && !emailKey.isEmpty() && (!useFilter || mightExist(IdentityKey.EMAIL, emailKey));
+        if (!probeAadhaar && !probeMobile && !probePan && !probeEmail) {
+            if (useFilter) {
+                countProbe("negative");
+            }
+            return List.of();
+        }
+
+        List<Object[]> rows = employeeRepository.findIdentityMatches(
+                probeAadhaar ? aadhaar : NO_NUMBER,
+                probeMobile ? mobile : NO_NUMBER,
+                probePan ? panKey : NO_TEXT,
+                probeEmail ? emailKey : NO_TEXT);
+        List<IdentityMatchDTO> matches = new ArrayList<>();
+        for (Object[] row : rows) {
+            String source = (String) row[0];
+            Integer empId = row[1] != null ? ((Number) row[1]).intValue() : null;
+            String tempPayrollId = (String) row[2];
+            Long rowAadhaar = row[3] != null ? ((Number) row[3]).longValue() : null;
+            Long rowMobile = row[4] != null ? ((Number) row[4]).longValue() : null;
+            if (probeAadhaar && aadhaar.equals(rowAadhaar)) {
+                matches.add(new IdentityMatchDTO(IdentityKey.AADHAAR.name(), source, empId, tempPayrollId, rowAadhaar, rowMobile));
+            }
+            // sce_emp_detl rows are found by Aadhaar, PAN or email only; their mobile comes from the joined sce_emp row
+            if (probeMobile && mobile.equals(rowMobile) && !"EMP_DETAILS".equals(source)) {
+                matches.add(new IdentityMatchDTO(IdentityKey.MOBILE.name(), source, empId, tempPayrollId, rowAadhaar, rowMobile));
+            }
+            if (probePan && panKey.equals(row[5])) {
+                matches.add(new IdentityMatchDTO(IdentityKey.PAN.name(), source, empId, tempPayrollId, rowAadhaar, rowMobile));
+            }
+            if (probeEmail && emailKey.equals(row[6])) {
+                matches.add(new IdentityMatchDTO(IdentityKey.EMAIL.name(), source, empId, tempPayrollId, rowAadhaar, rowMobile));
+            }
+        }
+        if (useFilter) {
+            countProbe(matches.isEmpty() ? "false_positive" : "hit");
+        }
+        return matches;
+    }
+
+    /**
+     * Pre-check of a candidate before the onboarding form is filled.
+     */
+    public IdentityCheckResponseDTO check(IdentityCheckRequestDTO request) {
+        String formatError = identityNumberValidator.firstIdentityError(
+                request.getAadhaarNo(), request.getPanNo(), null, request.getMobileNo(), null);
+        List<IdentityMatchDTO> matches = findMatches(request.getAadhaarNo(), request.getMobileNo(),
+                request.getPanNo(), request.getEmail());
+        return new IdentityCheckResponseDTO(!matches.isEmpty(), formatError, matches);
+    }
+
+    /**
+     * EmpDetailsRepository.findByPersonal_email. Only called when an employee is saved, so the
+     * filter is not consulted (see findMatchesInDatabase).
+     */
+    public Optional<EmpDetails> findEmpDetailsByPersonalEmail(String email) {
+        return empDetailsRepository.findByPersonal_email(email);
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Identity index rebuild failed, keeping the previous filter: {}", e.getMessage());
+        }
+    }
+
+    private void addKeys(Long aadhaar, Long mobile, String pan, String email) {
+        BloomFilter target = filter;
+        addNumber(target, IdentityKey.AADHAAR, aadhaar);
+        addNumber(target, IdentityKey.MOBILE, mobile);
+        addText(target, IdentityKey.PAN, pan);
+        addText(target, IdentityKey.EMAIL, email);
+    }
+
+    private void countProbe(String result) {
+        meterRegistry.counter("employee.identity_index.probes", "result", result).increment();
+    }
+
+    private static void addNumber(BloomFilter target, IdentityKey key, Long value) {
+        if (value != null && value > 0) {
+            target.add(hash(key, value));
+        }
+    }
+
+    private static void addText(BloomFilter target, IdentityKey key, String value) {
+        if (value != null) {
+            String trimmed = value.trim();
+            if (!trimmed.isEmpty()) {
+                target.add(hash(key, trimmed));
+            }
+        }
+    }
+
+    private static long hash(IdentityKey key, long value) {
+        return mix(value * 0x9E3779B97F4A7C15L + key.ordinal());
+    }
+
+    private static long hash(IdentityKey key, String value) {
+        long h = 0xCBF29CE484222325L ^ key.ordinal();
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // murmur3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Lock-free Bloom filter over 64-bit key hashes (double hashing for the k bit positions).
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        BloomFilter(int expectedKeys, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.max(1, (optimalBits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bits = wordCount * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * Math.log(2)));
+        }
+
+        void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitCount() {
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Service;
+
+import com.employee.dto.BatchValidationErrorDTO;
+
+/**
+ * Format checks for Indian identity and contact numbers (Aadhaar, PAN, IFSC, mobile, UAN).
+ *
+ * Single checks neither allocate nor box: numeric identifiers are validated by digit arithmetic
+ * on the long value and text identifiers by a character-class scan, so no regex Matcher, String
+ * conversion or digit array is created per call. validateBatch() runs a record check over a list,
+ * in parallel for large imports.
+ */
+@Service
+public class IdentityNumberValidator {
+
+    private static final long MIN_12_DIGITS = 100_000_000_000L;
+    private static final long MAX_12_DIGITS = 999_999_999_999L;
+    private static final long MIN_AADHAAR = 200_000_000_000L;
+    private static final long MIN_MOBILE = 6_000_000_000L;
+    private static final long MAX_MOBILE = 9_999_999_999L;
+
+    // Below this size the fork/join overhead outweighs the checks themselves
+    private static final int PARALLEL_BATCH_THRESHOLD = 512;
+
+    // Verhoeff dihedral-group multiplication d(j,k) at [j * 10 + k]
+    private static final byte[] VERHOEFF_D = {
+            0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+            1, 2, 3, 4, 0, 6, 7, 8, 9, 5,
+            2, 3, 4, 0, 1, 7, 8, 9, 5, 6,
+            3, 4, 0, 1, 2, 8, 9, 5, 6, 7,
+            4, 0, 1, 2, 3, 9, 5, 6, 7, 8,
+            5, 9, 8, 7, 6, 0, 4, 3, 2, 1,
+            6, 5, 9, 8, 7, 1, 0, 4, 3, 2,
+            7, 6, 5, 9, 8, 2, 1, 0, 4, 3,
+            8, 7, 6, 5, 9, 3, 2, 1, 0, 4,
+            9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+
+    // Verhoeff permutation p(pos mod 8, digit) at [(pos & 7) * 10 + digit]
+    private static final byte[] VERHOEFF_P = {
+            0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+            1, 5, 7, 6, 2, 8, 3, 0, 9, 4,
+            5, 8, 0, 3, 7, 9, 6, 1, 4, 2,
+            8, 9, 1, 6, 0, 4, 3, 5, 2, 7,
+            9, 4, 5, 3, 1, 2, 6, 8, 7, 0,
+            4, 2, 8, 6, 5, 7, 3, 9, 0, 1,
+            2, 7, 9, 3, 8, 0, 6, 4, 1, 5,
+            7, 0, 4, 6, 9, 1, 3, 2, 5, 8 };
+
+    // Fourth PAN character: holder type (P person, C company, H HUF, F firm, A AOP, T trust, B BOI, L local authority, J juridical, G government)
+    private static final String PAN_HOLDER_TYPES = "ABCFGHJLPT";
+
+    /**
+     * True if the number has exactly 12 digits (Aadhaar and UAN length).
+     */
+    public boolean hasTwelveDigits(long number) {
+        return number >= MIN_12_DIGITS && number <= MAX_12_DIGITS;
+    }
+
+    /**
+     * Aadhaar: 12 digits, first digit 2-9 (UIDAI), valid Verhoeff check digit.
+     */
+    public boolean isValidAadhaar(long aadhaar) {
+        if (aadhaar < MIN_AADHAAR || aadhaar > MAX_12_DIGITS) {
+            return false;
+        }
+        int check = 0;
+        long rest = aadhaar;
+        // Verhoeff runs from the rightmost digit, which is exactly the order of % 10
+        for (int pos = 0; pos < 12; pos++) {
+            int digit = (int) (rest % 10);
+            rest /= 10;
+            check = VERHOEFF_D[check * 10 + VERHOEFF_P[(pos & 7) * 10 + digit]];
+        }
+        return check == 0;
+    }
+
+    /**
+     * Aadhaar given as text; must be the 12 digits only (no spaces or dashes).
+     */
+    public boolean isValidAadhaar(CharSequence aadhaar) {
+        if (aadhaar == null || aadhaar.length() != 12) {
+            return false;
+        }
+        long value = 0;
+        for (int i = 0; i < 12; i++) {
+            char c = aadhaar.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return isValidAadhaar(value);
+    }
+
+    /**
+     * PAN: AAAAA9999A, upper case, fourth character a valid holder type.
+     */
+    public boolean isValidPan(CharSequence pan) {
+        if (pan == null || pan.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            char c = pan.charAt(i);
+            boolean digitPosition = i >= 5 && i <= 8;
+            if (digitPosition ? !isDigit(c) : !isUpperLetter(c)) {
+                return false;
+            }
+        }
+        return PAN_HOLDER_TYPES.indexOf(pan.charAt(3)) >= 0;
+    }
+
+    /**
+     * IFSC: four-letter bank code, a zero, then a six-character alphanumeric branch code.
+     */
+    public boolean isValidIfsc(CharSequence ifsc) {
+        if (ifsc == null || ifsc.length() != 11) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!isUpperLetter(ifsc.charAt(i))) {
+                return false;
+            }
+        }
+        if (ifsc.charAt(4) != '0') {
+            return false;
+        }
+        for (int i = 5; i < 11; i++) {
+            char c = ifsc.charAt(i);
+            if (!isUpperLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indian mobile number without country code: 10 digits starting with 6-9.
+     */
+    public boolean isValidMobile(long mobile) {
+        return mobile >= MIN_MOBILE && mobile <= MAX_MOBILE;
+    }
+
+    /**
+     * UAN (EPFO Universal Account Number): 12 digits.
+     */
+    public boolean isValidUan(long uan) {
+        return hasTwelveDigits(uan);
+    }
+
+    /**
+     * First failing identity check of a record, or null if all present values are valid.
+     * Null (or 0 for numbers) means "not provided" and is not checked.
+     */
+    public String firstIdentityError(Long aadhaar, String pan, String ifsc, Long mobile, Long uan) {
+        if (aadhaar != null && aadhaar > 0) {
+            if (!hasTwelveDigits(aadhaar)) {
+                return "Aadhaar must be exactly 12 numeric digits";
+            }
+            if (!isValidAadhaar(aadhaar.longValue())) {
+                return "Invalid Aadhaar number (checksum failed)";
+            }
+        }
+        if (pan != null && !pan.isEmpty() && !isValidPan(pan)) {
+            return "Invalid PAN format, expected AAAAA9999A";
+        }
+        if (ifsc != null && !ifsc.isEmpty() && !isValidIfsc(ifsc)) {
+            return "Invalid IFSC format, expected AAAA0XXXXXX";
+        }
+        if (mobile != null && mobile > 0 && !isValidMobile(mobile)) {
+            return "Mobile number must be 10 digits starting with 6-9";
+        }
+        if (uan != null && uan > 0 && !isValidUan(uan)) {
+            return "UAN must be exactly 12 digits";
+        }
+        return null;
+    }
+
+    /**
+     * Runs check on every record and returns the failures in record order.
+     * check returns an error message for an invalid record and null for a valid one; it must be
+     * side-effect free, since large batches are checked in parallel on the common fork/join pool.
+     */
+    public <T> List<BatchValidationErrorDTO> validateBatch(List<T> records, Function<? super T, String> check) {
+        int size = records.size();
+        String[] errors = new String[size];
+        IntStream indexes = IntStream.range(0, size);
+        if (size >= PARALLEL_BATCH_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> errors[i] = check.apply(records.get(i)));
+
+        List<BatchValidationErrorDTO> failures = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (errors[i] != null) {
+                failures.add(new BatchValidationErrorDTO(i, errors[i]));
+            }
+        }
+        return failures;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpperLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
@@ -0,0 +1,72 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Committed changes of an in-memory index that is loaded from the database
+ * (OrgGraphService, ChecklistService, SharedEmployeeIndexService, OnboardingCompletenessService,
+ * IdentityIndexService).
+ *
+ * Before the first load a change is dropped, the load will read it. While a load runs every change
+ * is recorded (and, once the index has been loaded before, also applied to the current contents);
+ * the load replays the recorded changes on its new contents before new changes are applied, so a
+ * change committed after the load's query started is not lost. Changes must set a state rather
+ * than adjust one, as they can be applied twice.
+ */
+final class IndexChanges {
+
+    private final List<Runnable> duringLoad = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean loaded;
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Applies a committed change.
+     */
+    void apply(Runnable change) {
+        boolean applyNow;
+        synchronized (this) {
+            if (loading) {
+                duringLoad.add(change);
+            }
+            applyNow = loaded;
+        }
+        if (applyNow) {
+            change.run();
+        }
+    }
+
+    /**
+     * Call before the load's query.
+     */
+    synchronized void startLoad() {
+        loading = true;
+        duringLoad.clear();
+    }
+
+    /**
+     * Call once the new contents are in place: replays the changes recorded since startLoad and
+     * marks the index loaded. Changes arriving meanwhile wait, so they are applied after the replay.
+     */
+    synchronized void finishLoad() {
+        for (Runnable change : duringLoad) {
+            change.run();
+        }
+        duringLoad.clear();
+        loading = false;
+        loaded = true;
+    }
+
+    /**
+     * Call when a load ends (in a finally block); discards the recorded changes of a failed load,
+     * does nothing after finishLoad.
+     */
+    synchronized void endLoad() {
+        loading = false;
+        duringLoad.clear();
+    }
+}
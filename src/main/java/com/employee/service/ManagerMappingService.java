@@ -1,13 +1,25 @@
 package com.employee.service;
 
+import java.sql.PreparedStatement;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.employee.entity.Campus;
 import com.employee.entity.Department;
@@ -26,7 +38,6 @@ import com.employee.repository.CityRepository;
 import com.employee.repository.DepartmentRepository;
 import com.employee.repository.DesignationRepository;
 import com.employee.repository.EmployeeRepository;
-import com.employee.repository.SharedEmployeeRepository;
 import com.employee.repository.SubjectRepository;
 
 /**
@@ -37,6 +48,33 @@ import com.employee.repository.SubjectRepository;
 @Service
 public class ManagerMappingService {
     
+    // Records per upsert statement (6 parameters each)
+    private static final int SHARED_EMPLOYEE_CHUNK = 500;
+    
+    // One VALUES row of the upsert input; the timestamp is cast because the driver sends it untyped
+    private static final String SHARED_EMPLOYEE_ROW = "(?, ?, ?, ?, ?, CAST(? AS timestamp)), ";
+    // Follows "WITH input (...) AS (VALUES ...), " in saveSharedEmployees
+    private static final String SHARED_EMPLOYEE_UPSERT =
+            "existing AS ("
+            + " SELECT DISTINCT ON (se.emp_id, se.cmps_id) se.shared_employee_id, se.emp_id, se.cmps_id"
+            + " FROM sce_employee.sce_shared_employee se"
+            + " JOIN input i ON i.emp_id = se.emp_id AND i.cmps_id = se.cmps_id"
+            + " ORDER BY se.emp_id, se.cmps_id, se.is_active DESC, se.shared_employee_id DESC), "
+            + "updated AS ("
+            + " UPDATE sce_employee.sce_shared_employee se"
+            + " SET designation_id = i.designation_id, subject_id = i.subject_id, is_active = 1,"
+            + " updated_by = i.updated_by, updated_date = i.updated_date"
+            + " FROM existing x JOIN input i ON i.emp_id = x.emp_id AND i.cmps_id = x.cmps_id"
+            + " WHERE se.shared_employee_id = x.shared_employee_id) "
+            + "INSERT INTO sce_employee.sce_shared_employee"
+            + " (emp_id, cmps_id, designation_id, subject_id, is_active, created_by, created_date, updated_by, updated_date)"
+            + " SELECT i.emp_id, i.cmps_id, i.designation_id, i.subject_id, 1, i.updated_by, i.updated_date, i.updated_by, i.updated_date"
+            + " FROM input i"
+            + " WHERE NOT EXISTS (SELECT 1 FROM existing x WHERE x.emp_id = i.emp_id AND x.cmps_id = i.cmps_id)";
+    // Followed by the emp_id placeholders, ") AND cmps_id IN (", the campus placeholders and ")"
+    private static final String SHARED_EMPLOYEE_DEACTIVATE = "UPDATE sce_employee.sce_shared_employee"
+            + " SET is_active = 0, updated_by = ?, updated_date = ? WHERE emp_id IN (";
+    
     @Autowired
     private CityRepository cityRepository;
     
@@ -53,11 +91,20 @@ public class ManagerMappingService {
     private EmployeeRepository employeeRepository;
     
     @Autowired
-    private SharedEmployeeRepository sharedEmployeeRepository;
+    private SharedEmployeeIndexService sharedEmployeeIndexService;
     
     @Autowired
     private SubjectRepository subjectRepository;
     
+    @Autowired
+    private OrgGraphService orgGraphService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
     /**
      * Maps employee based on payrollId and updates their details.
      * 
@@ -92,6 +139,8 @@ public class ManagerMappingService {
         }
         
         boolean useMultipleCampuses = campusMappingsList.size() > 1;
+        // SharedEmployee records for multiple campuses, written once the whole mapping is validated
+        List<SharedEmployee> sharedEmployees = new ArrayList<>();
         
         // Step 4: Find Employee by payrollId
         Employee employee = findEmployeeByPayrollId(mappingDTO.getPayrollId());
@@ -154,8 +203,9 @@ public class ManagerMappingService {
                                     campusMapping.getDesignationId(), campusMapping.getDepartmentId()));
                 }
                 
-                // Create or update SharedEmployee record for multiple campuses
-                saveOrUpdateSharedEmployee(employee, campus, campusDesignation, campusMapping.getSubjectId(), mappingDTO.getUpdatedBy());
+                // SharedEmployee record for multiple campuses, written after all mappings are validated
+                sharedEmployees.add(newSharedEmployee(employee, campus, campusDesignation,
+                        findSubject(campusMapping.getSubjectId()), mappingDTO.getUpdatedBy()));
                 
                 // Use first department for employee table (primary department)
                 if (department == null) {
@@ -249,6 +299,16 @@ public class ManagerMappingService {
             }
         }
         
+        // Reject mappings that would create a reporting cycle
+        if (manager != null) {
+            orgGraphService.validateNoCycle(employee.getEmp_id(), manager.getEmp_id(), OrgGraphService.Relation.MANAGER);
+        }
+        if (reportingManager != null) {
+            orgGraphService.validateNoCycle(employee.getEmp_id(), reportingManager.getEmp_id(), OrgGraphService.Relation.REPORTING);
+        }
+        // After the cycle check, so mapping locks are always taken before shared employee locks (as in bulk mapping)
+        saveSharedEmployees(sharedEmployees);
+        
         // Step 8: Update employee fields (DO NOT change campus - keep existing campus)
         employee.setDepartment(department);
         employee.setDesignation(designation);
@@ -294,7 +354,9 @@ public class ManagerMappingService {
      * 7. For each payrollId:
      *    - Find Employee by payrollId
      *    - Validate Employee is active
-     *    - Update employee: campus, department, designation, manager, reporting manager, work starting date, remarks
+     * 8. Write the SharedEmployee records of the validated employees (multiple campuses only); an
+     *    employee whose records cannot be written is reported as failed
+     * 9. Update the remaining employees: department, designation, manager, reporting manager, work starting date, remarks
      * 
      * @param bulkMappingDTO The bulk manager mapping request DTO
      * @return The same BulkManagerMappingDTO that was passed in
@@ -314,8 +376,12 @@ public class ManagerMappingService {
             throw new IllegalArgumentException("campusMappings array is required and cannot be empty");
         }
         
-        // Step 3: Pre-validate all campuses, departments, and designations
+        // Step 3: Pre-validate all campuses, departments, designations and subjects
+        // (resolved once here and reused for every employee)
         Department department = null;
+        List<Campus> mappedCampuses = new ArrayList<>();
+        List<Designation> mappedDesignations = new ArrayList<>();
+        List<Subject> mappedSubjects = new ArrayList<>();
         for (CampusMappingDTO campusMapping : campusMappings) {
             // Validate Department exists and is active
             Department campusDepartment = departmentRepository.findByIdAndIsActive(campusMapping.getDepartmentId(), 1)
@@ -341,6 +407,10 @@ public class ManagerMappingService {
                                 campusMapping.getDesignationId(), campusMapping.getDepartmentId()));
             }
             
+            mappedCampuses.add(campus);
+            mappedDesignations.add(designation);
+            mappedSubjects.add(findSubject(campusMapping.getSubjectId()));
+            
             // Use first department for employee table (primary department)
             if (department == null) {
                 department = campusDepartment;
@@ -379,9 +449,10 @@ public class ManagerMappingService {
         }
         // If reportingManagerId is not provided (null or 0), reportingManager remains null - no auto-assignment
         
-        // Step 7: Process each payrollId
+        // Step 7: Validate each payrollId; nothing is written until every employee is checked
         List<String> processedPayrollIds = new ArrayList<>();
         List<String> failedPayrollIds = new ArrayList<>();
+        List<PendingMapping> pendingMappings = new ArrayList<>();
         
         for (String payrollId : bulkMappingDTO.getPayrollIds()) {
             try {
@@ -433,6 +504,14 @@ public class ManagerMappingService {
                     }
                 }
                 
+                // Reject mappings that would create a reporting cycle
+                if (employeeManager != null) {
+                    orgGraphService.validateNoCycle(employee.getEmp_id(), employeeManager.getEmp_id(), OrgGraphService.Relation.MANAGER);
+                }
+                if (employeeReportingManager != null) {
+                    orgGraphService.validateNoCycle(employee.getEmp_id(), employeeReportingManager.getEmp_id(), OrgGraphService.Relation.REPORTING);
+                }
+                
                 // Process each campus mapping for this employee
                 // Only store in SharedEmployee table if multiple campuses are selected
                 boolean isMultipleCampuses = campusMappings.size() > 1;
@@ -462,65 +541,18 @@ public class ManagerMappingService {
                     }
                 }
                 
-                for (CampusMappingDTO campusMapping : campusMappings) {
-                    Campus campus = campusRepository.findByCampusIdAndIsActive(campusMapping.getCampusId(), 1)
-                        .orElseThrow(() -> new ResourceNotFoundException("Active Campus not found with ID: " + campusMapping.getCampusId()));
-                    
-                    Designation designation = designationRepository.findByIdAndIsActive(campusMapping.getDesignationId(), 1)
-                        .orElseThrow(() -> new ResourceNotFoundException("Active Designation not found with ID: " + campusMapping.getDesignationId()));
-                    
-                    // Validate designation belongs to department (already validated in pre-validation step, but double-check)
-                    if (designation.getDepartment() == null || designation.getDepartment().getDepartment_id() != campusMapping.getDepartmentId()) {
-                        throw new ResourceNotFoundException(
-                            String.format("Designation with ID %d does not belong to Department with ID %d", 
-                                        campusMapping.getDesignationId(), campusMapping.getDepartmentId()));
-                    }
-                    
-                    // Only create or update SharedEmployee record if multiple campuses are selected
-                    if (isMultipleCampuses) {
-                        saveOrUpdateSharedEmployee(employee, campus, designation, campusMapping.getSubjectId(), bulkMappingDTO.getUpdatedBy());
+                // Only create or update SharedEmployee records if multiple campuses are selected;
+                // written for all validated employees together in step 8
+                List<SharedEmployee> employeeSharedEmployees = new ArrayList<>();
+                if (isMultipleCampuses) {
+                    for (int i = 0; i < campusMappings.size(); i++) {
+                        employeeSharedEmployees.add(newSharedEmployee(employee, mappedCampuses.get(i),
+                                mappedDesignations.get(i), mappedSubjects.get(i), bulkMappingDTO.getUpdatedBy()));
                     }
                 }
                 
-                // Update employee fields (DO NOT change campus - keep existing campus)
-                // Use first department from campusMappings (primary department)
-                if (!campusMappings.isEmpty()) {
-                    Department primaryDepartment = departmentRepository.findByIdAndIsActive(campusMappings.get(0).getDepartmentId(), 1)
-                        .orElseThrow(() -> new ResourceNotFoundException("Active Department not found with ID: " + campusMappings.get(0).getDepartmentId()));
-                    employee.setDepartment(primaryDepartment);
-                }
-                // Set primary designation from first campus mapping (for backward compatibility)
-                if (!campusMappings.isEmpty()) {
-                    Designation primaryDesignation = designationRepository.findByIdAndIsActive(campusMappings.get(0).getDesignationId(), 1)
-                        .orElseThrow(() -> new ResourceNotFoundException("Active Designation not found with ID: " + campusMappings.get(0).getDesignationId()));
-                    employee.setDesignation(primaryDesignation);
-                }
-                
-                // Update manager_id if provided
-                if (employeeManager != null) {
-                    employee.setEmployee_manager_id(employeeManager);
-                }
-                
-                // Update reporting_manager_id if provided
-                if (employeeReportingManager != null) {
-                    employee.setEmployee_reporting_id(employeeReportingManager);
-                }
-                // Update contract_start_date with workStartingDate
-                employee.setContract_start_date(bulkMappingDTO.getWorkStartingDate());
-                employee.setUpdated_by(bulkMappingDTO.getUpdatedBy() != null ? bulkMappingDTO.getUpdatedBy() : 1);
-                employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
-                
-                // Update remarks: if value exists and is not empty, set it; otherwise set to null
-                // Treat null, empty string, whitespace-only, or string "null" as null
-                String remarkValue = bulkMappingDTO.getRemark();
-                if (remarkValue != null && !remarkValue.trim().isEmpty() && !remarkValue.trim().equalsIgnoreCase("null")) {
-                    employee.setRemarks(remarkValue.trim());
-                } else {
-                    employee.setRemarks(null);
-                }
-                
-                employeeRepository.save(employee);
-                processedPayrollIds.add(payrollId);
+                pendingMappings.add(new PendingMapping(payrollId, employee, employeeManager, employeeReportingManager,
+                        employeeSharedEmployees));
                 
             } catch (ResourceNotFoundException e) {
                 failedPayrollIds.add(payrollId + " (not found)");
@@ -529,6 +561,44 @@ public class ManagerMappingService {
             }
         }
         
+        // Step 8: SharedEmployee records of all validated employees, a few statements in total;
+        // an employee whose records cannot be written fails alone
+        List<PendingMapping> writtenMappings = saveSharedEmployeesPerEmployee(pendingMappings, failedPayrollIds);
+        
+        // Step 9: Update employee fields (DO NOT change campus - keep existing campus)
+        for (PendingMapping mapping : writtenMappings) {
+            Employee employee = mapping.employee;
+            // Primary department and designation from the first campus mapping (for backward compatibility)
+            employee.setDepartment(department);
+            employee.setDesignation(mappedDesignations.get(0));
+            
+            // Update manager_id if provided
+            if (mapping.manager != null) {
+                employee.setEmployee_manager_id(mapping.manager);
+            }
+            
+            // Update reporting_manager_id if provided
+            if (mapping.reportingManager != null) {
+                employee.setEmployee_reporting_id(mapping.reportingManager);
+            }
+            // Update contract_start_date with workStartingDate
+            employee.setContract_start_date(bulkMappingDTO.getWorkStartingDate());
+            employee.setUpdated_by(bulkMappingDTO.getUpdatedBy() != null ? bulkMappingDTO.getUpdatedBy() : 1);
+            employee.setUpdated_date(new Timestamp(System.currentTimeMillis()));
+            
+            // Update remarks: if value exists and is not empty, set it; otherwise set to null
+            // Treat null, empty string, whitespace-only, or string "null" as null
+            String remarkValue = bulkMappingDTO.getRemark();
+            if (remarkValue != null && !remarkValue.trim().isEmpty() && !remarkValue.trim().equalsIgnoreCase("null")) {
+                employee.setRemarks(remarkValue.trim());
+            } else {
+                employee.setRemarks(null);
+            }
+            
+            employeeRepository.save(employee);
+            processedPayrollIds.add(mapping.payrollId);
+        }
+        
         return bulkMappingDTO; // Return the request DTO
     }
     
@@ -560,51 +630,159 @@ public class ManagerMappingService {
     }
     
     /**
-     * Creates or updates a SharedEmployee record for an employee working in multiple campuses.
+     * Builds (does not save) the SharedEmployee record of an employee working in multiple campuses;
+     * written by saveSharedEmployees.
      * 
      * @param employee The employee
      * @param campus The campus
      * @param designation The designation
-     * @param subjectId Optional subject ID (can be null)
+     * @param subject Optional subject (can be null)
      * @param updatedBy User ID performing the update
-     * @return The created or updated SharedEmployee
+     * @return The unsaved SharedEmployee
      */
-    private SharedEmployee saveOrUpdateSharedEmployee(Employee employee, Campus campus, Designation designation, Integer subjectId, Integer updatedBy) {
-        // Check if SharedEmployee record already exists for this employee and campus
-        Optional<SharedEmployee> existing = sharedEmployeeRepository.findByEmpIdAndCampusId(
-                employee.getEmp_id(), campus.getCampusId());
-        
-        SharedEmployee sharedEmployee;
-        if (existing.isPresent()) {
-            // Update existing record
-            sharedEmployee = existing.get();
-            sharedEmployee.setIsActive(1); // Reactivate if it was deactivated
-        } else {
-            // Create new record
-            sharedEmployee = new SharedEmployee();
-            sharedEmployee.setEmpId(employee);
-            sharedEmployee.setCmpsId(campus);
-            sharedEmployee.setCreatedBy(updatedBy != null ? updatedBy : 1);
-            sharedEmployee.setCreatedDate(new Timestamp(System.currentTimeMillis()));
-        }
-        
-        // Update designation
+    private SharedEmployee newSharedEmployee(Employee employee, Campus campus, Designation designation, Subject subject, Integer updatedBy) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        SharedEmployee sharedEmployee = new SharedEmployee();
+        sharedEmployee.setEmpId(employee);
+        sharedEmployee.setCmpsId(campus);
         sharedEmployee.setDesignationId(designation);
-        
-        // Update subject if provided
-        if (subjectId != null && subjectId > 0) {
-            Subject subject = subjectRepository.findById(subjectId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Subject not found with ID: " + subjectId));
-            sharedEmployee.setSubjectId(subject);
-        } else {
-            sharedEmployee.setSubjectId(null);
-        }
-        
-        // Update audit fields
+        sharedEmployee.setSubjectId(subject);
+        sharedEmployee.setIsActive(1);
+        sharedEmployee.setCreatedBy(updatedBy != null ? updatedBy : 1);
+        sharedEmployee.setCreatedDate(now);
         sharedEmployee.setUpdatedBy(updatedBy != null ? updatedBy : 1);
-        sharedEmployee.setUpdatedDate(new Timestamp(System.currentTimeMillis()));
+        sharedEmployee.setUpdatedDate(now);
+        return sharedEmployee;
+    }
+    
+    /**
+     * Subject of a campus mapping, or null if none is given (null or 0).
+     * 
+     * @throws ResourceNotFoundException if the subject does not exist
+     */
+    private Subject findSubject(Integer subjectId) {
+        if (subjectId == null || subjectId <= 0) {
+            return null;
+        }
+        return subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subject not found with ID: " + subjectId));
+    }
+    
+    /**
+     * Writes SharedEmployee records as upserts on (emp_id, cmps_id): two statements per
+     * SHARED_EMPLOYEE_CHUNK records instead of a read and a save per record.
+     * 
+     * sce_shared_employee has no unique key on (emp_id, cmps_id), so ON CONFLICT cannot be used.
+     * Instead the employees of a chunk are locked first (transaction-scoped advisory locks, in
+     * emp_id order), then one statement updates the existing record of each (employee, campus) -
+     * the active one, else the latest, so deactivated assignments are reactivated - and inserts the
+     * rest. Concurrent mappings of the same employee therefore run one after the other and cannot
+     * insert duplicates.
+     */
+    private void saveSharedEmployees(List<SharedEmployee> sharedEmployees) {
+        if (sharedEmployees.isEmpty()) {
+            return;
+        }
+        // The last record wins for an (employee, campus) repeated in one request
+        Map<List<Integer>, SharedEmployee> unique = new LinkedHashMap<>();
+        for (SharedEmployee sharedEmployee : sharedEmployees) {
+            unique.put(List.of(sharedEmployee.getEmpId().getEmp_id(), sharedEmployee.getCmpsId().getCampusId()), sharedEmployee);
+        }
+        List<SharedEmployee> rows = new ArrayList<>(unique.values());
+        rows.sort(Comparator.comparingInt(sharedEmployee -> sharedEmployee.getEmpId().getEmp_id()));
         
-        return sharedEmployeeRepository.save(sharedEmployee);
+        for (int from = 0; from < rows.size(); from += SHARED_EMPLOYEE_CHUNK) {
+            List<SharedEmployee> chunk = rows.subList(from, Math.min(rows.size(), from + SHARED_EMPLOYEE_CHUNK));
+            
+            AdvisoryLocks.lock(jdbcTemplate, AdvisoryLocks.SHARED_EMPLOYEE,
+                    chunk.stream().map(sharedEmployee -> sharedEmployee.getEmpId().getEmp_id()).toList());
+            
+            String upsertSql = "WITH input (emp_id, cmps_id, designation_id, subject_id, updated_by, updated_date) AS (VALUES "
+                    + SHARED_EMPLOYEE_ROW.repeat(chunk.size() - 1) + SHARED_EMPLOYEE_ROW.substring(0, SHARED_EMPLOYEE_ROW.length() - 2) + "), "
+                    + SHARED_EMPLOYEE_UPSERT;
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(upsertSql);
+                int index = 1;
+                for (SharedEmployee sharedEmployee : chunk) {
+                    ps.setInt(index++, sharedEmployee.getEmpId().getEmp_id());
+                    ps.setInt(index++, sharedEmployee.getCmpsId().getCampusId());
+                    ps.setInt(index++, sharedEmployee.getDesignationId().getDesignation_id());
+                    StatementCreatorUtils.setParameterValue(ps, index++, Types.INTEGER,
+                            sharedEmployee.getSubjectId() != null ? sharedEmployee.getSubjectId().getSubject_id() : null);
+                    ps.setInt(index++, sharedEmployee.getUpdatedBy());
+                    ps.setTimestamp(index++, sharedEmployee.getUpdatedDate());
+                }
+                return ps;
+            });
+        }
+        for (SharedEmployee sharedEmployee : rows) {
+            sharedEmployeeIndexService.onAssigned(sharedEmployee);
+        }
+    }
+    
+    /**
+     * Writes the SharedEmployee records of the validated employees of a bulk mapping with
+     * saveSharedEmployees, inside a savepoint. If that fails, the write is rolled back to the
+     * savepoint and each employee's records are written again under a savepoint of their own, so a
+     * bad assignment fails only its employee (added to failedPayrollIds), not the whole request.
+     * 
+     * @return The mappings whose records were written
+     */
+    private List<PendingMapping> saveSharedEmployeesPerEmployee(List<PendingMapping> mappings, List<String> failedPayrollIds) {
+        List<SharedEmployee> sharedEmployees = new ArrayList<>();
+        for (PendingMapping mapping : mappings) {
+            sharedEmployees.addAll(mapping.sharedEmployees);
+        }
+        if (sharedEmployees.isEmpty()) {
+            return mappings;
+        }
+        TransactionTemplate savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        try {
+            savepoint.executeWithoutResult(status -> saveSharedEmployees(sharedEmployees));
+            return mappings;
+        } catch (DataAccessException e) {
+            // rolled back to the savepoint; retried per employee to find the ones at fault
+        }
+        List<PendingMapping> written = new ArrayList<>();
+        for (PendingMapping mapping : mappings) {
+            try {
+                savepoint.executeWithoutResult(status -> saveSharedEmployees(mapping.sharedEmployees));
+                written.add(mapping);
+            } catch (DataAccessException e) {
+                failedPayrollIds.add(mapping.payrollId + " (" + e.getMostSpecificCause().getMessage() + ")");
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Deactivates the SharedEmployee records of employees for the given campuses, one statement per
+     * SHARED_EMPLOYEE_CHUNK employees. The employees are locked first with the same advisory locks
+     * as saveSharedEmployees, so an unmapping and a concurrent mapping of an employee run one after
+     * the other.
+     */
+    private void deactivateSharedEmployees(Collection<Integer> empIds, List<Integer> campusIds, Integer updatedBy) {
+        List<Integer> sortedEmpIds = empIds.stream().distinct().sorted().toList();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int from = 0; from < sortedEmpIds.size(); from += SHARED_EMPLOYEE_CHUNK) {
+            List<Integer> chunk = sortedEmpIds.subList(from, Math.min(sortedEmpIds.size(), from + SHARED_EMPLOYEE_CHUNK));
+            AdvisoryLocks.lock(jdbcTemplate, AdvisoryLocks.SHARED_EMPLOYEE, chunk);
+            
+            String sql = SHARED_EMPLOYEE_DEACTIVATE + "?, ".repeat(chunk.size() - 1) + "?) AND cmps_id IN ("
+                    + "?, ".repeat(campusIds.size() - 1) + "?)";
+            List<Object> args = new ArrayList<>();
+            args.add(updatedBy != null ? updatedBy : 1);
+            args.add(now);
+            args.addAll(chunk);
+            args.addAll(campusIds);
+            jdbcTemplate.update(sql, args.toArray());
+        }
+        for (Integer empId : sortedEmpIds) {
+            for (Integer campusId : campusIds) {
+                sharedEmployeeIndexService.onUnassigned(empId, campusId);
+            }
+        }
     }
     
     /**
@@ -768,15 +946,7 @@ public class ManagerMappingService {
         // Step 7: Deactivate SharedEmployee records only if multiple campuses are selected
         // Single campus unmapping doesn't use SharedEmployee table
         if (useMultipleCampuses) {
-            for (Integer campusId : campusIdsList) {
-                List<SharedEmployee> sharedEmployees = sharedEmployeeRepository.findAllByEmpIdAndCampusId(employee.getEmp_id(), campusId);
-                for (SharedEmployee sharedEmployee : sharedEmployees) {
-                    sharedEmployee.setIsActive(0);
-                    sharedEmployee.setUpdatedBy(unmappingDTO.getUpdatedBy() != null ? unmappingDTO.getUpdatedBy() : 1);
-                    sharedEmployee.setUpdatedDate(new Timestamp(System.currentTimeMillis()));
-                    sharedEmployeeRepository.save(sharedEmployee);
-                }
-            }
+            deactivateSharedEmployees(List.of(employee.getEmp_id()), campusIdsList, unmappingDTO.getUpdatedBy());
         }
         // If single campus, no SharedEmployee table update needed
         
@@ -921,6 +1091,7 @@ public class ManagerMappingService {
         // Step 3: Process each payrollId
         List<String> processedPayrollIds = new ArrayList<>();
         List<String> failedPayrollIds = new ArrayList<>();
+        List<Integer> unmappedEmpIds = new ArrayList<>();
         
         for (String payrollId : bulkUnmappingDTO.getPayrollIds()) {
             try {
@@ -940,20 +1111,6 @@ public class ManagerMappingService {
                     continue;
                 }
                 
-                // Deactivate SharedEmployee records for the specified campuses
-                // Only deactivate if multiple campuses are selected (single campus doesn't use SharedEmployee table)
-                if (useMultipleCampuses) {
-                    for (Integer campusId : campusIdsToUnmap) {
-                        List<SharedEmployee> sharedEmployees = sharedEmployeeRepository.findAllByEmpIdAndCampusId(employee.getEmp_id(), campusId);
-                        for (SharedEmployee sharedEmployee : sharedEmployees) {
-                            sharedEmployee.setIsActive(0);
-                            sharedEmployee.setUpdatedBy(bulkUnmappingDTO.getUpdatedBy() != null ? bulkUnmappingDTO.getUpdatedBy() : 1);
-                            sharedEmployee.setUpdatedDate(new Timestamp(System.currentTimeMillis()));
-                            sharedEmployeeRepository.save(sharedEmployee);
-                        }
-                    }
-                }
-                
                 // Unmap manager if the provided managerId matches the current manager
                 // Treat 0 or null as "don't touch this field"
                 Integer managerIdValue = bulkUnmappingDTO.getManagerId();
@@ -1026,6 +1183,7 @@ public class ManagerMappingService {
                 
                 employeeRepository.save(employee);
                 processedPayrollIds.add(payrollId);
+                unmappedEmpIds.add(employee.getEmp_id());
                 
             } catch (ResourceNotFoundException e) {
                 failedPayrollIds.add(payrollId + " (not found)");
@@ -1034,7 +1192,33 @@ public class ManagerMappingService {
             }
         }
         
+        // Deactivate SharedEmployee records of the unmapped employees for the specified campuses
+        // Only deactivate if multiple campuses are selected (single campus doesn't use SharedEmployee table)
+        if (useMultipleCampuses) {
+            deactivateSharedEmployees(unmappedEmpIds, campusIdsToUnmap, bulkUnmappingDTO.getUpdatedBy());
+        }
+        
         return bulkUnmappingDTO;
     }
+    
+    /**
+     * A validated employee of a bulk mapping, updated once its SharedEmployee records are written.
+     */
+    private static final class PendingMapping {
+        
+        final String payrollId;
+        final Employee employee;
+        final Employee manager;
+        final Employee reportingManager;
+        final List<SharedEmployee> sharedEmployees;
+        
+        PendingMapping(String payrollId, Employee employee, Employee manager, Employee reportingManager,
+                       List<SharedEmployee> sharedEmployees) {
+            this.payrollId = payrollId;
+            this.employee = employee;
+            this.manager = manager;
+            this.reportingManager = reportingManager;
+            this.sharedEmployees = sharedEmployees;
+        }
+    }
 }
-
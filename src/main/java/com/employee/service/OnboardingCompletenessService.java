@@ -0,0 +1,351 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.employee.dto.OnboardingCompletenessDTO;
+import com.employee.entity.Employee;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Which onboarding tabs of a candidate hold data, as one bitmask per employee (bit = Section
+ * ordinal).
+ *
+ * The masks of all active, not yet confirmed employees are loaded on first use with one query of
+ * EXISTS flags; after that every tab save sets or clears its own bit after commit, so
+ * forward-to-CO eligibility and the incomplete-candidates report never look at the child tables.
+ * Bits that come from sce_emp columns (CATEGORY, AGREEMENT) are re-derived from the entity on
+ * every save; a candidate the index does not hold yet is read from the database on its first save.
+ * Confirmed employees leave the index; their completeness is read from the database. A loaded
+ * index is replaced every employee.completeness.reconcile-interval-minutes, which picks up writes
+ * of other instances and changes made outside the tab services.
+ */
+@Service
+public class OnboardingCompletenessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingCompletenessService.class);
+
+    // Columns before the section flags in the EmployeeRepository completeness queries
+    private static final int FLAG_OFFSET = 3;
+
+    /** Onboarding tabs / requirements, one bit each. Do not reorder: ordinal is the bit and the query column. */
+    public enum Section {
+        BASIC_INFO,
+        ADDRESS,
+        FAMILY,
+        PREVIOUS_EMPLOYER,
+        QUALIFICATION,
+        DOCUMENTS,
+        CATEGORY,
+        BANK,
+        AGREEMENT,
+        SALARY;
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    // Sections stored as sce_emp columns rather than child tables
+    private static final int COLUMN_SECTIONS = Section.CATEGORY.bit() | Section.AGREEMENT.bit();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OnboardingWorkflowService onboardingWorkflowService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.completeness.reconcile-interval-minutes:10}")
+    private long reconcileIntervalMinutes;
+
+    @Value("${employee.completeness.required-for-co:BASIC_INFO,ADDRESS,QUALIFICATION,DOCUMENTS,CATEGORY,BANK,AGREEMENT}")
+    private Set<Section> requiredForCentralOffice;
+
+    // emp_id -> candidate; entries are replaced, never mutated; the map is replaced by reload()
+    private volatile ConcurrentHashMap<Integer, Candidate> candidates = new ConcurrentHashMap<>();
+    private final IndexChanges changes = new IndexChanges();
+    private ScheduledExecutorService reconciler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReconciliation() {
+        if (reconcileIntervalMinutes <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "onboarding-completeness-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMinutes, reconcileIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /**
+     * Re-reads the completeness of every candidate into a new map; readers keep the previous one
+     * until it is complete. On a reload of a loaded index, candidates whose mask changed or that
+     * came or went are counted as employee.completeness.reconcile.drift.
+     */
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        boolean reconcile = changes.isLoaded();
+        ConcurrentHashMap<Integer, Candidate> previous = candidates;
+        ConcurrentHashMap<Integer, Candidate> next = new ConcurrentHashMap<>();
+        changes.startLoad();
+        try {
+            List<Object[]> rows = employeeRepository.findCandidateCompleteness(
+                    onboardingWorkflowService.statusId(OnboardingStatus.CONFIRM));
+            for (Object[] row : rows) {
+                Candidate candidate = toCandidate(row);
+                next.put(candidate.empId, candidate);
+            }
+            candidates = next;
+            changes.finishLoad();
+        } finally {
+            changes.endLoad();
+        }
+        if (reconcile) {
+            long drift = drift(previous, next);
+            meterRegistry.counter("employee.completeness.reconcile.drift").increment(drift);
+            logger.info("Onboarding completeness reconciled: {} candidates, drift {}, {} ms", next.size(), drift,
+                    (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
+        logger.info("Onboarding completeness loaded: {} candidates, {} ms", next.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Records a saved child-table tab: sets the section's bit when the employee now has active rows
+     * in it, clears it otherwise. Inside a transaction the update is applied after commit, so
+     * rolled-back saves never reach the index.
+     */
+    public void onSectionSaved(Employee employee, Section section, boolean hasRows) {
+        update(employee, hasRows ? section.bit() : 0, hasRows ? 0 : section.bit());
+    }
+
+    /**
+     * Records a save of sce_emp itself (category / agreement tabs), re-deriving the column sections.
+     */
+    public void onEmployeeSaved(Employee employee) {
+        update(employee, 0, 0);
+    }
+
+    /**
+     * Re-reads the completeness of employees written outside the tab services (bulk import),
+     * after commit.
+     */
+    public void onEmployeesImported(Collection<Integer> empIds) {
+        if (empIds.isEmpty()) {
+            return;
+        }
+        final List<Integer> ids = new ArrayList<>(empIds);
+        AfterCommit.run(() -> changes.apply(() -> {
+            for (Object[] row : employeeRepository.findCompletenessByEmpIds(ids)) {
+                Candidate candidate = toCandidate(row);
+                candidates.put(candidate.empId, candidate);
+            }
+        }));
+    }
+
+    /**
+     * Confirmed employees are no longer candidates.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OnboardingStatusChangedEvent event) {
+        if (event.getTo() == OnboardingStatus.CONFIRM) {
+            int empId = event.getEmpId();
+            changes.apply(() -> candidates.remove(empId));
+        }
+    }
+
+    /**
+     * Completeness of one employee; from the index for candidates, from the database otherwise.
+     */
+    public OnboardingCompletenessDTO getCompleteness(String tempPayrollId) {
+        Employee employee = employeeRepository.findByTempPayrollId(tempPayrollId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Employee not found with temp_payroll_id: '" + tempPayrollId + "'"));
+        ensureLoaded();
+        Candidate candidate = candidates.get(employee.getEmp_id());
+        if (candidate == null) {
+            List<Object[]> rows = employeeRepository.findCompletenessByEmpIds(List.of(employee.getEmp_id()));
+            if (rows.isEmpty()) {
+                throw new ResourceNotFoundException("Employee with temp_payroll_id: '" + tempPayrollId + "' is not active");
+            }
+            candidate = toCandidate(rows.get(0));
+        }
+        return toDTO(candidate);
+    }
+
+    /**
+     * Candidates missing a section, or any section required for Central Office when section is
+     * null; ordered by emp_id. A null campusId is not filtered.
+     */
+    public List<OnboardingCompletenessDTO> findIncomplete(Integer campusId, Section section) {
+        ensureLoaded();
+        int wanted = section != null ? section.bit() : requiredMask();
+        List<Candidate> matches = new ArrayList<>();
+        for (Candidate candidate : candidates.values()) {
+            boolean missing = section != null ? (candidate.mask & wanted) == 0 : (candidate.mask & wanted) != wanted;
+            if (missing && (campusId == null || campusId.equals(candidate.campusId))) {
+                matches.add(candidate);
+            }
+        }
+        matches.sort((a, b) -> Integer.compare(a.empId, b.empId));
+        List<OnboardingCompletenessDTO> result = new ArrayList<>(matches.size());
+        for (Candidate candidate : matches) {
+            result.add(toDTO(candidate));
+        }
+        return result;
+    }
+
+    private void update(Employee employee, int set, int clear) {
+        final int empId = employee.getEmp_id();
+        final String tempPayrollId = employee.getTempPayrollId();
+        final Integer campusId = employee.getCampus_id() != null ? employee.getCampus_id().getCampusId() : null;
+        final boolean candidate = employee.getIs_active() == 1
+                && !onboardingWorkflowService.isIn(employee, OnboardingStatus.CONFIRM);
+        int columns = columnSections(employee);
+        final int setBits = set | columns;
+        final int clearBits = clear | (COLUMN_SECTIONS & ~columns);
+        AfterCommit.run(() -> changes.apply(() -> {
+            if (!candidate) {
+                candidates.remove(empId);
+                return;
+            }
+            // Not seen yet (new hire, or changed elsewhere since the load): the committed row has every section
+            if (!candidates.containsKey(empId)) {
+                List<Object[]> rows = employeeRepository.findCompletenessByEmpIds(List.of(empId));
+                if (rows.isEmpty() || candidates.putIfAbsent(empId, toCandidate(rows.get(0))) == null) {
+                    return;
+                }
+            }
+            candidates.compute(empId, (id, current) -> new Candidate(empId, tempPayrollId, campusId,
+                    ((current != null ? current.mask : 0) | setBits) & ~clearBits));
+        }));
+    }
+
+    private OnboardingCompletenessDTO toDTO(Candidate candidate) {
+        List<Section> completed = new ArrayList<>();
+        List<Section> missing = new ArrayList<>();
+        for (Section section : Section.values()) {
+            ((candidate.mask & section.bit()) != 0 ? completed : missing).add(section);
+        }
+        return new OnboardingCompletenessDTO(candidate.empId, candidate.tempPayrollId, candidate.campusId,
+                candidate.mask, completed, missing, (candidate.mask & requiredMask()) == requiredMask());
+    }
+
+    private int requiredMask() {
+        int mask = 0;
+        for (Section section : requiredForCentralOffice) {
+            mask |= section.bit();
+        }
+        return mask;
+    }
+
+    private static Candidate toCandidate(Object[] row) {
+        int mask = 0;
+        for (Section section : Section.values()) {
+            if (((Number) row[FLAG_OFFSET + section.ordinal()]).intValue() == 1) {
+                mask |= section.bit();
+            }
+        }
+        return new Candidate((Integer) row[0], (String) row[1], (Integer) row[2], mask);
+    }
+
+    // Sections stored as sce_emp columns, derived the same way as in the completeness query
+    private static int columnSections(Employee employee) {
+        int mask = 0;
+        if (employee.getEmployee_type_id() != null && employee.getDepartment() != null && employee.getDesignation() != null) {
+            mask |= Section.CATEGORY.bit();
+        }
+        if (employee.getAgreement_type() != null) {
+            mask |= Section.AGREEMENT.bit();
+        }
+        return mask;
+    }
+
+    // Candidates whose mask changed, that were added or that left
+    private static long drift(Map<Integer, Candidate> previous, Map<Integer, Candidate> next) {
+        long drift = 0;
+        for (Candidate candidate : next.values()) {
+            Candidate old = previous.get(candidate.empId);
+            if (old == null || old.mask != candidate.mask) {
+                drift++;
+            }
+        }
+        for (Integer empId : previous.keySet()) {
+            if (!next.containsKey(empId)) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    // Scheduled: an index that was never used stays unloaded
+    private void reconcileQuietly() {
+        if (!changes.isLoaded()) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("Onboarding completeness reconcile failed, keeping the previous index: {}", e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!changes.isLoaded()) {
+            synchronized (this) {
+                if (!changes.isLoaded()) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private static final class Candidate {
+
+        final int empId;
+        final String tempPayrollId;
+        final Integer campusId;
+        final int mask;
+
+        Candidate(int empId, String tempPayrollId, Integer campusId, int mask) {
+            this.empId = empId;
+            this.tempPayrollId = tempPayrollId;
+            this.campusId = campusId;
+            this.mask = mask;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.employee.service;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.employee.dto.OnboardingPipelineDTO;
+import com.employee.entity.Employee;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Onboarding pipeline counts for the DO / CO dashboards: active employees per campus and app
+ * status, and how many entered each status this week.
+ *
+ * Counters are LongAdders per campus x status, moved by every committed workflow transition
+ * (OnboardingStatusChangedEvent) and by bulk imports, so reads never touch sce_emp. Status counts
+ * are replaced from one grouped query every employee.pipeline.reconcile-interval-minutes, which
+ * also picks up writes of other instances and changes made outside the workflow (deactivation,
+ * campus moves). Weekly entries exist only in memory and are counted by this instance.
+ */
+@Service
+public class OnboardingPipelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingPipelineService.class);
+
+    // Key for employees without a campus
+    private static final int NO_CAMPUS = 0;
+    private static final OnboardingStatus[] STATUSES = OnboardingStatus.values();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OnboardingWorkflowService onboardingWorkflowService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.pipeline.reconcile-interval-minutes:10}")
+    private long reconcileIntervalMinutes;
+
+    // campus -> count per OnboardingStatus ordinal; replaced as a whole by reconcile()
+    private volatile ConcurrentHashMap<Integer, LongAdder[]> counts = new ConcurrentHashMap<>();
+    private volatile Week week = new Week(weekStart(LocalDate.now()));
+    private volatile Timestamp reconciledAt;
+    private ScheduledExecutorService reconciler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReconciliation() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "onboarding-pipeline-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (reconcileIntervalMinutes > 0) {
+            reconciler.scheduleWithFixedDelay(this::reconcileQuietly, 0, reconcileIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            reconciler.execute(this::reconcileQuietly);
+        }
+    }
+
+    @PreDestroy
+    public void stopReconciliation() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /**
+     * Replaces the status counts with a grouped count of active employees. Transitions committed
+     * while the query runs may be off by one until the next reconcile.
+     */
+    public void reconcile() {
+        long start = System.nanoTime();
+        ConcurrentHashMap<Integer, LongAdder[]> next = new ConcurrentHashMap<>();
+        for (Object[] row : employeeRepository.countActiveByCampusAndAppStatus()) {
+            OnboardingStatus status = onboardingWorkflowService.statusOf((Integer) row[1]);
+            if (status != null) {
+                int campusId = row[0] != null ? (Integer) row[0] : NO_CAMPUS;
+                adders(next, campusId)[status.ordinal()].add((Long) row[2]);
+            }
+        }
+        long drift = 0;
+        ConcurrentHashMap<Integer, LongAdder[]> previous = counts;
+        for (Map.Entry<Integer, LongAdder[]> entry : next.entrySet()) {
+            LongAdder[] old = previous.get(entry.getKey());
+            for (int s = 0; s < STATUSES.length; s++) {
+                drift += Math.abs(entry.getValue()[s].sum() - (old != null ? old[s].sum() : 0));
+            }
+        }
+        counts = next;
+        reconciledAt = new Timestamp(System.currentTimeMillis());
+        meterRegistry.counter("employee.pipeline.reconcile.drift").increment(drift);
+        logger.info("Onboarding pipeline reconciled: {} campuses, drift {}, {} ms",
+                next.size(), drift, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OnboardingStatusChangedEvent event) {
+        Employee employee = event.getEmployee();
+        int campusId = employee.getCampus_id() != null ? employee.getCampus_id().getCampusId() : NO_CAMPUS;
+        LongAdder[] campus = adders(counts, campusId);
+        if (event.getFrom() != null) {
+            campus[event.getFrom().ordinal()].decrement();
+        }
+        campus[event.getTo().ordinal()].increment();
+        adders(currentWeek().entered, campusId)[event.getTo().ordinal()].increment();
+    }
+
+    /**
+     * Counts employees inserted directly in a status (bulk import); applied after commit.
+     */
+    public void onEmployeesInserted(int campusId, OnboardingStatus status, int employees) {
+        AfterCommit.run(() -> {
+            adders(counts, campusId)[status.ordinal()].add(employees);
+            adders(currentWeek().entered, campusId)[status.ordinal()].add(employees);
+        });
+    }
+
+    public OnboardingPipelineDTO getPipeline(int campusId) {
+        Week current = currentWeek();
+        return toDTO(campusId, counts.get(campusId), current.entered.get(campusId), current);
+    }
+
+    /**
+     * One entry per campus with at least one counted employee, plus a total with campusId null.
+     */
+    public List<OnboardingPipelineDTO> getPipelines() {
+        Week current = currentWeek();
+        List<OnboardingPipelineDTO> pipelines = new ArrayList<>();
+        LongAdder[] total = newAdders();
+        LongAdder[] totalEntered = newAdders();
+        for (Map.Entry<Integer, LongAdder[]> entry : counts.entrySet()) {
+            LongAdder[] entered = current.entered.get(entry.getKey());
+            pipelines.add(toDTO(entry.getKey(), entry.getValue(), entered, current));
+            for (int s = 0; s < STATUSES.length; s++) {
+                total[s].add(entry.getValue()[s].sum());
+            }
+        }
+        for (LongAdder[] entered : current.entered.values()) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                totalEntered[s].add(entered[s].sum());
+            }
+        }
+        pipelines.sort((a, b) -> Integer.compare(a.getCampusId(), b.getCampusId()));
+        pipelines.add(toDTO(null, total, totalEntered, current));
+        return pipelines;
+    }
+
+    private OnboardingPipelineDTO toDTO(Integer campusId, LongAdder[] campus, LongAdder[] entered, Week current) {
+        Map<OnboardingStatus, Long> byStatus = new EnumMap<>(OnboardingStatus.class);
+        Map<OnboardingStatus, Long> enteredThisWeek = new EnumMap<>(OnboardingStatus.class);
+        for (OnboardingStatus status : STATUSES) {
+            // a transition between reconciles may briefly push a count below zero
+            byStatus.put(status, campus != null ? Math.max(0, campus[status.ordinal()].sum()) : 0L);
+            enteredThisWeek.put(status, entered != null ? entered[status.ordinal()].sum() : 0L);
+        }
+        return new OnboardingPipelineDTO(campusId, byStatus, enteredThisWeek, java.sql.Date.valueOf(current.start), reconciledAt);
+    }
+
+    private Week currentWeek() {
+        Week current = week;
+        LocalDate start = weekStart(LocalDate.now());
+        if (!current.start.equals(start)) {
+            synchronized (this) {
+                if (!week.start.equals(start)) {
+                    week = new Week(start);
+                }
+                current = week;
+            }
+        }
+        return current;
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static LongAdder[] adders(ConcurrentHashMap<Integer, LongAdder[]> map, int campusId) {
+        return map.computeIfAbsent(campusId, k -> newAdders());
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[STATUSES.length];
+        for (int s = 0; s < adders.length; s++) {
+            adders[s] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.error("Onboarding pipeline reconcile failed, keeping the incremental counts: {}", e.getMessage());
+        }
+    }
+
+    /** Status entries of one ISO week (Monday start). */
+    private static final class Week {
+
+        final LocalDate start;
+        final ConcurrentHashMap<Integer, LongAdder[]> entered = new ConcurrentHashMap<>();
+
+        Week(LocalDate start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.employee.service;
+
+import com.employee.entity.Employee;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+import com.employee.service.OnboardingWorkflowService.Transition;
+
+/**
+ * Published by OnboardingWorkflowService when an employee's app status changes, inside the
+ * transaction that changes it. For CREATE the employee is not inserted yet, so listeners that
+ * need emp_id (or only committed changes) use {@code @TransactionalEventListener}.
+ */
+public class OnboardingStatusChangedEvent {
+
+    private final Employee employee;
+    private final Transition transition;
+    private final OnboardingStatus from; // null for a new employee
+    private final OnboardingStatus to;
+
+    public OnboardingStatusChangedEvent(Employee employee, Transition transition,
+                                        OnboardingStatus from, OnboardingStatus to) {
+        this.employee = employee;
+        this.transition = transition;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public int getEmpId() {
+        return employee.getEmp_id();
+    }
+
+    public String getTempPayrollId() {
+        return employee.getTempPayrollId();
+    }
+
+    public Transition getTransition() {
+        return transition;
+    }
+
+    public OnboardingStatus getFrom() {
+        return from;
+    }
+
+    public OnboardingStatus getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return "OnboardingStatusChangedEvent[empId=" + employee.getEmp_id() + ", tempPayrollId="
+                + employee.getTempPayrollId() + ", transition=" + transition + ", from=" + from + ", to=" + to + "]";
+    }
+}
@@ -0,0 +1,224 @@
+package com.employee.service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.employee.entity.Employee;
+import com.employee.entity.EmployeeCheckListStatus;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeCheckListStatusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Onboarding app-status workflow (sce_emp_app_status) as an in-memory state machine.
+ *
+ * The status catalog is read once on first use; transitions are checked against the table in
+ * {@link Transition} and applied by pointing Employee.emp_check_list_status_id at a reference
+ * (no SELECT), so a status change is just part of the employee UPDATE the caller already flushes.
+ * The current status is resolved from the id of the lazy association, which Hibernate knows
+ * without initializing it. Every applied transition publishes an {@link OnboardingStatusChangedEvent}.
+ */
+@Service
+public class OnboardingWorkflowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingWorkflowService.class);
+
+    public enum OnboardingStatus {
+        INCOMPLETED("Incompleted"),
+        PENDING_AT_DO("Pending at DO"),
+        BACK_TO_CAMPUS("Back to Campus"),
+        PENDING_AT_CO("Pending at CO"),
+        BACK_TO_DO("Back to DO"),
+        CONFIRM("Confirm");
+
+        private final String catalogName;
+
+        OnboardingStatus(String catalogName) {
+            this.catalogName = catalogName;
+        }
+
+        /** check_app_status_name of the catalog row */
+        public String catalogName() {
+            return catalogName;
+        }
+    }
+
+    /**
+     * Legal transitions. SUBMIT_TO_DO and CONFIRM are accepted from any status, as the agreement
+     * tab and the CO checklist always did.
+     */
+    public enum Transition {
+        CREATE("create employee", OnboardingStatus.INCOMPLETED, true),
+        SUBMIT_TO_DO("submit to DO", OnboardingStatus.PENDING_AT_DO, true, OnboardingStatus.values()),
+        SEND_BACK_TO_CAMPUS("send back to campus", OnboardingStatus.BACK_TO_CAMPUS, false,
+                OnboardingStatus.PENDING_AT_DO),
+        FORWARD_TO_CO("forward to central office", OnboardingStatus.PENDING_AT_CO, false,
+                OnboardingStatus.PENDING_AT_DO, OnboardingStatus.BACK_TO_DO),
+        REJECT_TO_DO("reject back to DO", OnboardingStatus.BACK_TO_DO, false,
+                OnboardingStatus.PENDING_AT_CO),
+        CONFIRM("confirm", OnboardingStatus.CONFIRM, true, OnboardingStatus.values());
+
+        private final String action;
+        private final OnboardingStatus target;
+        private final boolean fromNone;
+        private final Set<OnboardingStatus> from;
+
+        Transition(String action, OnboardingStatus target, boolean fromNone, OnboardingStatus... from) {
+            this.action = action;
+            this.target = target;
+            this.fromNone = fromNone;
+            this.from = from.length == 0 ? EnumSet.noneOf(OnboardingStatus.class) : EnumSet.copyOf(Arrays.asList(from));
+        }
+
+        public OnboardingStatus target() {
+            return target;
+        }
+
+        public boolean allowedFrom(OnboardingStatus status) {
+            return status == null ? fromNone : from.contains(status);
+        }
+    }
+
+    @Autowired
+    private EmployeeCheckListStatusRepository employeeCheckListStatusRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Catalog catalog;
+
+    /**
+     * Re-reads sce_emp_app_status; only needed after the catalog table itself is edited.
+     */
+    public void reloadCatalog() {
+        List<EmployeeCheckListStatus> rows = employeeCheckListStatusRepository.findAll();
+        Map<OnboardingStatus, Integer> idByStatus = new EnumMap<>(OnboardingStatus.class);
+        Map<Integer, OnboardingStatus> statusById = new HashMap<>();
+        Map<Integer, String> nameById = new HashMap<>();
+        for (EmployeeCheckListStatus row : rows) {
+            nameById.put(row.getEmp_app_status_id(), row.getCheck_app_status_name());
+            for (OnboardingStatus status : OnboardingStatus.values()) {
+                if (status.catalogName.equals(row.getCheck_app_status_name())) {
+                    idByStatus.put(status, row.getEmp_app_status_id());
+                    statusById.put(row.getEmp_app_status_id(), status);
+                }
+            }
+        }
+        catalog = new Catalog(idByStatus, statusById, nameById);
+        logger.info("Loaded onboarding status catalog: {} rows, workflow statuses {}", rows.size(), idByStatus);
+    }
+
+    /**
+     * emp_app_status_id of a workflow status.
+     *
+     * @throws ResourceNotFoundException if the catalog has no row with that name
+     */
+    public int statusId(OnboardingStatus status) {
+        Integer id = catalog().idByStatus.get(status);
+        if (id == null) {
+            throw new ResourceNotFoundException("EmployeeCheckListStatus with name '" + status.catalogName + "' not found");
+        }
+        return id;
+    }
+
+    /**
+     * Workflow status of a catalog id, or null if that row is not one of the workflow statuses.
+     */
+    public OnboardingStatus statusOf(int statusId) {
+        return catalog().statusById.get(statusId);
+    }
+
+    /**
+     * Current workflow status of the employee, or null if none is set or the catalog row is not
+     * one of the workflow statuses. Does not initialize the lazy status association.
+     */
+    public OnboardingStatus currentStatus(Employee employee) {
+        EmployeeCheckListStatus status = employee.getEmp_check_list_status_id();
+        return status == null ? null : catalog().statusById.get(status.getEmp_app_status_id());
+    }
+
+    public boolean isIn(Employee employee, OnboardingStatus status) {
+        return currentStatus(employee) == status;
+    }
+
+    /**
+     * Fails if the transition is not allowed from the employee's current status; for callers that
+     * validate before doing other work and {@link #apply} afterwards.
+     *
+     * @throws ResourceNotFoundException if the transition is not allowed
+     */
+    public void check(Employee employee, Transition transition) {
+        if (!transition.allowedFrom(currentStatus(employee))) {
+            EmployeeCheckListStatus current = employee.getEmp_check_list_status_id();
+            throw new ResourceNotFoundException("Cannot " + transition.action + ": employee (emp_id: "
+                    + employee.getEmp_id() + ", temp_payroll_id: '" + employee.getTempPayrollId() + "') "
+                    + (current == null ? "does not have a status set"
+                            : "has status '" + catalog().name(current.getEmp_app_status_id()) + "'")
+                    + ". Allowed from: " + (transition.from.isEmpty() ? "a new employee only"
+                            : transition.from.stream().map(s -> "'" + s.catalogName + "'").collect(Collectors.joining(", ")))
+                    + ".");
+        }
+    }
+
+    /**
+     * Validates the transition against the employee's current status and moves it to the target
+     * status. The change is written with the employee's next flush.
+     *
+     * @throws ResourceNotFoundException if the transition is not allowed from the current status
+     */
+    public void apply(Employee employee, Transition transition) {
+        check(employee, transition);
+        OnboardingStatus from = currentStatus(employee);
+        employee.setEmp_check_list_status_id(employeeCheckListStatusRepository.getReferenceById(statusId(transition.target)));
+
+        meterRegistry.counter("employee.onboarding.transitions", "transition", transition.name(),
+                "from", from == null ? "NONE" : from.name(), "to", transition.target.name()).increment();
+        eventPublisher.publishEvent(new OnboardingStatusChangedEvent(employee, transition, from, transition.target));
+        logger.info("Employee (emp_id: {}, temp_payroll_id: {}) status {} -> {} ({})", employee.getEmp_id(),
+                employee.getTempPayrollId(), from, transition.target, transition);
+    }
+
+    private Catalog catalog() {
+        if (catalog == null) {
+            synchronized (this) {
+                if (catalog == null) {
+                    reloadCatalog();
+                }
+            }
+        }
+        return catalog;
+    }
+
+    private static final class Catalog {
+
+        final Map<OnboardingStatus, Integer> idByStatus;
+        final Map<Integer, OnboardingStatus> statusById;
+        final Map<Integer, String> nameById;
+
+        Catalog(Map<OnboardingStatus, Integer> idByStatus, Map<Integer, OnboardingStatus> statusById,
+                Map<Integer, String> nameById) {
+            this.idByStatus = idByStatus;
+            this.statusById = statusById;
+            this.nameById = nameById;
+        }
+
+        String name(int statusId) {
+            return nameById.getOrDefault(statusId, "id " + statusId);
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.employee.dto.OrgReportsDTO;
+import com.employee.dto.SpanOfControlDTO;
+import com.employee.entity.Employee;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory reporting hierarchy built from Employee.employee_manager_id and
+ * Employee.employee_reporting_id.
+ *
+ * Every active employee gets a dense int index; parents and children are kept in
+ * int arrays per relation, so hierarchy queries never touch the database. The graph
+ * is loaded on first use; ManagerMappingService validates each mapping change against
+ * it (cycle detection) and every saved Employee is applied after commit
+ * (EmployeeIndexEntityListener), deactivated employees leaving the graph and
+ * re-activated ones getting their reports back. Changes made outside this instance are
+ * picked up by a reload every employee.org-graph.reload-interval-minutes.
+ *
+ * The graph only sees committed changes, and only after commit, so the cycle check is
+ * repeated against sce_emp under an advisory lock (AdvisoryLocks.ORG_MAPPING) held until
+ * the mapping commits: concurrent mappings, here or on other instances, are checked one
+ * after the other.
+ */
+@Service
+public class OrgGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrgGraphService.class);
+
+    public enum Relation { MANAGER, REPORTING }
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CHILD_CAPACITY = 4;
+
+    // Whether the parent chain of the given employee (first argument) reaches the second argument
+    private static final String CHAIN_REACHES_SQL = "WITH RECURSIVE chain (emp_id, parent_id) AS ("
+            + " SELECT emp_id, %1$s FROM sce_employee.sce_emp WHERE emp_id = ? AND is_active = 1"
+            + " UNION"
+            + " SELECT e.emp_id, e.%1$s FROM sce_employee.sce_emp e JOIN chain c ON e.emp_id = c.parent_id WHERE e.is_active = 1)"
+            + " SELECT EXISTS (SELECT 1 FROM chain WHERE emp_id = ?)";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${employee.org-graph.reload-interval-minutes:30}")
+    private long reloadIntervalMinutes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // emp_id -> dense index
+    private final Map<Integer, Integer> indexByEmpId = new HashMap<>();
+    private int size;
+    private int[] empIds = new int[0];
+    private int[] campusIds = new int[0];
+    // [relation][node] -> parent index or NONE
+    private final int[][] parents = new int[Relation.values().length][0];
+    // [relation][node] -> parent emp_id or NONE, kept while the parent is not in the graph (inactive)
+    private final int[][] parentEmpIds = new int[Relation.values().length][0];
+    // [relation][node] -> child indexes (first childCounts[relation][node] entries are valid)
+    private final int[][][] children = new int[Relation.values().length][0][];
+    private final int[][] childCounts = new int[Relation.values().length][0];
+
+    private final IndexChanges changes = new IndexChanges();
+    private ScheduledExecutorService reloader;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReloads() {
+        if (reloadIntervalMinutes <= 0) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "org-graph-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reloadQuietly, reloadIntervalMinutes, reloadIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stopReloads() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Rebuilds the whole graph from sce_emp.
+     */
+    public synchronized void reload() {
+        changes.startLoad();
+        List<Object[]> edges;
+        try {
+            edges = employeeRepository.findActiveOrgGraphEdges();
+            rebuild(edges);
+        } finally {
+            changes.endLoad();
+        }
+        logger.info("Org graph loaded with {} active employees", edges.size());
+    }
+
+    private void rebuild(List<Object[]> edges) {
+        lock.writeLock().lock();
+        try {
+            indexByEmpId.clear();
+            size = 0;
+            int capacity = Math.max(16, edges.size());
+            empIds = new int[capacity];
+            campusIds = new int[capacity];
+            for (Relation relation : Relation.values()) {
+                int r = relation.ordinal();
+                parents[r] = new int[capacity];
+                parentEmpIds[r] = new int[capacity];
+                children[r] = new int[capacity][];
+                childCounts[r] = new int[capacity];
+            }
+            for (Object[] edge : edges) {
+                addNode((Integer) edge[0], (Integer) edge[3]);
+            }
+            for (Object[] edge : edges) {
+                int node = indexByEmpId.get((Integer) edge[0]);
+                setParent(Relation.MANAGER, node, (Integer) edge[1]);
+                setParent(Relation.REPORTING, node, (Integer) edge[2]);
+            }
+            changes.finishLoad();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Direct and indirect reports of an employee.
+     */
+    public OrgReportsDTO getReports(int empId, Relation relation) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int root = requireIndex(empId);
+            int r = relation.ordinal();
+            List<Integer> direct = new ArrayList<>();
+            List<Integer> indirect = new ArrayList<>();
+
+            BitSet visited = new BitSet(size);
+            visited.set(root);
+            int[] queue = new int[size];
+            int head = 0;
+            int tail = 0;
+            for (int i = 0; i < childCounts[r][root]; i++) {
+                int child = children[r][root][i];
+                visited.set(child);
+                direct.add(empIds[child]);
+                queue[tail++] = child;
+            }
+            while (head < tail) {
+                int node = queue[head++];
+                for (int i = 0; i < childCounts[r][node]; i++) {
+                    int child = children[r][node][i];
+                    if (!visited.get(child)) {
+                        visited.set(child);
+                        indirect.add(empIds[child]);
+                        queue[tail++] = child;
+                    }
+                }
+            }
+            return new OrgReportsDTO(empId, relation.name(), direct, indirect);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Chain of command above an employee, nearest first (excluding the employee).
+     */
+    public List<Integer> getChainOfCommand(int empId, Relation relation) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int r = relation.ordinal();
+            List<Integer> chain = new ArrayList<>();
+            int node = parents[r][requireIndex(empId)];
+            // Guard against a cycle that bypassed validation (e.g. direct DB edits)
+            while (node != NONE && chain.size() < size) {
+                chain.add(empIds[node]);
+                node = parents[r][node];
+            }
+            return chain;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Span of control of every manager in a campus: direct reports and total (direct + indirect) reports.
+     */
+    public List<SpanOfControlDTO> getSpanOfControlByCampus(int campusId, Relation relation) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int r = relation.ordinal();
+            int[] subtreeSizes = subtreeSizes(r);
+            List<SpanOfControlDTO> result = new ArrayList<>();
+            for (int node = 0; node < size; node++) {
+                if (campusIds[node] == campusId && childCounts[r][node] > 0) {
+                    result.add(new SpanOfControlDTO(empIds[node], childCounts[r][node], subtreeSizes[node] - 1));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rejects a mapping that would make an employee (indirectly) report to themself. Checks the
+     * graph, then takes the relation's mapping lock and checks sce_emp; must run in the
+     * transaction that writes the mapping, which holds the lock until it ends.
+     *
+     * @throws IllegalArgumentException if assigning newParentEmpId to empId creates a cycle
+     */
+    public void validateNoCycle(int empId, Integer newParentEmpId, Relation relation) {
+        if (newParentEmpId == null || newParentEmpId == 0) {
+            return;
+        }
+        if (newParentEmpId == empId) {
+            throw new IllegalArgumentException(
+                String.format("Employee %d cannot be their own %s", empId, label(relation)));
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Integer node = indexByEmpId.get(empId);
+            Integer parent = indexByEmpId.get(newParentEmpId);
+            // not in the active graph yet - cannot be part of an existing chain
+            if (node != null && parent != null) {
+                int r = relation.ordinal();
+                int current = parent;
+                int steps = 0;
+                while (current != NONE && steps++ <= size) {
+                    if (current == node) {
+                        throw cycle(empId, newParentEmpId, relation);
+                    }
+                    current = parents[r][current];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // mappings committed since the graph last heard of them, here or elsewhere
+        AdvisoryLocks.lock(jdbcTemplate, AdvisoryLocks.ORG_MAPPING, List.of(relation.ordinal()));
+        String column = relation == Relation.MANAGER ? "manager_id" : "reporting_manager_id";
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(String.format(CHAIN_REACHES_SQL, column), Boolean.class,
+                newParentEmpId, empId))) {
+            throw cycle(empId, newParentEmpId, relation);
+        }
+    }
+
+    private static IllegalArgumentException cycle(int empId, int newParentEmpId, Relation relation) {
+        return new IllegalArgumentException(
+            String.format("Mapping employee %d to %s %d creates a cycle: %d already reports (directly or indirectly) to %d",
+                        empId, label(relation), newParentEmpId, newParentEmpId, empId));
+    }
+
+    /**
+     * Records the current manager / reporting manager / campus of a saved employee.
+     * Inside a transaction the update is applied after commit, so rolled-back mappings never reach the graph.
+     */
+    public void onEmployeeMappingChanged(Employee employee) {
+        final int empId = employee.getEmp_id();
+        final Integer campusId = employee.getCampus_id() != null ? employee.getCampus_id().getCampusId() : null;
+        final Integer managerId = employee.getEmployee_manager_id() != null ? employee.getEmployee_manager_id().getEmp_id() : null;
+        final Integer reportingId = employee.getEmployee_reporting_id() != null ? employee.getEmployee_reporting_id().getEmp_id() : null;
+        final boolean active = employee.getIs_active() == 1;
+        AfterCommit.run(() -> changes.apply(() -> applyMapping(empId, campusId, managerId, reportingId, active)));
+    }
+
+    private void applyMapping(int empId, Integer campusId, Integer managerId, Integer reportingId, boolean active) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = indexByEmpId.get(empId);
+            if (!active) {
+                if (existing != null) {
+                    removeNode(existing);
+                }
+                return;
+            }
+            int node = existing != null ? existing : addNode(empId, campusId);
+            campusIds[node] = campusId != null ? campusId : NONE;
+            unlink(Relation.MANAGER, node);
+            unlink(Relation.REPORTING, node);
+            setParent(Relation.MANAGER, node, managerId);
+            setParent(Relation.REPORTING, node, reportingId);
+            if (existing == null) {
+                adoptReports(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of nodes in the subtree of every node (the node included), from one iterative
+     * post-order walk over the whole forest. Caller holds a lock.
+     */
+    private int[] subtreeSizes(int r) {
+        int[] sizes = new int[size];
+        int[] stack = new int[size];
+        int[] nextChild = new int[size];
+        BitSet visited = new BitSet(size);
+        BitSet walked = new BitSet(size);
+        for (int start = 0; start < size; start++) {
+            if (visited.get(start)) {
+                continue;
+            }
+            // Not below a root: climb to a cycle that bypassed validation (e.g. direct DB edits)
+            int top = start;
+            while (parents[r][top] != NONE && !walked.get(top)) {
+                walked.set(top);
+                top = parents[r][top];
+            }
+            if (visited.get(top)) {
+                continue;
+            }
+            visited.set(top);
+            sizes[top] = 1;
+            int depth = 0;
+            stack[depth++] = top;
+            while (depth > 0) {
+                int node = stack[depth - 1];
+                if (nextChild[node] < childCounts[r][node]) {
+                    int child = children[r][node][nextChild[node]++];
+                    if (!visited.get(child)) {
+                        visited.set(child);
+                        sizes[child] = 1;
+                        stack[depth++] = child;
+                    }
+                } else if (--depth > 0) {
+                    sizes[stack[depth - 1]] += sizes[node];
+                }
+            }
+        }
+        return sizes;
+    }
+
+    // Scheduled: a graph that was never used stays unloaded
+    private void reloadQuietly() {
+        if (!changes.isLoaded()) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("Org graph reload failed, keeping the previous graph: {}", e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!changes.isLoaded()) {
+            synchronized (this) {
+                if (!changes.isLoaded()) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private int requireIndex(int empId) {
+        Integer index = indexByEmpId.get(empId);
+        if (index == null) {
+            throw new ResourceNotFoundException("Active employee not found in org graph with ID: " + empId);
+        }
+        return index;
+    }
+
+    private int indexOf(Integer empId) {
+        if (empId == null) {
+            return NONE;
+        }
+        Integer index = indexByEmpId.get(empId);
+        return index != null ? index : NONE;
+    }
+
+    // Caller holds the write lock
+    private int addNode(Integer empId, Integer campusId) {
+        if (size == empIds.length) {
+            int capacity = Math.max(16, size * 2);
+            empIds = Arrays.copyOf(empIds, capacity);
+            campusIds = Arrays.copyOf(campusIds, capacity);
+            for (Relation relation : Relation.values()) {
+                int r = relation.ordinal();
+                parents[r] = Arrays.copyOf(parents[r], capacity);
+                parentEmpIds[r] = Arrays.copyOf(parentEmpIds[r], capacity);
+                children[r] = Arrays.copyOf(children[r], capacity);
+                childCounts[r] = Arrays.copyOf(childCounts[r], capacity);
+            }
+        }
+        int node = size++;
+        empIds[node] = empId;
+        campusIds[node] = campusId != null ? campusId : NONE;
+        for (Relation relation : Relation.values()) {
+            parents[relation.ordinal()][node] = NONE;
+            parentEmpIds[relation.ordinal()][node] = NONE;
+        }
+        indexByEmpId.put(empId, node);
+        return node;
+    }
+
+    /**
+     * Links the employees whose manager / reporting manager is a (re-)activated node to it; they
+     * were left without a parent while it was out of the graph. Caller holds the write lock.
+     */
+    private void adoptReports(int node) {
+        for (Relation relation : Relation.values()) {
+            int r = relation.ordinal();
+            for (int other = 0; other < size; other++) {
+                if (other != node && parents[r][other] == NONE && parentEmpIds[r][other] == empIds[node]) {
+                    link(relation, other, node);
+                }
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private void setParent(Relation relation, int node, Integer parentEmpId) {
+        parentEmpIds[relation.ordinal()][node] = parentEmpId != null ? parentEmpId : NONE;
+        link(relation, node, indexOf(parentEmpId));
+    }
+
+    /**
+     * Removes a deactivated employee. Their reports keep their place in the graph without a
+     * parent (as after a reload, which skips inactive managers); the last node moves into the
+     * freed index so indexes stay dense. Caller holds the write lock.
+     */
+    private void removeNode(int node) {
+        for (Relation relation : Relation.values()) {
+            int r = relation.ordinal();
+            unlink(relation, node);
+            for (int i = 0; i < childCounts[r][node]; i++) {
+                parents[r][children[r][node][i]] = NONE;
+            }
+            children[r][node] = null;
+            childCounts[r][node] = 0;
+        }
+        indexByEmpId.remove(empIds[node]);
+
+        int last = --size;
+        if (node != last) {
+            empIds[node] = empIds[last];
+            campusIds[node] = campusIds[last];
+            indexByEmpId.put(empIds[node], node);
+            for (Relation relation : Relation.values()) {
+                int r = relation.ordinal();
+                int parent = parents[r][last];
+                parents[r][node] = parent;
+                parentEmpIds[r][node] = parentEmpIds[r][last];
+                children[r][node] = children[r][last];
+                childCounts[r][node] = childCounts[r][last];
+                if (parent != NONE) {
+                    int[] siblings = children[r][parent];
+                    for (int i = 0; i < childCounts[r][parent]; i++) {
+                        if (siblings[i] == last) {
+                            siblings[i] = node;
+                            break;
+                        }
+                    }
+                }
+                for (int i = 0; i < childCounts[r][node]; i++) {
+                    parents[r][children[r][node][i]] = node;
+                }
+            }
+        }
+        for (Relation relation : Relation.values()) {
+            int r = relation.ordinal();
+            parents[r][last] = NONE;
+            parentEmpIds[r][last] = NONE;
+            children[r][last] = null;
+            childCounts[r][last] = 0;
+        }
+    }
+
+    // Caller holds the write lock
+    private void link(Relation relation, int node, int parent) {
+        int r = relation.ordinal();
+        parents[r][node] = parent;
+        if (parent == NONE) {
+            return;
+        }
+        int[] list = children[r][parent];
+        int count = childCounts[r][parent];
+        if (list == null) {
+            list = new int[INITIAL_CHILD_CAPACITY];
+        } else if (count == list.length) {
+            list = Arrays.copyOf(list, count * 2);
+        }
+        list[count] = node;
+        children[r][parent] = list;
+        childCounts[r][parent] = count + 1;
+    }
+
+    // Caller holds the write lock
+    private void unlink(Relation relation, int node) {
+        int r = relation.ordinal();
+        int parent = parents[r][node];
+        if (parent == NONE) {
+            return;
+        }
+        int[] list = children[r][parent];
+        int count = childCounts[r][parent];
+        for (int i = 0; i < count; i++) {
+            if (list[i] == node) {
+                list[i] = list[count - 1];
+                childCounts[r][parent] = count - 1;
+                break;
+            }
+        }
+        parents[r][node] = NONE;
+    }
+
+    private static String label(Relation relation) {
+        return relation == Relation.MANAGER ? "manager" : "reporting manager";
+    }
+}
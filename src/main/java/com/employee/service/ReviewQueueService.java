@@ -0,0 +1,354 @@
+package com.employee.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.employee.dto.ReviewQueueItemDTO;
+import com.employee.dto.ReviewQueuePageDTO;
+import com.employee.exception.LeaseConflictException;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+
+/**
+ * Work queues for DO and CO reviewers: employees waiting in a review status, oldest first, with
+ * short leases so two reviewers do not open the same record.
+ *
+ * Pages are read with keyset pagination on (created_date, emp_id), so fetching the next page costs
+ * the same at any depth of the backlog. updated_date is only written for confirmed employees, so
+ * created_date is the queue order. Leases are rows of sce_emp_review_lease (see ReviewLease), so
+ * every instance sees the same holder; they expire after employee.review-queue.lease-minutes,
+ * are checked by the forward / reject / back-to-campus actions and are dropped when the employee
+ * leaves the status.
+ *
+ * The table is created by db/sce_emp_review_lease.sql, which has to be run before deploying. On a
+ * database without it leases are off: claimNext hands out the oldest record without a lease, and
+ * the lease endpoints, holder checks and status-change cleanup do nothing.
+ */
+@Service
+public class ReviewQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewQueueService.class);
+
+    private static final Timestamp QUEUE_START = new Timestamp(0);
+    // Pages scanned by claimNext before giving up on a queue where everything is leased
+    private static final int CLAIM_SCAN_PAGES = 20;
+
+    // Takes a free or expired lease, or extends the reviewer's own; returns no row if another reviewer holds it
+    private static final String LEASE_SQL = "INSERT INTO sce_employee.sce_emp_review_lease AS l (emp_id, reviewer_id, expires_at)"
+            + " VALUES (?, ?, now() + CAST(? AS integer) * INTERVAL '1 minute')"
+            + " ON CONFLICT (emp_id) DO UPDATE SET reviewer_id = EXCLUDED.reviewer_id, expires_at = EXCLUDED.expires_at"
+            + " WHERE l.expires_at <= now() OR l.reviewer_id = EXCLUDED.reviewer_id"
+            + " RETURNING expires_at";
+    private static final String HOLDER_SQL = "SELECT reviewer_id, expires_at FROM sce_employee.sce_emp_review_lease"
+            + " WHERE emp_id = ? AND expires_at > now()";
+    // Followed by one placeholder per emp_id and ")"
+    private static final String PAGE_LEASES_SQL = "SELECT emp_id, reviewer_id, expires_at FROM sce_employee.sce_emp_review_lease"
+            + " WHERE expires_at > now() AND emp_id IN (";
+    private static final String RELEASE_SQL = "DELETE FROM sce_employee.sce_emp_review_lease WHERE emp_id = ? AND reviewer_id = ?";
+    private static final String DROP_SQL = "DELETE FROM sce_employee.sce_emp_review_lease WHERE emp_id = ?";
+    private static final String TABLE_EXISTS_SQL = "SELECT to_regclass('sce_employee.sce_emp_review_lease') IS NOT NULL";
+
+    /** Review levels and the statuses their reviewers work on; the first is the default queue. */
+    public enum ReviewLevel {
+        DO(OnboardingStatus.PENDING_AT_DO, OnboardingStatus.BACK_TO_DO),
+        CO(OnboardingStatus.PENDING_AT_CO);
+
+        private final OnboardingStatus defaultStatus;
+        private final Set<OnboardingStatus> statuses;
+
+        ReviewLevel(OnboardingStatus... statuses) {
+            this.defaultStatus = statuses[0];
+            this.statuses = EnumSet.copyOf(Arrays.asList(statuses));
+        }
+
+        static boolean isQueueStatus(OnboardingStatus status) {
+            for (ReviewLevel level : values()) {
+                if (level.statuses.contains(status)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private OnboardingWorkflowService onboardingWorkflowService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${employee.review-queue.lease-minutes:15}")
+    private long leaseMinutes;
+
+    @Value("${employee.review-queue.default-page-size:25}")
+    private int defaultPageSize;
+
+    @Value("${employee.review-queue.max-page-size:100}")
+    private int maxPageSize;
+
+    // Whether sce_emp_review_lease exists; looked up on first use
+    private volatile Boolean leaseTable;
+
+    /**
+     * One page of a review queue.
+     *
+     * @param status queue status; null for the level's default
+     * @param cursor nextCursor of the previous page; null for the first page
+     */
+    @Transactional(readOnly = true)
+    public ReviewQueuePageDTO getQueue(ReviewLevel level, OnboardingStatus status, Integer campusId, Integer zoneId,
+                                       String cursor, Integer size) {
+        OnboardingStatus queue = resolveStatus(level, status);
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        Cursor after = Cursor.decode(cursor);
+        // one extra row tells whether there is a next page
+        List<ReviewQueueItemDTO> items = employeeRepository.findReviewQueuePage(onboardingWorkflowService.statusId(queue),
+                campusId, zoneId, after.createdDate, after.empId, PageRequest.of(0, pageSize + 1));
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            ReviewQueueItemDTO last = items.get(pageSize - 1);
+            nextCursor = new Cursor(last.getCreatedDate(), last.getEmpId()).encode();
+        }
+        Map<Integer, Lease> leases = findLeases(items);
+        for (ReviewQueueItemDTO item : items) {
+            Lease lease = leases.get(item.getEmpId());
+            if (lease != null) {
+                item.setLeasedBy(lease.reviewerId);
+                item.setLeaseExpiresAt(lease.expiresAt);
+            }
+        }
+        return new ReviewQueuePageDTO(level.name(), queue.name(), items, nextCursor);
+    }
+
+    /**
+     * Leases the oldest unleased employee of a queue to the reviewer.
+     *
+     * @throws ResourceNotFoundException if every employee in the queue is leased (or it is empty)
+     */
+    @Transactional
+    public ReviewQueueItemDTO claimNext(ReviewLevel level, OnboardingStatus status, Integer campusId, Integer zoneId,
+                                        int reviewerId) {
+        OnboardingStatus queue = resolveStatus(level, status);
+        int statusId = onboardingWorkflowService.statusId(queue);
+        Cursor after = Cursor.decode(null);
+        for (int page = 0; page < CLAIM_SCAN_PAGES; page++) {
+            List<ReviewQueueItemDTO> items = employeeRepository.findReviewQueuePage(statusId, campusId, zoneId,
+                    after.createdDate, after.empId, PageRequest.of(0, maxPageSize));
+            Map<Integer, Lease> leases = findLeases(items);
+            for (ReviewQueueItemDTO item : items) {
+                Lease current = leases.get(item.getEmpId());
+                if (current != null && current.reviewerId != reviewerId) {
+                    continue;
+                }
+                if (!leasesEnabled()) {
+                    return item;
+                }
+                // another reviewer may have taken it since the read; the upsert decides
+                Timestamp expiresAt = tryLease(item.getEmpId(), reviewerId);
+                if (expiresAt != null) {
+                    item.setLeasedBy(reviewerId);
+                    item.setLeaseExpiresAt(expiresAt);
+                    logger.info("Reviewer {} claimed employee (emp_id: {}) from {} queue {}", reviewerId,
+                            item.getEmpId(), level, queue);
+                    return item;
+                }
+            }
+            if (items.size() < maxPageSize) {
+                break;
+            }
+            ReviewQueueItemDTO last = items.get(items.size() - 1);
+            after = new Cursor(last.getCreatedDate(), last.getEmpId());
+        }
+        throw new ResourceNotFoundException("No unclaimed employees in " + level + " queue '" + queue.catalogName() + "'");
+    }
+
+    /**
+     * Takes or extends the reviewer's lease on an employee.
+     *
+     * @return the lease expiry; null when leases are off
+     * @throws LeaseConflictException if another reviewer holds an unexpired lease
+     */
+    public Timestamp renewLease(int empId, int reviewerId) {
+        if (!leasesEnabled()) {
+            return null;
+        }
+        Timestamp expiresAt = tryLease(empId, reviewerId);
+        if (expiresAt == null) {
+            throw conflict(empId, findLease(empId, false));
+        }
+        return expiresAt;
+    }
+
+    /**
+     * Gives up the reviewer's lease; no-op if the reviewer does not hold it.
+     */
+    public void releaseLease(int empId, int reviewerId) {
+        if (!leasesEnabled()) {
+            return;
+        }
+        jdbcTemplate.update(RELEASE_SQL, empId, reviewerId);
+    }
+
+    /**
+     * Guards a state-changing review action (forward, reject, back to campus): fails if another
+     * reviewer holds an unexpired lease on the employee. Must run in the action's transaction; the
+     * lease row stays locked until it commits, and the status change then drops the lease.
+     *
+     * @param reviewerId emp_id of the reviewer acting; null when the caller did not say, in which
+     *                   case any unexpired lease blocks the action
+     * @throws LeaseConflictException if the employee is leased by someone else
+     */
+    public void checkLeaseHolder(int empId, Integer reviewerId) {
+        if (!leasesEnabled()) {
+            return;
+        }
+        Lease lease = findLease(empId, true);
+        if (lease != null && (reviewerId == null || lease.reviewerId != reviewerId)) {
+            throw conflict(empId, lease);
+        }
+    }
+
+    /**
+     * An employee that moved out of a review status has left the queue it was leased from. Runs
+     * before the transition commits so the lease goes with it; other transitions (create, submit
+     * to DO, ...) never had a lease and do not touch the table.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(OnboardingStatusChangedEvent event) {
+        if (event.getFrom() == null || !ReviewLevel.isQueueStatus(event.getFrom()) || !leasesEnabled()) {
+            return;
+        }
+        jdbcTemplate.update(DROP_SQL, event.getEmpId());
+    }
+
+    private boolean leasesEnabled() {
+        Boolean exists = leaseTable;
+        if (exists == null) {
+            exists = Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Boolean.class));
+            if (!exists) {
+                logger.warn("Table sce_employee.sce_emp_review_lease does not exist, review leases are off"
+                        + " (run db/sce_emp_review_lease.sql and restart to enable them)");
+            }
+            leaseTable = exists;
+        }
+        return exists;
+    }
+
+    // Expiry of the reviewer's lease after taking or extending it; null if someone else holds it
+    private Timestamp tryLease(int empId, int reviewerId) {
+        List<Timestamp> granted = jdbcTemplate.query(LEASE_SQL, (rs, row) -> rs.getTimestamp(1),
+                empId, reviewerId, leaseMinutes);
+        return granted.isEmpty() ? null : granted.get(0);
+    }
+
+    private Lease findLease(int empId, boolean forUpdate) {
+        List<Lease> leases = jdbcTemplate.query(forUpdate ? HOLDER_SQL + " FOR UPDATE" : HOLDER_SQL,
+                (rs, row) -> new Lease(rs.getInt(1), rs.getTimestamp(2)), empId);
+        return leases.isEmpty() ? null : leases.get(0);
+    }
+
+    // Unexpired leases on the given queue items, by emp_id
+    private Map<Integer, Lease> findLeases(List<ReviewQueueItemDTO> items) {
+        Map<Integer, Lease> leases = new HashMap<>();
+        if (items.isEmpty() || !leasesEnabled()) {
+            return leases;
+        }
+        Object[] empIds = new Object[items.size()];
+        for (int i = 0; i < empIds.length; i++) {
+            empIds[i] = items.get(i).getEmpId();
+        }
+        String sql = PAGE_LEASES_SQL + String.join(", ", Collections.nCopies(empIds.length, "?")) + ")";
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs ->
+                leases.put(rs.getInt(1), new Lease(rs.getInt(2), rs.getTimestamp(3))), empIds);
+        return leases;
+    }
+
+    private static LeaseConflictException conflict(int empId, Lease lease) {
+        if (lease == null) {
+            // released or expired between the upsert and the read; the caller can simply retry
+            return new LeaseConflictException("Employee (emp_id: " + empId + ") lease changed hands, please retry");
+        }
+        return new LeaseConflictException("Employee (emp_id: " + empId + ") is leased by reviewer "
+                + lease.reviewerId + " until " + lease.expiresAt);
+    }
+
+    private static OnboardingStatus resolveStatus(ReviewLevel level, OnboardingStatus status) {
+        if (status == null) {
+            return level.defaultStatus;
+        }
+        if (!level.statuses.contains(status)) {
+            throw new ResourceNotFoundException("No " + level + " review queue for status " + status
+                    + ". Available: " + level.statuses);
+        }
+        return status;
+    }
+
+    private static final class Lease {
+
+        final int reviewerId;
+        final Timestamp expiresAt;
+
+        Lease(int reviewerId, Timestamp expiresAt) {
+            this.reviewerId = reviewerId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Keyset position: the (created_date, emp_id) of the last row of a page, as an opaque URL-safe token. */
+    private static final class Cursor {
+
+        final Timestamp createdDate;
+        final int empId;
+
+        Cursor(Timestamp createdDate, int empId) {
+            this.createdDate = createdDate;
+            this.empId = empId;
+        }
+
+        String encode() {
+            String raw = createdDate.toInstant() + "|" + empId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            if (token == null || token.isBlank()) {
+                return new Cursor(QUEUE_START, 0);
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(Timestamp.from(Instant.parse(raw.substring(0, separator))),
+                        Integer.parseInt(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new ResourceNotFoundException("Invalid queue cursor: '" + token + "'");
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.employee.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.employee.dto.SharedAssignmentDTO;
+import com.employee.entity.SharedEmployee;
+import com.employee.repository.SharedEmployeeRepository;
+
+/**
+ * Active multi-campus assignments (sce_shared_employee) indexed both ways: campus -> shared staff
+ * and employee -> campuses.
+ *
+ * Loaded with one query on first use; after that ManagerMappingService reports every mapping and
+ * unmapping, applied after commit (IndexChanges), so campus rosters can add shared staff without a
+ * query per employee. Both maps hold the same immutable assignments and are only changed together
+ * under the service's lock; reads take no lock.
+ */
+@Service
+public class SharedEmployeeIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedEmployeeIndexService.class);
+
+    @Autowired
+    private SharedEmployeeRepository sharedEmployeeRepository;
+
+    // campus_id -> emp_id -> assignment
+    private final ConcurrentHashMap<Integer, Map<Integer, Assignment>> byCampus = new ConcurrentHashMap<>();
+    // emp_id -> campus_id -> assignment
+    private final ConcurrentHashMap<Integer, Map<Integer, Assignment>> byEmployee = new ConcurrentHashMap<>();
+    private final IndexChanges changes = new IndexChanges();
+
+    /**
+     * Re-reads all active assignments.
+     */
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        changes.startLoad();
+        List<Object[]> rows;
+        try {
+            rows = sharedEmployeeRepository.findActiveAssignments();
+            byCampus.clear();
+            byEmployee.clear();
+            for (Object[] row : rows) {
+                put(new Assignment((Integer) row[0], (Integer) row[1], (Integer) row[2], (String) row[3],
+                        (Integer) row[4], (String) row[5]));
+            }
+            changes.finishLoad();
+        } finally {
+            changes.endLoad();
+        }
+        logger.info("Shared employee index loaded: {} assignments at {} campuses, {} ms", rows.size(),
+                byCampus.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Records a saved sce_shared_employee row (new, updated or reactivated), after commit.
+     */
+    public void onAssigned(SharedEmployee sharedEmployee) {
+        final Assignment assignment = new Assignment(
+                sharedEmployee.getEmpId().getEmp_id(),
+                sharedEmployee.getCmpsId().getCampusId(),
+                sharedEmployee.getDesignationId().getDesignation_id(),
+                sharedEmployee.getDesignationId().getDesignation_name(),
+                sharedEmployee.getSubjectId() != null ? sharedEmployee.getSubjectId().getSubject_id() : null,
+                sharedEmployee.getSubjectId() != null ? sharedEmployee.getSubjectId().getSubject_name() : null);
+        boolean active = sharedEmployee.getIsActive() != null && sharedEmployee.getIsActive() == 1;
+        AfterCommit.run(() -> changes.apply(() -> apply(assignment.empId, assignment.campusId, active ? assignment : null)));
+    }
+
+    /**
+     * Records the deactivation of an employee's assignment at a campus, after commit.
+     */
+    public void onUnassigned(int empId, int campusId) {
+        AfterCommit.run(() -> changes.apply(() -> apply(empId, campusId, null)));
+    }
+
+    /**
+     * Shared staff of a campus, ordered by emp_id. Includes employees whose home campus is this
+     * campus when they also hold a shared assignment here.
+     */
+    public List<SharedAssignmentDTO> getByCampus(int campusId) {
+        ensureLoaded();
+        return toDTOs(byCampus.getOrDefault(campusId, Collections.emptyMap()), Comparator.comparingInt(a -> a.empId));
+    }
+
+    /**
+     * Campuses an employee is assigned to through sce_shared_employee, ordered by campus_id.
+     */
+    public List<SharedAssignmentDTO> getByEmployee(int empId) {
+        ensureLoaded();
+        return toDTOs(byEmployee.getOrDefault(empId, Collections.emptyMap()), Comparator.comparingInt(a -> a.campusId));
+    }
+
+    private synchronized void apply(int empId, int campusId, Assignment assignment) {
+        if (assignment != null) {
+            put(assignment);
+            return;
+        }
+        byCampus.computeIfPresent(campusId, (id, staff) -> {
+            staff.remove(empId);
+            return staff.isEmpty() ? null : staff;
+        });
+        byEmployee.computeIfPresent(empId, (id, campuses) -> {
+            campuses.remove(campusId);
+            return campuses.isEmpty() ? null : campuses;
+        });
+    }
+
+    private void put(Assignment assignment) {
+        byCampus.computeIfAbsent(assignment.campusId, id -> new ConcurrentHashMap<>()).put(assignment.empId, assignment);
+        byEmployee.computeIfAbsent(assignment.empId, id -> new ConcurrentHashMap<>()).put(assignment.campusId, assignment);
+    }
+
+    private static List<SharedAssignmentDTO> toDTOs(Map<Integer, Assignment> assignments, Comparator<Assignment> order) {
+        List<Assignment> sorted = new ArrayList<>(assignments.values());
+        sorted.sort(order);
+        List<SharedAssignmentDTO> result = new ArrayList<>(sorted.size());
+        for (Assignment a : sorted) {
+            result.add(new SharedAssignmentDTO(a.empId, a.campusId, a.designationId, a.designationName,
+                    a.subjectId, a.subjectName));
+        }
+        return result;
+    }
+
+    private void ensureLoaded() {
+        if (!changes.isLoaded()) {
+            synchronized (this) {
+                if (!changes.isLoaded()) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private static final class Assignment {
+
+        final int empId;
+        final int campusId;
+        final int designationId;
+        final String designationName;
+        final Integer subjectId;
+        final String subjectName;
+
+        Assignment(int empId, int campusId, int designationId, String designationName, Integer subjectId,
+                   String subjectName) {
+            this.empId = empId;
+            this.campusId = campusId;
+            this.designationId = designationId;
+            this.designationName = designationName;
+            this.subjectId = subjectId;
+            this.subjectName = subjectName;
+        }
+    }
+}
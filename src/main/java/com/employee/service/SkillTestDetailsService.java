@@ -2,13 +2,21 @@ package com.employee.service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.employee.dto.SkillTestDetailsDto;
@@ -36,7 +44,6 @@ import com.employee.repository.StreamRepository;
 import com.employee.repository.StructureRepository;
 import com.employee.repository.SubjectRepository;
 
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -58,36 +65,148 @@ public class SkillTestDetailsService {
     @Autowired private EmployeeRepository employeeRepository;
     @Autowired GradeRepository graderepository;
     @Autowired StructureRepository structurerepository;
+    @Autowired private IdentityNumberValidator identityNumberValidator;
+    @Autowired private JdbcTemplate jdbcTemplate;
 
+    // "TEMP" + campus code -> last temp payroll number; filled lazily per campus and by the background warmup
     private Map<String, AtomicInteger> campusCounters = new ConcurrentHashMap<>();
 
-    @PostConstruct
+    public enum CounterWarmupState { NOT_STARTED, WARMING, READY, FAILED }
+
+    private volatile CounterWarmupState counterWarmupState = CounterWarmupState.NOT_STARTED;
+    private volatile long counterWarmupMillis = -1;
+
+    /**
+     * Starts the counter warmup once the application is ready, off the startup thread.
+     * Until it finishes, counters are loaded per campus on first use (see getCampusCounter),
+     * so no request has to wait for campuses it does not touch.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCounterWarmup() {
+        Thread warmup = new Thread(this::initializeCounters, "temp-payroll-counter-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+    }
+
+    /**
+     * Loads the last temp payroll number of every campus with two grouped queries and the campus
+     * list (instead of two MAX(..) LIKE queries per campus).
+     */
     public void initializeCounters() {
-        // ... (Counter logic remains exactly the same as before) ...
-        log.info("Initializing campus ID counters...");
-        List<Campus> allCampuses = campusrepository.findAllWithCodeNotNull();
-        for (Campus campus : allCampuses) {
-            String baseKey = "TEMP" + campus.getCode();
-            int lastValue = 0;
-            try {
-                String lastIdInSkillTest = skillTestDetailsRepository.findMaxTempPayrollIdByKey(baseKey + "%");
-                String lastIdInEmployee = employeeRepository.findMaxTempPayrollIdByKey(baseKey + "%");
-                if (lastIdInSkillTest != null) {
-                    try {
-                        int val = Integer.parseInt(lastIdInSkillTest.substring(baseKey.length()));
-                        lastValue = Math.max(lastValue, val);
-                    } catch (Exception e) {}
-                }
-                if (lastIdInEmployee != null) {
-                    try {
-                        int val = Integer.parseInt(lastIdInEmployee.substring(baseKey.length()));
-                        lastValue = Math.max(lastValue, val);
-                    } catch (Exception e) {}
+        counterWarmupState = CounterWarmupState.WARMING;
+        long start = System.nanoTime();
+        try {
+            List<Campus> allCampuses = campusrepository.findAllWithCodeNotNull();
+            Set<String> baseKeys = new HashSet<>();
+            for (Campus campus : allCampuses) {
+                baseKeys.add("TEMP" + campus.getCode());
+            }
+            Map<String, Integer> lastValues = new HashMap<>();
+            mergeMaxPerCampus(lastValues, baseKeys, skillTestDetailsRepository.findMaxTempPayrollIdPerPrefix());
+            mergeMaxPerCampus(lastValues, baseKeys, employeeRepository.findMaxTempPayrollIdPerPrefix());
+            for (String baseKey : baseKeys) {
+                campusCounters.computeIfAbsent(baseKey, k -> new AtomicInteger(0))
+                        .accumulateAndGet(lastValues.getOrDefault(baseKey, 0), Math::max);
+            }
+            counterWarmupMillis = (System.nanoTime() - start) / 1_000_000;
+            counterWarmupState = CounterWarmupState.READY;
+            log.info("Campus ID counters initialized for {} campuses in {} ms", allCampuses.size(), counterWarmupMillis);
+        } catch (Exception e) {
+            counterWarmupMillis = (System.nanoTime() - start) / 1_000_000;
+            counterWarmupState = CounterWarmupState.FAILED;
+            log.error("Campus ID counter warmup failed after {} ms, counters stay lazy: {}", counterWarmupMillis, e.getMessage());
+        }
+    }
+
+    /**
+     * Counter of one campus key ("TEMP" + campus code), loaded on first use if the warmup has not reached it yet.
+     */
+    public AtomicInteger getCampusCounter(String baseKey) {
+        AtomicInteger counter = campusCounters.get(baseKey);
+        if (counter != null) {
+            return counter;
+        }
+        AtomicInteger loaded = campusCounters.computeIfAbsent(baseKey, k -> new AtomicInteger(0));
+        loaded.accumulateAndGet(lastTempPayrollNumber(baseKey), Math::max);
+        return loaded;
+    }
+
+    /**
+     * Next temp payroll ID of a campus key: the one allocator of skill test registration, onboarding
+     * and bulk import, so no two of them hand out the same number. See nextTempPayrollIds.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String nextTempPayrollId(String baseKey) {
+        return nextTempPayrollIds(baseKey, 1).get(0);
+    }
+
+    /**
+     * The next count temp payroll IDs of a campus key. Must run in the transaction that inserts them:
+     * the campus key stays locked until that transaction ends, and the last number is re-read from
+     * the database under the lock, so instances sharing the database wait for each other's inserts
+     * instead of handing out the same number. The counter still moves past numbers of rolled-back
+     * transactions, which leaves a gap but keeps IDs increasing.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> nextTempPayrollIds(String baseKey, int count) {
+        AdvisoryLocks.lock(jdbcTemplate, AdvisoryLocks.TEMP_PAYROLL_CAMPUS, List.of(baseKey.hashCode()));
+        AtomicInteger counter = campusCounters.computeIfAbsent(baseKey, k -> new AtomicInteger(0));
+        counter.accumulateAndGet(lastTempPayrollNumber(baseKey), Math::max);
+        int last = counter.addAndGet(count);
+        List<String> ids = new ArrayList<>(count);
+        for (int number = last - count + 1; number <= last; number++) {
+            ids.add(baseKey + String.format("%04d", number));
+        }
+        return ids;
+    }
+
+    // Highest temp payroll number of a campus key in the database, 0 if none
+    private int lastTempPayrollNumber(String baseKey) {
+        return Math.max(
+                parseTempPayrollNumber(skillTestDetailsRepository.findMaxTempPayrollIdByKey(baseKey + "%"), baseKey),
+                parseTempPayrollNumber(employeeRepository.findMaxTempPayrollIdByKey(baseKey + "%"), baseKey));
+    }
+
+    public CounterWarmupState getCounterWarmupState() {
+        return counterWarmupState;
+    }
+
+    public long getCounterWarmupMillis() {
+        return counterWarmupMillis;
+    }
+
+    public int getLoadedCampusCounterCount() {
+        return campusCounters.size();
+    }
+
+    /**
+     * Credits the max ID of every prefix group to each campus key it starts with - the same IDs the
+     * LIKE 'TEMP<code>%' lookup of getCampusCounter considers (a serial beyond 9999 makes the group
+     * prefix longer than the campus key).
+     */
+    static void mergeMaxPerCampus(Map<String, Integer> lastValues, Set<String> baseKeys, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            String maxId = (String) row[1];
+            if (maxId == null) {
+                continue;
+            }
+            for (int end = "TEMP".length() + 1; end < maxId.length(); end++) {
+                String baseKey = maxId.substring(0, end);
+                if (baseKeys.contains(baseKey)) {
+                    lastValues.merge(baseKey, parseTempPayrollNumber(maxId, baseKey), Math::max);
                 }
-            } catch (Exception e) {
-                log.error("Error for key {}: {}", baseKey, e.getMessage());
             }
-            campusCounters.put(baseKey, new AtomicInteger(lastValue));
+        }
+    }
+
+    private static int parseTempPayrollNumber(String tempPayrollId, String baseKey) {
+        if (tempPayrollId == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(tempPayrollId.substring(baseKey.length()));
+        } catch (Exception e) {
+            return 0;
         }
     }
 
@@ -112,22 +231,13 @@ public class SkillTestDetailsService {
         // === Generate TempPayrollId ===
         String baseKey = "TEMP" + campus.getCode();
         
-        // ... (Logic to calculate maxValue remains the same) ...
-        String max1 = skillTestDetailsRepository.findMaxTempPayrollIdByKey(baseKey + "%");
-        String max2 = employeeRepository.findMaxTempPayrollIdByKey(baseKey + "%");
-        int maxValue = 0;
-        try { if (max1 != null) maxValue = Math.max(maxValue, Integer.parseInt(max1.substring(baseKey.length()))); } catch (Exception e) {}
-        try { if (max2 != null) maxValue = Math.max(maxValue, Integer.parseInt(max2.substring(baseKey.length()))); } catch (Exception e) {}
-
-        int nextValue = maxValue + 1;
-        String generatedTempPayrollId = baseKey + String.format("%04d", nextValue);
-        campusCounters.computeIfAbsent(baseKey, k -> new AtomicInteger(0)).set(nextValue);
+        String generatedTempPayrollId = nextTempPayrollId(baseKey);
 
         // === Aadhaar Validation ===
         if (dto.getAadhaarNo() != null && dto.getAadhaarNo() > 0) {
-            String aadhaar = String.valueOf(dto.getAadhaarNo());
-            if (!aadhaar.matches("^[0-9]{12}$")) throw new ResourceNotFoundException("Aadhaar must be exactly 12 digits");
-            if (!isValidAadhaar(aadhaar)) throw new ResourceNotFoundException("Invalid Aadhaar (Verhoeff failed)");
+            long aadhaar = dto.getAadhaarNo();
+            if (!identityNumberValidator.hasTwelveDigits(aadhaar)) throw new ResourceNotFoundException("Aadhaar must be exactly 12 digits");
+            if (!identityNumberValidator.isValidAadhaar(aadhaar)) throw new ResourceNotFoundException("Invalid Aadhaar (Verhoeff failed)");
         }
 
         // === Fetch Relations ===
@@ -201,17 +311,4 @@ public class SkillTestDetailsService {
         // === RETURN THE SAVED ENTITY ===
         return skillTestDetailsRepository.save(newDetails); 
     }
-
-    // ... (isValidAadhaar remains the same) ...
-    private boolean isValidAadhaar(String aadhaar) {
-        // ... Verhoeff logic ...
-        int[][] D = {{0,1,2,3,4,5,6,7,8,9},{1,2,3,4,0,6,7,8,9,5},{2,3,4,0,1,7,8,9,5,6},{3,4,0,1,2,8,9,5,6,7},{4,0,1,2,3,9,5,6,7,8},{5,9,8,7,6,0,4,3,2,1},{6,5,9,8,7,1,0,4,3,2},{7,6,5,9,8,2,1,0,4,3},{8,7,6,5,9,3,2,1,0,4},{9,8,7,6,5,4,3,2,1,0}};
-        int[][] P = {{0,1,2,3,4,5,6,7,8,9},{1,5,7,6,2,8,3,0,9,4},{5,8,0,3,7,9,6,1,4,2},{8,9,1,6,0,4,3,5,2,7},{9,4,5,3,1,2,6,8,7,0},{4,2,8,6,5,7,3,9,0,1},{2,7,9,3,8,0,6,4,1,5},{7,0,4,6,9,1,3,2,5,8}};
-        int checksum = 0;
-        for (int i = 0; i < aadhaar.length(); i++) {
-            int digit = aadhaar.charAt(aadhaar.length() - 1 - i) - '0';
-            checksum = D[checksum][P[i % 8][digit]];
-        }
-        return checksum == 0;
-    }
 }
\ No newline at end of file
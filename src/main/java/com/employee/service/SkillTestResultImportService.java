@@ -0,0 +1,329 @@
+package com.employee.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.employee.dto.BulkImportRowErrorDTO;
+import com.employee.dto.SkillTestResultImportDTO;
+import com.employee.dto.SkillTestResultRowDTO;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.SkillTestDetailsRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Batch import of skill test results (sce_skill_test_result) as delivered per exam session.
+ *
+ * The request body (a JSON array, or one JSON object per line) is read incrementally and handled
+ * in chunks of employee.skill-test-import.chunk-size results: the counts of every result are
+ * checked against each other, then in one transaction per chunk one query matches the chunk's temp
+ * payroll IDs to active skill test candidates, the candidates are locked and their recorded exam
+ * dates read, and the accepted results are written with one JDBC batch. sce_skill_test_approval is refreshed
+ * once after the whole batch (when it is a materialized view, see
+ * employee.skill-test-import.refresh-approval-view).
+ */
+@Service
+public class SkillTestResultImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillTestResultImportService.class);
+
+    private static final int MAX_RESULT_LENGTH = 30;
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private static final String INSERT_SQL = "INSERT INTO sce_employee.sce_skill_test_result "
+            + "(skill_test_detl_id, emp_name, exam_date, no_of_question, no_of_ques_attempt, no_of_ques_unattempt, "
+            + "no_of_ques_correct, no_of_ques_wrong, total_marks, result, is_active) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1)";
+    private static final int[] INSERT_TYPES = {
+            Types.INTEGER, Types.VARCHAR, Types.DATE, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR };
+
+    // Followed by one placeholder per skill_test_detl_id and ")"
+    private static final String RECORDED_EXAM_DATES_SQL = "SELECT skill_test_detl_id, exam_date "
+            + "FROM sce_employee.sce_skill_test_result WHERE is_active = 1 AND skill_test_detl_id IN (";
+
+    private static final String REFRESH_APPROVAL_SQL = "REFRESH MATERIALIZED VIEW sce_employee.sce_skill_test_approval";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SkillTestDetailsRepository skillTestDetailsRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${employee.skill-test-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${employee.skill-test-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${employee.skill-test-import.refresh-approval-view:false}")
+    private boolean refreshApprovalView;
+
+    /**
+     * Imports the skill test results of a request body.
+     *
+     * @throws ResourceNotFoundException if the body holds no results
+     */
+    public SkillTestResultImportDTO importResults(InputStream body) {
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(maxReportedErrors);
+        int rowsPerChunk = Math.max(1, chunkSize);
+
+        List<Row> chunk = new ArrayList<>(rowsPerChunk);
+        String unreadable = null;
+        try (MappingIterator<SkillTestResultRowDTO> results =
+                     objectMapper.readerFor(SkillTestResultRowDTO.class).readValues(body)) {
+            while (run.completed && results.hasNextValue()) {
+                chunk.add(new Row(++run.rowsRead, results.nextValue()));
+                if (chunk.size() == rowsPerChunk) {
+                    processChunk(chunk, run);
+                    chunk = new ArrayList<>(rowsPerChunk);
+                }
+            }
+        } catch (IOException e) {
+            unreadable = rootMessage(e);
+        }
+        // results read before a malformed one are still imported
+        if (run.completed && !chunk.isEmpty()) {
+            processChunk(chunk, run);
+        }
+        if (unreadable != null) {
+            run.reject(run.rowsRead + 1, "Not imported: unreadable result (" + unreadable + "); the rest of the batch was skipped");
+            run.completed = false;
+        }
+        if (run.rowsRead == 0 && unreadable == null) {
+            throw new ResourceNotFoundException("No skill test results in request");
+        }
+
+        boolean refreshed = run.imported > 0 && refreshApprovalView && refreshApprovalView();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Skill test result import: {} read, {} imported, {} failed{}, {} ms", run.rowsRead, run.imported,
+                run.failed, run.completed ? "" : " (stopped early)", elapsedMillis);
+        return new SkillTestResultImportDTO(run.completed, run.rowsRead, run.imported, run.failed, refreshed,
+                elapsedMillis, run.errors);
+    }
+
+    /**
+     * Validates and writes one chunk; a chunk that fails to commit stops the import.
+     */
+    private void processChunk(List<Row> chunk, ImportRun run) {
+        Set<String> tempPayrollIds = new HashSet<>();
+        for (Row row : chunk) {
+            row.error = validateCounts(row.result);
+            if (row.error == null) {
+                tempPayrollIds.add(row.result.getTempPayrollId().trim());
+            }
+        }
+
+        if (!tempPayrollIds.isEmpty()) {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(
+                        status -> writeChunk(chunk, tempPayrollIds));
+            } catch (RuntimeException e) {
+                int first = chunk.get(0).position;
+                int last = chunk.get(chunk.size() - 1).position;
+                logger.error("Skill test result chunk (results {}-{}) rolled back: {}", first, last, e.getMessage());
+                String message = "Not imported: results " + first + "-" + last + " were rolled back (" + rootMessage(e) + ")";
+                for (Row row : chunk) {
+                    if (row.error == null) {
+                        row.error = message;
+                    }
+                }
+                run.completed = false;
+            }
+        }
+        for (Row row : chunk) {
+            if (row.error != null) {
+                run.reject(row.position, row.error);
+            } else {
+                run.imported++;
+            }
+        }
+    }
+
+    /**
+     * Matches the chunk's valid results to their candidates and inserts the new ones, in the
+     * caller's transaction. The candidates are locked (advisory locks) before their recorded exam
+     * dates are read, so a concurrent import of the same results waits for this one to commit and
+     * then sees its rows: a result cannot be stored twice. Sets the error of each result not inserted.
+     */
+    private void writeChunk(List<Row> chunk, Set<String> tempPayrollIds) {
+        // One lookup for the whole chunk
+        Map<String, Candidate> candidates = new HashMap<>();
+        Map<Integer, Candidate> candidatesById = new HashMap<>();
+        for (Object[] match : skillTestDetailsRepository.findActiveCandidatesIn(tempPayrollIds)) {
+            Candidate candidate = candidates.computeIfAbsent((String) match[0], id -> new Candidate(
+                    (Integer) match[1], fullName((String) match[2], (String) match[3])));
+            candidatesById.put(candidate.skillTestDetlId, candidate);
+        }
+        if (!candidatesById.isEmpty()) {
+            AdvisoryLocks.lock(jdbcTemplate, AdvisoryLocks.SKILL_TEST_CANDIDATE, candidatesById.keySet());
+            String recordedSql = RECORDED_EXAM_DATES_SQL + "?, ".repeat(candidatesById.size() - 1) + "?)";
+            jdbcTemplate.query(recordedSql, (RowCallbackHandler) rs -> candidatesById.get(rs.getInt(1)).examDates
+                    .add(rs.getDate(2).toLocalDate()), candidatesById.keySet().toArray());
+        }
+
+        List<Object[]> inserts = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error != null) {
+                continue;
+            }
+            SkillTestResultRowDTO result = row.result;
+            String tempPayrollId = result.getTempPayrollId().trim();
+            Candidate candidate = candidates.get(tempPayrollId);
+            if (candidate == null) {
+                row.error = "No active skill test candidate with temp_payroll_id '" + tempPayrollId + "'";
+            } else if (!candidate.examDates.add(result.getExamDate().toLocalDate())) {
+                // also catches the same result twice in this batch
+                row.error = "A result of '" + tempPayrollId + "' for exam date " + result.getExamDate() + " is already recorded";
+            } else {
+                inserts.add(new Object[] {
+                        candidate.skillTestDetlId, candidate.name, result.getExamDate(), result.getNoOfQuestion(),
+                        result.getNoOfQuesAttempt(), result.getNoOfQuesUnattempt(), result.getNoOfQuesCorrect(),
+                        result.getNoOfQuesWrong(), result.getTotalMarks(), result.getResult().trim() });
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, INSERT_TYPES);
+        }
+    }
+
+    /**
+     * Required fields and arithmetic consistency of one result; null if valid.
+     */
+    static String validateCounts(SkillTestResultRowDTO result) {
+        if (result == null) {
+            return "Empty result";
+        }
+        if (result.getTempPayrollId() == null || result.getTempPayrollId().isBlank()) {
+            return "tempPayrollId is required";
+        }
+        if (result.getExamDate() == null) {
+            return "examDate is required";
+        }
+        if (result.getExamDate().toLocalDate().isAfter(LocalDate.now())) {
+            return "examDate " + result.getExamDate() + " is in the future";
+        }
+        Integer[] counts = { result.getNoOfQuestion(), result.getNoOfQuesAttempt(), result.getNoOfQuesUnattempt(),
+                result.getNoOfQuesCorrect(), result.getNoOfQuesWrong(), result.getTotalMarks() };
+        String[] names = { "noOfQuestion", "noOfQuesAttempt", "noOfQuesUnattempt", "noOfQuesCorrect", "noOfQuesWrong",
+                "totalMarks" };
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == null) {
+                return names[i] + " is required";
+            }
+            // totalMarks may be negative with negative marking
+            if (counts[i] < 0 && i < counts.length - 1) {
+                return names[i] + " cannot be negative";
+            }
+        }
+        if (result.getNoOfQuesAttempt() + result.getNoOfQuesUnattempt() != result.getNoOfQuestion()) {
+            return "noOfQuesAttempt (" + result.getNoOfQuesAttempt() + ") + noOfQuesUnattempt ("
+                    + result.getNoOfQuesUnattempt() + ") must equal noOfQuestion (" + result.getNoOfQuestion() + ")";
+        }
+        if (result.getNoOfQuesCorrect() + result.getNoOfQuesWrong() != result.getNoOfQuesAttempt()) {
+            return "noOfQuesCorrect (" + result.getNoOfQuesCorrect() + ") + noOfQuesWrong ("
+                    + result.getNoOfQuesWrong() + ") must equal noOfQuesAttempt (" + result.getNoOfQuesAttempt() + ")";
+        }
+        if (result.getResult() == null || result.getResult().isBlank()) {
+            return "result is required";
+        }
+        if (result.getResult().trim().length() > MAX_RESULT_LENGTH) {
+            return "result is longer than " + MAX_RESULT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private boolean refreshApprovalView() {
+        try {
+            jdbcTemplate.execute(REFRESH_APPROVAL_SQL);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh sce_skill_test_approval after skill test result import: {}", rootMessage(e));
+            return false;
+        }
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        String name = ((firstName != null ? firstName.trim() : "") + " " + (lastName != null ? lastName.trim() : "")).trim();
+        return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static final class ImportRun {
+
+        final int maxReportedErrors;
+        final List<BulkImportRowErrorDTO> errors = new ArrayList<>();
+        boolean completed = true;
+        int rowsRead;
+        int imported;
+        int failed;
+
+        ImportRun(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void reject(int position, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkImportRowErrorDTO(position, message));
+            }
+        }
+    }
+
+    private static final class Row {
+
+        final int position;
+        final SkillTestResultRowDTO result;
+        String error;
+
+        Row(int position, SkillTestResultRowDTO result) {
+            this.position = position;
+            this.result = result;
+        }
+    }
+
+    private static final class Candidate {
+
+        final int skillTestDetlId;
+        final String name;
+        // exam dates of active results, plus the ones accepted from this chunk
+        final Set<LocalDate> examDates = new HashSet<>();
+
+        Candidate(int skillTestDetlId, String name) {
+            this.skillTestDetlId = skillTestDetlId;
+            this.name = name;
+        }
+    }
+}
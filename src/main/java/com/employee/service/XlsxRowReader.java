@@ -0,0 +1,228 @@
+package com.employee.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming reader for the first worksheet of an .xlsx workbook (Office Open XML).
+ *
+ * The workbook is a zip: the shared string table (xl/sharedStrings.xml) is loaded once, the sheet
+ * XML is then read with StAX one row at a time, so memory stays proportional to the distinct strings
+ * and not to the number of rows. Numbers come back as plain decimal text (no exponent); dates stay
+ * Excel serial day numbers and are converted by the caller.
+ */
+final class XlsxRowReader implements BulkImportRowReader {
+
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String FIRST_SHEET = "xl/worksheets/sheet1.xml";
+    private static final String SHEET_PREFIX = "xl/worksheets/sheet";
+
+    private static final XMLInputFactory XML = createFactory();
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private int rowNumber;
+
+    XlsxRowReader(Path file) throws IOException {
+        this.zip = new ZipFile(file.toFile());
+        try {
+            this.sharedStrings = readSharedStrings();
+            ZipEntry sheetEntry = findFirstSheet();
+            this.sheetStream = zip.getInputStream(sheetEntry);
+            this.sheet = XML.createXMLStreamReader(sheetStream);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            zip.close();
+            throw e instanceof IOException io ? io : new IOException("Not a readable .xlsx workbook: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String[] next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    String r = sheet.getAttributeValue(null, "r");
+                    rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException("Malformed worksheet near row " + rowNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int rowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // closing the zip below releases the stream anyway
+        }
+        sheetStream.close();
+        zip.close();
+    }
+
+    private String[] readRow() throws XMLStreamException {
+        String[] cells = new String[16];
+        int width = 0;
+        int column = 0;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(sheet.getLocalName())) {
+                continue;
+            }
+            String ref = sheet.getAttributeValue(null, "r");
+            column = ref != null ? columnIndex(ref) : column;
+            String type = sheet.getAttributeValue(null, "t");
+            String value = readCellValue(type);
+            if (column >= cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length * 2));
+            }
+            cells[column] = value;
+            width = Math.max(width, column + 1);
+            column++;
+        }
+        String[] row = Arrays.copyOf(cells, width);
+        for (int i = 0; i < width; i++) {
+            if (row[i] == null) {
+                row[i] = "";
+            }
+        }
+        return row;
+    }
+
+    // Positioned on <c>; returns with the reader on </c>
+    private String readCellValue(String type) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT
+                    && ("v".equals(sheet.getLocalName()) || "t".equals(sheet.getLocalName()))) {
+                text.append(sheet.getElementText());
+            }
+        }
+        String raw = text.toString();
+        if (type == null || "n".equals(type)) {
+            return plainNumber(raw);
+        }
+        switch (type) {
+            case "s":
+                int index = Integer.parseInt(raw.trim());
+                return index >= 0 && index < sharedStrings.size() ? sharedStrings.get(index) : "";
+            case "b":
+                return "1".equals(raw) ? "TRUE" : "FALSE";
+            default:
+                return raw; // inlineStr, str (formula result), e (error)
+        }
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry(SHARED_STRINGS);
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            StringBuilder current = null;
+            int phoneticDepth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        current = new StringBuilder();
+                    } else if ("rPh".equals(name)) {
+                        phoneticDepth++; // phonetic guide text is not part of the cell value
+                    } else if ("t".equals(name) && current != null && phoneticDepth == 0) {
+                        current.append(reader.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name) && current != null) {
+                        strings.add(current.toString());
+                        current = null;
+                    } else if ("rPh".equals(name)) {
+                        phoneticDepth--;
+                    }
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    private ZipEntry findFirstSheet() throws IOException {
+        ZipEntry entry = zip.getEntry(FIRST_SHEET);
+        if (entry != null) {
+            return entry;
+        }
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry candidate = entries.nextElement();
+            if (candidate.getName().startsWith(SHEET_PREFIX) && candidate.getName().endsWith(".xml")) {
+                return candidate;
+            }
+        }
+        throw new IOException("Workbook has no worksheet");
+    }
+
+    // "BC12" -> 54 (0-based)
+    static int columnIndex(String cellRef) {
+        int index = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char c = cellRef.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            index = index * 26 + (c - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    // Excel writes large integers as 9.876543210E9 and integral doubles as 12.0
+    static String plainNumber(String raw) {
+        if (raw.indexOf('E') < 0 && raw.indexOf('e') < 0 && !raw.endsWith(".0")) {
+            return raw;
+        }
+        try {
+            return new BigDecimal(raw).stripTrailingZeros().toPlainString();
+        } catch (NumberFormatException e) {
+            return raw;
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
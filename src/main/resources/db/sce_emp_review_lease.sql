@@ -0,0 +1,14 @@
+-- Review queue leases (ReviewQueueService, entity ReviewLease).
+-- Deploy prerequisite: the schema is managed outside this service (ddl-auto=none), so run this
+-- once per database before enabling leases. Until the table exists the review queues still work,
+-- but claim-next hands out unleased records and the lease endpoints and checks are no-ops.
+
+CREATE TABLE IF NOT EXISTS sce_employee.sce_emp_review_lease (
+    emp_id      integer   NOT NULL,
+    reviewer_id integer   NOT NULL,
+    expires_at  timestamp NOT NULL,
+    CONSTRAINT sce_emp_review_lease_pk PRIMARY KEY (emp_id)
+);
+
+CREATE INDEX IF NOT EXISTS sce_emp_review_lease_expires_at_idx
+    ON sce_employee.sce_emp_review_lease (expires_at);
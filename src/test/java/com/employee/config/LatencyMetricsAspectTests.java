@@ -0,0 +1,51 @@
+package com.employee.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.employee.exception.ResourceNotFoundException;
+
+class LatencyMetricsAspectTests {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void exceptionsAreTaggedWithTheNearestKnownType() {
+        assertEquals("ResourceNotFoundException", LatencyMetricsAspect.exceptionTag(new ResourceNotFoundException("x")));
+        assertEquals("DataIntegrityViolationException",
+                LatencyMetricsAspect.exceptionTag(new DataIntegrityViolationException("duplicate key")));
+        assertEquals("DataAccessException", LatencyMetricsAspect.exceptionTag(new QueryTimeoutException("slow")));
+        assertEquals("IllegalArgumentException", LatencyMetricsAspect.exceptionTag(new NumberFormatException("abc")));
+        assertEquals("Other", LatencyMetricsAspect.exceptionTag(new NullPointerException()));
+        assertEquals("Other", LatencyMetricsAspect.exceptionTag(new RuntimeException() { }));
+    }
+
+    @Test
+    void endpointIsTheRouteTemplateOfAControllerMethod() throws Exception {
+        assertEquals("none", LatencyMetricsAspect.currentEndpoint());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/campus-flow/byCampus/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/campus-flow/byCampus/{campusId}");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, LatencyMetricsAspectTests.class.getDeclaredMethod("tearDown")));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        assertEquals("/api/campus-flow/byCampus/{campusId}", LatencyMetricsAspect.currentEndpoint());
+
+        // static resources and unmapped paths match catch-all patterns of other handlers
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/**");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new Object());
+        assertEquals("none", LatencyMetricsAspect.currentEndpoint());
+    }
+}
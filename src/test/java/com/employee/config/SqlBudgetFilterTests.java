@@ -0,0 +1,86 @@
+package com.employee.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.employee.exception.GlobalExceptionHandler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SqlBudgetFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void exceededBudgetFailsTheRequestWithFailOnExceed() throws Exception {
+        MockMvc mvc = mockMvc(true);
+
+        mvc.perform(get("/budgeted/2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlBudgetWebConfig.STATEMENT_COUNT_HEADER, "2"));
+        assertEquals(0, exceeded());
+
+        mvc.perform(get("/budgeted/3"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("SQL budget exceeded on /budgeted/{statements}: 3 statements (budget 2)"));
+        assertEquals(1, exceeded());
+    }
+
+    @Test
+    void exceededBudgetIsOnlyCountedWithoutFailOnExceed() throws Exception {
+        MockMvc mvc = mockMvc(false);
+
+        mvc.perform(get("/budgeted/5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlBudgetWebConfig.STATEMENT_COUNT_HEADER, "5"))
+                .andExpect(header().string(SqlBudgetWebConfig.REPEATED_STATEMENTS_HEADER, "1"));
+        assertEquals(1, exceeded());
+    }
+
+    private MockMvc mockMvc(boolean failOnExceed) {
+        SqlBudgetFilter filter = new SqlBudgetFilter(meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "nPlusOneThreshold", 5);
+        ReflectionTestUtils.setField(filter, "failOnExceed", failOnExceed);
+        SqlBudgetWebConfig.SqlStatementHeaderAdvice headers = new SqlBudgetWebConfig.SqlStatementHeaderAdvice(filter);
+        ReflectionTestUtils.setField(headers, "responseHeaders", true);
+        return MockMvcBuilders.standaloneSetup(new BudgetedController())
+                .setControllerAdvice(new GlobalExceptionHandler(), headers)
+                .addInterceptors(new SqlBudgetWebConfig.SqlBudgetInterceptor())
+                .addFilters(filter)
+                .build();
+    }
+
+    private double exceeded() {
+        return meterRegistry.counter(SqlBudgetFilter.BUDGET_EXCEEDED_COUNTER, "endpoint", "/budgeted/{statements}").count();
+    }
+
+    @RestController
+    static class BudgetedController {
+
+        private final SqlStatementInspector inspector = new SqlStatementInspector();
+
+        // Stands in for a handler whose repository calls Hibernate reports to the inspector
+        @SqlBudget(maxStatements = 2)
+        @GetMapping("/budgeted/{statements}")
+        Map<String, Integer> run(@PathVariable int statements) {
+            for (int id = 1; id <= statements; id++) {
+                inspector.inspect("select e.emp_id from sce_emp e where e.emp_id=" + id);
+            }
+            return Map.of("statements", statements);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.employee.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.employee.config.SqlStatementInspector.RequestStats;
+
+class SqlStatementInspectorTests {
+
+    private final SqlStatementInspector inspector = new SqlStatementInspector();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementInspector.end();
+    }
+
+    @Test
+    void sameQueryWithDifferentValuesHasOneShape() {
+        RequestStats stats = SqlStatementInspector.begin();
+        for (int id = 1; id <= 6; id++) {
+            inspector.inspect("select d.designation_id from sce_designation d where d.designation_id=" + id);
+        }
+        inspector.inspect("select e.emp_id from sce_emp e where e.emp_id in (?, ?, ?)");
+        inspector.inspect("select e.emp_id from sce_emp e where e.emp_id in (?)");
+
+        assertEquals(8, stats.getTotal());
+        assertEquals(2, stats.getCountsByShape().size());
+        assertEquals(1, stats.repeatedShapes(5));
+    }
+
+    @Test
+    void statementsOutsideARequestAreNotRecorded() {
+        inspector.inspect("select 1");
+        assertNull(SqlStatementInspector.current());
+    }
+
+    @Test
+    void normalizeCollapsesLiteralsAndWhitespace() {
+        assertEquals("select * from t where a=? and b=? and c in (?)",
+                SqlStatementInspector.normalize("select *\n  from t where a='x''y' and b=42 and c in (?,?, ?)"));
+    }
+}
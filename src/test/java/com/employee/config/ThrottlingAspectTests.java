@@ -0,0 +1,122 @@
+package com.employee.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ThrottlingAspectTests {
+
+    private static final String NAME = "bulk-import";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThrottlingAspect aspect;
+    private MockHttpServletRequest request;
+    private WebAsyncManager asyncManager;
+
+    @BeforeEach
+    void createAspect() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("employee.throttle.bulkhead." + NAME + ".max-concurrent-calls", "1");
+        aspect = new ThrottlingAspect(RateLimiterRegistry.ofDefaults(), meterRegistry, environment);
+
+        request = new MockHttpServletRequest("GET", "/export");
+        request.setAsyncSupported(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void aBodyThatNeverRunsGivesThePermitBackWhenTheRequestCompletes() throws Throwable {
+        StreamingResponseBody body = streamed();
+        assertEquals(0.0, available());
+
+        // the executor is full, so the body is never written
+        asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                throw new RejectedExecutionException("queue full");
+            }
+        });
+        asyncManager.startCallableProcessing(writing(body));
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertEquals(1.0, available());
+    }
+
+    @Test
+    void aWrittenBodyGivesThePermitBackOnce() throws Throwable {
+        StreamingResponseBody body = streamed();
+
+        body.writeTo(new ByteArrayOutputStream());
+        assertEquals(1.0, available());
+        asyncManager.startCallableProcessing(() -> null);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertEquals(1.0, available());
+    }
+
+    @SuppressWarnings("unchecked")
+    private StreamingResponseBody streamed() throws Throwable {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        StreamingResponseBody body = out -> out.write(1);
+        when(pjp.proceed()).thenReturn(ResponseEntity.ok(body));
+        ResponseEntity<StreamingResponseBody> response = (ResponseEntity<StreamingResponseBody>) aspect.throttle(pjp, throttled());
+        return response.getBody();
+    }
+
+    private static Callable<Void> writing(StreamingResponseBody body) {
+        return () -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        };
+    }
+
+    private double available() {
+        return meterRegistry.get("employee.throttle.bulkhead.available").tag("name", NAME).gauge().value();
+    }
+
+    private static Throttled throttled() {
+        return new Throttled() {
+            @Override
+            public String value() {
+                return NAME;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Throttled.class;
+            }
+        };
+    }
+}
@@ -0,0 +1,367 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.employee.dto.BulkImportResultDTO;
+import com.employee.dto.BulkImportRowErrorDTO;
+import com.employee.entity.Campus;
+import com.employee.entity.Employee;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.SkillTestDetailsRepository;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkEmployeeImportServiceTests {
+
+    private static final int HR_EMPLOYEE = 1;
+    private static final String HEADER = "first_name,last_name,date_of_join,primary_mobile_no,gender_id,emergency_ph_no,"
+            + "blood_group_id,caste_id,religion_id,marital_status_id,father_name,uan_no,adhaar_no";
+
+    private final IdentityNumberValidator identityNumberValidator = new IdentityNumberValidator();
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+    private final CountingTransactionManager transactions = new CountingTransactionManager();
+    private final List<Integer> completenessImported = new ArrayList<>();
+    private final List<Integer> checklistImported = new ArrayList<>();
+    private final List<OnboardingStatus> insertedStatuses = new ArrayList<>();
+    private SkillTestDetailsService skillTestDetailsService;
+    private BulkEmployeeImportService importService;
+
+    @BeforeEach
+    void createService() {
+        Campus campus = new Campus();
+        campus.setCampusId(5);
+        campus.setCode(12);
+        campus.setIsActive(1);
+        Employee hr = new Employee();
+        hr.setEmp_id(HR_EMPLOYEE);
+        hr.setCampus_id(campus);
+
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        SkillTestDetailsRepository skillTestDetailsRepository = mock(SkillTestDetailsRepository.class);
+        when(employeeRepository.findById(HR_EMPLOYEE)).thenReturn(Optional.of(hr));
+        // last number handed out before this instance started
+        when(employeeRepository.findMaxTempPayrollIdByKey("TEMP12%")).thenReturn("TEMP120007");
+
+        skillTestDetailsService = new SkillTestDetailsService();
+        ReflectionTestUtils.setField(skillTestDetailsService, "skillTestDetailsRepository", skillTestDetailsRepository);
+        ReflectionTestUtils.setField(skillTestDetailsService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(skillTestDetailsService, "jdbcTemplate", new SkillTestDetailsServiceTests.LockRecordingJdbcTemplate());
+
+        IdentityIndexService identityIndexService = new IdentityIndexService();
+        ReflectionTestUtils.setField(identityIndexService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(identityIndexService, "meterRegistry", new SimpleMeterRegistry());
+
+        importService = new BulkEmployeeImportService();
+        ReflectionTestUtils.setField(importService, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(importService, "transactionManager", transactions);
+        ReflectionTestUtils.setField(importService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(importService, "skillTestDetailsRepository", skillTestDetailsRepository);
+        ReflectionTestUtils.setField(importService, "skillTestDetailsService", skillTestDetailsService);
+        ReflectionTestUtils.setField(importService, "identityNumberValidator", identityNumberValidator);
+        ReflectionTestUtils.setField(importService, "identityIndexService", identityIndexService);
+        ReflectionTestUtils.setField(importService, "onboardingWorkflowService", new OnboardingWorkflowService() {
+            @Override
+            public int statusId(OnboardingStatus status) {
+                return status.ordinal() + 1;
+            }
+        });
+        ReflectionTestUtils.setField(importService, "onboardingPipelineService", new OnboardingPipelineService() {
+            @Override
+            public void onEmployeesInserted(int campusId, OnboardingStatus status, int employees) {
+                insertedStatuses.add(status);
+            }
+        });
+        ReflectionTestUtils.setField(importService, "onboardingCompletenessService", new OnboardingCompletenessService() {
+            @Override
+            public void onEmployeesImported(Collection<Integer> empIds) {
+                completenessImported.addAll(empIds);
+            }
+        });
+        ReflectionTestUtils.setField(importService, "checklistService", new ChecklistService() {
+            @Override
+            public void onEmployeesImported(int campusId, Collection<Integer> empIds) {
+                checklistImported.addAll(empIds);
+            }
+        });
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 100);
+    }
+
+    @Test
+    void singleAndBulkAllocationShareTheCampusCounter() {
+        assertEquals("TEMP120008", skillTestDetailsService.nextTempPayrollId("TEMP12"));
+
+        BulkImportResultDTO result = importService.importEmployees(HR_EMPLOYEE, csv(row(1), row(2), row(3)), 0, false);
+        assertEquals(3, result.getImported());
+        assertEquals(List.of("TEMP120009", "TEMP120010", "TEMP120011"), jdbc.column("sce_emp", "temp_payroll_id"));
+
+        assertEquals("TEMP120012", skillTestDetailsService.nextTempPayrollId("TEMP12"));
+    }
+
+    @Test
+    void chunksAreWrittenWithOneInsertPerTableAndRejectDuplicatesAcrossChunks() {
+        // row 5 repeats the mobile number of row 2, in the next chunk
+        String duplicate = row(4).replace(String.valueOf(mobile(4)), String.valueOf(mobile(1)));
+        BulkImportResultDTO result = importService.importEmployees(HR_EMPLOYEE,
+                csv(row(1), row(2), row(3), duplicate, row(5)), 0, false);
+
+        assertTrue(result.isCompleted());
+        assertEquals(5, result.getRowsRead());
+        assertEquals(4, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(6, result.getLastCommittedRow());
+        assertEquals(List.of(new BulkImportRowErrorDTO(5, "primary_mobile_no: same mobile number as row 2")), result.getErrors());
+
+        // chunks of two: rows 2-3, rows 4-5 (row 5 rejected), row 6
+        assertEquals(List.of(2, 1, 1), jdbc.rowsPerInsert("sce_emp"));
+        assertEquals(List.of(2, 1, 1), jdbc.rowsPerInsert("sce_emp_detl"));
+        assertEquals(List.of(), jdbc.rowsPerInsert("sce_emp_addrs"));
+        assertEquals(3, transactions.commits);
+        // sce_emp_detl rows reference the emp_id returned for their temp payroll ID
+        assertEquals(jdbc.generatedIds, jdbc.column("sce_emp_detl", "emp_id"));
+        assertEquals(jdbc.generatedIds, completenessImported);
+        assertEquals(jdbc.generatedIds, checklistImported);
+        // only some tabs are imported, so candidates start incomplete rather than at DO
+        int incompleted = OnboardingStatus.INCOMPLETED.ordinal() + 1;
+        assertEquals(List.of(incompleted, incompleted, incompleted, incompleted), jdbc.column("sce_emp", "emp_app_status_id"));
+        assertEquals(List.of(OnboardingStatus.INCOMPLETED, OnboardingStatus.INCOMPLETED, OnboardingStatus.INCOMPLETED),
+                insertedStatuses);
+    }
+
+    @Test
+    void aFailedChunkStopsTheImportAndReportsTheResumePoint() {
+        jdbc.failTable = "sce_emp_detl";
+        jdbc.failOnInsert = 2;
+        BulkImportResultDTO result = importService.importEmployees(HR_EMPLOYEE,
+                csv(row(1), row(2), row(3), row(4), row(5)), 0, false);
+
+        assertFalse(result.isCompleted());
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(3, result.getLastCommittedRow());
+        assertEquals(4, result.getErrors().get(0).getRowNumber());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Not imported: rows 4-5 were rolled back"));
+        assertEquals(1, transactions.commits);
+        assertEquals(1, transactions.rollbacks);
+
+        // resuming after the committed chunk imports the rest
+        jdbc.failTable = null;
+        result = importService.importEmployees(HR_EMPLOYEE,
+                csv(row(1), row(2), row(3), row(4), row(5)), result.getLastCommittedRow(), false);
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getImported());
+        assertEquals(6, result.getLastCommittedRow());
+    }
+
+    @Test
+    void aDryRunWritesNothingAndReservesNoIds() {
+        BulkImportResultDTO result = importService.importEmployees(HR_EMPLOYEE, csv(row(1), row(2), row(3)), 0, true);
+
+        assertTrue(result.isDryRun());
+        assertEquals(3, result.getImported());
+        assertEquals(List.of(), jdbc.rowsPerInsert("sce_emp"));
+        assertEquals("TEMP120008", skillTestDetailsService.nextTempPayrollId("TEMP12"));
+    }
+
+    private MockMultipartFile csv(String... rows) {
+        String content = HEADER + "\n" + String.join("\n", rows) + "\n";
+        return new MockMultipartFile("file", "employees.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String row(int n) {
+        return "Emp,Number" + n + ",2026-06-01," + mobile(n) + ",1,9876543210,1,1,1,1,Father" + n + ","
+                + (100000000000L + n) + "," + aadhaar(n);
+    }
+
+    private static long mobile(int n) {
+        return 9000000000L + n;
+    }
+
+    // 12 digits with a valid Verhoeff check digit
+    private long aadhaar(int n) {
+        long base = 234567890000L + n * 10L;
+        for (int check = 0; check < 10; check++) {
+            if (identityNumberValidator.isValidAadhaar(base + check)) {
+                return base + check;
+            }
+        }
+        throw new IllegalStateException("no check digit for " + base);
+    }
+
+    /**
+     * Serves the reference data query (id 1 of every lookup) and records the multi-row INSERTs;
+     * sce_emp inserts return generated emp_ids.
+     */
+    static final class RecordingJdbcTemplate extends JdbcTemplate {
+
+        final List<String> statements = new ArrayList<>();
+        final List<List<Object>> parameters = new ArrayList<>();
+        final List<Integer> generatedIds = new ArrayList<>();
+        String failTable;
+        int failOnInsert;
+        private int nextEmpId = 500;
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            for (BulkImportReferenceData.Lookup lookup : BulkImportReferenceData.Lookup.values()) {
+                try {
+                    rch.processRow(resultSet(lookup.ordinal(), 1));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+            List<Object> values = execute(psc);
+            int columns = columnCount(statements.get(statements.size() - 1));
+            int tempPayrollIdColumn = columnNames(statements.get(statements.size() - 1)).indexOf("temp_payroll_id");
+            try {
+                for (int i = 0; i < values.size(); i += columns) {
+                    int empId = nextEmpId++;
+                    generatedIds.add(empId);
+                    rch.processRow(resultSet(empId, values.get(i + tempPayrollIdColumn)));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int update(PreparedStatementCreator psc) {
+            return execute(psc).size();
+        }
+
+        List<Integer> rowsPerInsert(String table) {
+            List<Integer> rows = new ArrayList<>();
+            for (int i = 0; i < statements.size(); i++) {
+                if (tableOf(statements.get(i)).equals(table)) {
+                    rows.add(parameters.get(i).size() / columnCount(statements.get(i)));
+                }
+            }
+            return rows;
+        }
+
+        List<Object> column(String table, String column) {
+            List<Object> values = new ArrayList<>();
+            for (int i = 0; i < statements.size(); i++) {
+                String sql = statements.get(i);
+                if (tableOf(sql).equals(table)) {
+                    int columns = columnCount(sql);
+                    int index = columnNames(sql).indexOf(column);
+                    for (int v = index; v < parameters.get(i).size(); v += columns) {
+                        values.add(parameters.get(i).get(v));
+                    }
+                }
+            }
+            return values;
+        }
+
+        private List<Object> execute(PreparedStatementCreator psc) {
+            Map<Integer, Object> values = new TreeMap<>();
+            String[] sql = new String[1];
+            PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2) {
+                            values.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                        }
+                        return null;
+                    });
+            Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement")) {
+                            sql[0] = (String) args[0];
+                            return statement;
+                        }
+                        return null;
+                    });
+            try {
+                psc.createPreparedStatement(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            String table = tableOf(sql[0]);
+            if (table.equals(failTable) && rowsPerInsert(table).size() + 1 == failOnInsert) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            statements.add(sql[0]);
+            parameters.add(new ArrayList<>(values.values()));
+            return parameters.get(parameters.size() - 1);
+        }
+
+        private static String tableOf(String sql) {
+            String table = sql.substring("INSERT INTO ".length(), sql.indexOf(" ("));
+            return table.substring(table.indexOf('.') + 1);
+        }
+
+        private static List<String> columnNames(String sql) {
+            return List.of(sql.substring(sql.indexOf('(') + 1, sql.indexOf(')')).split(", "));
+        }
+
+        private static int columnCount(String sql) {
+            return columnNames(sql).size();
+        }
+
+        private static ResultSet resultSet(Object... columns) {
+            return (ResultSet) Proxy.newProxyInstance(RecordingJdbcTemplate.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                        Object value = columns[(Integer) args[0] - 1];
+                        return method.getName().equals("getInt") ? ((Number) value).intValue() : value;
+                    });
+        }
+    }
+
+    static final class CountingTransactionManager implements PlatformTransactionManager {
+
+        int commits;
+        int rollbacks;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rollbacks++;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BulkImportRowReaderTests {
+
+    @Test
+    void csvHandlesQuotesEmbeddedLineBreaksAndBlankLines() throws IOException {
+        String csv = "\uFEFFfirst_name,last_name,remarks\r\n"
+                + "Ravi,Kumar,\"says \"\"hi\"\", then\r\nleaves\"\r\n"
+                + "\n"
+                + "Sita,,plain";
+        try (CsvRowReader reader = new CsvRowReader(new StringReader(csv))) {
+            assertArrayEquals(new String[] { "first_name", "last_name", "remarks" }, reader.next());
+            assertArrayEquals(new String[] { "Ravi", "Kumar", "says \"hi\", then\r\nleaves" }, reader.next());
+            assertEquals(2, reader.rowNumber());
+            assertArrayEquals(new String[] { "Sita", "", "plain" }, reader.next());
+            assertEquals(3, reader.rowNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void xlsxResolvesSharedStringsGapsAndNumbers(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("import.xlsx");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            write(zip, "xl/sharedStrings.xml",
+                    "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                    + "<si><t>first_name</t></si><si><t>primary_mobile_no</t></si>"
+                    + "<si><r><t>Ra</t></r><r><t>vi</t></r></si></sst>");
+            write(zip, "xl/worksheets/sheet1.xml",
+                    "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                    + "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"C1\" t=\"s\"><v>1</v></c></row>"
+                    + "<row r=\"3\"><c r=\"A3\" t=\"s\"><v>2</v></c><c r=\"C3\"><v>9.87654321E9</v></c></row>"
+                    + "</sheetData></worksheet>");
+        }
+        try (XlsxRowReader reader = new XlsxRowReader(file)) {
+            assertArrayEquals(new String[] { "first_name", "", "primary_mobile_no" }, reader.next());
+            assertArrayEquals(new String[] { "Ravi", "", "9876543210" }, reader.next());
+            assertEquals(3, reader.rowNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    private static void write(ZipOutputStream zip, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(xml.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
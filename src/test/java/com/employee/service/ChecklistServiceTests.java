@@ -0,0 +1,130 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.entity.Campus;
+import com.employee.entity.EmpAppCheckListDetl;
+import com.employee.entity.Employee;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmpAppCheckListDetlRepository;
+import com.employee.repository.EmployeeRepository;
+
+class ChecklistServiceTests {
+
+    private static final int CAMPUS = 10;
+    private static final int OTHER_CAMPUS = 20;
+    private static final int OFFER_LETTER = 1;
+    private static final int ID_PROOF = 2;
+    private static final int BANK_FORM = 3;
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmpAppCheckListDetlRepository catalogRepository = mock(EmpAppCheckListDetlRepository.class);
+    private ChecklistService checklists;
+
+    @BeforeEach
+    void loadIndex() {
+        when(catalogRepository.findAll()).thenReturn(List.of(item(OFFER_LETTER, "Offer letter", 1), item(ID_PROOF, "ID proof", 1)));
+        List<Object[]> selections = new ArrayList<>();
+        selections.add(new Object[] { 100, CAMPUS, "1,2" });
+        selections.add(new Object[] { 101, CAMPUS, "2" });
+        selections.add(new Object[] { 102, OTHER_CAMPUS, null });
+        when(employeeRepository.findActiveChecklistSelections()).thenReturn(selections);
+
+        checklists = new ChecklistService();
+        ReflectionTestUtils.setField(checklists, "empAppCheckListDetlRepository", catalogRepository);
+        ReflectionTestUtils.setField(checklists, "employeeRepository", employeeRepository);
+        checklists.reload();
+    }
+
+    @Test
+    void missingItemsAreFoundPerCampus() {
+        assertEquals(List.of(101), checklists.findMissing(CAMPUS, OFFER_LETTER).getMissingEmpIds());
+        assertEquals(List.of(), checklists.findMissing(CAMPUS, ID_PROOF).getMissingEmpIds());
+        assertEquals(List.of(102), checklists.findMissing(OTHER_CAMPUS, ID_PROOF).getMissingEmpIds());
+    }
+
+    @Test
+    void newHiresAppearWithNothingChecked() {
+        checklists.onEmployeeSaved(employee(103, CAMPUS, null, 1));
+        checklists.onEmployeesImported(CAMPUS, List.of(104, 105));
+
+        assertEquals(List.of(101, 103, 104, 105), checklists.findMissing(CAMPUS, OFFER_LETTER).getMissingEmpIds());
+        assertEquals(5, checklists.findMissing(CAMPUS, OFFER_LETTER).getActiveEmployees());
+    }
+
+    @Test
+    void campusMovesAndDeactivationsLeaveTheOldCampus() {
+        checklists.onEmployeeSaved(employee(101, OTHER_CAMPUS, "2", 1));
+        checklists.onEmployeeSaved(employee(102, OTHER_CAMPUS, null, 0));
+
+        assertEquals(List.of(), checklists.findMissing(CAMPUS, OFFER_LETTER).getMissingEmpIds());
+        assertEquals(1, checklists.findMissing(CAMPUS, OFFER_LETTER).getActiveEmployees());
+        assertEquals(List.of(101), checklists.findMissing(OTHER_CAMPUS, OFFER_LETTER).getMissingEmpIds());
+        assertEquals(1, checklists.findMissing(OTHER_CAMPUS, OFFER_LETTER).getActiveEmployees());
+    }
+
+    @Test
+    void aReloadPicksUpChangesMadeElsewhere() {
+        List<Object[]> selections = new ArrayList<>();
+        selections.add(new Object[] { 100, CAMPUS, "1,2" });
+        selections.add(new Object[] { 101, CAMPUS, "1,2" });
+        when(employeeRepository.findActiveChecklistSelections()).thenReturn(selections);
+        checklists.reload();
+
+        assertEquals(List.of(), checklists.findMissing(CAMPUS, OFFER_LETTER).getMissingEmpIds());
+        assertEquals(0, checklists.findMissing(OTHER_CAMPUS, OFFER_LETTER).getActiveEmployees());
+    }
+
+    @Test
+    void anItemAddedAfterTheCatalogLoadIsFoundInTheTable() {
+        EmpAppCheckListDetl bankForm = item(BANK_FORM, "Bank form", 1);
+        when(catalogRepository.findByIdAndIsActive(BANK_FORM, 1)).thenReturn(Optional.of(bankForm));
+        when(catalogRepository.findAll()).thenReturn(
+                List.of(item(OFFER_LETTER, "Offer letter", 1), item(ID_PROOF, "ID proof", 1), bankForm));
+
+        assertEquals("1,3", checklists.normalize("3, 1, 3"));
+        // the index was rebuilt with the new catalog
+        assertEquals(List.of(100, 101), checklists.findMissing(CAMPUS, BANK_FORM).getMissingEmpIds());
+    }
+
+    @Test
+    void aDeactivatedItemIsRejectedAfterTheScheduledReload() {
+        assertEquals("2", checklists.normalize("2"));
+
+        when(catalogRepository.findAll()).thenReturn(List.of(item(OFFER_LETTER, "Offer letter", 1), item(ID_PROOF, "ID proof", 0)));
+        when(catalogRepository.findByIdAndIsActive(ID_PROOF, 1)).thenReturn(Optional.empty());
+        ReflectionTestUtils.invokeMethod(checklists, "reloadQuietly");
+
+        assertThrows(ResourceNotFoundException.class, () -> checklists.normalize("2"));
+    }
+
+    private static EmpAppCheckListDetl item(int id, String name, int active) {
+        EmpAppCheckListDetl item = new EmpAppCheckListDetl();
+        item.setEmpAppCheckListDetlId(id);
+        item.setCheckListDetlName(name);
+        item.setIsActive(active);
+        return item;
+    }
+
+    private static Employee employee(int empId, int campusId, String checkListIds, int active) {
+        Campus campus = new Campus();
+        campus.setCampusId(campusId);
+        Employee employee = new Employee();
+        employee.setEmp_id(empId);
+        employee.setCampus_id(campus);
+        employee.setEmp_app_check_list_detl_id(checkListIds);
+        employee.setIs_active(active);
+        return employee;
+    }
+}
@@ -0,0 +1,48 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.service.DocumentRenditionService.Rendition;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DocumentRenditionServiceTests {
+
+    private static final String SHA256 = "ab" + "cd" + "0".repeat(60);
+
+    @TempDir
+    Path storeDir;
+
+    @Test
+    void anOriginalThatCannotBeDecodedIsNotQueuedAgain() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DocumentRenditionService renditions = new DocumentRenditionService();
+        ReflectionTestUtils.setField(renditions, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(renditions, "workers", 1);
+        ReflectionTestUtils.setField(renditions, "queueCapacity", 1);
+        renditions.start();
+        // a stopped pool rejects every task, so each submit is counted as rejected
+        renditions.stop();
+
+        Path blob = Files.createDirectories(storeDir.resolve("ab").resolve("cd")).resolve(SHA256);
+        Files.write(blob, "\u0089PNG\r\n\u001a\n truncated".getBytes(StandardCharsets.ISO_8859_1));
+
+        renditions.render(blob);
+
+        assertTrue(Files.exists(DocumentStoreService.sibling(blob, DocumentRenditionService.NO_RENDITION_SUFFIX)));
+        assertEquals(blob, renditions.resolve(blob, "image/png", Rendition.PREVIEW));
+        assertEquals(blob, renditions.resolve(blob, "image/png", Rendition.THUMBNAIL));
+        assertNull(meterRegistry.find("employee.documents.renditions").tag("outcome", "rejected").counter());
+        assertNull(meterRegistry.find("employee.documents.renditions").tag("outcome", "failed").counter());
+    }
+}
@@ -0,0 +1,71 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.dto.StoredDocumentDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DocumentStoreServiceTests {
+
+    @TempDir
+    Path storeDir;
+
+    @Test
+    void identicalUploadsAreStoredOnceAndServedByRange() throws Exception {
+        DocumentStoreService store = new DocumentStoreService();
+        ReflectionTestUtils.setField(store, "storeDir", storeDir.toString());
+        ReflectionTestUtils.setField(store, "meterRegistry", new SimpleMeterRegistry());
+        List<Object> events = new ArrayList<>();
+        ReflectionTestUtils.setField(store, "eventPublisher", (ApplicationEventPublisher) events::add);
+        store.init();
+        byte[] pdf = "%PDF-1.7 certificate".getBytes(StandardCharsets.US_ASCII);
+
+        StoredDocumentDTO first = store.store(new ByteArrayInputStream(pdf));
+        StoredDocumentDTO second = store.store(new ByteArrayInputStream(pdf.clone()));
+
+        assertFalse(first.isDeduplicated());
+        assertTrue(second.isDeduplicated());
+        assertEquals(first.getDocPath(), second.getDocPath());
+        assertEquals("application/pdf", first.getContentType());
+        assertEquals(2, events.size());
+        try (Stream<Path> files = Files.walk(storeDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+
+        Path blob = storeDir.resolve(first.getSha256().substring(0, 2)).resolve(first.getSha256().substring(2, 4))
+                .resolve(first.getSha256());
+        long[] range = DocumentStoreService.byteRange("bytes=9-", pdf.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.transfer(blob, range[0], range[1] - range[0] + 1, out);
+        assertArrayEquals("certificate".getBytes(StandardCharsets.US_ASCII), out.toByteArray());
+    }
+
+    @Test
+    void byteRanges() {
+        assertArrayEquals(new long[] { 0, 99 }, DocumentStoreService.byteRange(null, 100));
+        assertArrayEquals(new long[] { 10, 19 }, DocumentStoreService.byteRange("bytes=10-19", 100));
+        assertArrayEquals(new long[] { 90, 99 }, DocumentStoreService.byteRange("bytes=-10", 100));
+        assertArrayEquals(new long[] { 50, 99 }, DocumentStoreService.byteRange("bytes=50-500", 100));
+        assertArrayEquals(new long[] { 0, 99 }, DocumentStoreService.byteRange("bytes=0-1,5-9", 100));
+        assertNull(DocumentStoreService.byteRange("bytes=100-", 100));
+    }
+}
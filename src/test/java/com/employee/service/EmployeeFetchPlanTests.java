@@ -0,0 +1,109 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Asserts the SQL statement count of the Employee fetch plans per endpoint.
+ * Runs against the configured database (spring.datasource.* of application.properties):
+ * the whole class is skipped when that database cannot be reached, and each case
+ * when no suitable employee row exists.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIf("databaseReachable")
+class EmployeeFetchPlanTests {
+
+	private static final int CONNECT_TIMEOUT_SECONDS = 5;
+
+	@Autowired private EntityManagerFactory entityManagerFactory;
+	@Autowired private EntityManager entityManager;
+	@Autowired private HREmpDetlService hrEmpDetlService;
+	@Autowired private DropDownService dropDownService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void managerDetailsIsSingleStatement() {
+		String payrollId = findPayrollId("e.employee_manager_id IS NOT NULL");
+		statistics.clear();
+		hrEmpDetlService.getManagerDetails(payrollId);
+		assertEquals(1, statistics.getPrepareStatementCount(), "/manager/{payrollId}");
+	}
+
+	@Test
+	void referenceDetailsIsSingleStatement() {
+		String payrollId = findPayrollId("e.employee_reference IS NOT NULL");
+		statistics.clear();
+		hrEmpDetlService.getReferenceDetails(payrollId);
+		assertEquals(1, statistics.getPrepareStatementCount(), "/reference/{payrollId}");
+	}
+
+	@Test
+	void reportingManagerDetailsIsSingleStatement() {
+		// Reporting manager used to be EAGER and pulled the whole reporting chain
+		String payrollId = findPayrollId("e.employee_reporting_id.employee_reporting_id IS NOT NULL");
+		statistics.clear();
+		hrEmpDetlService.getReportingManagerDetails(payrollId);
+		assertEquals(1, statistics.getPrepareStatementCount(), "/reporting-manager/{payrollId}");
+	}
+
+	@Test
+	void activeEmployeesDropdownIsSingleStatement() {
+		statistics.clear();
+		dropDownService.getActiveEmployees();
+		assertEquals(1, statistics.getPrepareStatementCount(), "/employees/active");
+	}
+
+	static boolean databaseReachable() {
+		Properties properties = new Properties();
+		try (InputStream in = EmployeeFetchPlanTests.class.getResourceAsStream("/application.properties")) {
+			if (in == null) {
+				return false;
+			}
+			properties.load(in);
+		} catch (IOException e) {
+			return false;
+		}
+		DriverManager.setLoginTimeout(CONNECT_TIMEOUT_SECONDS);
+		try (Connection connection = DriverManager.getConnection(properties.getProperty("spring.datasource.url"),
+				properties.getProperty("spring.datasource.username"), properties.getProperty("spring.datasource.password"))) {
+			return connection.isValid(CONNECT_TIMEOUT_SECONDS);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private String findPayrollId(String condition) {
+		List<String> ids = entityManager
+				.createQuery("SELECT e.payRollId FROM Employee e WHERE e.payRollId IS NOT NULL AND " + condition,
+						String.class)
+				.setMaxResults(1)
+				.getResultList();
+		assumeTrue(!ids.isEmpty(), "No employee matching " + condition);
+		return ids.get(0);
+	}
+}
@@ -0,0 +1,31 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class IdentityIndexBloomFilterTests {
+
+    @Test
+    void noFalseNegativesAndFalsePositiveRateNearTarget() {
+        IdentityIndexService.BloomFilter filter = new IdentityIndexService.BloomFilter(50_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] keys = new long[50_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            filter.add(keys[i]);
+        }
+        for (long key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 200_000; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives / 200_000.0 < 0.02, "false positive rate " + falsePositives / 200_000.0);
+    }
+}
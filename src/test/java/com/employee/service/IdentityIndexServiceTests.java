@@ -0,0 +1,99 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.dto.IdentityMatchDTO;
+import com.employee.repository.EmpDetailsRepository;
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.SkillTestDetailsRepository;
+import com.employee.service.IdentityIndexService.IdentityKey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdentityIndexServiceTests {
+
+    private static final long LOADED_MOBILE = 9000000001L;
+
+    private final SkillTestDetailsRepository skillTestDetailsRepository = mock(SkillTestDetailsRepository.class);
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmpDetailsRepository empDetailsRepository = mock(EmpDetailsRepository.class);
+    private IdentityIndexService index;
+
+    @BeforeEach
+    void createIndex() {
+        index = new IdentityIndexService();
+        ReflectionTestUtils.setField(index, "skillTestDetailsRepository", skillTestDetailsRepository);
+        ReflectionTestUtils.setField(index, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(index, "empDetailsRepository", empDetailsRepository);
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "expectedKeys", 1000);
+        ReflectionTestUtils.setField(index, "falsePositiveRate", 0.001);
+        when(skillTestDetailsRepository.findActiveIdentityKeys()).thenReturn(new ArrayList<>());
+        when(empDetailsRepository.findIdentityKeys()).thenReturn(new ArrayList<>());
+    }
+
+    @Test
+    void keysSavedWhileTheFirstBuildScansAreInTheFilter() {
+        when(employeeRepository.findAllPrimaryMobileNos()).thenAnswer(invocation -> {
+            index.onIdentityKeysSaved(null, 9000000002L, "ABCDE1234F", null);
+            return List.of(LOADED_MOBILE);
+        });
+        index.rebuild();
+
+        assertTrue(index.mightExist(IdentityKey.MOBILE, LOADED_MOBILE));
+        assertTrue(index.mightExist(IdentityKey.MOBILE, 9000000002L));
+        assertTrue(index.mightExist(IdentityKey.PAN, "ABCDE1234F"));
+        assertFalse(index.mightExist(IdentityKey.MOBILE, 9000000003L));
+    }
+
+    @Test
+    void keysSavedWhileARebuildScansSurviveTheSwap() {
+        when(employeeRepository.findAllPrimaryMobileNos()).thenReturn(List.of(LOADED_MOBILE));
+        index.rebuild();
+
+        when(employeeRepository.findAllPrimaryMobileNos()).thenAnswer(invocation -> {
+            index.onIdentityKeysSaved(123456789012L, null, null, "new.hire@example.com");
+            // saved on the old filter right away
+            assertTrue(index.mightExist(IdentityKey.AADHAAR, 123456789012L));
+            return List.of(LOADED_MOBILE);
+        });
+        index.rebuild();
+
+        assertTrue(index.mightExist(IdentityKey.AADHAAR, 123456789012L));
+        assertTrue(index.mightExist(IdentityKey.EMAIL, "new.hire@example.com"));
+
+        index.onIdentityKeysSaved(null, 9000000004L, null, null);
+        assertTrue(index.mightExist(IdentityKey.MOBILE, 9000000004L));
+    }
+
+    @Test
+    void writePathsFindKeysTheFilterHasNotSeenYet() {
+        when(employeeRepository.findAllPrimaryMobileNos()).thenReturn(List.of(LOADED_MOBILE));
+        index.rebuild();
+        // saved by another instance after the build
+        long otherInstanceMobile = 9000000005L;
+        when(employeeRepository.findIdentityMatches(anyLong(), anyLong(), anyString(), anyString()))
+                .thenReturn(List.<Object[]>of(new Object[] { "EMPLOYEE", 42, null, null, otherInstanceMobile, null, null }));
+
+        assertEquals(List.of(), index.findMatches(null, otherInstanceMobile, null, null));
+
+        List<IdentityMatchDTO> matches = index.findMatchesInDatabase(null, otherInstanceMobile, null, null);
+        assertEquals(1, matches.size());
+        assertEquals(IdentityKey.MOBILE.name(), matches.get(0).getKey());
+        assertEquals(42, matches.get(0).getEmpId());
+    }
+}
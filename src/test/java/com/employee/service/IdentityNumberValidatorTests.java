@@ -0,0 +1,57 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.employee.dto.BatchValidationErrorDTO;
+
+class IdentityNumberValidatorTests {
+
+    private final IdentityNumberValidator validator = new IdentityNumberValidator();
+
+    @Test
+    void aadhaarVerhoeffChecksum() {
+        assertTrue(validator.isValidAadhaar(234123412346L));
+        assertTrue(validator.isValidAadhaar("234123412346"));
+        assertFalse(validator.isValidAadhaar(234123412347L));
+        assertFalse(validator.isValidAadhaar("2341 2341 2346"));
+        // UIDAI numbers never start with 0 or 1
+        assertFalse(validator.isValidAadhaar(123412341234L));
+        assertFalse(validator.isValidAadhaar(23412341234L));
+    }
+
+    @Test
+    void textFormats() {
+        assertTrue(validator.isValidPan("ABCPE1234F"));
+        assertFalse(validator.isValidPan("ABCDE1234F")); // D is not a holder type
+        assertFalse(validator.isValidPan("abcpe1234f"));
+        assertTrue(validator.isValidIfsc("SBIN0001234"));
+        assertTrue(validator.isValidIfsc("HDFC0ABC123"));
+        assertFalse(validator.isValidIfsc("SBIN1001234"));
+        assertTrue(validator.isValidMobile(9876543210L));
+        assertFalse(validator.isValidMobile(5876543210L));
+        assertTrue(validator.isValidUan(100123456789L));
+    }
+
+    @Test
+    void batchReportsFailuresInRecordOrder() {
+        List<Long> records = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            records.add(i % 500 == 7 ? 234123412347L : 234123412346L);
+        }
+        List<BatchValidationErrorDTO> failures = validator.validateBatch(records,
+                aadhaar -> validator.firstIdentityError(aadhaar, null, null, null, null));
+
+        assertEquals(4, failures.size());
+        assertEquals(7, failures.get(0).getIndex());
+        assertEquals(1507, failures.get(3).getIndex());
+        assertNull(validator.firstIdentityError(234123412346L, "ABCPE1234F", "SBIN0001234", 9876543210L, null));
+    }
+}
@@ -0,0 +1,68 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndexChangesTests {
+
+    @Test
+    void changesBeforeTheFirstLoadAreLeftToTheLoad() {
+        IndexChanges changes = new IndexChanges();
+        List<String> applied = new ArrayList<>();
+        changes.apply(() -> applied.add("before"));
+        assertTrue(applied.isEmpty());
+        assertFalse(changes.isLoaded());
+    }
+
+    @Test
+    void changesDuringTheFirstLoadAreReplayedBeforeLaterOnes() {
+        IndexChanges changes = new IndexChanges();
+        List<String> applied = new ArrayList<>();
+        changes.startLoad();
+        changes.apply(() -> applied.add("during"));
+        assertTrue(applied.isEmpty());
+        applied.add("snapshot");
+        changes.finishLoad();
+        changes.endLoad();
+        changes.apply(() -> applied.add("after"));
+        assertEquals(List.of("snapshot", "during", "after"), applied);
+        assertTrue(changes.isLoaded());
+    }
+
+    @Test
+    void changesDuringAReloadAreAppliedNowAndReplayedOnTheNewContents() {
+        IndexChanges changes = new IndexChanges();
+        changes.startLoad();
+        changes.finishLoad();
+        changes.endLoad();
+
+        List<String> applied = new ArrayList<>();
+        changes.startLoad();
+        changes.apply(() -> applied.add("during"));
+        applied.add("snapshot");
+        changes.finishLoad();
+        changes.endLoad();
+        assertEquals(List.of("during", "snapshot", "during"), applied);
+    }
+
+    @Test
+    void aFailedLoadDiscardsItsChanges() {
+        IndexChanges changes = new IndexChanges();
+        List<String> applied = new ArrayList<>();
+        changes.startLoad();
+        changes.apply(() -> applied.add("during failed load"));
+        changes.endLoad();
+
+        changes.startLoad();
+        changes.finishLoad();
+        changes.endLoad();
+        assertTrue(applied.isEmpty());
+        assertTrue(changes.isLoaded());
+    }
+}
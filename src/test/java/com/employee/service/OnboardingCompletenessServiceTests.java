@@ -0,0 +1,134 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.dto.OnboardingCompletenessDTO;
+import com.employee.entity.Campus;
+import com.employee.entity.Employee;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.OnboardingCompletenessService.Section;
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OnboardingCompletenessServiceTests {
+
+    private static final int CONFIRM_STATUS = 9;
+    private static final int CAMPUS = 10;
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OnboardingCompletenessService completeness;
+
+    @BeforeEach
+    void loadIndex() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(100, Section.BASIC_INFO, Section.ADDRESS));
+        when(employeeRepository.findCandidateCompleteness(CONFIRM_STATUS)).thenReturn(rows);
+
+        completeness = new OnboardingCompletenessService();
+        ReflectionTestUtils.setField(completeness, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(completeness, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(completeness, "requiredForCentralOffice", Set.of(Section.BASIC_INFO));
+        ReflectionTestUtils.setField(completeness, "onboardingWorkflowService", new OnboardingWorkflowService() {
+            @Override
+            public int statusId(OnboardingStatus status) {
+                return CONFIRM_STATUS;
+            }
+
+            @Override
+            public boolean isIn(Employee employee, OnboardingStatus status) {
+                return false;
+            }
+        });
+        completeness.reload();
+    }
+
+    @Test
+    void aSaveAppliesItsSectionToAnIndexedCandidate() {
+        completeness.onSectionSaved(employee(100), Section.FAMILY, true);
+        completeness.onSectionSaved(employee(100), Section.ADDRESS, false);
+
+        assertEquals(List.of(Section.BASIC_INFO, Section.FAMILY), completed(100));
+    }
+
+    @Test
+    void aCandidateMissingFromTheIndexIsReadFromTheDatabaseOnItsFirstSave() {
+        // hired after the load: the committed row already has basic info and the new bank details
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(101, Section.BASIC_INFO, Section.BANK));
+        when(employeeRepository.findCompletenessByEmpIds(List.of(101))).thenReturn(rows);
+
+        completeness.onSectionSaved(employee(101), Section.BANK, true);
+
+        assertEquals(List.of(Section.BASIC_INFO, Section.BANK), completed(101));
+        assertEquals(List.of(100, 101), empIds(completeness.findIncomplete(CAMPUS, Section.FAMILY)));
+    }
+
+    @Test
+    void aReconcileReplacesTheIndexAndCountsTheDrift() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(100, Section.BASIC_INFO, Section.ADDRESS, Section.FAMILY));
+        rows.add(row(102));
+        when(employeeRepository.findCandidateCompleteness(CONFIRM_STATUS)).thenReturn(rows);
+
+        completeness.reload();
+
+        assertEquals(List.of(Section.BASIC_INFO, Section.ADDRESS, Section.FAMILY), completed(100));
+        assertEquals(List.of(102), empIds(completeness.findIncomplete(null, null)));
+        assertEquals(2.0, meterRegistry.counter("employee.completeness.reconcile.drift").count());
+    }
+
+    private List<Section> completed(int empId) {
+        for (OnboardingCompletenessDTO candidate : completeness.findIncomplete(null, Section.SALARY)) {
+            if (candidate.getEmpId() == empId) {
+                return candidate.getCompleted();
+            }
+        }
+        throw new AssertionError("not a candidate: " + empId);
+    }
+
+    private static List<Integer> empIds(List<OnboardingCompletenessDTO> candidates) {
+        List<Integer> empIds = new ArrayList<>();
+        for (OnboardingCompletenessDTO candidate : candidates) {
+            empIds.add(candidate.getEmpId());
+        }
+        return empIds;
+    }
+
+    // emp_id, temp_payroll_id, cmps_id, one flag per section
+    private static Object[] row(int empId, Section... sections) {
+        Object[] row = new Object[3 + Section.values().length];
+        row[0] = empId;
+        row[1] = "TEMP12" + empId;
+        row[2] = CAMPUS;
+        for (Section section : Section.values()) {
+            row[3 + section.ordinal()] = 0;
+        }
+        for (Section section : sections) {
+            row[3 + section.ordinal()] = 1;
+        }
+        return row;
+    }
+
+    private static Employee employee(int empId) {
+        Campus campus = new Campus();
+        campus.setCampusId(CAMPUS);
+        Employee employee = new Employee();
+        employee.setEmp_id(empId);
+        employee.setTempPayrollId("TEMP12" + empId);
+        employee.setCampus_id(campus);
+        employee.setIs_active(1);
+        return employee;
+    }
+}
@@ -0,0 +1,36 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.employee.service.OnboardingWorkflowService.OnboardingStatus;
+import com.employee.service.OnboardingWorkflowService.Transition;
+
+class OnboardingWorkflowTransitionTests {
+
+    @Test
+    void reviewTransitionsOnlyLeaveTheirQueue() {
+        assertTrue(Transition.FORWARD_TO_CO.allowedFrom(OnboardingStatus.PENDING_AT_DO));
+        assertTrue(Transition.FORWARD_TO_CO.allowedFrom(OnboardingStatus.BACK_TO_DO));
+        assertFalse(Transition.FORWARD_TO_CO.allowedFrom(OnboardingStatus.BACK_TO_CAMPUS));
+        assertFalse(Transition.FORWARD_TO_CO.allowedFrom(null));
+
+        assertTrue(Transition.SEND_BACK_TO_CAMPUS.allowedFrom(OnboardingStatus.PENDING_AT_DO));
+        assertFalse(Transition.SEND_BACK_TO_CAMPUS.allowedFrom(OnboardingStatus.BACK_TO_DO));
+
+        assertTrue(Transition.REJECT_TO_DO.allowedFrom(OnboardingStatus.PENDING_AT_CO));
+        assertFalse(Transition.REJECT_TO_DO.allowedFrom(OnboardingStatus.CONFIRM));
+    }
+
+    @Test
+    void createOnlyForNewEmployeesAndSubmitFromAnywhere() {
+        assertTrue(Transition.CREATE.allowedFrom(null));
+        for (OnboardingStatus status : OnboardingStatus.values()) {
+            assertFalse(Transition.CREATE.allowedFrom(status));
+            assertTrue(Transition.SUBMIT_TO_DO.allowedFrom(status));
+            assertTrue(Transition.CONFIRM.allowedFrom(status));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.dto.SpanOfControlDTO;
+import com.employee.entity.Campus;
+import com.employee.entity.Employee;
+import com.employee.exception.ResourceNotFoundException;
+import com.employee.repository.EmployeeRepository;
+import com.employee.service.OrgGraphService.Relation;
+import com.employee.service.SkillTestDetailsServiceTests.LockRecordingJdbcTemplate;
+
+class OrgGraphServiceTests {
+
+    private static final int CAMPUS = 10;
+    private static final int OTHER_CAMPUS = 20;
+
+    private final CommittedChains database = new CommittedChains();
+    private OrgGraphService graph;
+
+    /*
+     *        1 (campus 10)
+     *       / \
+     *      2   5 (campus 20)
+     *     / \
+     *    3   4
+     */
+    @BeforeEach
+    void loadGraph() {
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        List<Object[]> edges = new ArrayList<>();
+        edges.add(new Object[] { 1, null, null, CAMPUS });
+        edges.add(new Object[] { 2, 1, 1, CAMPUS });
+        edges.add(new Object[] { 3, 2, 2, CAMPUS });
+        edges.add(new Object[] { 4, 2, 1, CAMPUS });
+        edges.add(new Object[] { 5, 1, 1, OTHER_CAMPUS });
+        when(repository.findActiveOrgGraphEdges()).thenReturn(edges);
+        graph = new OrgGraphService();
+        ReflectionTestUtils.setField(graph, "employeeRepository", repository);
+        ReflectionTestUtils.setField(graph, "jdbcTemplate", database);
+        graph.reload();
+    }
+
+    @Test
+    void spanOfControlCountsWholeSubtrees() {
+        assertSpans(graph.getSpanOfControlByCampus(CAMPUS, Relation.MANAGER), new int[][] { { 1, 2, 4 }, { 2, 2, 2 } });
+        assertSpans(graph.getSpanOfControlByCampus(CAMPUS, Relation.REPORTING), new int[][] { { 1, 3, 4 }, { 2, 1, 1 } });
+        assertSpans(graph.getSpanOfControlByCampus(OTHER_CAMPUS, Relation.MANAGER), new int[0][]);
+    }
+
+    @Test
+    void deactivatedEmployeesLeaveTheGraph() {
+        graph.onEmployeeMappingChanged(employee(2, 1, 0));
+
+        assertThrows(ResourceNotFoundException.class, () -> graph.getReports(2, Relation.MANAGER));
+        assertEquals(List.of(5), graph.getReports(1, Relation.MANAGER).getDirectReports());
+        assertEquals(List.of(), graph.getChainOfCommand(3, Relation.MANAGER));
+        // 5 was the last node and took the freed index
+        assertEquals(List.of(1), graph.getChainOfCommand(5, Relation.MANAGER));
+        assertSpans(graph.getSpanOfControlByCampus(CAMPUS, Relation.MANAGER), new int[][] { { 1, 1, 1 } });
+
+        graph.onEmployeeMappingChanged(employee(3, 5, 1));
+        assertEquals(List.of(5, 1), graph.getChainOfCommand(3, Relation.MANAGER));
+        assertSpans(graph.getSpanOfControlByCampus(CAMPUS, Relation.MANAGER), new int[][] { { 1, 1, 2 } });
+    }
+
+    @Test
+    void newEmployeesJoinTheGraph() {
+        graph.onEmployeeMappingChanged(employee(6, 4, 1));
+        assertEquals(List.of(4, 2, 1), graph.getChainOfCommand(6, Relation.MANAGER));
+        assertSpans(graph.getSpanOfControlByCampus(CAMPUS, Relation.MANAGER),
+                new int[][] { { 1, 2, 5 }, { 2, 2, 3 }, { 4, 1, 1 } });
+    }
+
+    @Test
+    void aReactivatedManagerGetsItsReportsBack() {
+        graph.onEmployeeMappingChanged(employee(2, 1, 0));
+        assertEquals(List.of(), graph.getChainOfCommand(3, Relation.MANAGER));
+
+        graph.onEmployeeMappingChanged(employee(2, 1, 1));
+
+        assertEquals(List.of(2, 1), graph.getChainOfCommand(3, Relation.MANAGER));
+        assertEquals(List.of(3, 4), sorted(graph.getReports(2, Relation.MANAGER).getDirectReports()));
+        assertEquals(List.of(2, 1), graph.getChainOfCommand(3, Relation.REPORTING));
+        assertEquals(List.of(1), graph.getChainOfCommand(4, Relation.REPORTING));
+    }
+
+    @Test
+    void aCycleCommittedSinceTheGraphWasUpdatedIsRejectedUnderTheMappingLock() {
+        // 2 now reports to 5 - committed elsewhere, not in this graph yet
+        database.reaching.add(List.of(2, 5));
+
+        assertThrows(IllegalArgumentException.class, () -> graph.validateNoCycle(5, 2, Relation.MANAGER));
+        graph.validateNoCycle(5, 3, Relation.REPORTING);
+        assertEquals(List.of(List.of(Relation.MANAGER.ordinal()), List.of(Relation.REPORTING.ordinal())), database.lockedIds);
+        // the graph still catches what it knows about
+        assertThrows(IllegalArgumentException.class, () -> graph.validateNoCycle(1, 4, Relation.MANAGER));
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        List<Integer> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    /** The recursive chain query of validateNoCycle, answered from (from emp_id, reached emp_id) pairs. */
+    static final class CommittedChains extends LockRecordingJdbcTemplate {
+
+        final Set<List<Integer>> reaching = new HashSet<>();
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            return requiredType.cast(reaching.contains(List.of((Integer) args[0], (Integer) args[1])));
+        }
+    }
+
+    private static Employee employee(int empId, int managerId, int active) {
+        Employee manager = new Employee();
+        manager.setEmp_id(managerId);
+        Campus campus = new Campus();
+        campus.setCampusId(CAMPUS);
+        Employee employee = new Employee();
+        employee.setEmp_id(empId);
+        employee.setIs_active(active);
+        employee.setCampus_id(campus);
+        employee.setEmployee_manager_id(manager);
+        employee.setEmployee_reporting_id(manager);
+        return employee;
+    }
+
+    // expected: { managerId, directReports, totalReports } ordered by managerId
+    private static void assertSpans(List<SpanOfControlDTO> spans, int[][] expected) {
+        List<SpanOfControlDTO> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingInt(SpanOfControlDTO::getManagerId));
+        assertEquals(expected.length, sorted.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(new SpanOfControlDTO(expected[i][0], expected[i][1], expected[i][2]), sorted.get(i));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.repository.EmployeeRepository;
+import com.employee.repository.SkillTestDetailsRepository;
+
+class SkillTestDetailsServiceTests {
+
+    private static final String CAMPUS_KEY = "TEMP12";
+
+    // the last temp payroll ID committed to the shared database
+    private String committedMax = "TEMP120007";
+    private final LockRecordingJdbcTemplate locks = new LockRecordingJdbcTemplate();
+
+    @Test
+    void instancesSharingTheDatabaseDoNotHandOutTheSameId() {
+        SkillTestDetailsService first = instance();
+        SkillTestDetailsService second = instance();
+        // both warmed up from the same MAX
+        first.getCampusCounter(CAMPUS_KEY);
+        second.getCampusCounter(CAMPUS_KEY);
+
+        committedMax = first.nextTempPayrollId(CAMPUS_KEY);
+        assertEquals("TEMP120008", committedMax);
+        committedMax = second.nextTempPayrollId(CAMPUS_KEY);
+        assertEquals("TEMP120009", committedMax);
+        committedMax = first.nextTempPayrollIds(CAMPUS_KEY, 2).get(1);
+        assertEquals("TEMP120011", committedMax);
+
+        assertEquals(3, locks.lockedIds.size());
+        assertEquals(List.of(CAMPUS_KEY.hashCode()), locks.lockedIds.get(0));
+    }
+
+    @Test
+    void aRolledBackAllocationLeavesAGap() {
+        SkillTestDetailsService service = instance();
+
+        assertEquals(List.of("TEMP120008", "TEMP120009"), service.nextTempPayrollIds(CAMPUS_KEY, 2));
+        // nothing committed
+        assertEquals("TEMP120010", service.nextTempPayrollId(CAMPUS_KEY));
+    }
+
+    private SkillTestDetailsService instance() {
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.findMaxTempPayrollIdByKey(CAMPUS_KEY + "%")).thenAnswer(invocation -> committedMax);
+
+        SkillTestDetailsService service = new SkillTestDetailsService();
+        ReflectionTestUtils.setField(service, "skillTestDetailsRepository", mock(SkillTestDetailsRepository.class));
+        ReflectionTestUtils.setField(service, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", locks);
+        return service;
+    }
+
+    /** Records the ids of each advisory lock statement (see AdvisoryLocks.lock). */
+    static class LockRecordingJdbcTemplate extends JdbcTemplate {
+
+        final List<List<Integer>> lockedIds = new ArrayList<>();
+
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+            Map<Integer, Object> values = new TreeMap<>();
+            PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("setInt")) {
+                            values.put((Integer) args[0], args[1]);
+                        }
+                        return null;
+                    });
+            Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> statement);
+            try {
+                psc.createPreparedStatement(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            List<Integer> ids = new ArrayList<>();
+            values.values().forEach(id -> ids.add((Integer) id));
+            lockedIds.add(ids);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.employee.dto.BulkImportRowErrorDTO;
+import com.employee.dto.SkillTestResultImportDTO;
+import com.employee.repository.SkillTestDetailsRepository;
+import com.employee.service.BulkEmployeeImportServiceTests.CountingTransactionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class SkillTestResultImportServiceTests {
+
+    private static final String FIRST_EXAM = "2024-03-01";
+    private static final String SECOND_EXAM = "2024-03-08";
+
+    // temp_payroll_id -> skill_test_detl_id of the active candidates
+    private static final Map<String, Integer> CANDIDATES = Map.of("TEMP120001", 11, "TEMP120002", 12, "TEMP120003", 13);
+
+    private final ResultTable jdbc = new ResultTable();
+    private final CountingTransactionManager transactions = new CountingTransactionManager();
+    private SkillTestResultImportService importService;
+
+    @BeforeEach
+    void createService() {
+        SkillTestDetailsRepository skillTestDetailsRepository = mock(SkillTestDetailsRepository.class);
+        when(skillTestDetailsRepository.findActiveCandidatesIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> tempPayrollIds = invocation.getArgument(0);
+            List<Object[]> matches = new ArrayList<>();
+            for (String tempPayrollId : tempPayrollIds) {
+                if (CANDIDATES.containsKey(tempPayrollId)) {
+                    matches.add(new Object[] { tempPayrollId, CANDIDATES.get(tempPayrollId), "Candidate", tempPayrollId });
+                }
+            }
+            return matches;
+        });
+
+        importService = new SkillTestResultImportService();
+        ReflectionTestUtils.setField(importService, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(importService, "transactionManager", transactions);
+        ReflectionTestUtils.setField(importService, "skillTestDetailsRepository", skillTestDetailsRepository);
+        ReflectionTestUtils.setField(importService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 100);
+    }
+
+    @Test
+    void eachChunkIsWrittenWithOneBatchInItsOwnTransaction() {
+        SkillTestResultImportDTO summary = importService.importResults(body(
+                result("TEMP120001", FIRST_EXAM), result("TEMP120002", FIRST_EXAM), result("TEMP120003", FIRST_EXAM),
+                result("TEMP120001", SECOND_EXAM), result("TEMP120002", SECOND_EXAM)));
+
+        assertTrue(summary.isCompleted());
+        assertEquals(5, summary.getRowsRead());
+        assertEquals(5, summary.getImported());
+        assertEquals(0, summary.getFailed());
+        assertEquals(List.of(2, 2, 1), jdbc.batchSizes);
+        assertEquals(3, transactions.commits);
+    }
+
+    @Test
+    void aResultRepeatedInTheBatchIsImportedOnceWithinAndAcrossChunks() {
+        SkillTestResultImportDTO summary = importService.importResults(body(
+                result("TEMP120001", FIRST_EXAM), result("TEMP120001", FIRST_EXAM),
+                result("TEMP120002", FIRST_EXAM), result("TEMP120001", FIRST_EXAM),
+                result("TEMP120001", SECOND_EXAM)));
+
+        assertTrue(summary.isCompleted());
+        assertEquals(3, summary.getImported());
+        assertEquals(2, summary.getFailed());
+        assertEquals(List.of(2, 4), positions(summary.getErrors()));
+        assertEquals(Set.of(LocalDate.parse(FIRST_EXAM), LocalDate.parse(SECOND_EXAM)), jdbc.recorded(11));
+    }
+
+    @Test
+    void aResultStoredByAConcurrentImportIsSeenOnceTheCandidatesAreLocked() {
+        // the other import commits between our candidate lookup and our lock
+        jdbc.whileLocking = () -> jdbc.record(11, LocalDate.parse(FIRST_EXAM));
+
+        SkillTestResultImportDTO summary = importService.importResults(body(
+                result("TEMP120002", FIRST_EXAM), result("TEMP120001", FIRST_EXAM)));
+
+        assertEquals(List.of(List.of(11, 12)), jdbc.lockedIds);
+        assertEquals(1, summary.getImported());
+        assertEquals(List.of(2), positions(summary.getErrors()));
+        assertTrue(summary.getErrors().get(0).getMessage().contains("already recorded"));
+        assertEquals(List.of(1), jdbc.batchSizes);
+    }
+
+    @Test
+    void aFailedChunkStopsTheImportAndReportsItsResults() {
+        jdbc.failOnBatch = 2;
+
+        SkillTestResultImportDTO summary = importService.importResults(body(
+                result("TEMP120001", FIRST_EXAM), result("TEMP120002", FIRST_EXAM),
+                result("TEMP120003", FIRST_EXAM), result("TEMP120001", SECOND_EXAM),
+                result("TEMP120002", SECOND_EXAM), result("TEMP120003", SECOND_EXAM)));
+
+        assertFalse(summary.isCompleted());
+        assertEquals(4, summary.getRowsRead());
+        assertEquals(2, summary.getImported());
+        assertEquals(2, summary.getFailed());
+        assertEquals(List.of(3, 4), positions(summary.getErrors()));
+        assertTrue(summary.getErrors().get(0).getMessage().startsWith("Not imported: results 3-4 were rolled back"));
+        assertEquals(1, transactions.commits);
+        assertEquals(1, transactions.rollbacks);
+        assertEquals(Set.of(), jdbc.recorded(13));
+    }
+
+    private static String result(String tempPayrollId, String examDate) {
+        return "{\"tempPayrollId\":\"" + tempPayrollId + "\",\"examDate\":\"" + examDate + "\",\"noOfQuestion\":10,"
+                + "\"noOfQuesAttempt\":8,\"noOfQuesUnattempt\":2,\"noOfQuesCorrect\":6,\"noOfQuesWrong\":2,"
+                + "\"totalMarks\":6,\"result\":\"PASS\"}";
+    }
+
+    private static InputStream body(String... results) {
+        return new ByteArrayInputStream(("[" + String.join(",", results) + "]").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Integer> positions(List<BulkImportRowErrorDTO> errors) {
+        List<Integer> positions = new ArrayList<>();
+        for (BulkImportRowErrorDTO error : errors) {
+            positions.add(error.getRowNumber());
+        }
+        return positions;
+    }
+
+    /** sce_skill_test_result as (skill_test_detl_id, exam_date) pairs; a batch is committed as it is written. */
+    static final class ResultTable extends JdbcTemplate {
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<List<Integer>> lockedIds = new ArrayList<>();
+        private final Map<Integer, Set<LocalDate>> examDates = new TreeMap<>();
+        Runnable whileLocking = () -> { };
+        int failOnBatch;
+
+        void record(int skillTestDetlId, LocalDate examDate) {
+            examDates.computeIfAbsent(skillTestDetlId, id -> new HashSet<>()).add(examDate);
+        }
+
+        Set<LocalDate> recorded(int skillTestDetlId) {
+            return examDates.getOrDefault(skillTestDetlId, Set.of());
+        }
+
+        // advisory locks
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+            Map<Integer, Object> values = new TreeMap<>();
+            PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("setInt")) {
+                            values.put((Integer) args[0], args[1]);
+                        }
+                        return null;
+                    });
+            Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> statement);
+            try {
+                psc.createPreparedStatement(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            List<Integer> ids = new ArrayList<>();
+            values.values().forEach(id -> ids.add((Integer) id));
+            lockedIds.add(ids);
+            whileLocking.run();
+        }
+
+        // recorded exam dates of the given candidates
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            try {
+                for (Object id : args) {
+                    for (LocalDate examDate : recorded((Integer) id)) {
+                        rch.processRow(resultSet(id, Date.valueOf(examDate)));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs, int[] argTypes) {
+            if (batchSizes.size() + 1 == failOnBatch) {
+                throw new DataIntegrityViolationException("could not serialize access");
+            }
+            batchSizes.add(batchArgs.size());
+            for (Object[] args : batchArgs) {
+                record((Integer) args[0], ((Date) args[2]).toLocalDate());
+            }
+            return new int[batchArgs.size()];
+        }
+
+        private static ResultSet resultSet(Object... columns) {
+            return (ResultSet) Proxy.newProxyInstance(ResultTable.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                        Object value = columns[(Integer) args[0] - 1];
+                        return method.getName().equals("getInt") ? ((Number) value).intValue() : value;
+                    });
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.employee.dto.SkillTestResultRowDTO;
+
+class SkillTestResultImportValidationTests {
+
+    private static SkillTestResultRowDTO result(int questions, int attempted, int unattempted, int correct, int wrong) {
+        return new SkillTestResultRowDTO("TEMP1010001", Date.valueOf("2026-01-05"), questions, attempted, unattempted,
+                correct, wrong, correct, "PASS");
+    }
+
+    @Test
+    void countsMustAddUp() {
+        assertNull(SkillTestResultImportService.validateCounts(result(50, 45, 5, 30, 15)));
+        assertTrue(SkillTestResultImportService.validateCounts(result(50, 45, 4, 30, 15)).contains("noOfQuestion (50)"));
+        assertTrue(SkillTestResultImportService.validateCounts(result(50, 45, 5, 30, 14)).contains("noOfQuesAttempt (45)"));
+        assertEquals("noOfQuesWrong cannot be negative",
+                SkillTestResultImportService.validateCounts(result(50, 45, 5, 50, -5)));
+    }
+
+    @Test
+    void requiredFieldsAndExamDate() {
+        SkillTestResultRowDTO missing = result(10, 10, 0, 5, 5);
+        missing.setNoOfQuesCorrect(null);
+        assertEquals("noOfQuesCorrect is required", SkillTestResultImportService.validateCounts(missing));
+
+        SkillTestResultRowDTO future = result(10, 10, 0, 5, 5);
+        future.setExamDate(Date.valueOf(LocalDate.now().plusDays(1)));
+        assertTrue(SkillTestResultImportService.validateCounts(future).endsWith("is in the future"));
+
+        SkillTestResultRowDTO negativeMarks = result(10, 10, 0, 2, 8);
+        negativeMarks.setTotalMarks(-2);
+        assertNull(SkillTestResultImportService.validateCounts(negativeMarks));
+    }
+}